@@ -26,14 +26,20 @@ import org.eclipse.hono.adapter.monitoring.ConnectionEventProducerConfig;
 import org.eclipse.hono.adapter.monitoring.ConnectionEventProducerOptions;
 import org.eclipse.hono.adapter.monitoring.HonoEventConnectionEventProducer;
 import org.eclipse.hono.adapter.monitoring.LoggingConnectionEventProducer;
+import org.eclipse.hono.adapter.resourcelimits.BulkCacheRefresher;
+import org.eclipse.hono.adapter.resourcelimits.CacheBasedResourceUsageStore;
 import org.eclipse.hono.adapter.resourcelimits.ConnectedDevicesAsyncCacheLoader;
 import org.eclipse.hono.adapter.resourcelimits.ConnectionDurationAsyncCacheLoader;
 import org.eclipse.hono.adapter.resourcelimits.DataVolumeAsyncCacheLoader;
+import org.eclipse.hono.adapter.resourcelimits.InMemoryResourceUsageStore;
+import org.eclipse.hono.adapter.resourcelimits.LocalResourceLimitCheckOptions;
+import org.eclipse.hono.adapter.resourcelimits.LocalResourceLimitChecks;
 import org.eclipse.hono.adapter.resourcelimits.NoopResourceLimitChecks;
 import org.eclipse.hono.adapter.resourcelimits.PrometheusBasedResourceLimitCheckOptions;
 import org.eclipse.hono.adapter.resourcelimits.PrometheusBasedResourceLimitChecks;
 import org.eclipse.hono.adapter.resourcelimits.PrometheusBasedResourceLimitChecksConfig;
 import org.eclipse.hono.adapter.resourcelimits.ResourceLimitChecks;
+import org.eclipse.hono.adapter.resourcelimits.ResourceUsageStore;
 import org.eclipse.hono.client.amqp.config.ClientConfigProperties;
 import org.eclipse.hono.client.amqp.config.ClientOptions;
 import org.eclipse.hono.client.amqp.config.RequestResponseClientConfigProperties;
@@ -71,12 +77,18 @@ import org.eclipse.hono.client.telemetry.amqp.ProtonBasedDownstreamSender;
 import org.eclipse.hono.client.telemetry.kafka.KafkaBasedEventSender;
 import org.eclipse.hono.client.telemetry.kafka.KafkaBasedTelemetrySender;
 import org.eclipse.hono.client.util.MessagingClientProvider;
+import org.eclipse.hono.deviceconnection.infinispan.client.CommonCacheConfig;
+import org.eclipse.hono.deviceconnection.infinispan.client.CommonCacheOptions;
+import org.eclipse.hono.deviceconnection.infinispan.client.HotrodCache;
+import org.eclipse.hono.deviceconnection.infinispan.client.InfinispanRemoteConfigurationOptions;
+import org.eclipse.hono.deviceconnection.infinispan.client.InfinispanRemoteConfigurationProperties;
 import org.eclipse.hono.service.AbstractServiceApplication;
 import org.eclipse.hono.service.cache.Caches;
 import org.eclipse.hono.util.CredentialsObject;
 import org.eclipse.hono.util.CredentialsResult;
 import org.eclipse.hono.util.MessagingType;
 import org.eclipse.hono.util.RegistrationResult;
+import org.eclipse.hono.util.Strings;
 import org.eclipse.hono.util.TenantObject;
 import org.eclipse.hono.util.TenantResult;
 import org.eclipse.hono.util.WrappedLifecycleComponentVerticle;
@@ -131,6 +143,11 @@ public abstract class AbstractProtocolAdapterApplication<C extends ProtocolAdapt
     private RequestResponseClientConfigProperties credentialsClientConfig;
     private RequestResponseClientConfigProperties commandRouterConfig;
     private PrometheusBasedResourceLimitChecksConfig resourceLimitChecksConfig;
+    private LocalResourceLimitCheckOptions localResourceLimitCheckOptions;
+    private LocalResourceLimitChecks localResourceLimitChecks;
+    private BulkCacheRefresher bulkCacheRefresher;
+    private CommonCacheConfig resourceUsageCacheConfig;
+    private InfinispanRemoteConfigurationProperties resourceUsageRemoteCacheConfig;
     private ConnectionEventProducerConfig connectionEventsConfig;
 
     private MessagingKafkaProducerConfigProperties kafkaTelemetryConfig;
@@ -220,6 +237,22 @@ public abstract class AbstractProtocolAdapterApplication<C extends ProtocolAdapt
         this.resourceLimitChecksConfig = props;
     }
 
+    @Inject
+    void setLocalResourceLimitCheckOptions(final LocalResourceLimitCheckOptions options) {
+        this.localResourceLimitCheckOptions = options;
+    }
+
+    @Inject
+    void setResourceUsageCacheOptions(
+            @ConfigMapping(prefix = "hono.resourceLimits.local.cache.common")
+            final CommonCacheOptions commonCacheOptions,
+            @ConfigMapping(prefix = "hono.resourceLimits.local.cache.remote")
+            final InfinispanRemoteConfigurationOptions remoteCacheOptions) {
+
+        this.resourceUsageCacheConfig = new CommonCacheConfig(commonCacheOptions);
+        this.resourceUsageRemoteCacheConfig = new InfinispanRemoteConfigurationProperties(remoteCacheOptions);
+    }
+
     @Inject
     void setConnectionEventProducerConfig(final ConnectionEventProducerOptions options) {
         this.connectionEventsConfig = new ConnectionEventProducerConfig(options);
@@ -281,6 +314,33 @@ public abstract class AbstractProtocolAdapterApplication<C extends ProtocolAdapt
         LOG.info("deploying {} {} instances ...", appConfig.getMaxInstances(), getComponentName());
         final Map<String, String> deploymentResult = new HashMap<>();
 
+        final Future<String> resourceLimitChecksTracker;
+        if (localResourceLimitCheckOptions.enabled()) {
+            // all adapter verticle instances share the same checks
+            localResourceLimitChecks = localResourceLimitChecks(localResourceLimitCheckOptions);
+            resourceLimitChecksTracker = vertx.deployVerticle(
+                    new WrappedLifecycleComponentVerticle(localResourceLimitChecks))
+                .onSuccess(ok -> {
+                    LOG.info("successfully deployed resource limit checks verticle");
+                    deploymentResult.put("resource limit checks verticle", "successfully deployed");
+                })
+                .onFailure(t -> LOG.error("failed to deploy resource limit checks verticle", t));
+        } else if (resourceLimitChecksConfig.isHostConfigured() && resourceLimitChecksConfig.isBulkRefreshEnabled()) {
+            // all adapter verticle instances register their caches with the same refresher
+            bulkCacheRefresher = new BulkCacheRefresher(
+                    vertx,
+                    Duration.ofSeconds(resourceLimitChecksConfig.getBulkRefreshInterval()));
+            resourceLimitChecksTracker = vertx.deployVerticle(
+                    new WrappedLifecycleComponentVerticle(bulkCacheRefresher))
+                .onSuccess(ok -> {
+                    LOG.info("successfully deployed resource limit cache refresher verticle");
+                    deploymentResult.put("resource limit cache refresher verticle", "successfully deployed");
+                })
+                .onFailure(t -> LOG.error("failed to deploy resource limit cache refresher verticle", t));
+        } else {
+            resourceLimitChecksTracker = Future.succeededFuture();
+        }
+
         final Future<String> adapterTracker = vertx.deployVerticle(
                 this::adapter,
                 new DeploymentOptions().setInstances(appConfig.getMaxInstances()))
@@ -299,7 +359,7 @@ public abstract class AbstractProtocolAdapterApplication<C extends ProtocolAdapt
             })
             .onFailure(t -> LOG.error("failed to deploy notification receiver verticle(s)", t));
 
-        CompositeFuture.all(adapterTracker, notificationReceiverTracker)
+        CompositeFuture.all(adapterTracker, notificationReceiverTracker, resourceLimitChecksTracker)
             .map(deploymentResult)
             .onComplete(deploymentCheck);
     }
@@ -403,7 +463,11 @@ public abstract class AbstractProtocolAdapterApplication<C extends ProtocolAdapt
         adapter.setCredentialsClient(credentialsClient());
         adapter.setHealthCheckServer(healthCheckServer);
         adapter.setRegistrationClient(registrationClient);
-        adapter.setResourceLimitChecks(prometheusResourceLimitChecks(resourceLimitChecksConfig, tenantClient));
+        if (localResourceLimitChecks != null) {
+            adapter.setResourceLimitChecks(localResourceLimitChecks);
+        } else {
+            adapter.setResourceLimitChecks(prometheusResourceLimitChecks(resourceLimitChecksConfig, tenantClient));
+        }
         adapter.setTenantClient(tenantClient);
         adapter.setTracer(tracer);
     }
@@ -537,9 +601,63 @@ public abstract class AbstractProtocolAdapterApplication<C extends ProtocolAdapt
         return props;
     }
 
+    /**
+     * Creates resource limit checks based on usage data that is accounted for by the
+     * adapter itself.
+     *
+     * @param options The configuration options.
+     * @throws NullPointerException if options are {@code null}.
+     * @return The checks.
+     */
+    protected LocalResourceLimitChecks localResourceLimitChecks(final LocalResourceLimitCheckOptions options) {
+
+        Objects.requireNonNull(options);
+
+        final var store = resourceUsageStore();
+        LOG.info("using locally accounted resource usage for checking resource limits [store: {}]",
+                store.getClass().getName());
+        return new LocalResourceLimitChecks(
+                vertx,
+                meterRegistry,
+                store,
+                Duration.ofMillis(options.syncInterval()),
+                tracer);
+    }
+
+    /**
+     * Creates the store to use for aggregating the resource usage accounted for
+     * by all adapter instances.
+     * <p>
+     * This default implementation returns a {@link CacheBasedResourceUsageStore} that keeps
+     * the counters in a remote data grid, if a server list has been configured for the
+     * <em>hono.resourceLimits.local.cache.remote</em> properties.
+     * <p>
+     * Otherwise, an {@link InMemoryResourceUsageStore} is returned, which does not share any
+     * data with other adapter instances. In this case, the limits are enforced per adapter
+     * instance only.
+     *
+     * @return The store.
+     */
+    protected ResourceUsageStore resourceUsageStore() {
+        if (resourceUsageRemoteCacheConfig == null
+                || Strings.isNullOrEmpty(resourceUsageRemoteCacheConfig.getServerList())) {
+            LOG.warn("no data grid configured for storing resource usage, limits will be enforced per adapter instance");
+            return new InMemoryResourceUsageStore();
+        }
+        LOG.info("using remote cache for storing resource usage");
+        return new CacheBasedResourceUsageStore(HotrodCache.from(
+                vertx,
+                resourceUsageRemoteCacheConfig,
+                resourceUsageCacheConfig));
+    }
+
     /**
      * Creates resource limit checks based on data retrieved from a Prometheus server
      * via its HTTP API.
+     * <p>
+     * If bulk refresh of the cached metrics data is enabled, the caches are registered
+     * with the application's cache refresher, which is deployed during start up and
+     * stopped when the application shuts down.
      *
      * @param config The configuration properties.
      * @param tenantClient The client to use for retrieving tenant configuration data.
@@ -576,10 +694,25 @@ public abstract class AbstractProtocolAdapterApplication<C extends ProtocolAdapt
                     .expireAfterWrite(cacheTimeout)
                     .refreshAfterWrite(cacheTimeout.dividedBy(2));
 
+            final var connectedDevicesLoader = new ConnectedDevicesAsyncCacheLoader(webClient, config, tracer);
+            final var connectionDurationLoader = new ConnectionDurationAsyncCacheLoader(webClient, config, tracer);
+            final var dataVolumeLoader = new DataVolumeAsyncCacheLoader(webClient, config, tracer);
+            final var connectedDevicesCache = builder.buildAsync(connectedDevicesLoader);
+            final var connectionDurationCache = builder.buildAsync(connectionDurationLoader);
+            final var dataVolumeCache = builder.buildAsync(dataVolumeLoader);
+
+            if (bulkCacheRefresher != null) {
+                // reload the entries of all tenants with a single query per metric
+                bulkCacheRefresher
+                    .addCache(connectedDevicesCache, connectedDevicesLoader)
+                    .addCache(connectionDurationCache, connectionDurationLoader)
+                    .addCache(dataVolumeCache, dataVolumeLoader);
+            }
+
             return new PrometheusBasedResourceLimitChecks(
-                    builder.buildAsync(new ConnectedDevicesAsyncCacheLoader(webClient, config, tracer)),
-                    builder.buildAsync(new ConnectionDurationAsyncCacheLoader(webClient, config, tracer)),
-                    builder.buildAsync(new DataVolumeAsyncCacheLoader(webClient, config, tracer)),
+                    connectedDevicesCache,
+                    connectionDurationCache,
+                    dataVolumeCache,
                     tenantClient,
                     tracer);
         } else {
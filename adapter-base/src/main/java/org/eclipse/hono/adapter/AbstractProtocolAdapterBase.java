@@ -19,6 +19,9 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.Function;
 
 import org.eclipse.hono.adapter.limiting.ConnectionLimitManager;
 import org.eclipse.hono.adapter.monitoring.ConnectionEventProducer;
@@ -41,6 +44,11 @@ import org.eclipse.hono.client.registry.TenantDisabledOrNotRegisteredException;
 import org.eclipse.hono.client.telemetry.EventSender;
 import org.eclipse.hono.client.telemetry.TelemetrySender;
 import org.eclipse.hono.client.util.ServiceClient;
+import org.eclipse.hono.notification.NotificationEventBusSupport;
+import org.eclipse.hono.notification.deviceregistry.AllDevicesOfTenantDeletedNotification;
+import org.eclipse.hono.notification.deviceregistry.DeviceChangeNotification;
+import org.eclipse.hono.notification.deviceregistry.LifecycleChange;
+import org.eclipse.hono.notification.deviceregistry.TenantChangeNotification;
 import org.eclipse.hono.service.AbstractServiceBase;
 import org.eclipse.hono.service.auth.ValidityBasedTrustOptions;
 import org.eclipse.hono.service.metric.MetricsTags.ConnectionAttemptOutcome;
@@ -290,6 +298,97 @@ public abstract class AbstractProtocolAdapterBase<T extends ProtocolAdapterPrope
         return connectionLimitManager;
     }
 
+    /**
+     * Registers consumers for notifications about devices and tenants having been deleted or disabled.
+     * <p>
+     * The consumers close the affected connections of authenticated devices. The connections are looked
+     * up by means of the given registry's tenant and device index, i.e. the effort for handling a
+     * notification does not depend on the overall number of connections to this adapter instance.
+     * <p>
+     * Subclasses should invoke this method during start-up if they keep track of the connections of
+     * authenticated devices.
+     *
+     * @param <C> The type of connection.
+     * @param connections The registry containing the connections of authenticated devices.
+     * @param connectionCloser The function to invoke for closing a connection. The function will be
+     *                         invoked with the connection and the reason for closing it. Note that
+     *                         no <em>disconnected</em> event should be sent for the closed connection
+     *                         because sending an event for a deleted or disabled tenant/device would fail.
+     * @throws NullPointerException if any of the parameters are {@code null}.
+     */
+    protected final <C> void registerDeviceAndTenantChangeNotificationConsumers(
+            final DeviceConnectionRegistry<C> connections,
+            final BiConsumer<C, String> connectionCloser) {
+
+        registerDeviceAndTenantChangeNotificationConsumers(connections, connectionCloser, con -> null);
+    }
+
+    /**
+     * Registers consumers for notifications about devices and tenants having been changed.
+     * <p>
+     * The consumers close the affected connections of authenticated devices if the device or tenant has been
+     * deleted or disabled. For any other change, the consumers invalidate the session contexts of the affected
+     * connections so that the changed tenant configuration and registration information is used for subsequent
+     * messages. The connections are looked up by means of the given registry's tenant and device index, i.e. the
+     * effort for handling a notification does not depend on the overall number of connections to this adapter
+     * instance.
+     * <p>
+     * Subclasses should invoke this method during start-up if they keep track of the connections of
+     * authenticated devices.
+     *
+     * @param <C> The type of connection.
+     * @param connections The registry containing the connections of authenticated devices.
+     * @param connectionCloser The function to invoke for closing a connection. The function will be
+     *                         invoked with the connection and the reason for closing it. Note that
+     *                         no <em>disconnected</em> event should be sent for the closed connection
+     *                         because sending an event for a deleted or disabled tenant/device would fail.
+     * @param sessionContextProvider The function to invoke for getting the session context of a connection.
+     *                               The function may return {@code null} if the connection has no session context.
+     * @throws NullPointerException if any of the parameters are {@code null}.
+     */
+    protected final <C> void registerDeviceAndTenantChangeNotificationConsumers(
+            final DeviceConnectionRegistry<C> connections,
+            final BiConsumer<C, String> connectionCloser,
+            final Function<C, DeviceSessionContext> sessionContextProvider) {
+
+        Objects.requireNonNull(connections);
+        Objects.requireNonNull(connectionCloser);
+        Objects.requireNonNull(sessionContextProvider);
+
+        final Consumer<C> sessionInvalidator = con -> Optional.ofNullable(sessionContextProvider.apply(con))
+                .ifPresent(DeviceSessionContext::invalidate);
+
+        NotificationEventBusSupport.registerConsumer(vertx, DeviceChangeNotification.TYPE,
+                notification -> {
+                    if (LifecycleChange.DELETE.equals(notification.getChange())
+                            || (LifecycleChange.UPDATE.equals(notification.getChange()) && !notification.isEnabled())) {
+                        final String reason = LifecycleChange.DELETE.equals(notification.getChange()) ? "device deleted"
+                                : "device disabled";
+                        connections.getConnections(notification.getTenantId(), notification.getDeviceId())
+                            .forEach(con -> connectionCloser.accept(con, reason));
+                    } else {
+                        connections.getConnections(notification.getTenantId(), notification.getDeviceId())
+                            .forEach(sessionInvalidator);
+                    }
+                });
+        NotificationEventBusSupport.registerConsumer(vertx, AllDevicesOfTenantDeletedNotification.TYPE,
+                notification -> connections.getConnections(notification.getTenantId())
+                    .forEach(con -> connectionCloser.accept(con, "all devices of tenant deleted")));
+        NotificationEventBusSupport.registerConsumer(vertx, TenantChangeNotification.TYPE,
+                notification -> {
+                    if (LifecycleChange.DELETE.equals(notification.getChange())
+                            || (LifecycleChange.UPDATE.equals(notification.getChange()) && !notification.isEnabled())) {
+                        final String reason = LifecycleChange.DELETE.equals(notification.getChange()) ? "tenant deleted"
+                                : "tenant disabled";
+                        connections.getConnections(notification.getTenantId())
+                            .forEach(con -> connectionCloser.accept(con, reason));
+                    } else {
+                        connections.getConnections(notification.getTenantId())
+                            .forEach(sessionInvalidator);
+                    }
+                });
+    }
+
     /**
      * Establishes the connections to the services this adapter depends on.
      * <p>
@@ -706,6 +805,45 @@ public abstract class AbstractProtocolAdapterBase<T extends ProtocolAdapterPrope
             .map(registrationAssertion);
     }
 
+    /**
+     * Gets a registration assertion for a device, using the session context of the connection that
+     * the message being processed has been received on.
+     * <p>
+     * If the device is the authenticated device that the session context belongs to, the assertion kept
+     * in the session context is returned. Otherwise, or if no assertion is kept in the session context,
+     * the assertion is retrieved by means of {@link #getRegistrationAssertion(String, String, Device, SpanContext)}.
+     * Assertions of devices that may connect via multiple gateways are not kept in the session context,
+     * because the device's last known gateway needs to be updated for every message.
+     *
+     * @param tenantId The tenant that the device belongs to.
+     * @param deviceId The device to get the assertion for.
+     * @param authenticatedDevice The device that has authenticated to this protocol adapter or {@code null}
+     *            if the device has not been authenticated.
+     * @param sessionContext The session context of the connection or {@code null} if the connection has
+     *            no session context.
+     * @param context The currently active OpenTracing span that is used to trace the retrieval of the assertion.
+     * @return A future indicating the outcome of the operation.
+     *         See {@link #getRegistrationAssertion(String, String, Device, SpanContext)} for details.
+     * @throws NullPointerException if any of tenant or device ID are {@code null}.
+     */
+    protected final Future<RegistrationAssertion> getRegistrationAssertion(
+            final String tenantId,
+            final String deviceId,
+            final Device authenticatedDevice,
+            final DeviceSessionContext sessionContext,
+            final SpanContext context) {
+
+        Objects.requireNonNull(tenantId);
+        Objects.requireNonNull(deviceId);
+
+        if (sessionContext == null || !sessionContext.isSessionOf(tenantId, deviceId)) {
+            return getRegistrationAssertion(tenantId, deviceId, authenticatedDevice, context);
+        }
+        return sessionContext.getRegistrationAssertion(
+                () -> getRegistrationAssertion(tenantId, deviceId, sessionContext.getAuthenticatedDevice(), context),
+                assertion -> !isDeviceWithMultipleViaGateways(assertion));
+    }
+
     private boolean isDeviceWithMultipleViaGateways(final RegistrationAssertion registrationAssertion) {
         return registrationAssertion.getAuthorizedGateways().size() > 1;
     }
@@ -759,6 +897,37 @@ public abstract class AbstractProtocolAdapterBase<T extends ProtocolAdapterPrope
                                 : error));
     }
 
+    /**
+     * Gets configuration information for a tenant, using the session context of the connection that
+     * the message being processed has been received on.
+     * <p>
+     * If the tenant is the tenant of the authenticated device that the session context belongs to, the
+     * configuration kept in the session context is returned. Otherwise, or if no configuration is kept in
+     * the session context, the configuration is retrieved by means of
+     * {@link #getTenantConfiguration(String, SpanContext)}.
+     *
+     * @param tenantId The tenant to retrieve information for.
+     * @param sessionContext The session context of the connection or {@code null} if the connection has
+     *                       no session context.
+     * @param context The currently active OpenTracing span that is used to
+     *                trace the retrieval of the tenant configuration.
+     * @return A future indicating the outcome of the operation.
+     *         See {@link #getTenantConfiguration(String, SpanContext)} for details.
+     * @throws NullPointerException if tenant ID is {@code null}.
+     */
+    protected final Future<TenantObject> getTenantConfiguration(
+            final String tenantId,
+            final DeviceSessionContext sessionContext,
+            final SpanContext context) {
+
+        Objects.requireNonNull(tenantId);
+
+        if (sessionContext == null || !tenantId.equals(sessionContext.getAuthenticatedDevice().getTenantId())) {
+            return getTenantConfiguration(tenantId, context);
+        }
+        return sessionContext.getTenant(() -> getTenantConfiguration(tenantId, context));
+    }
+
     /**
      * {@inheritDoc}
      * <p>
@@ -0,0 +1,185 @@
+/**
+ * Copyright (c) 2022 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+
+
+package org.eclipse.hono.adapter;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+import org.eclipse.hono.auth.Device;
+
+/**
+ * A registry of the connections of authenticated devices to a protocol adapter.
+ * <p>
+ * The connections are indexed by tenant and by device so that the connections of a particular
+ * device or of all devices of a tenant can be looked up without having to scan all connections.
+ * <p>
+ * Instances are not thread safe. They are supposed to be used on the vert.x context
+ * of the protocol adapter instance that has created them.
+ *
+ * @param <C> The type of connection.
+ */
+public final class DeviceConnectionRegistry<C> {
+
+    private final Map<String, TenantConnections<C>> connectionsPerTenant = new HashMap<>();
+    private int size;
+
+    /**
+     * Adds a connection of an authenticated device.
+     *
+     * @param device The authenticated device.
+     * @param connection The connection.
+     * @return {@code true} if the connection has been added,
+     *         {@code false} if the connection had already been registered for the device.
+     * @throws NullPointerException if any of the parameters are {@code null}.
+     */
+    public boolean add(final Device device, final C connection) {
+        Objects.requireNonNull(device);
+        Objects.requireNonNull(connection);
+
+        final boolean added = connectionsPerTenant
+                .computeIfAbsent(device.getTenantId(), k -> new TenantConnections<>())
+                .add(device.getDeviceId(), connection);
+        if (added) {
+            size++;
+        }
+        return added;
+    }
+
+    /**
+     * Removes a connection of an authenticated device.
+     *
+     * @param device The authenticated device.
+     * @param connection The connection.
+     * @return {@code true} if the connection has been removed,
+     *         {@code false} if the connection was not registered for the device.
+     * @throws NullPointerException if any of the parameters are {@code null}.
+     */
+    public boolean remove(final Device device, final C connection) {
+        Objects.requireNonNull(device);
+        Objects.requireNonNull(connection);
+
+        final TenantConnections<C> tenantConnections = connectionsPerTenant.get(device.getTenantId());
+        if (tenantConnections == null || !tenantConnections.remove(device.getDeviceId(), connection)) {
+            return false;
+        }
+        if (tenantConnections.count == 0) {
+            connectionsPerTenant.remove(device.getTenantId());
+        }
+        size--;
+        return true;
+    }
+
+    /**
+     * Gets the connections of all devices of a tenant.
+     *
+     * @param tenantId The tenant identifier.
+     * @return A copy of the connections. The list may be modified by the caller, e.g.
+     *         while closing the connections.
+     * @throws NullPointerException if tenant ID is {@code null}.
+     */
+    public List<C> getConnections(final String tenantId) {
+        Objects.requireNonNull(tenantId);
+
+        final TenantConnections<C> tenantConnections = connectionsPerTenant.get(tenantId);
+        if (tenantConnections == null) {
+            return new ArrayList<>();
+        }
+        final List<C> result = new ArrayList<>(tenantConnections.count);
+        tenantConnections.connectionsPerDevice.values().forEach(result::addAll);
+        return result;
+    }
+
+    /**
+     * Gets the connections of a device.
+     *
+     * @param tenantId The tenant that the device belongs to.
+     * @param deviceId The device identifier.
+     * @return A copy of the connections. The list may be modified by the caller, e.g.
+     *         while closing the connections.
+     * @throws NullPointerException if any of the parameters are {@code null}.
+     */
+    public List<C> getConnections(final String tenantId, final String deviceId) {
+        Objects.requireNonNull(tenantId);
+        Objects.requireNonNull(deviceId);
+
+        final TenantConnections<C> tenantConnections = connectionsPerTenant.get(tenantId);
+        if (tenantConnections == null) {
+            return new ArrayList<>();
+        }
+        final Set<C> deviceConnections = tenantConnections.connectionsPerDevice.get(deviceId);
+        return deviceConnections == null ? new ArrayList<>() : new ArrayList<>(deviceConnections);
+    }
+
+    /**
+     * Gets the number of connections of all devices of a tenant.
+     *
+     * @param tenantId The tenant identifier.
+     * @return The number of connections.
+     * @throws NullPointerException if tenant ID is {@code null}.
+     */
+    public int getConnectionCount(final String tenantId) {
+        Objects.requireNonNull(tenantId);
+
+        final TenantConnections<C> tenantConnections = connectionsPerTenant.get(tenantId);
+        return tenantConnections == null ? 0 : tenantConnections.count;
+    }
+
+    /**
+     * Gets the overall number of registered connections.
+     *
+     * @return The number of connections.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * The connections of the devices of a tenant.
+     *
+     * @param <C> The type of connection.
+     */
+    private static final class TenantConnections<C> {
+
+        private final Map<String, Set<C>> connectionsPerDevice = new HashMap<>();
+        private int count;
+
+        boolean add(final String deviceId, final C connection) {
+            final boolean added = connectionsPerDevice
+                    .computeIfAbsent(deviceId, k -> new LinkedHashSet<>(2))
+                    .add(connection);
+            if (added) {
+                count++;
+            }
+            return added;
+        }
+
+        boolean remove(final String deviceId, final C connection) {
+            final Set<C> deviceConnections = connectionsPerDevice.get(deviceId);
+            if (deviceConnections == null || !deviceConnections.remove(connection)) {
+                return false;
+            }
+            if (deviceConnections.isEmpty()) {
+                connectionsPerDevice.remove(deviceId);
+            }
+            count--;
+            return true;
+        }
+    }
+}
@@ -0,0 +1,165 @@
+/**
+ * Copyright (c) 2022 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+
+package org.eclipse.hono.adapter;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+import org.eclipse.hono.auth.Device;
+import org.eclipse.hono.util.RegistrationAssertion;
+import org.eclipse.hono.util.TenantObject;
+
+import io.vertx.core.Future;
+
+/**
+ * The state of the session of an authenticated device that is connected to a protocol adapter.
+ * <p>
+ * The identity of an authenticated device does not change during the lifetime of its connection.
+ * The session context therefore keeps the configuration of the device's tenant and the device's
+ * registration assertion once they have been retrieved, so that they do not need to be looked up
+ * again for every message that the device sends. The kept values expire after a given period of time
+ * and can be invalidated explicitly, e.g. when a notification about a change of the tenant or device
+ * has been received.
+ * <p>
+ * Instances are not thread safe. They are supposed to be used on the vert.x context
+ * of the protocol adapter instance that handles the device's connection.
+ */
+public final class DeviceSessionContext {
+
+    /**
+     * The default period of time after which kept values expire.
+     */
+    public static final Duration DEFAULT_MAX_AGE = Duration.ofMinutes(1);
+
+    private final Device authenticatedDevice;
+    private final long maxAgeNanos;
+    private final Entry<TenantObject> tenant = new Entry<>();
+    private final Entry<RegistrationAssertion> registrationAssertion = new Entry<>();
+
+    /**
+     * Creates a new session context.
+     *
+     * @param authenticatedDevice The authenticated device that the session belongs to.
+     * @param maxAge The period of time after which kept values expire.
+     *               A zero duration disables keeping values.
+     * @throws NullPointerException if any of the parameters are {@code null}.
+     * @throws IllegalArgumentException if max age is negative.
+     */
+    public DeviceSessionContext(final Device authenticatedDevice, final Duration maxAge) {
+        this.authenticatedDevice = Objects.requireNonNull(authenticatedDevice);
+        Objects.requireNonNull(maxAge);
+        if (maxAge.isNegative()) {
+            throw new IllegalArgumentException("max age must not be negative");
+        }
+        this.maxAgeNanos = maxAge.toNanos();
+    }
+
+    /**
+     * Gets the authenticated device that the session belongs to.
+     *
+     * @return The device.
+     */
+    public Device getAuthenticatedDevice() {
+        return authenticatedDevice;
+    }
+
+    /**
+     * Checks if this session belongs to a given device.
+     *
+     * @param tenantId The tenant that the device belongs to.
+     * @param deviceId The device identifier.
+     * @return {@code true} if the session belongs to the device.
+     */
+    public boolean isSessionOf(final String tenantId, final String deviceId) {
+        return authenticatedDevice.getTenantId().equals(tenantId)
+                && authenticatedDevice.getDeviceId().equals(deviceId);
+    }
+
+    /**
+     * Gets the configuration of the tenant that the authenticated device belongs to.
+     *
+     * @param loader The function to invoke for retrieving the configuration if it is not kept in this session
+     *               or if it has expired.
+     * @return The kept configuration or the outcome of the loader.
+     * @throws NullPointerException if loader is {@code null}.
+     */
+    public Future<TenantObject> getTenant(final Supplier<Future<TenantObject>> loader) {
+        return tenant.get(loader, t -> true);
+    }
+
+    /**
+     * Gets the registration assertion of the authenticated device.
+     *
+     * @param loader The function to invoke for retrieving the assertion if it is not kept in this session
+     *               or if it has expired.
+     * @param keepAssertion The predicate to test whether an assertion returned by the loader may be kept
+     *                      in this session.
+     * @return The kept assertion or the outcome of the loader.
+     * @throws NullPointerException if any of the parameters are {@code null}.
+     */
+    public Future<RegistrationAssertion> getRegistrationAssertion(
+            final Supplier<Future<RegistrationAssertion>> loader,
+            final Predicate<RegistrationAssertion> keepAssertion) {
+        return registrationAssertion.get(loader, keepAssertion);
+    }
+
+    /**
+     * Removes the values kept in this session.
+     * <p>
+     * Values that are being retrieved at the time this method is invoked will not be kept either.
+     */
+    public void invalidate() {
+        tenant.invalidate();
+        registrationAssertion.invalidate();
+    }
+
+    /**
+     * A value kept in the session.
+     *
+     * @param <T> The type of value.
+     */
+    private final class Entry<T> {
+
+        private Future<T> value;
+        private long retrievedAt;
+        private int generation;
+
+        Future<T> get(final Supplier<Future<T>> loader, final Predicate<T> keepValue) {
+            Objects.requireNonNull(loader);
+            Objects.requireNonNull(keepValue);
+
+            if (value != null && System.nanoTime() - retrievedAt < maxAgeNanos) {
+                return value;
+            }
+            value = null;
+            final int generationAtRetrieval = generation;
+            final long startOfRetrieval = System.nanoTime();
+            final Future<T> result = loader.get();
+            return result.onSuccess(v -> {
+                if (maxAgeNanos > 0 && generationAtRetrieval == generation && keepValue.test(v)) {
+                    // the succeeded future can be handed out to all subsequent invocations
+                    value = result;
+                    retrievedAt = startOfRetrieval;
+                }
+            });
+        }
+
+        void invalidate() {
+            value = null;
+            generation++;
+        }
+    }
+}
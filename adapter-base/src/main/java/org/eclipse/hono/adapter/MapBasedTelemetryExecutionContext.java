@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2020 Contributors to the Eclipse Foundation
+ * Copyright (c) 2020, 2022 Contributors to the Eclipse Foundation
  *
  * See the NOTICE file(s) distributed with this work for additional
  * information regarding copyright ownership.
@@ -24,6 +24,7 @@ import io.opentracing.Span;
 public abstract class MapBasedTelemetryExecutionContext extends MapBasedExecutionContext implements TelemetryExecutionContext {
 
     private final Device authenticatedDevice;
+    private DeviceSessionContext sessionContext;
 
     /**
      * Creates a new context for a message received from a device.
@@ -45,4 +46,22 @@ public abstract class MapBasedTelemetryExecutionContext extends MapBasedExecutio
     public final Device getAuthenticatedDevice() {
         return authenticatedDevice;
     }
+
+    /**
+     * Sets the session context of the connection that the message has been received on.
+     *
+     * @param sessionContext The session context or {@code null} if the connection has no session context.
+     */
+    public final void setSessionContext(final DeviceSessionContext sessionContext) {
+        this.sessionContext = sessionContext;
+    }
+
+    /**
+     * Gets the session context of the connection that the message has been received on.
+     *
+     * @return The session context or {@code null} if the connection has no session context.
+     */
+    public final DeviceSessionContext getSessionContext() {
+        return sessionContext;
+    }
 }
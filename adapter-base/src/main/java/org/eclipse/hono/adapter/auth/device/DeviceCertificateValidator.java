@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2016, 2019 Contributors to the Eclipse Foundation
+ * Copyright (c) 2016, 2022 Contributors to the Eclipse Foundation
  *
  * See the NOTICE file(s) distributed with this work for additional
  * information regarding copyright ownership.
@@ -13,14 +13,23 @@
 
 package org.eclipse.hono.adapter.auth.device;
 
+import java.nio.charset.StandardCharsets;
 import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.security.cert.CertPath;
 import java.security.cert.CertPathValidator;
+import java.security.cert.CertificateEncodingException;
 import java.security.cert.CertificateException;
 import java.security.cert.CertificateFactory;
 import java.security.cert.PKIXParameters;
 import java.security.cert.TrustAnchor;
 import java.security.cert.X509Certificate;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
 import java.util.List;
 import java.util.Objects;
 import java.util.Set;
@@ -29,18 +38,103 @@ import org.eclipse.hono.service.auth.X509CertificateChainValidator;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+
 import io.vertx.core.Future;
 import io.vertx.core.Promise;
 
 
 /**
  * Validates a device's certificate chain using a {@link CertPathValidator}.
- *
+ * <p>
+ * Devices usually connect using the same certificate over and over again. The validator
+ * therefore keeps track of successfully validated chains, so that the PKIX validation does
+ * not need to be repeated for a chain that has already been validated against the same set of
+ * trust anchors. A successful validation is reused until any of the chain's certificates expires,
+ * but no longer than a maximum period of time. The kept validation results are keyed by a hash of
+ * the chain's certificates and a hash of the trust anchors' content, so that changes to a tenant's
+ * trust anchors are taken into account immediately.
  */
 public class DeviceCertificateValidator implements X509CertificateChainValidator {
 
+    /**
+     * The default maximum number of successful validations to keep.
+     */
+    public static final int DEFAULT_CACHE_MAX_SIZE = 10_000;
+    /**
+     * The default maximum period of time for which a successful validation is reused.
+     */
+    public static final Duration DEFAULT_CACHE_MAX_AGE = Duration.ofMinutes(10);
+
     private static final Logger LOG = LoggerFactory.getLogger(DeviceCertificateValidator.class);
 
+    private final Cache<String, Instant> validatedChains;
+
+    /**
+     * Creates a new validator using default cache settings.
+     *
+     * @see #DEFAULT_CACHE_MAX_SIZE
+     * @see #DEFAULT_CACHE_MAX_AGE
+     */
+    public DeviceCertificateValidator() {
+        this(DEFAULT_CACHE_MAX_SIZE, DEFAULT_CACHE_MAX_AGE);
+    }
+
+    /**
+     * Creates a new validator.
+     *
+     * @param cacheMaxSize The maximum number of successful validations to keep.
+     *                     A value of 0 disables the reuse of validation results.
+     * @param cacheMaxAge The maximum period of time for which a successful validation is reused.
+     * @throws NullPointerException if max age is {@code null}.
+     * @throws IllegalArgumentException if max size is negative.
+     */
+    public DeviceCertificateValidator(final int cacheMaxSize, final Duration cacheMaxAge) {
+        Objects.requireNonNull(cacheMaxAge);
+        if (cacheMaxSize < 0) {
+            throw new IllegalArgumentException("max size must not be negative");
+        }
+        if (cacheMaxSize == 0 || cacheMaxAge.isZero() || cacheMaxAge.isNegative()) {
+            validatedChains = null;
+        } else {
+            final long maxAgeNanos = cacheMaxAge.toNanos();
+            validatedChains = Caffeine.newBuilder()
+                    .maximumSize(cacheMaxSize)
+                    .expireAfter(new Expiry<String, Instant>() {
+
+                        @Override
+                        public long expireAfterCreate(final String key, final Instant notAfter, final long currentTime) {
+                            final Instant now = Instant.now();
+                            if (notAfter.isAfter(now.plus(cacheMaxAge))) {
+                                return maxAgeNanos;
+                            }
+                            return Math.max(0, Duration.between(now, notAfter).toNanos());
+                        }
+
+                        @Override
+                        public long expireAfterUpdate(
+                                final String key,
+                                final Instant notAfter,
+                                final long currentTime,
+                                final long currentDuration) {
+                            return expireAfterCreate(key, notAfter, currentTime);
+                        }
+
+                        @Override
+                        public long expireAfterRead(
+                                final String key,
+                                final Instant notAfter,
+                                final long currentTime,
+                                final long currentDuration) {
+                            return currentDuration;
+                        }
+                    })
+                    .build();
+        }
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -68,18 +162,22 @@ public class DeviceCertificateValidator implements X509CertificateChainValidator
             throw new IllegalArgumentException("trust anchor list must not be empty");
         }
 
+        final String cacheKey = getCacheKey(chain, trustAnchors);
+        if (cacheKey != null && validatedChains.getIfPresent(cacheKey) != null) {
+            LOG.debug("device certificate [subject DN: {}] has already been validated",
+                    chain.get(0).getSubjectX500Principal().getName());
+            return Future.succeededFuture();
+        }
+
         final Promise<Void> result = Promise.promise();
 
         try {
-            final PKIXParameters params = new PKIXParameters(trustAnchors);
-            // TODO do we need to check for revocation?
-            params.setRevocationEnabled(false);
-            final CertificateFactory factory = CertificateFactory.getInstance("X.509");
-            final CertPath path = factory.generateCertPath(chain);
-            final CertPathValidator validator = CertPathValidator.getInstance("PKIX");
-            validator.validate(path, params);
+            validateCertPath(chain, trustAnchors);
             LOG.debug("validation of device certificate [subject DN: {}] succeeded",
                     chain.get(0).getSubjectX500Principal().getName());
+            if (cacheKey != null) {
+                validatedChains.put(cacheKey, getNotAfter(chain));
+            }
             result.complete();
         } catch (GeneralSecurityException e) {
             LOG.debug("validation of device certificate [subject DN: {}] failed",
@@ -92,4 +190,83 @@ public class DeviceCertificateValidator implements X509CertificateChainValidator
         }
         return result.future();
     }
+
+    /**
+     * Validates a certificate chain using the PKIX algorithm.
+     *
+     * @param chain The certificate chain to validate.
+     * @param trustAnchors The trust anchors to use.
+     * @throws GeneralSecurityException if validation fails.
+     */
+    void validateCertPath(
+            final List<X509Certificate> chain,
+            final Set<TrustAnchor> trustAnchors) throws GeneralSecurityException {
+
+        final PKIXParameters params = new PKIXParameters(trustAnchors);
+        // TODO do we need to check for revocation?
+        params.setRevocationEnabled(false);
+        final CertificateFactory factory = CertificateFactory.getInstance("X.509");
+        final CertPath path = factory.generateCertPath(chain);
+        final CertPathValidator validator = CertPathValidator.getInstance("PKIX");
+        validator.validate(path, params);
+    }
+
+    private String getCacheKey(final List<X509Certificate> chain, final Set<TrustAnchor> trustAnchors) {
+
+        if (validatedChains == null) {
+            return null;
+        }
+        try {
+            final MessageDigest digest = newSha256Digest();
+            // include the chain's length so that certificates cannot be moved to the trust anchors
+            digest.update(Integer.toString(chain.size()).getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+            for (final X509Certificate cert : chain) {
+                digest.update(digest(cert.getEncoded()));
+            }
+            // sort the trust anchors' hashes in order to not depend on the set's iteration order
+            final List<byte[]> anchorHashes = new ArrayList<>(trustAnchors.size());
+            for (final TrustAnchor anchor : trustAnchors) {
+                anchorHashes.add(getTrustAnchorHash(anchor));
+            }
+            anchorHashes.sort(Arrays::compare);
+            anchorHashes.forEach(digest::update);
+            return Base64.getEncoder().encodeToString(digest.digest());
+        } catch (final CertificateEncodingException e) {
+            LOG.debug("cannot determine cache key for certificate chain", e);
+            return null;
+        }
+    }
+
+    private static byte[] getTrustAnchorHash(final TrustAnchor anchor) throws CertificateEncodingException {
+
+        if (anchor.getTrustedCert() != null) {
+            return digest(anchor.getTrustedCert().getEncoded());
+        }
+        final MessageDigest digest = newSha256Digest();
+        digest.update(anchor.getCAName().getBytes(StandardCharsets.UTF_8));
+        digest.update((byte) 0);
+        digest.update(anchor.getCAPublicKey().getEncoded());
+        return digest.digest();
+    }
+
+    private static byte[] digest(final byte[] data) {
+        return newSha256Digest().digest(data);
+    }
+
+    private static MessageDigest newSha256Digest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (final NoSuchAlgorithmException e) {
+            // every JRE is required to support SHA-256
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static Instant getNotAfter(final List<X509Certificate> chain) {
+        return chain.stream()
+                .map(cert -> cert.getNotAfter().toInstant())
+                .min(Instant::compareTo)
+                .orElse(Instant.EPOCH);
+    }
 }
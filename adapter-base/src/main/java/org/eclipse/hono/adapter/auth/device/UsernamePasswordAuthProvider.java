@@ -14,18 +14,35 @@
 package org.eclipse.hono.adapter.auth.device;
 
 import java.net.HttpURLConnection;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.Arrays;
 import java.util.Base64;
+import java.util.List;
 import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
 
 import org.eclipse.hono.auth.Device;
 import org.eclipse.hono.client.ClientErrorException;
 import org.eclipse.hono.client.registry.CredentialsClient;
+import org.eclipse.hono.notification.NotificationEventBusSupport;
+import org.eclipse.hono.notification.deviceregistry.CredentialsChangeNotification;
 import org.eclipse.hono.service.auth.HonoPasswordEncoder;
 import org.eclipse.hono.service.auth.SpringBasedHonoPasswordEncoder;
 import org.eclipse.hono.util.CredentialsConstants;
 import org.eclipse.hono.util.CredentialsObject;
 import org.eclipse.hono.util.JsonHelper;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
 import io.opentracing.Tracer;
 import io.vertx.core.Context;
 import io.vertx.core.Future;
@@ -36,10 +53,35 @@ import io.vertx.core.json.JsonObject;
 /**
  * An authentication provider that verifies username/password credentials using
  * Hono's <em>Credentials</em> API.
+ * <p>
+ * Verifying a password against a (BCrypt) hash on record is expensive by design. This provider therefore
+ * keeps track of successful verifications for a limited amount of time. A password presented by a device
+ * is considered valid without matching it against the hash on record again, if the same password has
+ * been successfully matched against the same hash on record before. The cache does not contain any clear
+ * text passwords but only keyed hashes of them, using a random key that is created when the provider is
+ * instantiated. Cache entries are removed when a notification about a change of the device's credentials
+ * has been received.
  */
 public final class UsernamePasswordAuthProvider extends CredentialsApiAuthProvider<UsernamePasswordCredentials> {
 
+    /**
+     * The maximum number of successful verifications that are kept in the cache.
+     */
+    public static final long VERIFICATION_CACHE_MAX_SIZE = 10_000L;
+    /**
+     * The period of time after which a successful verification is removed from the cache.
+     */
+    public static final Duration VERIFICATION_CACHE_TIMEOUT = Duration.ofMinutes(5);
+
+    private static final String MAC_ALGORITHM = "HmacSHA256";
+
     private final HonoPasswordEncoder pwdEncoder;
+    private final Cache<VerifiedPassword, Boolean> verifiedPasswords = Caffeine.newBuilder()
+            .maximumSize(VERIFICATION_CACHE_MAX_SIZE)
+            .expireAfterWrite(VERIFICATION_CACHE_TIMEOUT)
+            .build();
+    private final SecretKeySpec passwordHashKey;
+    private final AtomicBoolean notificationConsumersRegistered = new AtomicBoolean(false);
 
     /**
      * Creates a new provider for a given configuration.
@@ -67,6 +109,9 @@ public final class UsernamePasswordAuthProvider extends CredentialsApiAuthProvid
 
         super(credentialsClient, tracer);
         this.pwdEncoder = Objects.requireNonNull(pwdEncoder);
+        final byte[] key = new byte[32];
+        new SecureRandom().nextBytes(key);
+        this.passwordHashKey = new SecretKeySpec(key, MAC_ALGORITHM);
     }
 
     /**
@@ -129,19 +174,125 @@ public final class UsernamePasswordAuthProvider extends CredentialsApiAuthProvid
         final Context currentContext = Vertx.currentContext();
         if (currentContext == null) {
             return Future.failedFuture(new IllegalStateException("not running on vert.x Context"));
-        } else {
-            final Promise<Device> result = Promise.promise();
-            currentContext.executeBlocking(blockingCodeHandler -> {
-                log.debug("validating password hash on vert.x worker thread [{}]", Thread.currentThread().getName());
-                final boolean isValid = credentialsOnRecord.getCandidateSecrets().stream()
-                        .anyMatch(candidateSecret -> pwdEncoder.matches(deviceCredentials.getPassword(), candidateSecret));
-                if (isValid) {
-                    blockingCodeHandler.complete(new Device(deviceCredentials.getTenantId(), credentialsOnRecord.getDeviceId()));
-                } else {
-                    blockingCodeHandler.fail(new ClientErrorException(HttpURLConnection.HTTP_UNAUTHORIZED, "bad credentials"));
+        }
+        registerNotificationConsumers(currentContext.owner());
+
+        final Device device = new Device(deviceCredentials.getTenantId(), credentialsOnRecord.getDeviceId());
+        final byte[] presentedPasswordHash = getPasswordHash(deviceCredentials.getPassword());
+        final List<JsonObject> candidateSecrets = credentialsOnRecord.getCandidateSecrets();
+        final List<VerifiedPassword> candidateKeys = candidateSecrets.stream()
+                .map(secret -> VerifiedPassword.from(deviceCredentials, device, secret, presentedPasswordHash))
+                .collect(Collectors.toList());
+
+        if (candidateKeys.stream().anyMatch(key -> key != null && verifiedPasswords.getIfPresent(key) != null)) {
+            log.debug("password of device [tenant-id: {}, auth-id: {}] has been verified before",
+                    deviceCredentials.getTenantId(), deviceCredentials.getAuthId());
+            return Future.succeededFuture(device);
+        }
+
+        final Promise<Device> result = Promise.promise();
+        currentContext.executeBlocking(blockingCodeHandler -> {
+            log.debug("validating password hash on vert.x worker thread [{}]", Thread.currentThread().getName());
+            for (int i = 0; i < candidateSecrets.size(); i++) {
+                if (pwdEncoder.matches(deviceCredentials.getPassword(), candidateSecrets.get(i))) {
+                    Optional.ofNullable(candidateKeys.get(i))
+                        .ifPresent(key -> verifiedPasswords.put(key, Boolean.TRUE));
+                    blockingCodeHandler.complete(device);
+                    return;
                 }
-            }, false, result);
-            return result.future();
+            }
+            blockingCodeHandler.fail(new ClientErrorException(HttpURLConnection.HTTP_UNAUTHORIZED, "bad credentials"));
+        }, false, result);
+        return result.future();
+    }
+
+    private void registerNotificationConsumers(final Vertx vertx) {
+        if (notificationConsumersRegistered.compareAndSet(false, true)) {
+            NotificationEventBusSupport.registerConsumer(vertx, CredentialsChangeNotification.TYPE,
+                    notification -> verifiedPasswords.asMap().keySet().removeIf(key ->
+                            key.tenantId.equals(notification.getTenantId())
+                            && key.deviceId.equals(notification.getDeviceId())));
+        }
+    }
+
+    private byte[] getPasswordHash(final String password) {
+        try {
+            final Mac mac = Mac.getInstance(MAC_ALGORITHM);
+            mac.init(passwordHashKey);
+            return mac.doFinal(password.getBytes(StandardCharsets.UTF_8));
+        } catch (final GeneralSecurityException e) {
+            // HmacSHA256 is supported by every Java platform
+            throw new IllegalStateException("cannot create keyed hash of password", e);
+        }
+    }
+
+    /**
+     * The key of a successful verification of a password against a secret on record.
+     */
+    private static final class VerifiedPassword {
+
+        private final String tenantId;
+        private final String deviceId;
+        private final String authId;
+        private final String hashOnRecord;
+        private final byte[] presentedPasswordHash;
+
+        private VerifiedPassword(
+                final String tenantId,
+                final String deviceId,
+                final String authId,
+                final String hashOnRecord,
+                final byte[] presentedPasswordHash) {
+            this.tenantId = tenantId;
+            this.deviceId = deviceId;
+            this.authId = authId;
+            this.hashOnRecord = hashOnRecord;
+            this.presentedPasswordHash = presentedPasswordHash;
+        }
+
+        /**
+         * Creates the key for a secret on record.
+         *
+         * @return The key or {@code null} if the secret does not contain a password hash.
+         */
+        static VerifiedPassword from(
+                final UsernamePasswordCredentials deviceCredentials,
+                final Device device,
+                final JsonObject secretOnRecord,
+                final byte[] presentedPasswordHash) {
+
+            final String hashOnRecord = JsonHelper.getValue(secretOnRecord,
+                    CredentialsConstants.FIELD_SECRETS_PWD_HASH, String.class, null);
+            if (hashOnRecord == null) {
+                return null;
+            }
+            return new VerifiedPassword(
+                    device.getTenantId(),
+                    device.getDeviceId(),
+                    deviceCredentials.getAuthId(),
+                    hashOnRecord,
+                    presentedPasswordHash);
+        }
+
+        @Override
+        public boolean equals(final Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (obj == null || getClass() != obj.getClass()) {
+                return false;
+            }
+            final VerifiedPassword other = (VerifiedPassword) obj;
+            return tenantId.equals(other.tenantId)
+                    && deviceId.equals(other.deviceId)
+                    && authId.equals(other.authId)
+                    && hashOnRecord.equals(other.hashOnRecord)
+                    && Arrays.equals(presentedPasswordHash, other.presentedPasswordHash);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(tenantId, deviceId, authId, hashOnRecord) * 31 + Arrays.hashCode(presentedPasswordHash);
         }
     }
 }
@@ -0,0 +1,156 @@
+/**
+ * Copyright (c) 2022 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+
+
+package org.eclipse.hono.adapter.resourcelimits;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.eclipse.hono.util.Lifecycle;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.github.benmanes.caffeine.cache.AsyncCacheLoader;
+import com.github.benmanes.caffeine.cache.AsyncLoadingCache;
+
+import io.vertx.core.Future;
+import io.vertx.core.Vertx;
+
+/**
+ * A component that periodically reloads all entries of asynchronous caches at once.
+ * <p>
+ * The entries are reloaded by means of the cache loader's
+ * {@link AsyncCacheLoader#asyncLoadAll(Iterable, java.util.concurrent.Executor)} method.
+ * Loaders can use this to retrieve the values for all keys using a single request instead
+ * of one request per key. The reloaded values replace the cached values so that, given a refresh
+ * interval shorter than the caches' refresh/expiration period, the cached entries never need to
+ * be loaded individually once they have been loaded initially.
+ */
+public final class BulkCacheRefresher implements Lifecycle {
+
+    private static final Logger LOG = LoggerFactory.getLogger(BulkCacheRefresher.class);
+
+    private final List<RefreshTask<?, ?>> tasks = new CopyOnWriteArrayList<>();
+    private final Vertx vertx;
+    private final long refreshInterval;
+    private long timerId = -1;
+
+    /**
+     * Creates a new refresher.
+     *
+     * @param vertx The vert.x instance to use for scheduling the refresh.
+     * @param refreshInterval The interval at which the caches' entries should be reloaded.
+     * @throws NullPointerException if any of the parameters are {@code null}.
+     * @throws IllegalArgumentException if the refresh interval is shorter than 1 millisecond.
+     */
+    public BulkCacheRefresher(final Vertx vertx, final Duration refreshInterval) {
+        this.vertx = Objects.requireNonNull(vertx);
+        Objects.requireNonNull(refreshInterval);
+        if (refreshInterval.toMillis() < 1) {
+            throw new IllegalArgumentException("refresh interval must be at least 1ms");
+        }
+        this.refreshInterval = refreshInterval.toMillis();
+    }
+
+    /**
+     * Adds a cache to be refreshed.
+     *
+     * @param <K> The type of keys.
+     * @param <V> The type of values.
+     * @param cache The cache.
+     * @param loader The loader to use for reloading the cache's entries.
+     * @return This instance for command chaining.
+     * @throws NullPointerException if any of the parameters are {@code null}.
+     */
+    public <K, V> BulkCacheRefresher addCache(
+            final AsyncLoadingCache<K, V> cache,
+            final AsyncCacheLoader<K, V> loader) {
+        tasks.add(new RefreshTask<>(cache, loader));
+        return this;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Starts the periodic refresh of the caches.
+     */
+    @Override
+    public Future<Void> start() {
+        if (timerId == -1) {
+            timerId = vertx.setPeriodic(refreshInterval, id -> refresh());
+        }
+        return Future.succeededFuture();
+    }
+
+    @Override
+    public Future<Void> stop() {
+        if (timerId != -1) {
+            vertx.cancelTimer(timerId);
+            timerId = -1;
+        }
+        return Future.succeededFuture();
+    }
+
+    /**
+     * Reloads the entries of all caches.
+     */
+    void refresh() {
+        tasks.forEach(RefreshTask::run);
+    }
+
+    /**
+     * Refreshes a single cache.
+     *
+     * @param <K> The type of keys.
+     * @param <V> The type of values.
+     */
+    private static final class RefreshTask<K, V> {
+
+        private final AtomicBoolean refreshInProgress = new AtomicBoolean(false);
+        private final AsyncLoadingCache<K, V> cache;
+        private final AsyncCacheLoader<K, V> loader;
+
+        RefreshTask(final AsyncLoadingCache<K, V> cache, final AsyncCacheLoader<K, V> loader) {
+            this.cache = Objects.requireNonNull(cache);
+            this.loader = Objects.requireNonNull(loader);
+        }
+
+        void run() {
+            final Set<K> keys = Set.copyOf(cache.synchronous().asMap().keySet());
+            if (keys.isEmpty() || !refreshInProgress.compareAndSet(false, true)) {
+                return;
+            }
+            LOG.trace("reloading {} entries using [{}]", keys.size(), loader.getClass().getSimpleName());
+            try {
+                loader.asyncLoadAll(keys, Runnable::run)
+                    .whenComplete((values, error) -> {
+                        refreshInProgress.set(false);
+                        if (error == null) {
+                            values.forEach((key, value) -> cache.put(key, CompletableFuture.completedFuture(value)));
+                        } else {
+                            LOG.debug("failed to reload entries using [{}]", loader.getClass().getSimpleName(), error);
+                        }
+                    });
+            } catch (final Exception e) {
+                refreshInProgress.set(false);
+                LOG.debug("failed to reload entries using [{}]", loader.getClass().getSimpleName(), e);
+            }
+        }
+    }
+}
@@ -0,0 +1,150 @@
+/**
+ * Copyright (c) 2022 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+
+package org.eclipse.hono.adapter.resourcelimits;
+
+import java.net.HttpURLConnection;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.hono.client.ServerErrorException;
+import org.eclipse.hono.client.ServiceInvocationException;
+import org.eclipse.hono.deviceconnection.infinispan.client.BasicCache;
+
+import io.vertx.core.CompositeFuture;
+import io.vertx.core.Future;
+
+/**
+ * A resource usage store that keeps the counters in a (remote) data grid.
+ * <p>
+ * The counters are shared by all protocol adapter instances that are connected to the
+ * same cache of the data grid. Counters are updated by means of conditional
+ * <em>replace</em> operations, which are retried if another adapter instance has updated the
+ * same counter concurrently. The lifespan of a counter's entry is renewed with each update,
+ * including updates with a delta of zero, so that the data grid removes counters that have
+ * not been updated for the configured idle timeout.
+ */
+public final class CacheBasedResourceUsageStore implements ResourceUsageStore {
+
+    /**
+     * The maximum number of attempts for updating a counter.
+     */
+    static final int MAX_UPDATE_ATTEMPTS = 10;
+
+    private static final String KEY_PREFIX = "resource-usage::";
+
+    private final BasicCache<String, String> cache;
+    private final long idleTimeoutMillis;
+
+    /**
+     * Creates a new store using the default idle timeout.
+     *
+     * @param cache The cache to keep the counters in.
+     * @throws NullPointerException if cache is {@code null}.
+     */
+    public CacheBasedResourceUsageStore(final BasicCache<String, String> cache) {
+        this(cache, InMemoryResourceUsageStore.DEFAULT_IDLE_TIMEOUT);
+    }
+
+    /**
+     * Creates a new store.
+     *
+     * @param cache The cache to keep the counters in.
+     * @param idleTimeout The period of time after which counters that have not been updated are removed.
+     * @throws NullPointerException if any of the parameters are {@code null}.
+     * @throws IllegalArgumentException if idle timeout is not positive.
+     */
+    public CacheBasedResourceUsageStore(final BasicCache<String, String> cache, final Duration idleTimeout) {
+        this.cache = Objects.requireNonNull(cache);
+        Objects.requireNonNull(idleTimeout);
+        if (idleTimeout.isNegative() || idleTimeout.isZero()) {
+            throw new IllegalArgumentException("idle timeout must be positive");
+        }
+        this.idleTimeoutMillis = idleTimeout.toMillis();
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Connects to the data grid.
+     */
+    @Override
+    public Future<Void> start() {
+        return cache.start();
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Closes the connection to the data grid.
+     */
+    @Override
+    public Future<Void> stop() {
+        return cache.stop();
+    }
+
+    @Override
+    public Future<Map<String, Long>> addAndGet(final Map<String, Long> deltas) {
+
+        Objects.requireNonNull(deltas);
+
+        final Map<String, Long> result = new HashMap<>(deltas.size());
+        @SuppressWarnings("rawtypes")
+        final List<Future> updates = new ArrayList<>(deltas.size());
+        deltas.forEach((name, delta) -> updates.add(addAndGet(KEY_PREFIX + name, delta, MAX_UPDATE_ATTEMPTS)
+                .onSuccess(value -> result.put(name, value))));
+        return CompositeFuture.all(updates)
+                .map(ok -> result)
+                .recover(t -> Future.failedFuture(t instanceof ServiceInvocationException
+                        ? t
+                        : new ServerErrorException(
+                                HttpURLConnection.HTTP_UNAVAILABLE,
+                                "failed to update resource usage counters",
+                                t)));
+    }
+
+    private Future<Long> addAndGet(final String key, final long delta, final int remainingAttempts) {
+
+        return cache.get(key)
+                .compose(currentValue -> {
+                    // a delta of zero is written as well, in order to renew the entry's lifespan
+                    final Future<Boolean> update;
+                    final long newValue;
+                    if (currentValue == null) {
+                        newValue = delta;
+                        update = cache.putIfAbsent(key, String.valueOf(newValue), idleTimeoutMillis, TimeUnit.MILLISECONDS);
+                    } else {
+                        newValue = Long.parseLong(currentValue) + delta;
+                        update = cache.replace(key, currentValue, String.valueOf(newValue),
+                                idleTimeoutMillis, TimeUnit.MILLISECONDS);
+                    }
+                    return update.compose(updated -> {
+                        if (updated) {
+                            return Future.succeededFuture(newValue);
+                        } else if (remainingAttempts > 1) {
+                            // counter has been updated concurrently by another adapter instance
+                            return addAndGet(key, delta, remainingAttempts - 1);
+                        } else {
+                            return Future.failedFuture(new ServerErrorException(
+                                    HttpURLConnection.HTTP_UNAVAILABLE,
+                                    "failed to update resource usage counter due to concurrent updates"));
+                        }
+                    });
+                });
+    }
+}
@@ -14,6 +14,7 @@
 
 package org.eclipse.hono.adapter.resourcelimits;
 
+import java.util.HashMap;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.Executor;
@@ -28,6 +29,7 @@ import io.opentracing.Tracer;
 import io.opentracing.log.Fields;
 import io.opentracing.tag.Tags;
 import io.quarkus.runtime.annotations.RegisterForReflection;
+import io.vertx.core.Future;
 import io.vertx.ext.web.client.WebClient;
 
 /**
@@ -100,4 +102,48 @@ public class ConnectedDevicesAsyncCacheLoader extends PrometheusBasedAsyncCacheL
         });
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Retrieves the number of connected devices of all tenants by means of a single query.
+     * Keys for which the tenant configuration cannot be retrieved are not contained in the result.
+     */
+    @Override
+    public CompletableFuture<Map<LimitedResourceKey, LimitedResource<Long>>> asyncLoadAll(
+            final Iterable<? extends LimitedResourceKey> keys,
+            final Executor executor) {
+
+        final var span = tracer.buildSpan("determine number of connected devices of tenants")
+                .withTag(Tags.COMPONENT, getClass().getSimpleName())
+                .withTag(Tags.SPAN_KIND.getKey(), Tags.SPAN_KIND_CLIENT)
+                .start();
+
+        return getTenantInformation(keys, span.context())
+            .compose(tenants -> {
+                final Map<LimitedResourceKey, LimitedResource<Long>> result = new HashMap<>();
+                final Map<LimitedResourceKey, Long> limits = new HashMap<>();
+                tenants.forEach((key, tenant) -> {
+                    if (tenant.getResourceLimits() == null
+                            || tenant.getResourceLimits().getMaxConnections() == TenantConstants.UNLIMITED_CONNECTIONS) {
+                        result.put(key, new LimitedResource<>(null, 0L));
+                    } else {
+                        limits.put(key, (long) tenant.getResourceLimits().getMaxConnections());
+                    }
+                });
+                if (limits.isEmpty()) {
+                    return Future.succeededFuture(result);
+                }
+                final String query = String.format("sum by (tenant) (%s)", METRIC_NAME_CONNECTIONS);
+                return executeQueryPerTenant(query, span.context())
+                        .map(values -> {
+                            limits.forEach((key, maxConnections) -> result.put(
+                                    key,
+                                    new LimitedResource<>(maxConnections, values.getOrDefault(key.getTenantId(), 0L))));
+                            return result;
+                        });
+            })
+            .onComplete(r -> span.finish())
+            .toCompletionStage()
+            .toCompletableFuture();
+    }
 }
@@ -16,12 +16,18 @@ package org.eclipse.hono.adapter.resourcelimits;
 
 import java.time.Duration;
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.Executor;
 
 import org.eclipse.hono.service.metric.MicrometerBasedMetrics;
 import org.eclipse.hono.tracing.TracingHelper;
+import org.eclipse.hono.util.ResourceLimits;
 import org.eclipse.hono.util.TenantConstants;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -30,6 +36,8 @@ import io.opentracing.Tracer;
 import io.opentracing.log.Fields;
 import io.opentracing.tag.Tags;
 import io.quarkus.runtime.annotations.RegisterForReflection;
+import io.vertx.core.CompositeFuture;
+import io.vertx.core.Future;
 import io.vertx.ext.web.client.WebClient;
 
 /**
@@ -41,6 +49,13 @@ public class ConnectionDurationAsyncCacheLoader extends PrometheusBasedAsyncCach
 
     private static final String METRIC_NAME_CONNECTIONS_DURATION = String.format("%s_seconds_sum",
             MicrometerBasedMetrics.METER_CONNECTIONS_AUTHENTICATED_DURATION.replace(".", "_"));
+    // the metric contains the connection duration in seconds
+    private static final String QUERY_TEMPLATE_CONNECTION_DURATION = String.format(
+            "floor(sum(increase(%s{tenant=\"%%s\"} [%%dm])) / 60)",
+            METRIC_NAME_CONNECTIONS_DURATION);
+    private static final String QUERY_TEMPLATE_CONNECTION_DURATION_PER_TENANT = String.format(
+            "floor(sum by (tenant) (increase(%s [%%dm])) / 60)",
+            METRIC_NAME_CONNECTIONS_DURATION);
     private static final Logger LOG = LoggerFactory.getLogger(ConnectionDurationAsyncCacheLoader.class);
 
     /**
@@ -110,8 +125,7 @@ public class ConnectionDurationAsyncCacheLoader extends PrometheusBasedAsyncCach
                         if (connectionDurationUsagePeriod.toMinutes() <= 0) {
                             result.complete(new LimitedResource<>(allowedMaxDuration, Duration.ZERO));
                         } else {
-                            final String query = String.format("minute( sum( increase( %s {tenant=\"%s\"} [%dm])))",
-                                    METRIC_NAME_CONNECTIONS_DURATION,
+                            final String query = String.format(QUERY_TEMPLATE_CONNECTION_DURATION,
                                     key.getTenantId(),
                                     connectionDurationUsagePeriod.toMinutes());
                             executeQuery(query, span.context())
@@ -133,4 +147,68 @@ public class ConnectionDurationAsyncCacheLoader extends PrometheusBasedAsyncCach
         });
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Retrieves the connection duration of the devices of all tenants by means of a single query
+     * per length of the elapsed accounting period.
+     * Keys for which the tenant configuration cannot be retrieved are not contained in the result.
+     */
+    @Override
+    public CompletableFuture<Map<LimitedResourceKey, LimitedResource<Duration>>> asyncLoadAll(
+            final Iterable<? extends LimitedResourceKey> keys,
+            final Executor executor) {
+
+        final var span = tracer.buildSpan("determine used connection duration of tenants")
+                .withTag(Tags.COMPONENT, getClass().getSimpleName())
+                .withTag(Tags.SPAN_KIND.getKey(), Tags.SPAN_KIND_CLIENT)
+                .start();
+
+        return getTenantInformation(keys, span.context())
+            .compose(tenants -> {
+                final var nowUtc = Instant.now(clock);
+                final Map<LimitedResourceKey, LimitedResource<Duration>> result = new ConcurrentHashMap<>();
+                // the limits of the tenants, grouped by the number of minutes elapsed in the accounting period
+                final Map<Long, Map<LimitedResourceKey, Duration>> limitsPerPeriod = new HashMap<>();
+
+                tenants.forEach((key, tenant) -> {
+                    final var connectionDuration = Optional.ofNullable(tenant.getResourceLimits())
+                            .map(ResourceLimits::getConnectionDuration)
+                            .orElse(null);
+                    if (connectionDuration == null || !connectionDuration.isLimited()) {
+                        result.put(key, new LimitedResource<>(null, Duration.ZERO));
+                    } else {
+                        final Duration allowedMaxDuration = Duration.ofMinutes(calculateEffectiveLimit(
+                                connectionDuration.getEffectiveSince(),
+                                nowUtc,
+                                connectionDuration.getPeriod().getMode(),
+                                connectionDuration.getMaxMinutes()));
+                        final long usagePeriodMinutes = connectionDuration.getElapsedAccountingPeriodDuration(nowUtc)
+                                .toMinutes();
+                        if (usagePeriodMinutes <= 0) {
+                            result.put(key, new LimitedResource<>(allowedMaxDuration, Duration.ZERO));
+                        } else {
+                            limitsPerPeriod.computeIfAbsent(usagePeriodMinutes, k -> new HashMap<>())
+                                .put(key, allowedMaxDuration);
+                        }
+                    }
+                });
+
+                @SuppressWarnings("rawtypes")
+                final List<Future> queryResults = new ArrayList<>();
+                limitsPerPeriod.forEach((minutes, limits) -> {
+                    final String query = String.format(QUERY_TEMPLATE_CONNECTION_DURATION_PER_TENANT, minutes);
+                    queryResults.add(executeQueryPerTenant(query, span.context())
+                            .onSuccess(minutesConnected -> limits.forEach((key, allowedMaxDuration) -> result.put(
+                                    key,
+                                    new LimitedResource<>(
+                                            allowedMaxDuration,
+                                            Duration.ofMinutes(minutesConnected.getOrDefault(key.getTenantId(), 0L)))))));
+                });
+                return CompositeFuture.all(queryResults).map(ok -> result);
+            })
+            .onComplete(r -> span.finish())
+            .toCompletionStage()
+            .toCompletableFuture();
+    }
 }
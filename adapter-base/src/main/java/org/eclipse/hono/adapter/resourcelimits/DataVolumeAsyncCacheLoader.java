@@ -16,13 +16,19 @@ package org.eclipse.hono.adapter.resourcelimits;
 
 import java.time.Duration;
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.Executor;
 
 import org.eclipse.hono.service.metric.MetricsTags;
 import org.eclipse.hono.service.metric.MicrometerBasedMetrics;
 import org.eclipse.hono.tracing.TracingHelper;
+import org.eclipse.hono.util.ResourceLimits;
 import org.eclipse.hono.util.TenantConstants;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -31,6 +37,8 @@ import io.opentracing.Tracer;
 import io.opentracing.log.Fields;
 import io.opentracing.tag.Tags;
 import io.quarkus.runtime.annotations.RegisterForReflection;
+import io.vertx.core.CompositeFuture;
+import io.vertx.core.Future;
 import io.vertx.ext.web.client.WebClient;
 
 /**
@@ -51,6 +59,13 @@ public class DataVolumeAsyncCacheLoader extends PrometheusBasedAsyncCacheLoader<
             METRIC_NAME_COMMANDS_PAYLOAD_SIZE,
             MetricsTags.ProcessingOutcome.FORWARDED.asTag().getValue(),
             MetricsTags.ProcessingOutcome.UNPROCESSABLE.asTag().getValue());
+    // sums up the payload sizes of messages and commands of each tenant like the single tenant query above
+    private static final String QUERY_TEMPLATE_DATA_VOLUME_PER_TENANT = String.format(
+            "floor(sum by (tenant) (increase({__name__=~\"%1$s|%2$s\", status=~\"%3$s|%4$s\"} [%%dm])))",
+            METRIC_NAME_MESSAGES_PAYLOAD_SIZE,
+            METRIC_NAME_COMMANDS_PAYLOAD_SIZE,
+            MetricsTags.ProcessingOutcome.FORWARDED.asTag().getValue(),
+            MetricsTags.ProcessingOutcome.UNPROCESSABLE.asTag().getValue());
     private static final Logger LOG = LoggerFactory.getLogger(DataVolumeAsyncCacheLoader.class);
 
     /**
@@ -137,4 +152,68 @@ public class DataVolumeAsyncCacheLoader extends PrometheusBasedAsyncCacheLoader<
             span.finish();
         });
     }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Retrieves the data volume used by the devices of all tenants by means of a single query
+     * per length of the elapsed accounting period.
+     * Keys for which the tenant configuration cannot be retrieved are not contained in the result.
+     */
+    @Override
+    public CompletableFuture<Map<LimitedResourceKey, LimitedResource<Long>>> asyncLoadAll(
+            final Iterable<? extends LimitedResourceKey> keys,
+            final Executor executor) {
+
+        final var span = tracer.buildSpan("determine used data volume of tenants")
+                .withTag(Tags.COMPONENT, getClass().getSimpleName())
+                .withTag(Tags.SPAN_KIND.getKey(), Tags.SPAN_KIND_CLIENT)
+                .start();
+
+        return getTenantInformation(keys, span.context())
+            .compose(tenants -> {
+                final var nowUtc = Instant.now(clock);
+                final Map<LimitedResourceKey, LimitedResource<Long>> result = new ConcurrentHashMap<>();
+                // the limits of the tenants, grouped by the number of minutes elapsed in the accounting period
+                final Map<Long, Map<LimitedResourceKey, Long>> limitsPerPeriod = new HashMap<>();
+
+                tenants.forEach((key, tenant) -> {
+                    final var dataVolume = Optional.ofNullable(tenant.getResourceLimits())
+                            .map(ResourceLimits::getDataVolume)
+                            .orElse(null);
+                    if (dataVolume == null || !dataVolume.isLimited()) {
+                        result.put(key, new LimitedResource<>(null, 0L));
+                    } else {
+                        final long allowedMaxBytes = calculateEffectiveLimit(
+                                dataVolume.getEffectiveSince(),
+                                nowUtc,
+                                dataVolume.getPeriod().getMode(),
+                                dataVolume.getMaxBytes());
+                        final long dataUsagePeriodMinutes = dataVolume.getElapsedAccountingPeriodDuration(nowUtc).toMinutes();
+                        if (dataUsagePeriodMinutes <= 0) {
+                            result.put(key, new LimitedResource<>(allowedMaxBytes, 0L));
+                        } else {
+                            limitsPerPeriod.computeIfAbsent(dataUsagePeriodMinutes, k -> new HashMap<>())
+                                .put(key, allowedMaxBytes);
+                        }
+                    }
+                });
+
+                @SuppressWarnings("rawtypes")
+                final List<Future> queryResults = new ArrayList<>();
+                limitsPerPeriod.forEach((minutes, limits) -> {
+                    final String query = String.format(QUERY_TEMPLATE_DATA_VOLUME_PER_TENANT, minutes);
+                    queryResults.add(executeQueryPerTenant(query, span.context())
+                            .onSuccess(bytesUsed -> limits.forEach((key, allowedMaxBytes) -> result.put(
+                                    key,
+                                    new LimitedResource<>(
+                                            allowedMaxBytes,
+                                            bytesUsed.getOrDefault(key.getTenantId(), 0L))))));
+                });
+                return CompositeFuture.all(queryResults).map(ok -> result);
+            })
+            .onComplete(r -> span.finish())
+            .toCompletionStage()
+            .toCompletableFuture();
+    }
 }
@@ -0,0 +1,104 @@
+/**
+ * Copyright (c) 2022 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+
+
+package org.eclipse.hono.adapter.resourcelimits;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import io.vertx.core.Future;
+
+/**
+ * A resource usage store that keeps the counters in memory.
+ * <p>
+ * The counters are not shared with any other process. This store is therefore
+ * only suitable for setups that consist of a single protocol adapter instance
+ * only or for testing purposes.
+ */
+public final class InMemoryResourceUsageStore implements ResourceUsageStore {
+
+    /**
+     * The default period of time after which counters that have not been updated are removed.
+     */
+    public static final Duration DEFAULT_IDLE_TIMEOUT = Duration.ofHours(1);
+
+    private final Map<String, Counter> counters = new ConcurrentHashMap<>();
+    private final long idleTimeout;
+    private Clock clock = Clock.systemUTC();
+
+    /**
+     * Creates a new store using the default idle timeout.
+     */
+    public InMemoryResourceUsageStore() {
+        this(DEFAULT_IDLE_TIMEOUT);
+    }
+
+    /**
+     * Creates a new store.
+     *
+     * @param idleTimeout The period of time after which counters that have not been updated are removed.
+     * @throws NullPointerException if idle timeout is {@code null}.
+     * @throws IllegalArgumentException if idle timeout is negative.
+     */
+    public InMemoryResourceUsageStore(final Duration idleTimeout) {
+        Objects.requireNonNull(idleTimeout);
+        if (idleTimeout.isNegative()) {
+            throw new IllegalArgumentException("idle timeout must not be negative");
+        }
+        this.idleTimeout = idleTimeout.toMillis();
+    }
+
+    /**
+     * Sets the clock to use for determining the current system time.
+     * <p>
+     * The default value of this property is {@link Clock#systemUTC()}.
+     * <p>
+     * This property should only be set for running tests expecting the current
+     * time to be a certain value, e.g. by using {@link Clock#fixed(java.time.Instant, java.time.ZoneId)}.
+     *
+     * @param clock The clock to use.
+     * @throws NullPointerException if clock is {@code null}.
+     */
+    void setClock(final Clock clock) {
+        this.clock = Objects.requireNonNull(clock);
+    }
+
+    @Override
+    public Future<Map<String, Long>> addAndGet(final Map<String, Long> deltas) {
+
+        Objects.requireNonNull(deltas);
+
+        final long now = clock.millis();
+        counters.values().removeIf(counter -> now - counter.lastUpdate > idleTimeout);
+
+        final Map<String, Long> result = new HashMap<>(deltas.size());
+        deltas.forEach((name, delta) -> {
+            final Counter counter = counters.computeIfAbsent(name, k -> new Counter());
+            counter.lastUpdate = now;
+            result.put(name, counter.value.addAndGet(delta));
+        });
+        return Future.succeededFuture(result);
+    }
+
+    private static final class Counter {
+
+        private final AtomicLong value = new AtomicLong();
+        private volatile long lastUpdate;
+    }
+}
@@ -1,5 +1,5 @@
 /**
- * Copyright (c) 2020 Contributors to the Eclipse Foundation
+ * Copyright (c) 2020, 2022 Contributors to the Eclipse Foundation
  *
  * See the NOTICE file(s) distributed with this work for additional
  * information regarding copyright ownership.
@@ -14,6 +14,17 @@
 
 package org.eclipse.hono.adapter.resourcelimits;
 
+import java.time.Duration;
+import java.time.Instant;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.temporal.ChronoField;
+import java.time.temporal.TemporalAdjusters;
+import java.util.Objects;
+
+import org.eclipse.hono.util.ResourceLimitsPeriod.PeriodMode;
+
 /**
  * A holder for a limited resource's current and max value.
  *
@@ -50,4 +61,55 @@ public final class LimitedResource<V> {
     public V getCurrentLimit() {
         return currentLimit;
     }
+
+    /**
+     * Calculates the effective resource limit for a tenant for the current accounting period.
+     *
+     * @param effectiveSince The point of time (UTC) at which the resource limit became or will become effective.
+     * @param targetDateTime The point in time (UTC) to calculate the limit for.
+     * @param periodMode The type of accounting periods that the resource limit is based on.
+     * @param configuredLimit The maximum amount of resources to be used per accounting period.
+     * @return The resource limit for the current accounting period.
+     * @throws NullPointerException if any of the parameters are {@code null}.
+     * @see PrometheusBasedAsyncCacheLoader#calculateEffectiveLimit(Instant, Instant, PeriodMode, long)
+     */
+    static long getEffectiveLimit(
+            final Instant effectiveSince,
+            final Instant targetDateTime,
+            final PeriodMode periodMode,
+            final long configuredLimit) {
+
+        Objects.requireNonNull(effectiveSince, "effective since");
+        Objects.requireNonNull(targetDateTime, "target date-time");
+        Objects.requireNonNull(periodMode, "period mode");
+
+        if (targetDateTime.isBefore(effectiveSince)) {
+            return 0;
+        }
+
+        // we only need to calculate the effective limit if we are in the initial accounting period
+        // of a monthly plan
+        if (PeriodMode.monthly == periodMode && configuredLimit > 0) {
+
+            final ZonedDateTime effectiveSinceZonedDateTime = ZonedDateTime.ofInstant(effectiveSince, ZoneOffset.UTC);
+            final ZonedDateTime targetZonedDateTime = ZonedDateTime.ofInstant(targetDateTime, ZoneOffset.UTC);
+
+            if (YearMonth.from(targetZonedDateTime).equals(YearMonth.from(effectiveSinceZonedDateTime))) {
+
+                final ZonedDateTime startOfNextAccountingPeriod = effectiveSinceZonedDateTime
+                        .with(TemporalAdjusters.firstDayOfNextMonth())
+                        .withHour(0)
+                        .withMinute(0)
+                        .withSecond(0)
+                        .withNano(0);
+                final long minutesTillStartOfNextAccountingPeriod = Math.max(1, Duration
+                        .between(effectiveSinceZonedDateTime, startOfNextAccountingPeriod)
+                        .toMinutes());
+                final long lengthOfCurrentMonthInMinutes = 60 * 24 * effectiveSinceZonedDateTime
+                        .range(ChronoField.DAY_OF_MONTH).getMaximum();
+                return (long) Math.ceil((double) minutesTillStartOfNextAccountingPeriod * configuredLimit / lengthOfCurrentMonthInMinutes);
+            }
+        }
+        return configuredLimit;
+    }
 }
@@ -0,0 +1,46 @@
+/**
+ * Copyright (c) 2022 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+
+
+package org.eclipse.hono.adapter.resourcelimits;
+
+import io.smallrye.config.ConfigMapping;
+import io.smallrye.config.ConfigMapping.NamingStrategy;
+import io.smallrye.config.WithDefault;
+
+/**
+ * Options for configuring the resource limit checks based on locally accounted usage.
+ *
+ */
+@ConfigMapping(prefix = "hono.resourceLimits.local", namingStrategy = NamingStrategy.VERBATIM)
+public interface LocalResourceLimitCheckOptions {
+
+    /**
+     * Checks if the resource limit checks based on locally accounted usage should be used.
+     * <p>
+     * If enabled, these checks are used instead of the Prometheus based checks.
+     *
+     * @return {@code true} if the checks should be used.
+     */
+    @WithDefault("false")
+    boolean enabled();
+
+    /**
+     * Gets the interval at which the locally accounted usage is synchronized with the
+     * store that is shared by all adapter instances.
+     *
+     * @return The interval in milliseconds.
+     */
+    @WithDefault("5000")
+    long syncInterval();
+}
@@ -0,0 +1,542 @@
+/**
+ * Copyright (c) 2022 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+
+
+package org.eclipse.hono.adapter.resourcelimits;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.eclipse.hono.service.metric.MetricsTags;
+import org.eclipse.hono.service.metric.MicrometerBasedMetrics;
+import org.eclipse.hono.tracing.TracingHelper;
+import org.eclipse.hono.util.ConnectionDuration;
+import org.eclipse.hono.util.DataVolume;
+import org.eclipse.hono.util.Lifecycle;
+import org.eclipse.hono.util.ResourceLimits;
+import org.eclipse.hono.util.TenantConstants;
+import org.eclipse.hono.util.TenantObject;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.opentracing.Span;
+import io.opentracing.SpanContext;
+import io.opentracing.Tracer;
+import io.opentracing.log.Fields;
+import io.opentracing.noop.NoopTracerFactory;
+import io.opentracing.tag.Tags;
+import io.vertx.core.Future;
+import io.vertx.core.Vertx;
+
+/**
+ * Resource limit checks which compare configured limits to usage data that is
+ * accounted for by the protocol adapter itself.
+ * <p>
+ * In contrast to {@link PrometheusBasedResourceLimitChecks}, no remote service is
+ * involved in checking a limit. Instead, the number of connected devices, the data volume
+ * and the connection duration of each tenant are periodically collected from the local
+ * meter registry that the adapter reports its metrics to. The collected values are then
+ * added to counters in a {@link ResourceUsageStore} which is shared by all adapter instances,
+ * yielding the tenant's overall usage. The limit checks themselves only compare the most
+ * recently retrieved overall usage (plus the usage that has been accounted for locally but
+ * has not been added to the store yet) to the limits defined in the tenant's configuration.
+ * <p>
+ * Counters for the data volume and the connection duration are maintained per accounting period.
+ * The beginning of the current period is determined from the tenant configuration that has
+ * most recently been passed into one of the checks.
+ * <p>
+ * Note that a single instance of this class needs to be shared by all protocol adapter verticle
+ * instances running in the same process because the usage data is collected per meter registry.
+ */
+public final class LocalResourceLimitChecks implements ResourceLimitChecks, Lifecycle {
+
+    /**
+     * The default interval at which the locally accounted usage is synchronized with the shared store.
+     */
+    public static final Duration DEFAULT_SYNC_INTERVAL = Duration.ofSeconds(5);
+
+    private static final Logger LOG = LoggerFactory.getLogger(LocalResourceLimitChecks.class);
+    private static final String COUNTER_CONNECTIONS = "connections";
+    private static final String COUNTER_CONNECTION_DURATION = "connection-duration";
+    private static final String COUNTER_DATA_VOLUME = "data-volume";
+    private static final String LABEL_LIMIT_EXCEEDED = "limit exceeded";
+    private static final String TAG_NAME_STATUS = MetricsTags.ProcessingOutcome.FORWARDED.asTag().getKey();
+    private static final Set<String> ACCOUNTED_OUTCOMES = Set.of(
+            MetricsTags.ProcessingOutcome.FORWARDED.asTag().getValue(),
+            MetricsTags.ProcessingOutcome.UNPROCESSABLE.asTag().getValue());
+    private static final Duration TENANT_IDLE_TIMEOUT = Duration.ofMinutes(30);
+
+    private final Map<String, TenantUsage> usagePerTenant = new ConcurrentHashMap<>();
+    private final AtomicBoolean synchronizationInProgress = new AtomicBoolean(false);
+    private final Vertx vertx;
+    private final MeterRegistry meterRegistry;
+    private final ResourceUsageStore store;
+    private final long syncInterval;
+    private final Tracer tracer;
+
+    private Clock clock = Clock.systemUTC();
+    private Map<String, Double> lastDataVolumeTotals = Map.of();
+    private Instant lastSynchronization;
+    private long timerId = -1;
+
+    /**
+     * Creates new checks.
+     *
+     * @param vertx The vert.x instance to use for scheduling the synchronization with the store.
+     * @param meterRegistry The registry to collect the locally accounted usage from.
+     * @param store The store to aggregate the usage of all adapter instances in.
+     * @param syncInterval The interval at which the locally accounted usage is added to the store.
+     * @throws NullPointerException if any of the parameters are {@code null}.
+     * @throws IllegalArgumentException if the sync interval is shorter than 1 millisecond.
+     */
+    public LocalResourceLimitChecks(
+            final Vertx vertx,
+            final MeterRegistry meterRegistry,
+            final ResourceUsageStore store,
+            final Duration syncInterval) {
+        this(vertx, meterRegistry, store, syncInterval, NoopTracerFactory.create());
+    }
+
+    /**
+     * Creates new checks.
+     *
+     * @param vertx The vert.x instance to use for scheduling the synchronization with the store.
+     * @param meterRegistry The registry to collect the locally accounted usage from.
+     * @param store The store to aggregate the usage of all adapter instances in.
+     * @param syncInterval The interval at which the locally accounted usage is added to the store.
+     * @param tracer The tracer instance.
+     * @throws NullPointerException if any of the parameters are {@code null}.
+     * @throws IllegalArgumentException if the sync interval is shorter than 1 millisecond.
+     */
+    public LocalResourceLimitChecks(
+            final Vertx vertx,
+            final MeterRegistry meterRegistry,
+            final ResourceUsageStore store,
+            final Duration syncInterval,
+            final Tracer tracer) {
+
+        this.vertx = Objects.requireNonNull(vertx);
+        this.meterRegistry = Objects.requireNonNull(meterRegistry);
+        this.store = Objects.requireNonNull(store);
+        Objects.requireNonNull(syncInterval);
+        if (syncInterval.toMillis() < 1) {
+            throw new IllegalArgumentException("sync interval must be at least 1ms");
+        }
+        this.syncInterval = syncInterval.toMillis();
+        this.tracer = Objects.requireNonNull(tracer);
+    }
+
+    /**
+     * Sets the clock to use for determining the current system time.
+     * <p>
+     * The default value of this property is {@link Clock#systemUTC()}.
+     * <p>
+     * This property should only be set for running tests expecting the current
+     * time to be a certain value, e.g. by using {@link Clock#fixed(Instant, java.time.ZoneId)}.
+     *
+     * @param clock The clock to use.
+     * @throws NullPointerException if clock is {@code null}.
+     */
+    void setClock(final Clock clock) {
+        this.clock = Objects.requireNonNull(clock);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Starts the store and the periodic synchronization of the locally accounted usage with the store.
+     */
+    @Override
+    public Future<Void> start() {
+        if (timerId != -1) {
+            return Future.succeededFuture();
+        }
+        return store.start()
+                .onSuccess(ok -> {
+                    timerId = vertx.setPeriodic(syncInterval, id -> synchronizeUsage(false));
+                    LOG.info("synchronizing resource usage with store [{}] every {}ms",
+                            store.getClass().getName(), syncInterval);
+                });
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Stops the periodic synchronization, removes this instance's connections from the store
+     * and then stops the store.
+     */
+    @Override
+    public Future<Void> stop() {
+        if (timerId == -1) {
+            return Future.succeededFuture();
+        }
+        vertx.cancelTimer(timerId);
+        timerId = -1;
+        return synchronizeUsage(true)
+                .eventually(v -> store.stop());
+    }
+
+    @Override
+    public Future<Boolean> isConnectionLimitReached(final TenantObject tenant, final SpanContext spanContext) {
+
+        Objects.requireNonNull(tenant);
+
+        final Span span = newSpan("verify connection limit", tenant, spanContext);
+        final TenantUsage usage = getUsage(tenant);
+        final ResourceLimits resourceLimits = tenant.getResourceLimits();
+
+        final boolean isExceeded;
+        if (resourceLimits == null || resourceLimits.getMaxConnections() == TenantConstants.UNLIMITED_CONNECTIONS) {
+            span.log(Map.of(Fields.MESSAGE, "no connection limit configured"));
+            isExceeded = false;
+        } else {
+            final long connections = usage.connections;
+            span.log(Map.of(
+                    TenantConstants.FIELD_MAX_CONNECTIONS, resourceLimits.getMaxConnections(),
+                    "current-connections", connections));
+            isExceeded = connections >= resourceLimits.getMaxConnections();
+        }
+        return finishSpan(span, isExceeded);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The effective limit for the current accounting period is determined in the same way
+     * as in {@link PrometheusBasedResourceLimitChecks#isMessageLimitReached(TenantObject, long, SpanContext)}.
+     */
+    @Override
+    public Future<Boolean> isMessageLimitReached(
+            final TenantObject tenant,
+            final long payloadSize,
+            final SpanContext spanContext) {
+
+        Objects.requireNonNull(tenant);
+
+        final Span span = newSpan("verify message limit", tenant, spanContext);
+        span.log(Map.of("payload-size", payloadSize));
+        final TenantUsage usage = getUsage(tenant);
+        final DataVolume dataVolume = getDataVolumeLimit(tenant);
+
+        final boolean isExceeded;
+        if (payloadSize <= 0) {
+            isExceeded = false;
+        } else if (dataVolume == null || !dataVolume.isLimited()) {
+            span.log(Map.of(Fields.MESSAGE, "no data volume limit configured"));
+            isExceeded = false;
+        } else {
+            final Instant now = Instant.now(clock);
+            final long allowedMaxBytes = LimitedResource.getEffectiveLimit(
+                    dataVolume.getEffectiveSince(),
+                    now,
+                    dataVolume.getPeriod().getMode(),
+                    dataVolume.getMaxBytes());
+            final long consumedBytes = usage.getDataVolume(getBeginningOfAccountingPeriod(dataVolume, now));
+            span.log(Map.of(
+                    "current period bytes limit", allowedMaxBytes,
+                    "current period bytes consumed", consumedBytes));
+            isExceeded = consumedBytes + payloadSize > allowedMaxBytes;
+        }
+        return finishSpan(span, isExceeded);
+    }
+
+    @Override
+    public Future<Boolean> isConnectionDurationLimitReached(
+            final TenantObject tenant,
+            final SpanContext spanContext) {
+
+        Objects.requireNonNull(tenant);
+
+        final Span span = newSpan("verify connection duration limit", tenant, spanContext);
+        final TenantUsage usage = getUsage(tenant);
+        final ConnectionDuration connectionDuration = getConnectionDurationLimit(tenant);
+
+        final boolean isExceeded;
+        if (connectionDuration == null || !connectionDuration.isLimited()) {
+            span.log(Map.of(Fields.MESSAGE, "no connection duration limit configured"));
+            isExceeded = false;
+        } else {
+            final Instant now = Instant.now(clock);
+            final Duration allowedMaxDuration = Duration.ofMinutes(LimitedResource.getEffectiveLimit(
+                    connectionDuration.getEffectiveSince(),
+                    now,
+                    connectionDuration.getPeriod().getMode(),
+                    connectionDuration.getMaxMinutes()));
+            final Duration consumedDuration = Duration.ofMillis(
+                    usage.getConnectionDuration(getBeginningOfAccountingPeriod(connectionDuration, now)));
+            span.log(Map.of(
+                    "current period's connection duration limit", allowedMaxDuration,
+                    "current period's connection duration consumed", consumedDuration));
+            isExceeded = consumedDuration.compareTo(allowedMaxDuration) >= 0;
+        }
+        return finishSpan(span, isExceeded);
+    }
+
+    private Span newSpan(final String operationName, final TenantObject tenant, final SpanContext spanContext) {
+        return TracingHelper.buildChildSpan(tracer, spanContext, operationName, getClass().getSimpleName())
+                .withTag(Tags.SPAN_KIND.getKey(), Tags.SPAN_KIND_CLIENT)
+                .withTag(TracingHelper.TAG_TENANT_ID.getKey(), tenant.getTenantId())
+                .start();
+    }
+
+    private static Future<Boolean> finishSpan(final Span span, final boolean isExceeded) {
+        span.log(Map.of(LABEL_LIMIT_EXCEEDED, isExceeded));
+        span.finish();
+        return Future.succeededFuture(isExceeded);
+    }
+
+    private TenantUsage getUsage(final TenantObject tenant) {
+        final TenantUsage usage = usagePerTenant.computeIfAbsent(tenant.getTenantId(), TenantUsage::new);
+        usage.tenant = tenant;
+        usage.lastAccess = clock.millis();
+        return usage;
+    }
+
+    private static DataVolume getDataVolumeLimit(final TenantObject tenant) {
+        return tenant.getResourceLimits() == null ? null : tenant.getResourceLimits().getDataVolume();
+    }
+
+    private static ConnectionDuration getConnectionDurationLimit(final TenantObject tenant) {
+        return tenant.getResourceLimits() == null ? null : tenant.getResourceLimits().getConnectionDuration();
+    }
+
+    private static Instant getBeginningOfAccountingPeriod(
+            final org.eclipse.hono.util.LimitedResource resource,
+            final Instant now) {
+
+        if (now.isBefore(resource.getEffectiveSince())) {
+            return resource.getEffectiveSince();
+        }
+        return now.minus(resource.getElapsedAccountingPeriodDuration(now));
+    }
+
+    /**
+     * Adds the usage that has been accounted for locally since the last invocation to the
+     * store and retrieves the overall usage.
+     * <p>
+     * This method is invoked periodically once this component has been started.
+     *
+     * @param releaseConnections {@code true} if this instance's connections should be removed
+     *                           from the store, e.g. because the adapter is shutting down.
+     * @return A future indicating the outcome of the synchronization.
+     */
+    Future<Void> synchronizeUsage(final boolean releaseConnections) {
+
+        if (!synchronizationInProgress.compareAndSet(false, true)) {
+            LOG.debug("skipping synchronization of resource usage, previous synchronization still in progress");
+            return Future.succeededFuture();
+        }
+
+        final Instant now = Instant.now(clock);
+        collectConnectionDuration(now);
+        collectConnections();
+        collectDataVolume();
+        removeIdleTenants(now);
+
+        final Map<String, Long> deltas = new HashMap<>();
+        final List<Runnable> updates = new ArrayList<>();
+        final Map<String, Long> result = new HashMap<>();
+        usagePerTenant.values().forEach(usage -> {
+            if (usage.tenant != null) {
+                usage.addCounterUpdates(now, releaseConnections, deltas, updates, result);
+            }
+        });
+
+        if (deltas.isEmpty()) {
+            synchronizationInProgress.set(false);
+            return Future.succeededFuture();
+        }
+
+        return store.addAndGet(deltas)
+                .onSuccess(values -> {
+                    result.putAll(values);
+                    updates.forEach(Runnable::run);
+                })
+                .onFailure(t -> LOG.info("failed to synchronize resource usage with store", t))
+                .onComplete(r -> synchronizationInProgress.set(false))
+                .mapEmpty();
+    }
+
+    private void collectConnectionDuration(final Instant now) {
+        if (lastSynchronization != null) {
+            final long elapsedMillis = Math.max(0, Duration.between(lastSynchronization, now).toMillis());
+            usagePerTenant.values().forEach(usage -> usage.pendingConnectionDuration += usage.localConnections * elapsedMillis);
+        }
+        lastSynchronization = now;
+    }
+
+    private void collectConnections() {
+        final Map<String, Long> connections = new HashMap<>();
+        meterRegistry.find(MicrometerBasedMetrics.METER_CONNECTIONS_AUTHENTICATED).gauges()
+            .forEach(gauge -> Optional.ofNullable(getTenantId(gauge))
+                    .ifPresent(tenantId -> connections.merge(tenantId, (long) gauge.value(), Long::sum)));
+
+        usagePerTenant.values().forEach(usage -> usage.localConnections = 0);
+        connections.forEach((tenantId, count) -> usagePerTenant
+                .computeIfAbsent(tenantId, TenantUsage::new).localConnections = count);
+    }
+
+    private void collectDataVolume() {
+        final Map<String, Double> totals = new HashMap<>();
+        Set.of(MicrometerBasedMetrics.METER_TELEMETRY_PAYLOAD, MicrometerBasedMetrics.METER_COMMAND_PAYLOAD)
+            .forEach(meterName -> meterRegistry.find(meterName).summaries().stream()
+                    .filter(summary -> ACCOUNTED_OUTCOMES.contains(summary.getId().getTag(TAG_NAME_STATUS)))
+                    .forEach(summary -> Optional.ofNullable(getTenantId(summary))
+                            .ifPresent(tenantId -> totals.merge(tenantId, summary.totalAmount(), Double::sum))));
+
+        totals.forEach((tenantId, total) -> {
+            final double lastTotal = lastDataVolumeTotals.getOrDefault(tenantId, 0d);
+            // the meters of a tenant are removed after some time of inactivity
+            // and then start from zero again
+            final double delta = total >= lastTotal ? total - lastTotal : total;
+            if (delta > 0) {
+                usagePerTenant.computeIfAbsent(tenantId, TenantUsage::new).pendingDataVolume += (long) delta;
+            }
+        });
+        lastDataVolumeTotals = totals;
+    }
+
+    private void removeIdleTenants(final Instant now) {
+        final long idleSince = now.minus(TENANT_IDLE_TIMEOUT).toEpochMilli();
+        usagePerTenant.values().removeIf(usage -> usage.lastAccess < idleSince && usage.isIdle());
+    }
+
+    private static String getTenantId(final Meter meter) {
+        return meter.getId().getTag(MetricsTags.TAG_TENANT);
+    }
+
+    /**
+     * The usage of a tenant's devices.
+     */
+    private static final class TenantUsage {
+
+        private final String tenantId;
+        /**
+         * The tenant configuration that has most recently been used for checking a limit.
+         */
+        private volatile TenantObject tenant;
+        private volatile long lastAccess;
+
+        // the overall usage as retrieved from the store
+        private volatile long connections;
+        private volatile PeriodValue dataVolume;
+        private volatile PeriodValue connectionDuration;
+
+        // the usage accounted for locally, only accessed during synchronization
+        // but read by the checks as well
+        private volatile long localConnections;
+        private volatile long pendingDataVolume;
+        private volatile long pendingConnectionDuration;
+        private long reportedConnections;
+
+        TenantUsage(final String tenantId) {
+            this.tenantId = tenantId;
+        }
+
+        long getDataVolume(final Instant beginningOfAccountingPeriod) {
+            return PeriodValue.getValue(dataVolume, beginningOfAccountingPeriod) + pendingDataVolume;
+        }
+
+        long getConnectionDuration(final Instant beginningOfAccountingPeriod) {
+            return PeriodValue.getValue(connectionDuration, beginningOfAccountingPeriod) + pendingConnectionDuration;
+        }
+
+        boolean isIdle() {
+            return localConnections == 0 && reportedConnections == 0
+                    && pendingDataVolume == 0 && pendingConnectionDuration == 0;
+        }
+
+        void addCounterUpdates(
+                final Instant now,
+                final boolean releaseConnections,
+                final Map<String, Long> deltas,
+                final List<Runnable> updates,
+                final Map<String, Long> result) {
+
+            final long connectionCount = releaseConnections ? 0 : localConnections;
+            final String connectionsKey = String.join("/", tenantId, COUNTER_CONNECTIONS);
+            deltas.put(connectionsKey, connectionCount - reportedConnections);
+            updates.add(() -> {
+                reportedConnections = connectionCount;
+                connections = result.getOrDefault(connectionsKey, 0L);
+            });
+
+            final DataVolume dataVolumeConfig = getDataVolumeLimit(tenant);
+            if (dataVolumeConfig != null && dataVolumeConfig.isLimited()) {
+                final Instant periodStart = getBeginningOfAccountingPeriod(dataVolumeConfig, now);
+                final String key = getPeriodCounterKey(COUNTER_DATA_VOLUME, periodStart);
+                final long bytes = pendingDataVolume;
+                deltas.put(key, bytes);
+                updates.add(() -> {
+                    pendingDataVolume -= bytes;
+                    dataVolume = new PeriodValue(periodStart, result.getOrDefault(key, 0L));
+                });
+            } else {
+                // there is no limit to check against
+                pendingDataVolume = 0;
+            }
+
+            final ConnectionDuration connectionDurationConfig = getConnectionDurationLimit(tenant);
+            if (connectionDurationConfig != null && connectionDurationConfig.isLimited()) {
+                final Instant periodStart = getBeginningOfAccountingPeriod(connectionDurationConfig, now);
+                final String key = getPeriodCounterKey(COUNTER_CONNECTION_DURATION, periodStart);
+                final long millis = pendingConnectionDuration;
+                deltas.put(key, millis);
+                updates.add(() -> {
+                    pendingConnectionDuration -= millis;
+                    connectionDuration = new PeriodValue(periodStart, result.getOrDefault(key, 0L));
+                });
+            } else {
+                pendingConnectionDuration = 0;
+            }
+        }
+
+        private String getPeriodCounterKey(final String counterName, final Instant beginningOfAccountingPeriod) {
+            return String.join("/", tenantId, counterName, String.valueOf(beginningOfAccountingPeriod.toEpochMilli()));
+        }
+    }
+
+    /**
+     * A counter value for an accounting period.
+     */
+    private static final class PeriodValue {
+
+        private final Instant beginningOfAccountingPeriod;
+        private final long value;
+
+        PeriodValue(final Instant beginningOfAccountingPeriod, final long value) {
+            this.beginningOfAccountingPeriod = beginningOfAccountingPeriod;
+            this.value = value;
+        }
+
+        static long getValue(final PeriodValue periodValue, final Instant beginningOfAccountingPeriod) {
+            if (periodValue == null || !periodValue.beginningOfAccountingPeriod.equals(beginningOfAccountingPeriod)) {
+                // no usage recorded for the current period yet
+                return 0;
+            }
+            return periodValue.value;
+        }
+    }
+}
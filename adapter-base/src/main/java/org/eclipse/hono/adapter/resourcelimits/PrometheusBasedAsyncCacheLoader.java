@@ -13,19 +13,20 @@
 package org.eclipse.hono.adapter.resourcelimits;
 
 import java.time.Clock;
-import java.time.Duration;
 import java.time.Instant;
-import java.time.YearMonth;
-import java.time.ZoneOffset;
-import java.time.ZonedDateTime;
-import java.time.temporal.ChronoField;
-import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiFunction;
 
+import org.eclipse.hono.service.metric.MetricsTags;
 import org.eclipse.hono.tracing.TracingHelper;
 import org.eclipse.hono.util.ResourceLimitsPeriod.PeriodMode;
 import org.eclipse.hono.util.Strings;
+import org.eclipse.hono.util.TenantObject;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -38,6 +39,7 @@ import io.opentracing.SpanContext;
 import io.opentracing.Tracer;
 import io.opentracing.log.Fields;
 import io.opentracing.tag.Tags;
+import io.vertx.core.CompositeFuture;
 import io.vertx.core.Future;
 import io.vertx.core.Promise;
 import io.vertx.core.json.JsonArray;
@@ -112,6 +114,30 @@ abstract class PrometheusBasedAsyncCacheLoader<K, V> implements AsyncCacheLoader
      * @return A future indicating the outcome.
      */
     protected Future<Long> executeQuery(final String query, final SpanContext tracingContext) {
+        return executeQuery(query, tracingContext, this::extractLongValue);
+    }
+
+    /**
+     * Invokes the Prometheus server's query API with a query that aggregates values by tenant.
+     * <p>
+     * The query is expected to yield an instant vector that contains a
+     * <em>tenant</em> label, e.g. by means of the {@code sum by (tenant) (...)} aggregation operator.
+     *
+     * @param query The query to execute.
+     * @param tracingContext The Open Tracing context to use for tracking the execution of the query.
+     * @return A future indicating the outcome.
+     *         <p>
+     *         The future will be completed with the values contained in the result,
+     *         indexed by tenant identifier.
+     */
+    protected Future<Map<String, Long>> executeQueryPerTenant(final String query, final SpanContext tracingContext) {
+        return executeQuery(query, tracingContext, this::extractLongValuesPerTenant);
+    }
+
+    private <T> Future<T> executeQuery(
+            final String query,
+            final SpanContext tracingContext,
+            final BiFunction<JsonObject, Span, T> resultExtractor) {
 
         final var span = tracer.buildSpan("execute Prometheus query")
                 .addReference(References.FOLLOWS_FROM, tracingContext)
@@ -140,7 +166,7 @@ abstract class PrometheusBasedAsyncCacheLoader<K, V> implements AsyncCacheLoader
                 })
                 .map(response -> {
                     Tags.HTTP_STATUS.set(span, response.statusCode());
-                    return extractLongValue(response.body(), span);
+                    return resultExtractor.apply(response.body(), span);
                 })
                 .onComplete(r -> {
                     span.finish();
@@ -240,6 +266,93 @@ abstract class PrometheusBasedAsyncCacheLoader<K, V> implements AsyncCacheLoader
         return 0L;
     }
 
+    /**
+     * Extracts long values per tenant from the JSON result returned by the Prometheus
+     * server.
+     * <p>
+     * The result is expected to have the following structure:
+     * <pre>
+     * {
+     *   "status": "success",
+     *   "data": {
+     *     "result": [
+     *       {
+     *         "metric": { "tenant": "$tenant" },
+     *         "value": [ $timestamp, "$value" ]
+     *       }
+     *     ]
+     *   }
+     * }
+     * </pre>
+     * Values are rounded down to the nearest long value.
+     *
+     * @param response The response object.
+     * @param span The Open Tracing span to use for tracking the processing of the response.
+     * @return The extracted values, indexed by tenant identifier. The map will be empty
+     *         if the response does not contain any values.
+     * @throws NullPointerException if response is {@code null}.
+     * @see <a href="https://prometheus.io/docs/prometheus/latest/querying/api/">Prometheus HTTP API</a>
+     */
+    protected final Map<String, Long> extractLongValuesPerTenant(final JsonObject response, final Span span) {
+
+        Objects.requireNonNull(response);
+
+        final Map<String, Long> values = new HashMap<>();
+        try {
+            final String status = response.getString("status");
+            if ("error".equals(status)) {
+                final String errorMessage = response.getString("error");
+                TracingHelper.logError(span, Map.of(
+                        Fields.MESSAGE, String.format("error executing query: %s", errorMessage),
+                        "status", status,
+                        Fields.ERROR_KIND, response.getString("errorType")));
+                LOG.debug("error executing query [status: {}, error type: {}, error: {}]",
+                        status, response.getString("errorType"), errorMessage);
+            } else {
+                final JsonArray result = response.getJsonObject("data", new JsonObject()).getJsonArray("result", new JsonArray());
+                for (int i = 0; i < result.size(); i++) {
+                    final JsonObject entry = result.getJsonObject(i);
+                    final String tenantId = entry.getJsonObject("metric", new JsonObject()).getString(MetricsTags.TAG_TENANT);
+                    final JsonArray valueArray = entry.getJsonArray("value");
+                    if (tenantId != null && valueArray != null && valueArray.size() == 2) {
+                        values.put(tenantId, (long) Math.floor(Double.parseDouble(valueArray.getString(1))));
+                    }
+                }
+                span.log(Map.of(Fields.MESSAGE, "extracted values from response", "no. of tenants", values.size()));
+            }
+        } catch (Exception e) {
+            final String jsonResponse = response.encodePrettily();
+            TracingHelper.logError(span, Map.of(Fields.MESSAGE, "server returned malformed response",
+                    "response", jsonResponse));
+            LOG.debug("server returned malformed response: {}", jsonResponse);
+        }
+        return values;
+    }
+
+    /**
+     * Gets the tenant configurations for a set of keys.
+     *
+     * @param keys The keys to get the tenant configurations for.
+     * @param tracingContext The Open Tracing context to use for tracking the retrieval of the configurations.
+     * @return A future that will be completed with the tenant configurations, indexed by key.
+     *         Keys for which the tenant configuration could not be retrieved are not contained in the map.
+     */
+    protected final Future<Map<LimitedResourceKey, TenantObject>> getTenantInformation(
+            final Iterable<? extends LimitedResourceKey> keys,
+            final SpanContext tracingContext) {
+
+        final Map<LimitedResourceKey, TenantObject> tenants = new ConcurrentHashMap<>();
+        @SuppressWarnings("rawtypes")
+        final List<Future> results = new ArrayList<>();
+        keys.forEach(key -> results.add(key.getTenantInformation(tracingContext)
+                .onSuccess(tenant -> tenants.put(key, tenant))
+                .recover(t -> {
+                    LOG.debug("failed to retrieve tenant information [tenant: {}]", key.getTenantId(), t);
+                    return Future.succeededFuture();
+                })));
+        return CompositeFuture.all(results).map(ok -> tenants);
+    }
+
     /**
      * Calculates the effective resource limit for a tenant for the current accounting period.
      * <p>
@@ -267,37 +380,6 @@ abstract class PrometheusBasedAsyncCacheLoader<K, V> implements AsyncCacheLoader
             final PeriodMode periodMode,
             final long configuredLimit) {
 
-        Objects.requireNonNull(effectiveSince, "effective since");
-        Objects.requireNonNull(targetDateTime, "target date-time");
-        Objects.requireNonNull(periodMode, "period mode");
-
-        if (targetDateTime.isBefore(effectiveSince)) {
-            return 0;
-        }
-
-        // we only need to calculate the effective limit if we are in the initial accounting period
-        // of a monthly plan
-        if (PeriodMode.monthly == periodMode && configuredLimit > 0) {
-
-            final ZonedDateTime effectiveSinceZonedDateTime = ZonedDateTime.ofInstant(effectiveSince, ZoneOffset.UTC);
-            final ZonedDateTime targetZonedDateTime = ZonedDateTime.ofInstant(targetDateTime, ZoneOffset.UTC);
-
-            if (YearMonth.from(targetZonedDateTime).equals(YearMonth.from(effectiveSinceZonedDateTime))) {
-
-                final ZonedDateTime startOfNextAccountingPeriod = effectiveSinceZonedDateTime
-                        .with(TemporalAdjusters.firstDayOfNextMonth())
-                        .withHour(0)
-                        .withMinute(0)
-                        .withSecond(0)
-                        .withNano(0);
-                final long minutesTillStartOfNextAccountingPeriod = Math.max(1, Duration
-                        .between(effectiveSinceZonedDateTime, startOfNextAccountingPeriod)
-                        .toMinutes());
-                final long lengthOfCurrentMonthInMinutes = 60 * 24 * effectiveSinceZonedDateTime
-                        .range(ChronoField.DAY_OF_MONTH).getMaximum();
-                return (long) Math.ceil((double) minutesTillStartOfNextAccountingPeriod * configuredLimit / lengthOfCurrentMonthInMinutes);
-            }
-        }
-        return configuredLimit;
+        return LimitedResource.getEffectiveLimit(effectiveSince, targetDateTime, periodMode, configuredLimit);
     }
 }
@@ -1,5 +1,5 @@
 /**
- * Copyright (c) 2021 Contributors to the Eclipse Foundation
+ * Copyright (c) 2021, 2022 Contributors to the Eclipse Foundation
  *
  * See the NOTICE file(s) distributed with this work for additional
  * information regarding copyright ownership.
@@ -79,4 +79,12 @@ public interface PrometheusBasedResourceLimitCheckOptions {
      */
     @WithDefault("1000")
     int connectTimeout();
+
+    /**
+     * Gets the interval at which the cached data of all tenants is refreshed at once.
+     *
+     * @return The interval in seconds, zero disables the bulk refresh.
+     */
+    @WithDefault("0")
+    long bulkRefreshInterval();
 }
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2019, 2021 Contributors to the Eclipse Foundation
+ * Copyright (c) 2019, 2022 Contributors to the Eclipse Foundation
  *
  * See the NOTICE file(s) distributed with this work for additional
  * information regarding copyright ownership.
@@ -41,12 +41,18 @@ public class PrometheusBasedResourceLimitChecksConfig extends AuthenticatingClie
      * the Prometheus REST API.
      */
     public static final long DEFAULT_QUERY_TIMEOUT = 500L;
+    /**
+     * The default interval in seconds at which cached data of all tenants is refreshed at once.
+     * A value of 0 disables the bulk refresh.
+     */
+    public static final long DEFAULT_BULK_REFRESH_INTERVAL = 0L;
 
     private int cacheMinSize = DEFAULT_CACHE_MIN_SIZE;
     private long cacheMaxSize = DEFAULT_CACHE_MAX_SIZE;
     private long cacheTimeout = DEFAULT_CACHE_TIMEOUT;
     private long queryTimeout = DEFAULT_QUERY_TIMEOUT;
     private int connectTimeout = DEFAULT_CONNECT_TIMEOUT;
+    private long bulkRefreshInterval = DEFAULT_BULK_REFRESH_INTERVAL;
 
     /**
      * Creates new properties with default values.
@@ -74,6 +80,7 @@ public class PrometheusBasedResourceLimitChecksConfig extends AuthenticatingClie
         this.cacheTimeout = options.cacheTimeout();
         this.connectTimeout = options.connectTimeout();
         this.queryTimeout = options.queryTimeout();
+        setBulkRefreshInterval(options.bulkRefreshInterval());
     }
 
     /**
@@ -215,4 +222,46 @@ public class PrometheusBasedResourceLimitChecksConfig extends AuthenticatingClie
         }
         this.connectTimeout = timeout;
     }
+
+    /**
+     * Gets the interval at which the cached data of all tenants is refreshed at once.
+     * <p>
+     * If set to a value &gt; 0, the checks periodically run a single query per metric for
+     * all tenants instead of one query per tenant.
+     * <p>
+     * The default value of this property is {@value #DEFAULT_BULK_REFRESH_INTERVAL}.
+     *
+     * @return The interval in seconds or 0 if bulk refresh is disabled.
+     */
+    public long getBulkRefreshInterval() {
+        return bulkRefreshInterval;
+    }
+
+    /**
+     * Sets the interval at which the cached data of all tenants is refreshed at once.
+     * <p>
+     * If set to a value &gt; 0, the checks periodically run a single query per metric for
+     * all tenants instead of one query per tenant. The interval should be shorter than half
+     * of the cache timeout, otherwise cached data will still be refreshed per tenant.
+     * <p>
+     * The default value of this property is {@value #DEFAULT_BULK_REFRESH_INTERVAL}.
+     *
+     * @param interval The interval in seconds or 0 to disable bulk refresh.
+     * @throws IllegalArgumentException if interval is &lt; 0.
+     */
+    public void setBulkRefreshInterval(final long interval) {
+        if (interval < 0) {
+            throw new IllegalArgumentException("bulk refresh interval must not be negative");
+        }
+        this.bulkRefreshInterval = interval;
+    }
+
+    /**
+     * Checks if the cached data of all tenants is refreshed at once.
+     *
+     * @return {@code true} if the bulk refresh interval is &gt; 0.
+     */
+    public boolean isBulkRefreshEnabled() {
+        return bulkRefreshInterval > 0;
+    }
 }
@@ -0,0 +1,75 @@
+/**
+ * Copyright (c) 2022 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+
+
+package org.eclipse.hono.adapter.resourcelimits;
+
+import java.util.Map;
+
+import org.eclipse.hono.util.Lifecycle;
+
+import io.vertx.core.Future;
+
+/**
+ * A store for counters that keep track of the resources used by the devices of tenants.
+ * <p>
+ * The store is used by {@link LocalResourceLimitChecks} for aggregating the usage data
+ * accounted for by the individual protocol adapter instances. In order to get the
+ * overall usage across all adapter instances, the store therefore needs to be shared by
+ * all of them, e.g. by means of a data grid.
+ * <p>
+ * Implementations are expected to remove counters that have not been updated for a while.
+ * <p>
+ * The store is started and stopped by the {@link LocalResourceLimitChecks} using it.
+ */
+public interface ResourceUsageStore extends Lifecycle {
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * This default implementation does nothing.
+     */
+    @Override
+    default Future<Void> start() {
+        return Future.succeededFuture();
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * This default implementation does nothing.
+     */
+    @Override
+    default Future<Void> stop() {
+        return Future.succeededFuture();
+    }
+
+    /**
+     * Adds values to counters.
+     * <p>
+     * The values are added atomically with respect to concurrent updates of the same counter
+     * by other adapter instances. Counters that do not exist yet are created with an initial
+     * value of 0.
+     *
+     * @param deltas The values to add, indexed by counter name. A delta of 0 can be used
+     *               for retrieving a counter's current value.
+     * @return A future indicating the outcome of the operation.
+     *         <p>
+     *         The future will be completed with the counters' values after the update,
+     *         indexed by counter name.
+     *         <p>
+     *         Otherwise, the future will be failed with a {@link org.eclipse.hono.client.ServiceInvocationException}.
+     * @throws NullPointerException if deltas is {@code null}.
+     */
+    Future<Map<String, Long>> addAndGet(Map<String, Long> deltas);
+}
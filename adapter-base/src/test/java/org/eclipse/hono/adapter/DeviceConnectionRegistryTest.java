@@ -0,0 +1,89 @@
+/**
+ * Copyright (c) 2022 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+
+
+package org.eclipse.hono.adapter;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import org.eclipse.hono.auth.Device;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests verifying behavior of {@link DeviceConnectionRegistry}.
+ *
+ */
+public class DeviceConnectionRegistryTest {
+
+    private DeviceConnectionRegistry<String> registry;
+
+    /**
+     * Sets up the fixture.
+     */
+    @BeforeEach
+    public void setUp() {
+        registry = new DeviceConnectionRegistry<>();
+    }
+
+    /**
+     * Verifies that connections can be looked up by tenant and by device.
+     */
+    @Test
+    public void testGetConnectionsReturnsConnectionsOfTenantOrDevice() {
+
+        final Device deviceOne = new Device("tenant", "device-one");
+        final Device deviceTwo = new Device("tenant", "device-two");
+        final Device otherTenantDevice = new Device("other-tenant", "device-one");
+
+        assertThat(registry.add(deviceOne, "con-1")).isTrue();
+        assertThat(registry.add(deviceOne, "con-2")).isTrue();
+        assertThat(registry.add(deviceTwo, "con-3")).isTrue();
+        assertThat(registry.add(otherTenantDevice, "con-4")).isTrue();
+        // adding the same connection again has no effect
+        assertThat(registry.add(deviceOne, "con-1")).isFalse();
+
+        assertThat(registry.size()).isEqualTo(4);
+        assertThat(registry.getConnectionCount("tenant")).isEqualTo(3);
+        assertThat(registry.getConnectionCount("other-tenant")).isEqualTo(1);
+        assertThat(registry.getConnectionCount("unknown-tenant")).isEqualTo(0);
+        assertThat(registry.getConnections("tenant")).containsExactly("con-1", "con-2", "con-3");
+        assertThat(registry.getConnections("tenant", "device-one")).containsExactly("con-1", "con-2");
+        assertThat(registry.getConnections("other-tenant", "device-one")).containsExactly("con-4");
+        assertThat(registry.getConnections("tenant", "unknown-device")).isEmpty();
+    }
+
+    /**
+     * Verifies that removed connections are no longer returned and that the
+     * returned lists are not affected by removing connections.
+     */
+    @Test
+    public void testRemoveUpdatesIndexes() {
+
+        final Device deviceOne = new Device("tenant", "device-one");
+        final Device deviceTwo = new Device("tenant", "device-two");
+        registry.add(deviceOne, "con-1");
+        registry.add(deviceTwo, "con-2");
+
+        final var connections = registry.getConnections("tenant");
+        connections.forEach(con -> registry.remove(con.equals("con-1") ? deviceOne : deviceTwo, con));
+
+        assertThat(connections).hasSize(2);
+        assertThat(registry.size()).isEqualTo(0);
+        assertThat(registry.getConnectionCount("tenant")).isEqualTo(0);
+        assertThat(registry.getConnections("tenant")).isEmpty();
+        // removing an unknown connection has no effect
+        assertThat(registry.remove(deviceOne, "con-1")).isFalse();
+        assertThat(registry.size()).isEqualTo(0);
+    }
+}
@@ -0,0 +1,125 @@
+/**
+ * Copyright (c) 2022 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+
+
+package org.eclipse.hono.adapter;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import org.eclipse.hono.auth.Device;
+import org.eclipse.hono.util.RegistrationAssertion;
+import org.eclipse.hono.util.TenantObject;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+
+/**
+ * Tests verifying behavior of {@link DeviceSessionContext}.
+ *
+ */
+public class DeviceSessionContextTest {
+
+    private final Device device = new Device("tenant", "device");
+    private final AtomicInteger tenantLookups = new AtomicInteger();
+    private final Supplier<Future<TenantObject>> tenantLoader = () -> {
+        tenantLookups.incrementAndGet();
+        return Future.succeededFuture(TenantObject.from("tenant", true));
+    };
+
+    private DeviceSessionContext sessionContext;
+
+    /**
+     * Sets up the fixture.
+     */
+    @BeforeEach
+    public void setUp() {
+        tenantLookups.set(0);
+        sessionContext = new DeviceSessionContext(device, Duration.ofMinutes(1));
+    }
+
+    /**
+     * Verifies that the tenant configuration is retrieved only once and is kept until the
+     * session context gets invalidated.
+     */
+    @Test
+    public void testGetTenantKeepsConfigurationUntilInvalidated() {
+
+        final Future<TenantObject> first = sessionContext.getTenant(tenantLoader);
+        final Future<TenantObject> second = sessionContext.getTenant(tenantLoader);
+        assertThat(second.result()).isSameInstanceAs(first.result());
+        assertThat(tenantLookups.get()).isEqualTo(1);
+
+        sessionContext.invalidate();
+        sessionContext.getTenant(tenantLoader);
+        assertThat(tenantLookups.get()).isEqualTo(2);
+    }
+
+    /**
+     * Verifies that a tenant configuration that is being retrieved while the session context gets
+     * invalidated is not kept.
+     */
+    @Test
+    public void testGetTenantDoesNotKeepConfigurationRetrievedDuringInvalidation() {
+
+        final Promise<TenantObject> pendingLookup = Promise.promise();
+        sessionContext.getTenant(() -> pendingLookup.future());
+        sessionContext.invalidate();
+        pendingLookup.complete(TenantObject.from("tenant", true));
+
+        sessionContext.getTenant(tenantLoader);
+        assertThat(tenantLookups.get()).isEqualTo(1);
+    }
+
+    /**
+     * Verifies that failed lookups and values that expire immediately are not kept.
+     */
+    @Test
+    public void testGetTenantDoesNotKeepFailedOrExpiredLookups() {
+
+        sessionContext.getTenant(() -> Future.failedFuture(new IllegalStateException()));
+        sessionContext.getTenant(tenantLoader);
+        assertThat(tenantLookups.get()).isEqualTo(1);
+
+        sessionContext = new DeviceSessionContext(device, Duration.ZERO);
+        sessionContext.getTenant(tenantLoader);
+        sessionContext.getTenant(tenantLoader);
+        assertThat(tenantLookups.get()).isEqualTo(3);
+    }
+
+    /**
+     * Verifies that a registration assertion is only kept if it passes the given predicate.
+     */
+    @Test
+    public void testGetRegistrationAssertionKeepsOnlyAcceptedAssertions() {
+
+        final AtomicInteger assertionLookups = new AtomicInteger();
+        final RegistrationAssertion assertion = new RegistrationAssertion("device")
+                .setAuthorizedGateways(List.of("gw-1", "gw-2"));
+        final Supplier<Future<RegistrationAssertion>> loader = () -> {
+            assertionLookups.incrementAndGet();
+            return Future.succeededFuture(assertion);
+        };
+
+        sessionContext.getRegistrationAssertion(loader, a -> false);
+        sessionContext.getRegistrationAssertion(loader, a -> true);
+        sessionContext.getRegistrationAssertion(loader, a -> true);
+        assertThat(assertionLookups.get()).isEqualTo(2);
+    }
+}
@@ -1,5 +1,5 @@
 /**
- * Copyright (c) 2020 Contributors to the Eclipse Foundation
+ * Copyright (c) 2020, 2022 Contributors to the Eclipse Foundation
  *
  * See the NOTICE file(s) distributed with this work for additional
  * information regarding copyright ownership.
@@ -14,14 +14,23 @@
 
 package org.eclipse.hono.adapter.auth.device;
 
+import static com.google.common.truth.Truth.assertThat;
+
+import java.security.GeneralSecurityException;
+import java.security.cert.CertificateException;
 import java.security.cert.TrustAnchor;
+import java.security.cert.X509Certificate;
+import java.time.Duration;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.eclipse.hono.test.VertxTools;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 
+import io.vertx.core.CompositeFuture;
 import io.vertx.core.Vertx;
 import io.vertx.core.net.SelfSignedCertificate;
 import io.vertx.junit5.VertxExtension;
@@ -63,4 +72,82 @@ class DeviceCertificateValidatorTest {
             })
             .onComplete(ctx.succeedingThenComplete());
     }
+
+    /**
+     * Verifies that a successful validation of a certificate chain is reused for subsequent
+     * validations of the same chain using the same trust anchors only.
+     *
+     * @param vertx The vert.x instance to use.
+     * @param ctx The vert.x test context.
+     */
+    @Test
+    void testValidateReusesSuccessfulValidationForSameTrustAnchors(final Vertx vertx, final VertxTestContext ctx) {
+
+        final AtomicInteger validations = new AtomicInteger();
+        validator = new DeviceCertificateValidator() {
+            @Override
+            void validateCertPath(
+                    final List<X509Certificate> chain,
+                    final Set<TrustAnchor> trustAnchors) throws GeneralSecurityException {
+                validations.incrementAndGet();
+                super.validateCertPath(chain, trustAnchors);
+            }
+        };
+        final SelfSignedCertificate deviceCert = SelfSignedCertificate.create("iot.eclipse.org");
+        final SelfSignedCertificate otherCert = SelfSignedCertificate.create("other.eclipse.org");
+
+        CompositeFuture.all(
+                VertxTools.getCertificate(vertx, deviceCert.certificatePath()),
+                VertxTools.getCertificate(vertx, otherCert.certificatePath()))
+            .compose(certs -> {
+                final X509Certificate cert = certs.resultAt(0);
+                final X509Certificate other = certs.resultAt(1);
+                final TrustAnchor ca = new TrustAnchor(cert.getSubjectX500Principal(), cert.getPublicKey(), null);
+                final TrustAnchor otherCa = new TrustAnchor(other.getSubjectX500Principal(), other.getPublicKey(), null);
+                return validator.validate(List.of(cert), ca)
+                        .compose(ok -> validator.validate(List.of(cert),
+                                new TrustAnchor(cert.getSubjectX500Principal(), cert.getPublicKey(), null)))
+                        .onSuccess(ok -> ctx.verify(() -> assertThat(validations.get()).isEqualTo(1)))
+                        .compose(ok -> validator.validate(List.of(cert), otherCa));
+            })
+            .onComplete(ctx.failing(t -> {
+                ctx.verify(() -> {
+                    assertThat(t).isInstanceOf(CertificateException.class);
+                    assertThat(validations.get()).isEqualTo(2);
+                });
+                ctx.completeNow();
+            }));
+    }
+
+    /**
+     * Verifies that validation results are not reused if caching is disabled.
+     *
+     * @param vertx The vert.x instance to use.
+     * @param ctx The vert.x test context.
+     */
+    @Test
+    void testValidateDoesNotReuseValidationIfCacheIsDisabled(final Vertx vertx, final VertxTestContext ctx) {
+
+        final AtomicInteger validations = new AtomicInteger();
+        validator = new DeviceCertificateValidator(0, Duration.ofMinutes(1)) {
+            @Override
+            void validateCertPath(
+                    final List<X509Certificate> chain,
+                    final Set<TrustAnchor> trustAnchors) throws GeneralSecurityException {
+                validations.incrementAndGet();
+                super.validateCertPath(chain, trustAnchors);
+            }
+        };
+        final SelfSignedCertificate deviceCert = SelfSignedCertificate.create("iot.eclipse.org");
+        VertxTools.getCertificate(vertx, deviceCert.certificatePath())
+            .compose(cert -> {
+                final TrustAnchor ca = new TrustAnchor(cert.getSubjectX500Principal(), cert.getPublicKey(), null);
+                return validator.validate(List.of(cert), ca)
+                        .compose(ok -> validator.validate(List.of(cert), ca));
+            })
+            .onComplete(ctx.succeeding(ok -> {
+                ctx.verify(() -> assertThat(validations.get()).isEqualTo(2));
+                ctx.completeNow();
+            }));
+    }
 }
@@ -1,5 +1,5 @@
 /**
- * Copyright (c) 2018, 2020 Contributors to the Eclipse Foundation
+ * Copyright (c) 2018, 2022 Contributors to the Eclipse Foundation
  *
  * See the NOTICE file(s) distributed with this work for additional
  * information regarding copyright ownership.
@@ -18,6 +18,8 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import static com.google.common.truth.Truth.assertThat;
@@ -31,6 +33,8 @@ import java.util.concurrent.TimeUnit;
 
 import org.eclipse.hono.client.ClientErrorException;
 import org.eclipse.hono.client.registry.CredentialsClient;
+import org.eclipse.hono.notification.NotificationEventBusSupport;
+import org.eclipse.hono.notification.deviceregistry.CredentialsChangeNotification;
 import org.eclipse.hono.service.auth.DeviceUser;
 import org.eclipse.hono.service.auth.HonoPasswordEncoder;
 import org.eclipse.hono.util.Constants;
@@ -190,6 +194,55 @@ public class UsernamePasswordAuthProviderTest {
         }));
     }
 
+    /**
+     * Verifies that the provider does not match a password against the hash on record again,
+     * if the same password has already been verified successfully, unless the device's
+     * credentials have been changed in the meantime.
+     *
+     * @param ctx The vert.x test context.
+     */
+    @Test
+    public void testAuthenticateUsesVerifiedPasswordsUntilCredentialsChange(final VertxTestContext ctx) {
+
+        givenCredentialsOnRecord(CredentialsObject.fromHashedPassword(
+                "4711", "device", "$2a$10$hash", CredentialsConstants.HASH_FUNCTION_BCRYPT, null, null, null));
+        final UsernamePasswordCredentials wrongCredentials = UsernamePasswordCredentials.create("device@DEFAULT_TENANT", "wrong_pwd");
+        when(pwdEncoder.matches(eq("wrong_pwd"), any(JsonObject.class))).thenReturn(false);
+
+        authenticate(deviceCredentials)
+            .compose(device -> authenticate(deviceCredentials))
+            .compose(device -> {
+                // the password has been matched against the hash on record only once
+                ctx.verify(() -> verify(pwdEncoder).matches(eq(PWD), any(JsonObject.class)));
+                return authenticate(wrongCredentials);
+            })
+            .onSuccess(device -> ctx.failNow("should not have succeeded to authenticate device using wrong password"))
+            .recover(t -> {
+                ctx.verify(() -> assertThat(((ClientErrorException) t).getErrorCode()).isEqualTo(HttpURLConnection.HTTP_UNAUTHORIZED));
+                // WHEN the device's credentials are changed
+                NotificationEventBusSupport.getNotificationSender(vertx)
+                    .handle(new CredentialsChangeNotification(Constants.DEFAULT_TENANT, "4711", Instant.now()));
+                // and the notification has been processed
+                final Promise<Void> notificationProcessed = Promise.promise();
+                vertx.setTimer(100, tid -> notificationProcessed.complete());
+                return notificationProcessed.future().compose(v -> authenticate(deviceCredentials));
+            })
+            .onComplete(ctx.succeeding(device -> {
+                ctx.verify(() -> {
+                    // THEN the password has been matched against the hash on record again
+                    verify(pwdEncoder, times(2)).matches(eq(PWD), any(JsonObject.class));
+                    assertThat(device.getDeviceId()).isEqualTo("4711");
+                });
+                ctx.completeNow();
+            }));
+    }
+
+    private Future<DeviceUser> authenticate(final UsernamePasswordCredentials credentials) {
+        final Promise<DeviceUser> result = Promise.promise();
+        vertx.runOnContext(go -> provider.authenticate(credentials, null, result));
+        return result.future();
+    }
+
     private void givenCredentialsOnRecord(final CredentialsObject credentials) {
         when(credentialsClient.get(
                 anyString(),
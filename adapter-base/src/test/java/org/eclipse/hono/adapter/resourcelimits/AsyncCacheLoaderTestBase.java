@@ -23,6 +23,7 @@ import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.util.Map;
 import java.util.concurrent.Executor;
 import java.util.concurrent.TimeoutException;
 
@@ -114,6 +115,23 @@ abstract class AsyncCacheLoaderTestBase {
         }).when(jsonRequest).send(VertxMockSupport.anyHandler());
     }
 
+    @SuppressWarnings("unchecked")
+    protected void givenResponseWithValuesPerTenant(final Map<String, Integer> values) {
+        doAnswer(invocation -> {
+            final Handler<AsyncResult<HttpResponse<JsonObject>>> responseHandler = invocation.getArgument(0);
+            final HttpResponse<JsonObject> response = mock(HttpResponse.class);
+            final JsonArray result = new JsonArray();
+            values.forEach((tenantId, value) -> result.add(new JsonObject()
+                    .put("metric", new JsonObject().put("tenant", tenantId))
+                    .put("value", new JsonArray().add("timestamp").add(String.valueOf(value)))));
+            when(response.body()).thenReturn(new JsonObject()
+                    .put("status", "success")
+                    .put("data", new JsonObject().put("result", result)));
+            responseHandler.handle(Future.succeededFuture(response));
+            return null;
+        }).when(jsonRequest).send(VertxMockSupport.anyHandler());
+    }
+
     protected void givenFailResponseWithTimeoutException() {
         doAnswer(invocation -> {
             final Handler<AsyncResult<HttpResponse<JsonObject>>> responseHandler = invocation.getArgument(0);
@@ -0,0 +1,178 @@
+/**
+ * Copyright (c) 2022 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+
+
+package org.eclipse.hono.adapter.resourcelimits;
+
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import org.eclipse.hono.test.VertxMockSupport;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import com.github.benmanes.caffeine.cache.AsyncCacheLoader;
+import com.github.benmanes.caffeine.cache.AsyncLoadingCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.vertx.core.Handler;
+import io.vertx.core.Vertx;
+
+/**
+ * Verifies the behavior of {@link BulkCacheRefresher}.
+ *
+ */
+public class BulkCacheRefresherTest {
+
+    private Vertx vertx;
+    private BulkCacheRefresher refresher;
+    private CountingLoader loader;
+    private AsyncLoadingCache<String, Long> cache;
+
+    /**
+     * Sets up the fixture.
+     */
+    @BeforeEach
+    public void setUp() {
+        vertx = mock(Vertx.class);
+        when(vertx.setPeriodic(anyLong(), VertxMockSupport.anyHandler())).thenReturn(10L);
+        loader = new CountingLoader();
+        cache = Caffeine.newBuilder().executor(Runnable::run).buildAsync(loader);
+        refresher = new BulkCacheRefresher(vertx, Duration.ofSeconds(10)).addCache(cache, loader);
+    }
+
+    /**
+     * Verifies that the refresher reloads all cached entries by means of a single
+     * invocation of the loader's bulk load method when the timer fires.
+     */
+    @Test
+    public void testRefreshReloadsAllEntriesAtOnce() {
+
+        cache.synchronous().get("one");
+        cache.synchronous().get("two");
+        assertThat(cache.synchronous().get("one")).isEqualTo(1L);
+
+        refresher.start();
+        final ArgumentCaptor<Handler<Long>> timerHandler = VertxMockSupport.argumentCaptorHandler();
+        verify(vertx).setPeriodic(eq(10_000L), timerHandler.capture());
+        timerHandler.getValue().handle(10L);
+
+        assertThat(loader.bulkLoads.get()).isEqualTo(1);
+        assertThat(loader.bulkLoadedKeys).containsExactly("one", "two");
+        assertThat(cache.synchronous().asMap()).containsExactly("one", 100L, "two", 100L);
+    }
+
+    /**
+     * Verifies that the refresher does not reload a cache while a previous reload of the
+     * same cache is still in progress.
+     */
+    @Test
+    public void testRefreshSkipsCacheWithReloadInProgress() {
+
+        cache.synchronous().get("one");
+        loader.bulkResult = new CompletableFuture<>();
+
+        refresher.refresh();
+        refresher.refresh();
+        assertThat(loader.bulkLoads.get()).isEqualTo(1);
+
+        loader.bulkResult.complete(Map.of("one", 5L));
+        assertThat(cache.synchronous().getIfPresent("one")).isEqualTo(5L);
+        loader.bulkResult = null;
+        refresher.refresh();
+        assertThat(loader.bulkLoads.get()).isEqualTo(2);
+    }
+
+    /**
+     * Verifies that a failed reload keeps the cached values.
+     */
+    @Test
+    public void testRefreshKeepsValuesOnFailure() {
+
+        cache.synchronous().get("one");
+        loader.bulkResult = CompletableFuture.failedFuture(new IllegalStateException("unavailable"));
+
+        refresher.refresh();
+
+        assertThat(cache.synchronous().getIfPresent("one")).isEqualTo(1L);
+    }
+
+    /**
+     * Verifies that the refresher does not invoke the loader if the cache is empty.
+     */
+    @Test
+    public void testRefreshIgnoresEmptyCache() {
+
+        refresher.refresh();
+
+        assertThat(loader.bulkLoads.get()).isEqualTo(0);
+    }
+
+    /**
+     * Verifies that stopping the refresher cancels the timer.
+     */
+    @Test
+    public void testStopCancelsTimer() {
+
+        refresher.stop();
+        verify(vertx, never()).cancelTimer(anyLong());
+
+        refresher.start();
+        refresher.stop();
+        verify(vertx).cancelTimer(10L);
+    }
+
+    /**
+     * A loader that returns 1 for individual keys and 100 when loading keys in bulk.
+     */
+    private static final class CountingLoader implements AsyncCacheLoader<String, Long> {
+
+        private final AtomicInteger bulkLoads = new AtomicInteger();
+        private final Set<String> bulkLoadedKeys = new HashSet<>();
+        private CompletableFuture<Map<String, Long>> bulkResult;
+
+        @Override
+        public CompletableFuture<Long> asyncLoad(final String key, final Executor executor) {
+            return CompletableFuture.completedFuture(1L);
+        }
+
+        @Override
+        public CompletableFuture<Map<String, Long>> asyncLoadAll(
+                final Iterable<? extends String> keys,
+                final Executor executor) {
+            bulkLoads.incrementAndGet();
+            keys.forEach(bulkLoadedKeys::add);
+            if (bulkResult != null) {
+                return bulkResult;
+            }
+            return CompletableFuture.completedFuture(bulkLoadedKeys.stream()
+                    .collect(Collectors.toMap(key -> key, key -> 100L)));
+        }
+    }
+}
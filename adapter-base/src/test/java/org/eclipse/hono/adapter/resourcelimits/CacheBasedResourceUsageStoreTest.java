@@ -0,0 +1,158 @@
+/**
+ * Copyright (c) 2022 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+
+
+package org.eclipse.hono.adapter.resourcelimits;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import java.net.HttpURLConnection;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.hono.client.ServerErrorException;
+import org.eclipse.hono.client.ServiceInvocationException;
+import org.eclipse.hono.deviceconnection.infinispan.client.BasicCache;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import io.vertx.core.Future;
+
+/**
+ * Verifies the behavior of {@link CacheBasedResourceUsageStore}.
+ *
+ */
+public class CacheBasedResourceUsageStoreTest {
+
+    private BasicCache<String, String> cache;
+    private CacheBasedResourceUsageStore store;
+
+    /**
+     * Sets up the fixture.
+     */
+    @SuppressWarnings("unchecked")
+    @BeforeEach
+    public void setUp() {
+        cache = mock(BasicCache.class);
+        store = new CacheBasedResourceUsageStore(cache, Duration.ofMinutes(10));
+    }
+
+    /**
+     * Verifies that a counter that does not exist yet is created with the delta
+     * as its initial value and the idle timeout as its lifespan.
+     */
+    @Test
+    public void testAddAndGetCreatesCounter() {
+
+        when(cache.get(anyString())).thenReturn(Future.succeededFuture());
+        when(cache.putIfAbsent(anyString(), anyString(), anyLong(), any(TimeUnit.class)))
+            .thenReturn(Future.succeededFuture(true));
+
+        final var result = store.addAndGet(Map.of("counter", 5L));
+
+        assertThat(result.succeeded()).isTrue();
+        assertThat(result.result()).containsExactly("counter", 5L);
+        verify(cache).putIfAbsent(anyString(), eq("5"), eq(Duration.ofMinutes(10).toMillis()), eq(TimeUnit.MILLISECONDS));
+    }
+
+    /**
+     * Verifies that an update of a counter is retried with the counter's current
+     * value if another adapter instance has updated the counter concurrently.
+     */
+    @Test
+    public void testAddAndGetRetriesOnConcurrentUpdate() {
+
+        when(cache.get(anyString()))
+            .thenReturn(Future.succeededFuture("10"))
+            .thenReturn(Future.succeededFuture("12"));
+        when(cache.replace(anyString(), eq("10"), anyString(), anyLong(), any(TimeUnit.class)))
+            .thenReturn(Future.succeededFuture(false));
+        when(cache.replace(anyString(), eq("12"), anyString(), anyLong(), any(TimeUnit.class)))
+            .thenReturn(Future.succeededFuture(true));
+
+        final var result = store.addAndGet(Map.of("counter", 3L));
+
+        assertThat(result.succeeded()).isTrue();
+        assertThat(result.result()).containsExactly("counter", 15L);
+        verify(cache).replace(anyString(), eq("12"), eq("15"), anyLong(), any(TimeUnit.class));
+    }
+
+    /**
+     * Verifies that a delta of zero renews the lifespan of an existing counter
+     * without changing its value.
+     */
+    @Test
+    public void testAddAndGetWithZeroDeltaRenewsLifespan() {
+
+        when(cache.get(anyString())).thenReturn(Future.succeededFuture("7"));
+        when(cache.replace(anyString(), anyString(), anyString(), anyLong(), any(TimeUnit.class)))
+            .thenReturn(Future.succeededFuture(true));
+
+        final var result = store.addAndGet(Map.of("counter", 0L));
+
+        assertThat(result.succeeded()).isTrue();
+        assertThat(result.result()).containsExactly("counter", 7L);
+        verify(cache).replace(
+                anyString(),
+                eq("7"),
+                eq("7"),
+                eq(Duration.ofMinutes(10).toMillis()),
+                eq(TimeUnit.MILLISECONDS));
+    }
+
+    /**
+     * Verifies that the update of a counter fails with a 503 status code if the
+     * counter could not be updated within the maximum number of attempts.
+     */
+    @Test
+    public void testAddAndGetFailsAfterMaxAttempts() {
+
+        when(cache.get(anyString())).thenReturn(Future.succeededFuture("1"));
+        when(cache.replace(anyString(), anyString(), anyString(), anyLong(), any(TimeUnit.class)))
+            .thenReturn(Future.succeededFuture(false));
+
+        final var result = store.addAndGet(Map.of("counter", 1L));
+
+        assertThat(result.failed()).isTrue();
+        assertThat(ServiceInvocationException.extractStatusCode(result.cause()))
+            .isEqualTo(HttpURLConnection.HTTP_UNAVAILABLE);
+        verify(cache, times(CacheBasedResourceUsageStore.MAX_UPDATE_ATTEMPTS))
+            .replace(anyString(), anyString(), anyString(), anyLong(), any(TimeUnit.class));
+    }
+
+    /**
+     * Verifies that a failure to access the data grid is mapped to a server error.
+     */
+    @Test
+    public void testAddAndGetFailsIfCacheIsUnavailable() {
+
+        when(cache.get(anyString())).thenReturn(Future.failedFuture(new IllegalStateException("not connected")));
+
+        final var result = store.addAndGet(Map.of("counter", 1L));
+
+        assertThat(result.failed()).isTrue();
+        assertThat(result.cause()).isInstanceOf(ServerErrorException.class);
+        assertThat(ServiceInvocationException.extractStatusCode(result.cause()))
+            .isEqualTo(HttpURLConnection.HTTP_UNAVAILABLE);
+    }
+}
@@ -20,7 +20,10 @@ import static org.mockito.Mockito.verify;
 
 import static com.google.common.truth.Truth.assertThat;
 
+import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.ExecutionException;
+import java.util.stream.Collectors;
 
 import org.eclipse.hono.test.VertxMockSupport;
 import org.eclipse.hono.util.Constants;
@@ -163,4 +166,39 @@ public class ConnectedDevicesAsyncCacheLoaderTest extends AsyncCacheLoaderTestBa
         assertThrows(ExecutionException.class, () -> result.get());
     }
 
+    /**
+     * Verifies that the number of connected devices of multiple tenants is retrieved
+     * by means of a single query.
+     *
+     * @throws Exception if the result cannot be retrieved.
+     */
+    @Test
+    public void testAsyncLoadAllUsesSingleQuery() throws Exception {
+
+        givenResponseWithValuesPerTenant(Map.of("tenant-one", 9, "tenant-two", 5));
+        final var limitedTenant = getTenantObject("tenant-one", 100);
+        final var otherLimitedTenant = getTenantObject("tenant-two", 10);
+        final var idleTenant = getTenantObject("tenant-three", 10);
+        final var unlimitedTenant = TenantObject.from("tenant-four", true);
+
+        final var keys = Set.of(limitedTenant, otherLimitedTenant, idleTenant, unlimitedTenant).stream()
+                .map(tenant -> new LimitedResourceKey(tenant.getTenantId(), (tenantId, ctx) -> Future.succeededFuture(tenant)))
+                .collect(Collectors.toSet());
+        final var result = loader.asyncLoadAll(keys, executor);
+
+        assertThat(result.isDone()).isTrue();
+        assertRequestParamsSet(bufferReq, "sum by (tenant) (hono_connections_authenticated)", QUERY_TIMEOUT, REQUEST_TIMEOUT);
+        verify(jsonRequest).send(VertxMockSupport.anyHandler());
+
+        final var values = result.get().entrySet().stream()
+                .collect(Collectors.toMap(entry -> entry.getKey().getTenantId(), Map.Entry::getValue));
+        assertThat(values).hasSize(4);
+        assertThat(values.get("tenant-one").getCurrentLimit()).isEqualTo(100L);
+        assertThat(values.get("tenant-one").getCurrentValue()).isEqualTo(9L);
+        assertThat(values.get("tenant-two").getCurrentLimit()).isEqualTo(10L);
+        assertThat(values.get("tenant-two").getCurrentValue()).isEqualTo(5L);
+        assertThat(values.get("tenant-three").getCurrentLimit()).isEqualTo(10L);
+        assertThat(values.get("tenant-three").getCurrentValue()).isEqualTo(0L);
+        assertThat(values.get("tenant-four").getCurrentLimit()).isNull();
+    }
 }
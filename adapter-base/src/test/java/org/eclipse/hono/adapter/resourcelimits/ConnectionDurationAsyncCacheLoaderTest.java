@@ -24,6 +24,8 @@ import java.time.Clock;
 import java.time.Duration;
 import java.time.Instant;
 import java.time.ZoneOffset;
+import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.ExecutionException;
 
 import org.eclipse.hono.test.VertxMockSupport;
@@ -58,7 +60,7 @@ public class ConnectionDurationAsyncCacheLoaderTest extends AsyncCacheLoaderTest
             final long minutes) {
 
         return String.format(
-                "minute( sum( increase( hono_connections_authenticated_duration_seconds_sum {tenant=\"%1$s\"} [%2$dm])))",
+                "floor(sum(increase(hono_connections_authenticated_duration_seconds_sum{tenant=\"%1$s\"} [%2$dm])) / 60)",
                 tenantId,
                 minutes);
     }
@@ -161,4 +163,44 @@ public class ConnectionDurationAsyncCacheLoaderTest extends AsyncCacheLoaderTest
 
         assertThrows(ExecutionException.class, () -> result.get());
     }
+
+    /**
+     * Verifies that the connection duration retrieved for multiple tenants by means of a
+     * single query per accounting period is the same as the one retrieved for the individual tenants.
+     *
+     * @throws Exception if the result cannot be retrieved.
+     */
+    @Test
+    public void testAsyncLoadAllYieldsSameResultAsAsyncLoad() throws Exception {
+
+        final var tenant = getTenantObject(TENANT_ID, Instant.parse("2019-04-11T00:00:00Z"));
+        final var otherTenant = getTenantObject("other-tenant", Instant.parse("2019-04-11T00:00:00Z"));
+        final var unlimitedTenant = TenantObject.from("unlimited-tenant", true);
+        // start of current accounting period is Apr 11th 00:00 AM UTC
+        loader.setClock(Clock.fixed(Instant.parse("2019-04-21T00:00:00Z"), ZoneOffset.UTC));
+        final var key = new LimitedResourceKey(TENANT_ID, (tenantId, ctx) -> Future.succeededFuture(tenant));
+        final var otherKey = new LimitedResourceKey("other-tenant", (tenantId, ctx) -> Future.succeededFuture(otherTenant));
+        final var unlimitedKey = new LimitedResourceKey(
+                "unlimited-tenant",
+                (tenantId, ctx) -> Future.succeededFuture(unlimitedTenant));
+
+        givenDeviceConnectionDurationInMinutes(130);
+        final var singleResult = loader.asyncLoad(key, executor).get();
+
+        givenResponseWithValuesPerTenant(Map.of(TENANT_ID, 130));
+        final var result = loader.asyncLoadAll(Set.of(key, otherKey, unlimitedKey), executor);
+
+        assertThat(result.isDone()).isTrue();
+        verify(bufferReq).addQueryParam(
+                "query",
+                "floor(sum by (tenant) (increase(hono_connections_authenticated_duration_seconds_sum [14400m])) / 60)");
+        final var values = result.get();
+        assertThat(values).hasSize(3);
+        assertThat(values.get(key).getCurrentLimit()).isEqualTo(singleResult.getCurrentLimit());
+        assertThat(values.get(key).getCurrentValue()).isEqualTo(singleResult.getCurrentValue());
+        assertThat(values.get(key).getCurrentValue()).isEqualTo(Duration.ofMinutes(130));
+        assertThat(values.get(otherKey).getCurrentLimit()).isEqualTo(Duration.ofMinutes(60));
+        assertThat(values.get(otherKey).getCurrentValue()).isEqualTo(Duration.ZERO);
+        assertThat(values.get(unlimitedKey).getCurrentLimit()).isNull();
+    }
 }
@@ -21,6 +21,8 @@ import static com.google.common.truth.Truth.assertThat;
 import java.time.Clock;
 import java.time.Instant;
 import java.time.ZoneOffset;
+import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.ExecutionException;
 
 import org.eclipse.hono.test.VertxMockSupport;
@@ -135,4 +137,44 @@ public class DataVolumeAsyncCacheLoaderTest extends AsyncCacheLoaderTestBase {
       assertLimitedResourceResult(tenant, 10 * 24 * 60, 90_000L, 0L);
   }
 
+    /**
+     * Verifies that the data volume retrieved for multiple tenants by means of a
+     * single query per accounting period is the same as the one retrieved for the individual tenants.
+     *
+     * @throws Exception if the result cannot be retrieved.
+     */
+    @Test
+    public void testAsyncLoadAllYieldsSameResultAsAsyncLoad() throws Exception {
+
+        final var tenant = getTenantObject(TENANT_ID, Instant.parse("2019-04-01T00:00:00Z"));
+        final var otherTenant = getTenantObject("other-tenant", Instant.parse("2019-04-01T00:00:00Z"));
+        final var unlimitedTenant = TenantObject.from("unlimited-tenant", true);
+        // current accounting period started at May 1st 12:00 AM UTC
+        loader.setClock(Clock.fixed(Instant.parse("2019-05-11T00:00:00Z"), ZoneOffset.UTC));
+        final var key = new LimitedResourceKey(TENANT_ID, (tenantId, ctx) -> Future.succeededFuture(tenant));
+        final var otherKey = new LimitedResourceKey("other-tenant", (tenantId, ctx) -> Future.succeededFuture(otherTenant));
+        final var unlimitedKey = new LimitedResourceKey(
+                "unlimited-tenant",
+                (tenantId, ctx) -> Future.succeededFuture(unlimitedTenant));
+
+        givenDataVolumeUsageInBytes(40_000);
+        final var singleResult = loader.asyncLoad(key, executor).get();
+
+        givenResponseWithValuesPerTenant(Map.of(TENANT_ID, 40_000));
+        final var result = loader.asyncLoadAll(Set.of(key, otherKey, unlimitedKey), executor);
+
+        assertThat(result.isDone()).isTrue();
+        verify(bufferReq).addQueryParam(
+                "query",
+                "floor(sum by (tenant) (increase({__name__=~\"hono_telemetry_payload_bytes_sum|hono_command_payload_bytes_sum\","
+                + " status=~\"forwarded|unprocessable\"} [14400m])))");
+        final var values = result.get();
+        assertThat(values).hasSize(3);
+        assertThat(values.get(key).getCurrentLimit()).isEqualTo(singleResult.getCurrentLimit());
+        assertThat(values.get(key).getCurrentValue()).isEqualTo(singleResult.getCurrentValue());
+        assertThat(values.get(key).getCurrentValue()).isEqualTo(40_000L);
+        assertThat(values.get(otherKey).getCurrentLimit()).isEqualTo(90_000L);
+        assertThat(values.get(otherKey).getCurrentValue()).isEqualTo(0L);
+        assertThat(values.get(unlimitedKey).getCurrentLimit()).isNull();
+    }
 }
@@ -0,0 +1,220 @@
+/**
+ * Copyright (c) 2022 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+
+
+package org.eclipse.hono.adapter.resourcelimits;
+
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import java.net.HttpURLConnection;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+
+import org.eclipse.hono.adapter.MicrometerBasedProtocolAdapterMetrics;
+import org.eclipse.hono.adapter.ProtocolAdapterProperties;
+import org.eclipse.hono.client.ServerErrorException;
+import org.eclipse.hono.service.metric.MetricsTags;
+import org.eclipse.hono.util.ConnectionDuration;
+import org.eclipse.hono.util.DataVolume;
+import org.eclipse.hono.util.ResourceLimits;
+import org.eclipse.hono.util.ResourceLimitsPeriod;
+import org.eclipse.hono.util.ResourceLimitsPeriod.PeriodMode;
+import org.eclipse.hono.util.TenantObject;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.vertx.core.Future;
+import io.vertx.core.Vertx;
+
+/**
+ * Verifies the behavior of {@link LocalResourceLimitChecks}.
+ *
+ */
+public class LocalResourceLimitChecksTest {
+
+    private static final Instant EFFECTIVE_SINCE = Instant.parse("2022-03-01T00:00:00Z");
+    private static final Instant NOW = Instant.parse("2022-04-15T12:00:00Z");
+
+    private InMemoryResourceUsageStore store;
+    private Vertx vertx;
+    private SimpleMeterRegistry registry;
+    private MicrometerBasedProtocolAdapterMetrics metrics;
+    private LocalResourceLimitChecks checks;
+
+    /**
+     * Sets up the fixture.
+     */
+    @BeforeEach
+    public void setUp() {
+        vertx = mock(Vertx.class);
+        store = new InMemoryResourceUsageStore();
+        store.setClock(Clock.fixed(NOW, ZoneOffset.UTC));
+        registry = new SimpleMeterRegistry();
+        metrics = new MicrometerBasedProtocolAdapterMetrics(registry, vertx, new ProtocolAdapterProperties());
+        checks = newChecks(registry, store);
+    }
+
+    private LocalResourceLimitChecks newChecks(final SimpleMeterRegistry meterRegistry, final ResourceUsageStore usageStore) {
+        final var result = new LocalResourceLimitChecks(vertx, meterRegistry, usageStore, Duration.ofSeconds(1));
+        result.setClock(Clock.fixed(NOW, ZoneOffset.UTC));
+        return result;
+    }
+
+    /**
+     * Verifies that the connection limit check takes the connections of all
+     * adapter instances into account.
+     */
+    @Test
+    public void testConnectionLimitIncludesConnectionsOfOtherInstances() {
+
+        final TenantObject tenant = TenantObject.from("tenant")
+                .setResourceLimits(new ResourceLimits().setMaxConnections(2));
+        final SimpleMeterRegistry otherRegistry = new SimpleMeterRegistry();
+        final var otherMetrics = new MicrometerBasedProtocolAdapterMetrics(otherRegistry, vertx, new ProtocolAdapterProperties());
+        final var otherChecks = newChecks(otherRegistry, store);
+
+        // GIVEN two adapter instances that each have a device of the tenant connected
+        assertThat(checks.isConnectionLimitReached(tenant, null).result()).isFalse();
+        metrics.incrementConnections("tenant");
+        assertThat(otherChecks.isConnectionLimitReached(tenant, null).result()).isFalse();
+        otherMetrics.incrementConnections("tenant");
+
+        // WHEN the usage has been synchronized with the store
+        assertThat(otherChecks.synchronizeUsage(false).succeeded()).isTrue();
+        assertThat(checks.synchronizeUsage(false).succeeded()).isTrue();
+
+        // THEN the connection limit is reached
+        assertThat(checks.isConnectionLimitReached(tenant, null).result()).isTrue();
+
+        // and WHEN the other adapter instance releases its connections
+        assertThat(otherChecks.synchronizeUsage(true).succeeded()).isTrue();
+        assertThat(checks.synchronizeUsage(false).succeeded()).isTrue();
+
+        // THEN the connection limit is no longer reached
+        assertThat(checks.isConnectionLimitReached(tenant, null).result()).isFalse();
+    }
+
+    /**
+     * Verifies that the message limit check takes into account the data volume that
+     * has been accounted for locally but that has not been added to the store yet.
+     */
+    @Test
+    public void testMessageLimitIncludesPendingDataVolume() {
+
+        final ResourceUsageStore unavailableStore = mock(ResourceUsageStore.class);
+        when(unavailableStore.addAndGet(anyMap()))
+            .thenReturn(Future.failedFuture(new ServerErrorException(HttpURLConnection.HTTP_UNAVAILABLE)));
+        checks = newChecks(registry, unavailableStore);
+
+        final TenantObject tenant = TenantObject.from("tenant")
+                .setResourceLimits(new ResourceLimits()
+                        .setDataVolume(new DataVolume(
+                                EFFECTIVE_SINCE,
+                                new ResourceLimitsPeriod(PeriodMode.monthly),
+                                100L)));
+
+        assertThat(checks.isMessageLimitReached(tenant, 10, null).result()).isFalse();
+        // GIVEN a tenant's devices having used 90 bytes
+        reportTelemetry(tenant, MetricsTags.ProcessingOutcome.FORWARDED, 60);
+        reportTelemetry(tenant, MetricsTags.ProcessingOutcome.UNPROCESSABLE, 30);
+        // and a message that could not be delivered
+        reportTelemetry(tenant, MetricsTags.ProcessingOutcome.UNDELIVERABLE, 30);
+        // which have been collected from the meter registry but could not be added to the store
+        assertThat(checks.synchronizeUsage(false).failed()).isTrue();
+
+        // THEN messages may still be sent up to the limit
+        assertThat(checks.isMessageLimitReached(tenant, 10, null).result()).isFalse();
+        assertThat(checks.isMessageLimitReached(tenant, 11, null).result()).isTrue();
+    }
+
+    /**
+     * Verifies that the message limit check only considers the data volume used
+     * during the current accounting period.
+     */
+    @Test
+    public void testMessageLimitIgnoresDataVolumeOfPreviousPeriod() {
+
+        final TenantObject tenant = TenantObject.from("tenant")
+                .setResourceLimits(new ResourceLimits()
+                        .setDataVolume(new DataVolume(
+                                EFFECTIVE_SINCE,
+                                new ResourceLimitsPeriod(PeriodMode.monthly),
+                                100L)));
+
+        // GIVEN a tenant's devices having used up the data volume
+        assertThat(checks.isMessageLimitReached(tenant, 10, null).result()).isFalse();
+        reportTelemetry(tenant, MetricsTags.ProcessingOutcome.FORWARDED, 100);
+        assertThat(checks.synchronizeUsage(false).succeeded()).isTrue();
+        assertThat(checks.isMessageLimitReached(tenant, 10, null).result()).isTrue();
+
+        // WHEN the next accounting period starts
+        checks.setClock(Clock.fixed(Instant.parse("2022-05-01T00:00:01Z"), ZoneOffset.UTC));
+
+        // THEN the data volume used in the previous period is no longer considered
+        assertThat(checks.isMessageLimitReached(tenant, 10, null).result()).isFalse();
+    }
+
+    /**
+     * Verifies that the connection duration limit check considers the time that
+     * devices have been connected to the adapter.
+     */
+    @Test
+    public void testConnectionDurationLimitIsReached() {
+
+        final TenantObject tenant = TenantObject.from("tenant")
+                .setResourceLimits(new ResourceLimits()
+                        .setConnectionDuration(new ConnectionDuration(
+                                EFFECTIVE_SINCE,
+                                new ResourceLimitsPeriod(PeriodMode.days).setNoOfDays(30),
+                                2L)));
+
+        // GIVEN a device that has been connected for one minute
+        assertThat(checks.isConnectionDurationLimitReached(tenant, null).result()).isFalse();
+        metrics.incrementConnections("tenant");
+        assertThat(checks.synchronizeUsage(false).succeeded()).isTrue();
+        checks.setClock(Clock.fixed(NOW.plusSeconds(60), ZoneOffset.UTC));
+        assertThat(checks.synchronizeUsage(false).succeeded()).isTrue();
+        assertThat(checks.isConnectionDurationLimitReached(tenant, null).result()).isFalse();
+
+        // WHEN another device connects and both devices stay connected for another 30 seconds
+        metrics.incrementConnections("tenant");
+        assertThat(checks.synchronizeUsage(false).succeeded()).isTrue();
+        checks.setClock(Clock.fixed(NOW.plusSeconds(90), ZoneOffset.UTC));
+        assertThat(checks.synchronizeUsage(false).succeeded()).isTrue();
+
+        // THEN the connection duration limit of two minutes is reached
+        assertThat(checks.isConnectionDurationLimitReached(tenant, null).result()).isTrue();
+    }
+
+    private void reportTelemetry(
+            final TenantObject tenant,
+            final MetricsTags.ProcessingOutcome outcome,
+            final int payloadSize) {
+
+        metrics.reportTelemetry(
+                MetricsTags.EndpointType.TELEMETRY,
+                tenant.getTenantId(),
+                tenant,
+                outcome,
+                MetricsTags.QoS.AT_MOST_ONCE,
+                payloadSize,
+                metrics.startTimer());
+    }
+}
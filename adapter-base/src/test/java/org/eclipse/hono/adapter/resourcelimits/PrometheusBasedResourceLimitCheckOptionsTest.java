@@ -34,6 +34,7 @@ class PrometheusBasedResourceLimitCheckOptionsTest {
                         PrometheusBasedResourceLimitCheckOptions.class,
                         this.getClass().getResource("/resource-limit-check-options.yaml")));
 
+        assertThat(props.getBulkRefreshInterval()).isEqualTo(15);
         assertThat(props.getCacheMaxSize()).isEqualTo(15500);
         assertThat(props.getCacheMinSize()).isEqualTo(5555);
         assertThat(props.getCacheTimeout()).isEqualTo(555);
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2018, 2021 Contributors to the Eclipse Foundation
+ * Copyright (c) 2018, 2022 Contributors to the Eclipse Foundation
  *
  * See the NOTICE file(s) distributed with this work for additional
  * information regarding copyright ownership.
@@ -39,6 +39,12 @@ public final class AmqpAdapterConstants {
      */
     public static final String KEY_TRACE_SAMPLING_PRIORITY = "TRACE_SAMPLING_PRIORITY";
 
+    /**
+     * The key that the session context of an authenticated client of a protocol adapter
+     * is stored under in a {@code ProtonConnection}'s attachments.
+     */
+    public static final String KEY_SESSION_CONTEXT = "SESSION_CONTEXT";
+
     private AmqpAdapterConstants() {
         // avoid instantiation
     }
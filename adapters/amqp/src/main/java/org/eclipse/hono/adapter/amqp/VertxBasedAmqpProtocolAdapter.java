@@ -24,7 +24,6 @@ import java.util.OptionalInt;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Function;
-import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
 import org.apache.qpid.proton.amqp.Symbol;
@@ -43,6 +42,8 @@ import org.eclipse.hono.adapter.AbstractProtocolAdapterBase;
 import org.eclipse.hono.adapter.AdapterConnectionsExceededException;
 import org.eclipse.hono.adapter.AdapterDisabledException;
 import org.eclipse.hono.adapter.AuthorizationException;
+import org.eclipse.hono.adapter.DeviceConnectionRegistry;
+import org.eclipse.hono.adapter.DeviceSessionContext;
 import org.eclipse.hono.adapter.auth.device.CredentialsApiAuthProvider;
 import org.eclipse.hono.adapter.auth.device.DeviceCredentials;
 import org.eclipse.hono.adapter.auth.device.TenantServiceBasedX509Authentication;
@@ -62,11 +63,6 @@ import org.eclipse.hono.client.command.CommandConsumer;
 import org.eclipse.hono.client.command.CommandContext;
 import org.eclipse.hono.client.command.CommandResponse;
 import org.eclipse.hono.client.command.Commands;
-import org.eclipse.hono.notification.NotificationEventBusSupport;
-import org.eclipse.hono.notification.deviceregistry.AllDevicesOfTenantDeletedNotification;
-import org.eclipse.hono.notification.deviceregistry.DeviceChangeNotification;
-import org.eclipse.hono.notification.deviceregistry.LifecycleChange;
-import org.eclipse.hono.notification.deviceregistry.TenantChangeNotification;
 import org.eclipse.hono.service.http.HttpUtils;
 import org.eclipse.hono.service.metric.MetricsTags.ConnectionAttemptOutcome;
 import org.eclipse.hono.service.metric.MetricsTags.Direction;
@@ -132,7 +128,7 @@ public final class VertxBasedAmqpProtocolAdapter extends AbstractProtocolAdapter
     /**
      * The current connections from authenticated devices (possibly multiple connections from the same device).
      */
-    private final Map<ProtonConnection, Device> authenticatedDeviceConnections = new HashMap<>();
+    private final DeviceConnectionRegistry<ProtonConnection> authenticatedDeviceConnections = new DeviceConnectionRegistry<>();
 
     /**
      * The AMQP server instance that maps to a secure port.
@@ -182,7 +178,10 @@ public final class VertxBasedAmqpProtocolAdapter extends AbstractProtocolAdapter
     @Override
     protected void doStart(final Promise<Void> startPromise) {
 
-        registerDeviceAndTenantChangeNotificationConsumers();
+        registerDeviceAndTenantChangeNotificationConsumers(
+                authenticatedDeviceConnections,
+                this::closeDeviceConnectionOnDeviceOrTenantChange,
+                VertxBasedAmqpProtocolAdapter::getSessionContext);
 
         if (getConnectionLimitManager() == null) {
             setConnectionLimitManager(createConnectionLimitManager());
@@ -213,41 +212,9 @@ public final class VertxBasedAmqpProtocolAdapter extends AbstractProtocolAdapter
         .onComplete(startPromise);
     }
 
-    private void registerDeviceAndTenantChangeNotificationConsumers() {
-        NotificationEventBusSupport.registerConsumer(vertx, DeviceChangeNotification.TYPE,
-                notification -> {
-                    if (LifecycleChange.DELETE.equals(notification.getChange())
-                            || (LifecycleChange.UPDATE.equals(notification.getChange()) && !notification.isEnabled())) {
-                        final String reason = LifecycleChange.DELETE.equals(notification.getChange()) ? "device deleted"
-                                : "device disabled";
-                        closeDeviceConnections(connectedDevice -> connectedDevice.getTenantId().equals(notification.getTenantId())
-                                && connectedDevice.getDeviceId().equals(notification.getDeviceId()), reason);
-                    }
-                });
-        NotificationEventBusSupport.registerConsumer(vertx, AllDevicesOfTenantDeletedNotification.TYPE,
-                notification -> {
-                    closeDeviceConnections(connectedDevice -> connectedDevice.getTenantId()
-                            .equals(notification.getTenantId()), "all devices of tenant deleted");
-                });
-        NotificationEventBusSupport.registerConsumer(vertx, TenantChangeNotification.TYPE,
-                notification -> {
-                    if (LifecycleChange.DELETE.equals(notification.getChange())
-                            || (LifecycleChange.UPDATE.equals(notification.getChange()) && !notification.isEnabled())) {
-                        final String reason = LifecycleChange.DELETE.equals(notification.getChange()) ? "tenant deleted"
-                                : "tenant disabled";
-                        closeDeviceConnections(connectedDevice -> connectedDevice.getTenantId()
-                                .equals(notification.getTenantId()), reason);
-                    }
-                });
-    }
-
-    private void closeDeviceConnections(final Predicate<Device> deviceMatchPredicate, final String reason) {
-        final List<ProtonConnection> deviceConnections =  authenticatedDeviceConnections.entrySet().stream()
-                .filter(entry -> deviceMatchPredicate.test(entry.getValue()))
-                .map(Map.Entry::getKey)
-                .collect(Collectors.toList());
+    private void closeDeviceConnectionOnDeviceOrTenantChange(final ProtonConnection con, final String reason) {
         // sendDisconnectedEvent param false here - sending an event for a deleted/disabled tenant/device would fail
-        deviceConnections.forEach(con -> closeDeviceConnection(con, reason, false));
+        closeDeviceConnection(con, reason, false);
     }
 
     /**
@@ -484,7 +451,8 @@ public final class VertxBasedAmqpProtocolAdapter extends AbstractProtocolAdapter
 
     private Future<Void> handleConnectionLossInternal(final ProtonConnection con, final Span span, final Device authenticatedDevice,
             final boolean sendDisconnectedEvent) {
-        authenticatedDeviceConnections.remove(con);
+        Optional.ofNullable(authenticatedDevice)
+                .ifPresent(device -> authenticatedDeviceConnections.remove(device, con));
         @SuppressWarnings("rawtypes")
         final List<Future> handlerResults = getCommandSubscriptions(con).stream()
                 .map(commandSubscription -> closeCommandConsumer(commandSubscription.getConsumer(), commandSubscription.getAddress(),
@@ -530,7 +498,11 @@ public final class VertxBasedAmqpProtocolAdapter extends AbstractProtocolAdapter
                 span.log("connection established");
 
                 Optional.ofNullable(authenticatedDevice)
-                        .ifPresent(device -> authenticatedDeviceConnections.put(con, device));
+                        .ifPresent(device -> {
+                            con.attachments().set(AmqpAdapterConstants.KEY_SESSION_CONTEXT, DeviceSessionContext.class,
+                                    new DeviceSessionContext(device, DeviceSessionContext.DEFAULT_MAX_AGE));
+                            authenticatedDeviceConnections.add(device, con);
+                        });
 
                 metrics.reportConnectionAttempt(
                         ConnectionAttemptOutcome.SUCCEEDED,
@@ -732,6 +704,7 @@ public final class VertxBasedAmqpProtocolAdapter extends AbstractProtocolAdapter
                             "settled", delivery.remotelySettled()));
 
                     final AmqpContext ctx = AmqpContext.fromMessage(delivery, message, msgSpan, authenticatedDevice);
+                    ctx.setSessionContext(getSessionContext(conn));
                     ctx.setTimer(metrics.startTimer());
 
                     final Future<Void> spanPreparationFuture = authenticatedDevice == null
@@ -1284,8 +1257,10 @@ public final class VertxBasedAmqpProtocolAdapter extends AbstractProtocolAdapter
                 resource.getTenantId(),
                 resource.getResourceId(),
                 context.getAuthenticatedDevice(),
+                context.getSessionContext(),
                 currentSpan.context());
         final Future<TenantObject> tenantTracker = getTenantConfiguration(resource.getTenantId(),
+                context.getSessionContext(),
                 currentSpan.context());
         final Future<TenantObject> tenantValidationTracker = tenantTracker
                 .compose(tenantObject -> CompositeFuture
@@ -1372,6 +1347,7 @@ public final class VertxBasedAmqpProtocolAdapter extends AbstractProtocolAdapter
                             "malformed command response message"));
                 });
         final Future<TenantObject> tenantTracker = getTenantConfiguration(resource.getTenantId(),
+                context.getSessionContext(),
                 currentSpan.context());
 
         return CompositeFuture.all(tenantTracker, responseTracker)
@@ -1391,6 +1367,7 @@ public final class VertxBasedAmqpProtocolAdapter extends AbstractProtocolAdapter
                             resource.getTenantId(),
                             resource.getResourceId(),
                             context.getAuthenticatedDevice(),
+                            context.getSessionContext(),
                             currentSpan.context());
                     final Future<TenantObject> tenantValidationTracker = CompositeFuture
                             .all(isAdapterEnabled(tenantTracker.result()),
@@ -1549,6 +1526,10 @@ public final class VertxBasedAmqpProtocolAdapter extends AbstractProtocolAdapter
         return con.attachments().get(AmqpAdapterConstants.KEY_CLIENT_DEVICE, Device.class);
     }
 
+    private static DeviceSessionContext getSessionContext(final ProtonConnection con) {
+        return con.attachments().get(AmqpAdapterConstants.KEY_SESSION_CONTEXT, DeviceSessionContext.class);
+    }
+
     private static OptionalInt getTraceSamplingPriority(final ProtonConnection con) {
         return Optional.ofNullable(con.attachments().get(AmqpAdapterConstants.KEY_TRACE_SAMPLING_PRIORITY, OptionalInt.class))
                 .orElse(OptionalInt.empty());
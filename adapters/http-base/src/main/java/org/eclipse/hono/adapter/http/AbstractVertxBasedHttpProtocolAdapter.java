@@ -49,6 +49,7 @@ import org.eclipse.hono.util.MessageHelper;
 import org.eclipse.hono.util.RegistrationAssertion;
 import org.eclipse.hono.util.Strings;
 import org.eclipse.hono.util.TenantObject;
+import org.eclipse.hono.util.TimingWheel;
 
 import io.micrometer.core.instrument.Timer.Sample;
 import io.opentracing.References;
@@ -83,7 +84,7 @@ public abstract class AbstractVertxBasedHttpProtocolAdapter<T extends HttpProtoc
      */
     protected static final String DEFAULT_UPLOADS_DIRECTORY = "/tmp";
 
-    private static final String KEY_TIMER_ID = "timerId";
+    private static final String KEY_TIMEOUT = "commandReceptionTimeout";
     private static final String MATCH_ALL_ROUTE_NAME = "/* (default route)";
 
     private static final String KEY_MATCH_ALL_ROUTE_APPLIED = "matchAllRouteApplied";
@@ -1105,7 +1106,7 @@ public abstract class AbstractVertxBasedHttpProtocolAdapter<T extends HttpProtoc
      * if no command has been received from an application within a
      * given amount of time.
      * <p>
-     * The created timer's ID is put to the routing context using key {@link #KEY_TIMER_ID}.
+     * The created timeout is put to the routing context using key {@link #KEY_TIMEOUT}.
      *
      * @param ctx The device's currently executing HTTP request.
      * @param responseReady The future to complete when the time has expired.
@@ -1119,9 +1120,9 @@ public abstract class AbstractVertxBasedHttpProtocolAdapter<T extends HttpProtoc
             final long delaySecs,
             final Span waitForCommandSpan) {
 
-        final Long timerId = ctx.vertx().setTimer(delaySecs * 1000L, id -> {
+        final TimingWheel.Timeout timeout = TimingWheel.setTimeout(ctx.vertx(), delaySecs * 1000L, v -> {
 
-            log.trace("time to wait [{}s] for command expired [timer id: {}]", delaySecs, id);
+            log.trace("time to wait [{}s] for command expired", delaySecs);
 
             if (requestProcessed.compareAndSet(false, true)) {
                 // no command to be sent,
@@ -1136,19 +1137,19 @@ public abstract class AbstractVertxBasedHttpProtocolAdapter<T extends HttpProtoc
             }
         });
 
-        log.trace("adding command reception timer [id: {}]", timerId);
+        log.trace("adding command reception timer [delay: {}s]", delaySecs);
 
-        ctx.put(KEY_TIMER_ID, timerId);
+        ctx.put(KEY_TIMEOUT, timeout);
     }
 
     private void cancelCommandReceptionTimer(final RoutingContext ctx) {
 
-        final Long timerId = ctx.get(KEY_TIMER_ID);
-        if (timerId != null && timerId >= 0) {
-            if (ctx.vertx().cancelTimer(timerId)) {
-                log.trace("Cancelled timer id {}", timerId);
+        final TimingWheel.Timeout timeout = ctx.get(KEY_TIMEOUT);
+        if (timeout != null) {
+            if (timeout.cancel()) {
+                log.trace("Cancelled command reception timer");
             } else {
-                log.debug("Could not cancel timer id {}", timerId);
+                log.debug("Could not cancel command reception timer");
             }
         }
     }
@@ -22,19 +22,16 @@ import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Deque;
 import java.util.HashMap;
-import java.util.HashSet;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.OptionalInt;
-import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Function;
-import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
 import javax.net.ssl.SSLSession;
@@ -42,6 +39,8 @@ import javax.net.ssl.SSLSession;
 import org.eclipse.hono.adapter.AbstractProtocolAdapterBase;
 import org.eclipse.hono.adapter.AdapterConnectionsExceededException;
 import org.eclipse.hono.adapter.AuthorizationException;
+import org.eclipse.hono.adapter.DeviceConnectionRegistry;
+import org.eclipse.hono.adapter.DeviceSessionContext;
 import org.eclipse.hono.adapter.auth.device.AuthHandler;
 import org.eclipse.hono.adapter.auth.device.ChainAuthHandler;
 import org.eclipse.hono.adapter.auth.device.CredentialsApiAuthProvider;
@@ -61,11 +60,6 @@ import org.eclipse.hono.client.command.Command;
 import org.eclipse.hono.client.command.CommandConsumer;
 import org.eclipse.hono.client.command.CommandContext;
 import org.eclipse.hono.client.command.CommandResponse;
-import org.eclipse.hono.notification.NotificationEventBusSupport;
-import org.eclipse.hono.notification.deviceregistry.AllDevicesOfTenantDeletedNotification;
-import org.eclipse.hono.notification.deviceregistry.DeviceChangeNotification;
-import org.eclipse.hono.notification.deviceregistry.LifecycleChange;
-import org.eclipse.hono.notification.deviceregistry.TenantChangeNotification;
 import org.eclipse.hono.service.auth.DeviceUser;
 import org.eclipse.hono.service.metric.MetricsTags;
 import org.eclipse.hono.service.metric.MetricsTags.ConnectionAttemptOutcome;
@@ -150,7 +144,7 @@ public abstract class AbstractVertxBasedMqttProtocolAdapter<T extends MqttProtoc
     /**
      * The endpoints representing the currently connected, authenticated MQTT devices.
      */
-    private final Set<MqttDeviceEndpoint> connectedAuthenticatedDeviceEndpoints = new HashSet<>();
+    private final DeviceConnectionRegistry<MqttDeviceEndpoint> connectedAuthenticatedDeviceEndpoints = new DeviceConnectionRegistry<>();
 
     /**
      * Sets the authentication handler to use for authenticating devices.
@@ -355,7 +349,10 @@ public abstract class AbstractVertxBasedMqttProtocolAdapter<T extends MqttProtoc
     @Override
     protected final void doStart(final Promise<Void> startPromise) {
 
-        registerDeviceAndTenantChangeNotificationConsumers();
+        registerDeviceAndTenantChangeNotificationConsumers(
+                connectedAuthenticatedDeviceEndpoints,
+                this::closeDeviceConnectionOnDeviceOrTenantChange,
+                MqttDeviceEndpoint::getSessionContext);
 
         log.info("limiting size of inbound message payload to {} bytes", getConfig().getMaxPayloadSize());
         if (!getConfig().isAuthenticationRequired()) {
@@ -377,47 +374,12 @@ public abstract class AbstractVertxBasedMqttProtocolAdapter<T extends MqttProtoc
             .onComplete(startPromise);
     }
 
-    private void registerDeviceAndTenantChangeNotificationConsumers() {
-        NotificationEventBusSupport.registerConsumer(vertx, DeviceChangeNotification.TYPE,
-                notification -> {
-                    if (LifecycleChange.DELETE.equals(notification.getChange())
-                            || (LifecycleChange.UPDATE.equals(notification.getChange()) && !notification.isEnabled())) {
-                        final String reason = LifecycleChange.DELETE.equals(notification.getChange()) ? "device deleted"
-                                : "device disabled";
-                        closeDeviceConnectionsOnDeviceOrTenantChange(
-                                connectedDevice -> connectedDevice.getTenantId().equals(notification.getTenantId())
-                                        && connectedDevice.getDeviceId().equals(notification.getDeviceId()),
-                                reason);
-                    }
-                });
-        NotificationEventBusSupport.registerConsumer(vertx, AllDevicesOfTenantDeletedNotification.TYPE,
-                notification -> closeDeviceConnectionsOnDeviceOrTenantChange(
-                        connectedDevice -> connectedDevice.getTenantId().equals(notification.getTenantId()),
-                        "all devices of tenant deleted"));
-        NotificationEventBusSupport.registerConsumer(vertx, TenantChangeNotification.TYPE,
-                notification -> {
-                    if (LifecycleChange.DELETE.equals(notification.getChange())
-                            || (LifecycleChange.UPDATE.equals(notification.getChange()) && !notification.isEnabled())) {
-                        final String reason = LifecycleChange.DELETE.equals(notification.getChange()) ? "tenant deleted"
-                                : "tenant disabled";
-                        closeDeviceConnectionsOnDeviceOrTenantChange(
-                                connectedDevice -> connectedDevice.getTenantId().equals(notification.getTenantId()),
-                                reason);
-                    }
-                });
-    }
-
-    private void closeDeviceConnectionsOnDeviceOrTenantChange(final Predicate<Device> deviceMatchPredicate, final String reason) {
-        final List<MqttDeviceEndpoint> deviceEndpoints = connectedAuthenticatedDeviceEndpoints.stream()
-                .filter(ep -> deviceMatchPredicate.test(ep.getAuthenticatedDevice()))
-                .collect(Collectors.toList()); // using intermediate list since connectedAuthenticatedDeviceEndpoints is modified in the close() method
-        deviceEndpoints.forEach(ep -> {
-            // decouple the (potentially numerous) close invocations by using context.runOnContext()
-            Futures.onCurrentContextCompletionHandler(v -> {
-                // sendDisconnectedEvent param false here - sending an event for a deleted/disabled tenant/device would fail
-                ep.close(reason, false);
-            }).handle(null);
-        });
+    private void closeDeviceConnectionOnDeviceOrTenantChange(final MqttDeviceEndpoint endpoint, final String reason) {
+        // decouple the (potentially numerous) close invocations by using context.runOnContext()
+        Futures.onCurrentContextCompletionHandler(v -> {
+            // sendDisconnectedEvent param false here - sending an event for a deleted/disabled tenant/device would fail
+            endpoint.close(reason, false);
+        }).handle(null);
     }
 
     private ConnectionLimitManager createConnectionLimitManager() {
@@ -701,7 +663,10 @@ public abstract class AbstractVertxBasedMqttProtocolAdapter<T extends MqttProtoc
 
         final Buffer payload = ctx.payload();
         final MetricsTags.QoS qos = MetricsTags.QoS.from(ctx.qosLevel().value());
-        final Future<TenantObject> tenantTracker = getTenantConfiguration(ctx.tenant(), ctx.getTracingContext());
+        final Future<TenantObject> tenantTracker = getTenantConfiguration(
+                ctx.tenant(),
+                ctx.getSessionContext(),
+                ctx.getTracingContext());
 
         return tenantTracker
                 .compose(tenantObject -> uploadMessage(ctx, tenantObject, ctx.deviceId(), payload, ctx.endpoint()))
@@ -751,7 +716,10 @@ public abstract class AbstractVertxBasedMqttProtocolAdapter<T extends MqttProtoc
 
         final Buffer payload = ctx.payload();
         final MetricsTags.QoS qos = MetricsTags.QoS.from(ctx.qosLevel().value());
-        final Future<TenantObject> tenantTracker = getTenantConfiguration(ctx.tenant(), ctx.getTracingContext());
+        final Future<TenantObject> tenantTracker = getTenantConfiguration(
+                ctx.tenant(),
+                ctx.getSessionContext(),
+                ctx.getTracingContext());
 
         return tenantTracker
                 .compose(tenantObject -> uploadMessage(ctx, tenantObject, ctx.deviceId(), payload, ctx.endpoint()))
@@ -842,7 +810,10 @@ public abstract class AbstractVertxBasedMqttProtocolAdapter<T extends MqttProtoc
                 .start();
 
         final int payloadSize = ctx.payload().length();
-        final Future<TenantObject> tenantTracker = getTenantConfiguration(tenantId, ctx.getTracingContext());
+        final Future<TenantObject> tenantTracker = getTenantConfiguration(
+                tenantId,
+                ctx.getSessionContext(),
+                ctx.getTracingContext());
 
         return CompositeFuture.all(tenantTracker, commandResponseTracker)
                 .compose(success -> {
@@ -850,6 +821,7 @@ public abstract class AbstractVertxBasedMqttProtocolAdapter<T extends MqttProtoc
                             tenantId,
                             deviceId,
                             ctx.authenticatedDevice(),
+                            ctx.getSessionContext(),
                             currentSpan.context());
                     final Future<Void> tenantValidationTracker = CompositeFuture.all(
                             isAdapterEnabled(tenantTracker.result()),
@@ -918,6 +890,7 @@ public abstract class AbstractVertxBasedMqttProtocolAdapter<T extends MqttProtoc
                 tenantObject.getTenantId(),
                 deviceId,
                 ctx.authenticatedDevice(),
+                ctx.getSessionContext(),
                 currentSpan.context());
         final Future<TenantObject> tenantValidationTracker = CompositeFuture.all(
                 isAdapterEnabled(tenantObject),
@@ -978,7 +951,7 @@ public abstract class AbstractVertxBasedMqttProtocolAdapter<T extends MqttProtoc
 
     private void onBeforeEndpointClose(final MqttDeviceEndpoint endpoint) {
         if (endpoint.getAuthenticatedDevice() != null) {
-            connectedAuthenticatedDeviceEndpoints.remove(endpoint);
+            connectedAuthenticatedDeviceEndpoints.remove(endpoint.getAuthenticatedDevice(), endpoint);
         }
     }
 
@@ -1081,7 +1054,7 @@ public abstract class AbstractVertxBasedMqttProtocolAdapter<T extends MqttProtoc
         final MqttDeviceEndpoint mqttDeviceEndpoint = new MqttDeviceEndpoint(endpoint, authenticatedDevice,
                 traceSamplingPriority);
         if (authenticatedDevice != null) {
-            connectedAuthenticatedDeviceEndpoints.add(mqttDeviceEndpoint);
+            connectedAuthenticatedDeviceEndpoints.add(authenticatedDevice, mqttDeviceEndpoint);
         }
         return mqttDeviceEndpoint;
     }
@@ -1121,6 +1094,10 @@ public abstract class AbstractVertxBasedMqttProtocolAdapter<T extends MqttProtoc
          * The authenticated identity of the device or {@code null} if the device has not been authenticated.
          */
         private final Device authenticatedDevice;
+        /**
+         * The context of the authenticated device's session or {@code null} if the device has not been authenticated.
+         */
+        private final DeviceSessionContext sessionContext;
         private final OptionalInt traceSamplingPriority;
         private final Map<Subscription.Key, Pair<CommandSubscription, CommandConsumer>> commandSubscriptions = new ConcurrentHashMap<>();
         private final Map<Subscription.Key, ErrorSubscription> errorSubscriptions = new HashMap<>();
@@ -1140,6 +1117,9 @@ public abstract class AbstractVertxBasedMqttProtocolAdapter<T extends MqttProtoc
         public MqttDeviceEndpoint(final MqttEndpoint endpoint, final Device authenticatedDevice, final OptionalInt traceSamplingPriority) {
             this.endpoint = Objects.requireNonNull(endpoint);
             this.authenticatedDevice = authenticatedDevice;
+            this.sessionContext = Optional.ofNullable(authenticatedDevice)
+                    .map(device -> new DeviceSessionContext(device, DeviceSessionContext.DEFAULT_MAX_AGE))
+                    .orElse(null);
             this.traceSamplingPriority = Objects.requireNonNull(traceSamplingPriority);
         }
 
@@ -1152,6 +1132,18 @@ public abstract class AbstractVertxBasedMqttProtocolAdapter<T extends MqttProtoc
             return authenticatedDevice;
         }
 
+        /**
+         * Gets the context of the authenticated device's session.
+         * <p>
+         * The session context keeps the tenant configuration and registration assertion of the
+         * authenticated device, so that they do not need to be retrieved for every published message.
+         *
+         * @return The session context or {@code null} if the device has not been authenticated.
+         */
+        protected final DeviceSessionContext getSessionContext() {
+            return sessionContext;
+        }
+
         /**
          * Registers the handlers on the contained MqttEndpoint.
          */
@@ -1202,6 +1194,7 @@ public abstract class AbstractVertxBasedMqttProtocolAdapter<T extends MqttProtoc
             traceSamplingPriority.ifPresent(prio -> TracingHelper.setTraceSamplingPriority(span, prio));
 
             final MqttContext context = MqttContext.fromPublishPacket(message, endpoint, span, authenticatedDevice);
+            context.setSessionContext(sessionContext);
             context.setTimer(getMetrics().startTimer());
 
             final Future<Void> spanPreparationFuture = authenticatedDevice == null
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2016, 2021 Contributors to the Eclipse Foundation
+ * Copyright (c) 2016, 2022 Contributors to the Eclipse Foundation
  *
  * See the NOTICE file(s) distributed with this work for additional
  * information regarding copyright ownership.
@@ -18,6 +18,7 @@ import java.util.Objects;
 import java.util.Optional;
 import java.util.concurrent.ConcurrentHashMap;
 
+import org.eclipse.hono.util.TimingWheel;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -40,7 +41,7 @@ public final class PendingPubAcks {
     /**
      * Creates a new PendingPubAcks instance.
      *
-     * @param vertx The Vert.x instance to execute timers with.
+     * @param vertx The Vert.x instance to set timeouts with.
      * @throws NullPointerException if vertx is {@code null}.
      */
     public PendingPubAcks(final Vertx vertx) {
@@ -79,17 +80,17 @@ public final class PendingPubAcks {
         Objects.requireNonNull(onAckTimeoutHandler);
 
         final PendingPubAck replacedObj = pendingAcks.put(msgId,
-                new PendingPubAck(msgId, onAckHandler, onAckTimeoutHandler, startTimerIfNeeded(msgId, waitingForAckTimeout)));
+                new PendingPubAck(msgId, onAckHandler, onAckTimeoutHandler, setTimeoutIfNeeded(msgId, waitingForAckTimeout)));
         if (replacedObj != null) {
             LOG.error("error registering ack handler; already waiting for ack of message id [{}]", msgId);
         }
     }
 
-    private Long startTimerIfNeeded(final Integer msgId, final long waitingForAckTimeout) {
+    private TimingWheel.Timeout setTimeoutIfNeeded(final Integer msgId, final long waitingForAckTimeout) {
         if (waitingForAckTimeout < 1) {
             return null;
         }
-        return vertx.setTimer(waitingForAckTimeout, timerId -> {
+        return TimingWheel.setTimeout(vertx, waitingForAckTimeout, v -> {
             Optional.ofNullable(pendingAcks.remove(msgId))
                     .ifPresent(PendingPubAck::onPubAckTimeout);
         });
@@ -103,7 +104,7 @@ public final class PendingPubAcks {
         private final int msgId;
         private final Handler<Integer> onAckHandler;
         private final Handler<Void> onAckTimeoutHandler;
-        private final Long timerId;
+        private final TimingWheel.Timeout timeout;
 
         /**
          * Creates a new PendingPubAck instance.
@@ -112,22 +113,22 @@ public final class PendingPubAcks {
          * @param onAckHandler Handler to invoke when the device has acknowledged the message.
          * @param onAckTimeoutHandler Handler to invoke when there is a timeout waiting for the acknowledgement from the
          *            device.
-         * @param timerId The unique ID of the timer to way for the request to be acknowledged (may be
+         * @param timeout The timeout for waiting for the request to be acknowledged (may be
          *            {@code null} if no timeout is configured).
-         * @throws NullPointerException if any of the parameters except timerId is {@code null}.
+         * @throws NullPointerException if any of the parameters except timeout is {@code null}.
          */
         PendingPubAck(final int msgId, final Handler<Integer> onAckHandler,
-                final Handler<Void> onAckTimeoutHandler, final Long timerId) {
+                final Handler<Void> onAckTimeoutHandler, final TimingWheel.Timeout timeout) {
             this.msgId = msgId;
             this.onAckHandler = Objects.requireNonNull(onAckHandler);
             this.onAckTimeoutHandler = Objects.requireNonNull(onAckTimeoutHandler);
-            this.timerId = timerId;
+            this.timeout = timeout;
         }
 
         public void onPubAck() {
             LOG.trace("acknowledgement received for message sent to device [packet-id: {}]", msgId);
-            if (timerId != null) {
-                vertx.cancelTimer(timerId);
+            if (timeout != null) {
+                timeout.cancel();
             }
             onAckHandler.handle(msgId);
         }
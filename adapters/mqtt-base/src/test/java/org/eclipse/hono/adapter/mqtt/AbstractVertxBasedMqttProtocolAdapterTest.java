@@ -639,6 +639,45 @@ public class AbstractVertxBasedMqttProtocolAdapterTest extends
         verify(endpoint).close();
     }
 
+    /**
+     * Verifies that the adapter retrieves the tenant configuration and the registration assertion of an
+     * authenticated device only once for multiple messages published by the device on the same connection.
+     */
+    @Test
+    public void testUploadTelemetryMessageUsesSessionContextOfAuthenticatedDevice() {
+
+        // GIVEN an adapter
+        givenAnAdapter(properties);
+        givenATelemetrySenderForAnyTenant();
+
+        // with an authenticated device connected to it
+        final Device device = new Device("my-tenant", "4711");
+        final MqttEndpoint endpoint = mockEndpoint();
+        when(endpoint.isConnected()).thenReturn(Boolean.TRUE);
+        final var mqttDeviceEndpoint = adapter.createMqttDeviceEndpoint(endpoint, device, OptionalInt.empty());
+
+        // WHEN the device publishes two telemetry messages
+        final MqttPublishMessage msg = mock(MqttPublishMessage.class);
+        when(msg.topicName()).thenReturn("t/my-tenant/4711");
+        when(msg.qosLevel()).thenReturn(MqttQoS.AT_MOST_ONCE);
+        when(msg.payload()).thenReturn(Buffer.buffer("hello"));
+        mqttDeviceEndpoint.handlePublishedMessage(msg);
+        mqttDeviceEndpoint.handlePublishedMessage(msg);
+
+        // THEN both messages have been forwarded downstream
+        verify(metrics, times(2)).reportTelemetry(
+                eq(MetricsTags.EndpointType.TELEMETRY),
+                eq("my-tenant"),
+                any(),
+                eq(MetricsTags.ProcessingOutcome.FORWARDED),
+                any(MetricsTags.QoS.class),
+                anyInt(),
+                any());
+        // but the tenant and registration information have been retrieved only once
+        verify(tenantClient).get(eq("my-tenant"), any());
+        verify(registrationClient).assertRegistration(eq("my-tenant"), eq("4711"), any(), any());
+    }
+
     /**
      * Verifies that the adapter waits for an event being settled and accepted by a downstream peer before sending a
      * PUBACK package to the device.
@@ -0,0 +1,98 @@
+/**
+ * Copyright (c) 2022 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+
+
+package org.eclipse.hono.benchmarks;
+
+import java.lang.reflect.Proxy;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * A factory for stand-ins of the objects that the benchmarked code interacts with.
+ * <p>
+ * Mocking frameworks record (and thus allocate) data for each invocation of a mock,
+ * which would distort the allocation rates measured by the benchmarks. The stubs created by this
+ * class only allocate the argument arrays of the invocations.
+ */
+public final class Stubs {
+
+    private Stubs() {
+        // prevent instantiation
+    }
+
+    /**
+     * Creates a stub for an interface.
+     * <p>
+     * Invocations of methods for which no answer has been registered return the stub itself,
+     * if the method's return type is compatible with the stub's type (fluent API), or the default value of
+     * the method's return type otherwise.
+     *
+     * @param <T> The type of the stub.
+     * @param type The interface to create a stub for.
+     * @param answers The answers to return for invocations of methods, indexed by method name.
+     *                The functions are invoked with the invocation's arguments.
+     * @return The stub.
+     * @throws NullPointerException if any of the parameters are {@code null}.
+     */
+    public static <T> T newStub(final Class<T> type, final Map<String, Function<Object[], Object>> answers) {
+        Objects.requireNonNull(type);
+        Objects.requireNonNull(answers);
+
+        final Object stub = Proxy.newProxyInstance(
+                Stubs.class.getClassLoader(),
+                new Class<?>[] { type },
+                (proxy, method, args) -> {
+                    final Function<Object[], Object> answer = answers.get(method.getName());
+                    if (answer != null) {
+                        return answer.apply(args);
+                    }
+                    switch (method.getName()) {
+                    case "equals":
+                        return proxy == args[0];
+                    case "hashCode":
+                        return System.identityHashCode(proxy);
+                    case "toString":
+                        return type.getSimpleName() + " stub";
+                    default:
+                        return defaultValue(method.getReturnType(), proxy);
+                    }
+                });
+        return type.cast(stub);
+    }
+
+    private static Object defaultValue(final Class<?> returnType, final Object proxy) {
+        if (returnType.isInstance(proxy)) {
+            return proxy;
+        } else if (!returnType.isPrimitive() || returnType == void.class) {
+            return null;
+        } else if (returnType == boolean.class) {
+            return Boolean.FALSE;
+        } else if (returnType == char.class) {
+            return Character.valueOf((char) 0);
+        } else if (returnType == long.class) {
+            return Long.valueOf(0);
+        } else if (returnType == float.class) {
+            return Float.valueOf(0);
+        } else if (returnType == double.class) {
+            return Double.valueOf(0);
+        } else if (returnType == short.class) {
+            return Short.valueOf((short) 0);
+        } else if (returnType == byte.class) {
+            return Byte.valueOf((byte) 0);
+        } else {
+            return Integer.valueOf(0);
+        }
+    }
+}
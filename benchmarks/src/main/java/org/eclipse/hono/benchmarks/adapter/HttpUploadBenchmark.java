@@ -0,0 +1,196 @@
+/**
+ * Copyright (c) 2022 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+
+
+package org.eclipse.hono.benchmarks.adapter;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.hono.adapter.HttpContext;
+import org.eclipse.hono.adapter.http.AbstractVertxBasedHttpProtocolAdapter;
+import org.eclipse.hono.adapter.http.HttpAdapterMetrics;
+import org.eclipse.hono.adapter.http.HttpProtocolAdapterProperties;
+import org.eclipse.hono.adapter.http.MicrometerBasedHttpAdapterMetrics;
+import org.eclipse.hono.benchmarks.Stubs;
+import org.eclipse.hono.service.http.HttpServerSpanHelper;
+import org.eclipse.hono.service.metric.MetricsTags;
+import org.eclipse.hono.util.EventConstants;
+import org.eclipse.hono.util.TelemetryConstants;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.opentracing.noop.NoopSpan;
+import io.vertx.core.Handler;
+import io.vertx.core.Vertx;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.http.HttpServerRequest;
+import io.vertx.core.http.HttpServerResponse;
+import io.vertx.ext.web.MIMEHeader;
+import io.vertx.ext.web.ParsedHeaderValues;
+import io.vertx.ext.web.Router;
+import io.vertx.ext.web.RoutingContext;
+
+/**
+ * Benchmarks for uploading messages to the HTTP adapter.
+ * <p>
+ * Each invocation creates the message processing context for a newly received request and
+ * runs it through {@link AbstractVertxBasedHttpProtocolAdapter#doUploadMessage(HttpContext, String, String)}.
+ * The Tenant and Device Registration clients as well as the downstream senders are replaced
+ * with in-memory implementations so that only the processing done by the adapter itself is measured.
+ * <p>
+ * The vert.x request, response and routing context are replaced with {@linkplain Stubs stubs}.
+ * <p>
+ * Run with <em>-prof gc</em> in order to get the number of bytes allocated per message.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class HttpUploadBenchmark {
+
+    private static final String TTD_STATUS_KEY = MetricsTags.TtdStatus.class.getName();
+
+    private final Buffer payload = Buffer.buffer(UploadBenchmarkSupport.PAYLOAD);
+    private Vertx vertx;
+    private HttpAdapterMetrics metrics;
+    private BenchmarkAdapter adapter;
+    private RoutingContext telemetryRequest;
+    private RoutingContext eventRequest;
+    private long completedRequests;
+
+    /**
+     * Creates the adapter and verifies that messages can be uploaded successfully.
+     *
+     * @throws IllegalStateException if uploading a message fails.
+     */
+    @Setup
+    public void setUp() {
+        vertx = Vertx.vertx();
+        final HttpProtocolAdapterProperties config = new HttpProtocolAdapterProperties();
+        metrics = new MicrometerBasedHttpAdapterMetrics(new SimpleMeterRegistry(), vertx, config);
+        adapter = new BenchmarkAdapter();
+        adapter.setConfig(config);
+        adapter.setMetrics(metrics);
+        UploadBenchmarkSupport.configure(adapter);
+
+        telemetryRequest = newRoutingContext("/" + TelemetryConstants.TELEMETRY_ENDPOINT);
+        eventRequest = newRoutingContext("/" + EventConstants.EVENT_ENDPOINT);
+
+        uploadTelemetry();
+        uploadEvent();
+        if (completedRequests != 2) {
+            throw new IllegalStateException("failed to upload message");
+        }
+    }
+
+    /**
+     * Releases the resources used by the benchmark.
+     */
+    @TearDown
+    public void tearDown() {
+        vertx.close();
+    }
+
+    @SuppressWarnings("unchecked")
+    private RoutingContext newRoutingContext(final String path) {
+
+        final HttpServerRequest request = Stubs.newStub(HttpServerRequest.class, Map.of(
+                "path", args -> path));
+        final HttpServerResponse response = Stubs.newStub(HttpServerResponse.class, Map.of());
+        final MIMEHeader contentType = Stubs.newStub(MIMEHeader.class, Map.of(
+                "value", args -> UploadBenchmarkSupport.CONTENT_TYPE));
+        final ParsedHeaderValues headers = Stubs.newStub(ParsedHeaderValues.class, Map.of(
+                "contentType", args -> contentType));
+
+        return Stubs.newStub(RoutingContext.class, Map.of(
+                "getBody", args -> payload,
+                "request", args -> request,
+                "response", args -> response,
+                "parsedHeaders", args -> headers,
+                "get", args -> getRoutingContextValue((String) args[0]),
+                "addBodyEndHandler", args -> {
+                    ((Handler<Void>) args[0]).handle(null);
+                    completedRequests++;
+                    return 0;
+                }));
+    }
+
+    private Object getRoutingContextValue(final String key) {
+        if (HttpServerSpanHelper.ROUTING_CONTEXT_SPAN_KEY.equals(key)) {
+            return NoopSpan.INSTANCE;
+        } else if (BenchmarkAdapter.TIMER_KEY.equals(key)) {
+            // the sample is put to the routing context by the adapter's request handler
+            return metrics.startTimer();
+        } else if (TTD_STATUS_KEY.equals(key)) {
+            return MetricsTags.TtdStatus.NONE;
+        }
+        return null;
+    }
+
+    /**
+     * Uploads a telemetry message.
+     *
+     * @return The overall number of successfully processed requests.
+     */
+    @Benchmark
+    public long uploadTelemetry() {
+        adapter.upload(HttpContext.from(telemetryRequest));
+        return completedRequests;
+    }
+
+    /**
+     * Uploads an event.
+     *
+     * @return The overall number of successfully processed requests.
+     */
+    @Benchmark
+    public long uploadEvent() {
+        adapter.upload(HttpContext.from(eventRequest));
+        return completedRequests;
+    }
+
+    /**
+     * An adapter that exposes the upload method to the benchmark.
+     */
+    private static final class BenchmarkAdapter extends AbstractVertxBasedHttpProtocolAdapter<HttpProtocolAdapterProperties> {
+
+        static final String TIMER_KEY = KEY_MICROMETER_SAMPLE;
+
+        @Override
+        public String getTypeName() {
+            return "hono-http";
+        }
+
+        @Override
+        protected void addRoutes(final Router router) {
+            // no routes needed
+        }
+
+        void upload(final HttpContext ctx) {
+            doUploadMessage(ctx, UploadBenchmarkSupport.TENANT_ID, UploadBenchmarkSupport.DEVICE_ID);
+        }
+    }
+}
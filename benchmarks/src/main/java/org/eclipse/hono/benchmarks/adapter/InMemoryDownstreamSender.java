@@ -0,0 +1,148 @@
+/**
+ * Copyright (c) 2022 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+
+
+package org.eclipse.hono.benchmarks.adapter;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import org.eclipse.hono.client.command.CommandResponse;
+import org.eclipse.hono.client.command.CommandResponseSender;
+import org.eclipse.hono.client.kafka.KafkaRecordHelper;
+import org.eclipse.hono.client.telemetry.EventSender;
+import org.eclipse.hono.client.telemetry.TelemetrySender;
+import org.eclipse.hono.client.util.DownstreamMessageProperties;
+import org.eclipse.hono.util.EventConstants;
+import org.eclipse.hono.util.MessageHelper;
+import org.eclipse.hono.util.MessagingType;
+import org.eclipse.hono.util.QoS;
+import org.eclipse.hono.util.RegistrationAssertion;
+import org.eclipse.hono.util.TelemetryConstants;
+import org.eclipse.hono.util.TenantObject;
+
+import io.opentracing.SpanContext;
+import io.vertx.core.Future;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.json.Json;
+import io.vertx.kafka.client.producer.KafkaHeader;
+
+/**
+ * A downstream sender that does not send any messages.
+ * <p>
+ * The sender applies the tenant and device level defaults and encodes the resulting
+ * message properties as Kafka record headers in the same way as the Kafka based senders
+ * do, so that the cost of preparing a downstream message is included in the benchmarks.
+ * The encoded headers are then discarded.
+ */
+final class InMemoryDownstreamSender implements TelemetrySender, EventSender, CommandResponseSender {
+
+    private long encodedHeaders;
+
+    /**
+     * Gets the overall number of headers that have been encoded by this sender.
+     *
+     * @return The number of headers.
+     */
+    long getEncodedHeaders() {
+        return encodedHeaders;
+    }
+
+    @Override
+    public MessagingType getMessagingType() {
+        return MessagingType.kafka;
+    }
+
+    @Override
+    public Future<Void> start() {
+        return Future.succeededFuture();
+    }
+
+    @Override
+    public Future<Void> stop() {
+        return Future.succeededFuture();
+    }
+
+    @Override
+    public Future<Void> sendTelemetry(
+            final TenantObject tenant,
+            final RegistrationAssertion device,
+            final QoS qos,
+            final String contentType,
+            final Buffer payload,
+            final Map<String, Object> properties,
+            final SpanContext context) {
+
+        return send(TelemetryConstants.TELEMETRY_ENDPOINT, tenant, device, qos, contentType, properties);
+    }
+
+    @Override
+    public Future<Void> sendEvent(
+            final TenantObject tenant,
+            final RegistrationAssertion device,
+            final String contentType,
+            final Buffer payload,
+            final Map<String, Object> properties,
+            final SpanContext context) {
+
+        return send(EventConstants.EVENT_ENDPOINT, tenant, device, QoS.AT_LEAST_ONCE, contentType, properties);
+    }
+
+    @Override
+    public Future<Void> sendCommandResponse(
+            final TenantObject tenant,
+            final RegistrationAssertion device,
+            final CommandResponse response,
+            final SpanContext context) {
+
+        return Future.succeededFuture();
+    }
+
+    private Future<Void> send(
+            final String endpoint,
+            final TenantObject tenant,
+            final RegistrationAssertion device,
+            final QoS qos,
+            final String contentType,
+            final Map<String, Object> properties) {
+
+        final Map<String, Object> messageProperties = Optional.ofNullable(properties)
+                .map(HashMap::new)
+                .orElseGet(HashMap::new);
+        messageProperties.put(MessageHelper.APP_PROPERTY_DEVICE_ID, device.getDeviceId());
+        messageProperties.put(MessageHelper.APP_PROPERTY_QOS, qos.ordinal());
+
+        final Map<String, Object> props = new DownstreamMessageProperties(
+                endpoint,
+                tenant.getDefaults().getMap(),
+                device.getDefaults(),
+                messageProperties,
+                tenant.getResourceLimits())
+            .asMap();
+        if (contentType != null) {
+            props.put(MessageHelper.SYS_PROPERTY_CONTENT_TYPE, contentType);
+        }
+
+        final List<KafkaHeader> headers = new ArrayList<>(props.size() + 1);
+        props.forEach((k, v) -> headers.add(KafkaRecordHelper.createKafkaHeader(k, v)));
+        headers.add(KafkaRecordHelper.createKafkaHeader(
+                MessageHelper.SYS_PROPERTY_CREATION_TIME,
+                Json.encode(Instant.now().toEpochMilli())));
+        encodedHeaders += headers.size();
+        return Future.succeededFuture();
+    }
+}
@@ -0,0 +1,93 @@
+/**
+ * Copyright (c) 2022 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+
+
+package org.eclipse.hono.benchmarks.adapter;
+
+import java.net.HttpURLConnection;
+import java.util.Objects;
+
+import javax.security.auth.x500.X500Principal;
+
+import org.eclipse.hono.client.ClientErrorException;
+import org.eclipse.hono.client.registry.DeviceRegistrationClient;
+import org.eclipse.hono.client.registry.TenantClient;
+import org.eclipse.hono.util.RegistrationAssertion;
+import org.eclipse.hono.util.TenantObject;
+
+import io.opentracing.SpanContext;
+import io.vertx.core.Future;
+
+/**
+ * A Tenant and Device Registration client that serves the data of a single tenant
+ * and device from memory.
+ * <p>
+ * The client resembles a client that finds all of the requested data in its response cache.
+ */
+final class InMemoryRegistryClient implements TenantClient, DeviceRegistrationClient {
+
+    private final Future<TenantObject> tenant;
+    private final Future<RegistrationAssertion> assertion;
+    private final String tenantId;
+    private final String deviceId;
+
+    /**
+     * Creates a new client.
+     *
+     * @param tenant The tenant to return.
+     * @param assertion The registration assertion to return for the tenant's device.
+     * @throws NullPointerException if any of the parameters are {@code null}.
+     */
+    InMemoryRegistryClient(final TenantObject tenant, final RegistrationAssertion assertion) {
+        this.tenantId = Objects.requireNonNull(tenant).getTenantId();
+        this.deviceId = Objects.requireNonNull(assertion).getDeviceId();
+        this.tenant = Future.succeededFuture(tenant);
+        this.assertion = Future.succeededFuture(assertion);
+    }
+
+    @Override
+    public Future<Void> start() {
+        return Future.succeededFuture();
+    }
+
+    @Override
+    public Future<Void> stop() {
+        return Future.succeededFuture();
+    }
+
+    @Override
+    public Future<TenantObject> get(final String tenantId, final SpanContext context) {
+        if (this.tenantId.equals(tenantId)) {
+            return tenant;
+        }
+        return Future.failedFuture(new ClientErrorException(HttpURLConnection.HTTP_NOT_FOUND));
+    }
+
+    @Override
+    public Future<TenantObject> get(final X500Principal subjectDn, final SpanContext context) {
+        return Future.failedFuture(new ClientErrorException(HttpURLConnection.HTTP_NOT_FOUND));
+    }
+
+    @Override
+    public Future<RegistrationAssertion> assertRegistration(
+            final String tenantId,
+            final String deviceId,
+            final String gatewayId,
+            final SpanContext context) {
+
+        if (this.tenantId.equals(tenantId) && this.deviceId.equals(deviceId) && gatewayId == null) {
+            return assertion;
+        }
+        return Future.failedFuture(new ClientErrorException(HttpURLConnection.HTTP_NOT_FOUND));
+    }
+}
@@ -0,0 +1,153 @@
+/**
+ * Copyright (c) 2022 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+
+
+package org.eclipse.hono.benchmarks.adapter;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.hono.adapter.mqtt.AbstractVertxBasedMqttProtocolAdapter;
+import org.eclipse.hono.adapter.mqtt.MicrometerBasedMqttAdapterMetrics;
+import org.eclipse.hono.adapter.mqtt.MqttAdapterMetrics;
+import org.eclipse.hono.adapter.mqtt.MqttContext;
+import org.eclipse.hono.adapter.mqtt.MqttProtocolAdapterProperties;
+import org.eclipse.hono.auth.Device;
+import org.eclipse.hono.benchmarks.Stubs;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.netty.buffer.Unpooled;
+import io.netty.handler.codec.mqtt.MqttQoS;
+import io.opentracing.noop.NoopSpan;
+import io.vertx.core.Future;
+import io.vertx.core.Vertx;
+import io.vertx.mqtt.MqttEndpoint;
+import io.vertx.mqtt.messages.MqttPublishMessage;
+
+/**
+ * Benchmarks for uploading messages published by an authenticated device to the MQTT adapter.
+ * <p>
+ * Each invocation creates the message processing context for a newly published message and
+ * runs it through {@link AbstractVertxBasedMqttProtocolAdapter#uploadMessage(MqttContext)}.
+ * The Tenant and Device Registration clients as well as the downstream senders are replaced
+ * with in-memory implementations so that only the processing done by the adapter itself is measured.
+ * <p>
+ * Run with <em>-prof gc</em> in order to get the number of bytes allocated per message.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MqttUploadBenchmark {
+
+    private static final byte[] PAYLOAD = UploadBenchmarkSupport.PAYLOAD.getBytes(StandardCharsets.UTF_8);
+
+    private final Device device = new Device(UploadBenchmarkSupport.TENANT_ID, UploadBenchmarkSupport.DEVICE_ID);
+    private Vertx vertx;
+    private MqttAdapterMetrics metrics;
+    private AbstractVertxBasedMqttProtocolAdapter<MqttProtocolAdapterProperties> adapter;
+    private MqttEndpoint endpoint;
+
+    /**
+     * Creates the adapter and verifies that messages can be uploaded successfully.
+     *
+     * @throws IllegalStateException if uploading a message fails.
+     */
+    @Setup
+    public void setUp() {
+        vertx = Vertx.vertx();
+        final MqttProtocolAdapterProperties config = new MqttProtocolAdapterProperties();
+        metrics = new MicrometerBasedMqttAdapterMetrics(new SimpleMeterRegistry(), vertx, config);
+        adapter = new AbstractVertxBasedMqttProtocolAdapter<>() {
+
+            @Override
+            public String getTypeName() {
+                return "hono-mqtt";
+            }
+
+            @Override
+            protected Future<Void> onPublishedMessage(final MqttContext ctx) {
+                return uploadMessage(ctx);
+            }
+        };
+        adapter.setConfig(config);
+        adapter.setMetrics(metrics);
+        UploadBenchmarkSupport.configure(adapter);
+
+        endpoint = Stubs.newStub(MqttEndpoint.class, Map.of("isConnected", args -> Boolean.TRUE));
+
+        requireSuccess(uploadTelemetry());
+        requireSuccess(uploadEvent());
+    }
+
+    /**
+     * Releases the resources used by the benchmark.
+     */
+    @TearDown
+    public void tearDown() {
+        vertx.close();
+    }
+
+    private static void requireSuccess(final Future<Void> result) {
+        if (!result.succeeded()) {
+            throw new IllegalStateException("failed to upload message", result.cause());
+        }
+    }
+
+    private Future<Void> upload(final int messageId, final MqttQoS qos, final String topic) {
+        final MqttPublishMessage message = MqttPublishMessage.create(
+                messageId,
+                qos,
+                false,
+                false,
+                topic,
+                Unpooled.wrappedBuffer(PAYLOAD));
+        final MqttContext ctx = MqttContext.fromPublishPacket(message, endpoint, NoopSpan.INSTANCE, device);
+        ctx.setTimer(metrics.startTimer());
+        return adapter.uploadMessage(ctx);
+    }
+
+    /**
+     * Uploads a telemetry message using QoS 0.
+     *
+     * @return The outcome of the upload.
+     */
+    @Benchmark
+    public Future<Void> uploadTelemetry() {
+        return upload(0, MqttQoS.AT_MOST_ONCE, "telemetry");
+    }
+
+    /**
+     * Uploads an event using QoS 1 and a property bag in the topic name.
+     *
+     * @return The outcome of the upload.
+     */
+    @Benchmark
+    public Future<Void> uploadEvent() {
+        return upload(1, MqttQoS.AT_LEAST_ONCE, "event/?content-type=application%2Fjson&sensor=temp");
+    }
+}
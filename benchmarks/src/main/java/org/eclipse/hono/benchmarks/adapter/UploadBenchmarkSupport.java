@@ -0,0 +1,84 @@
+/**
+ * Copyright (c) 2022 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+
+
+package org.eclipse.hono.benchmarks.adapter;
+
+import java.util.Map;
+
+import org.eclipse.hono.adapter.AbstractProtocolAdapterBase;
+import org.eclipse.hono.adapter.MessagingClientProviders;
+import org.eclipse.hono.client.command.CommandResponseSender;
+import org.eclipse.hono.client.telemetry.EventSender;
+import org.eclipse.hono.client.telemetry.TelemetrySender;
+import org.eclipse.hono.client.util.MessagingClientProvider;
+import org.eclipse.hono.util.MessageHelper;
+import org.eclipse.hono.util.RegistrationAssertion;
+import org.eclipse.hono.util.TenantObject;
+
+import io.vertx.core.json.JsonObject;
+
+/**
+ * Helper methods for setting up protocol adapters for the upload benchmarks.
+ */
+final class UploadBenchmarkSupport {
+
+    /**
+     * The identifier of the tenant that the device belongs to.
+     */
+    static final String TENANT_ID = "DEFAULT_TENANT";
+    /**
+     * The identifier of the device that uploads the messages.
+     */
+    static final String DEVICE_ID = "4711";
+    /**
+     * The payload of the uploaded messages.
+     */
+    static final String PAYLOAD = "{\"temp\": 23.5, \"hum\": 45}";
+    /**
+     * The content type of the uploaded messages.
+     */
+    static final String CONTENT_TYPE = "application/json";
+
+    private UploadBenchmarkSupport() {
+        // prevent instantiation
+    }
+
+    /**
+     * Configures a protocol adapter with in-memory service clients.
+     * <p>
+     * The Tenant and Device Registration clients serve a tenant and device that both define
+     * default properties, as is common for production deployments. The downstream
+     * senders encode the messages but do not send them.
+     *
+     * @param adapter The adapter to configure.
+     * @return The sender that the adapter uses for forwarding telemetry data and events.
+     */
+    static InMemoryDownstreamSender configure(final AbstractProtocolAdapterBase<?> adapter) {
+
+        final TenantObject tenant = TenantObject.from(TENANT_ID)
+                .setDefaults(new JsonObject().put(MessageHelper.SYS_HEADER_PROPERTY_TTL, 60));
+        final RegistrationAssertion assertion = new RegistrationAssertion(DEVICE_ID)
+                .setDefaults(Map.of("model", "sensor-v2"));
+        final InMemoryRegistryClient registryClient = new InMemoryRegistryClient(tenant, assertion);
+        final InMemoryDownstreamSender sender = new InMemoryDownstreamSender();
+
+        adapter.setTenantClient(registryClient);
+        adapter.setRegistrationClient(registryClient);
+        adapter.setMessagingClientProviders(new MessagingClientProviders(
+                new MessagingClientProvider<TelemetrySender>().setClient(sender),
+                new MessagingClientProvider<EventSender>().setClient(sender),
+                new MessagingClientProvider<CommandResponseSender>().setClient(sender)));
+        return sender;
+    }
+}
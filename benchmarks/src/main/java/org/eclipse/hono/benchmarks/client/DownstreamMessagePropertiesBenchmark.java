@@ -0,0 +1,116 @@
+/**
+ * Copyright (c) 2022 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+
+
+package org.eclipse.hono.benchmarks.client;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.hono.client.util.DownstreamMessageProperties;
+import org.eclipse.hono.util.EventConstants;
+import org.eclipse.hono.util.MessageHelper;
+import org.eclipse.hono.util.QoS;
+import org.eclipse.hono.util.ResourceLimits;
+import org.eclipse.hono.util.TelemetryConstants;
+import org.eclipse.hono.util.TenantConstants;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks for applying tenant and device level defaults and resource limits to the
+ * properties of downstream messages.
+ * <p>
+ * Run with <em>-prof gc</em> in order to get the number of bytes allocated per message.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DownstreamMessagePropertiesBenchmark {
+
+    private final Map<String, Object> tenantDefaults = Map.of(
+            TenantConstants.FIELD_TTL_TELEMETRY_QOS0, 30,
+            TenantConstants.FIELD_TTL_TELEMETRY_QOS1, 60,
+            MessageHelper.SYS_HEADER_PROPERTY_TTL, 120);
+    private final Map<String, Object> deviceDefaults = Map.of(
+            "model", "sensor-v2",
+            MessageHelper.SYS_PROPERTY_CONTENT_TYPE, "application/json");
+    private final Map<String, Object> messageProperties = Map.of(
+            MessageHelper.APP_PROPERTY_DEVICE_ID, "4711",
+            MessageHelper.APP_PROPERTY_ORIG_ADAPTER, "hono-mqtt",
+            MessageHelper.APP_PROPERTY_ORIG_ADDRESS, "telemetry",
+            MessageHelper.APP_PROPERTY_QOS, QoS.AT_LEAST_ONCE.ordinal());
+    private final ResourceLimits resourceLimits = new ResourceLimits()
+            .setMaxTtl(300)
+            .setMaxTtlTelemetryQoS0(60)
+            .setMaxTtlTelemetryQoS1(120);
+
+    /**
+     * Creates the properties of a telemetry message.
+     *
+     * @return The properties.
+     */
+    @Benchmark
+    public Map<String, Object> telemetry() {
+        return new DownstreamMessageProperties(
+                TelemetryConstants.TELEMETRY_ENDPOINT,
+                tenantDefaults,
+                deviceDefaults,
+                messageProperties,
+                resourceLimits)
+            .asMap();
+    }
+
+    /**
+     * Creates the properties of an event.
+     *
+     * @return The properties.
+     */
+    @Benchmark
+    public Map<String, Object> event() {
+        return new DownstreamMessageProperties(
+                EventConstants.EVENT_ENDPOINT,
+                tenantDefaults,
+                deviceDefaults,
+                messageProperties,
+                resourceLimits)
+            .asMap();
+    }
+
+    /**
+     * Creates the properties of a telemetry message for a tenant and device
+     * that do not define any defaults or limits.
+     *
+     * @return The properties.
+     */
+    @Benchmark
+    public Map<String, Object> telemetryWithoutDefaults() {
+        return new DownstreamMessageProperties(
+                TelemetryConstants.TELEMETRY_ENDPOINT,
+                null,
+                null,
+                messageProperties,
+                null)
+            .asMap();
+    }
+}
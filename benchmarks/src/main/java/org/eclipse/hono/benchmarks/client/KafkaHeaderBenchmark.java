@@ -0,0 +1,92 @@
+/**
+ * Copyright (c) 2022 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+
+
+package org.eclipse.hono.benchmarks.client;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.hono.client.kafka.KafkaRecordHelper;
+import org.eclipse.hono.util.MessageHelper;
+import org.eclipse.hono.util.QoS;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.vertx.kafka.client.producer.KafkaHeader;
+
+/**
+ * Benchmarks for encoding downstream message properties as Kafka record headers.
+ * <p>
+ * Run with <em>-prof gc</em> in order to get the number of bytes allocated per operation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class KafkaHeaderBenchmark {
+
+    private final Map<String, Object> properties = Map.of(
+            MessageHelper.APP_PROPERTY_TENANT_ID, "DEFAULT_TENANT",
+            MessageHelper.APP_PROPERTY_DEVICE_ID, "4711",
+            MessageHelper.APP_PROPERTY_ORIG_ADAPTER, "hono-mqtt",
+            MessageHelper.APP_PROPERTY_ORIG_ADDRESS, "telemetry",
+            MessageHelper.APP_PROPERTY_QOS, QoS.AT_LEAST_ONCE.ordinal(),
+            MessageHelper.SYS_PROPERTY_CONTENT_TYPE, "application/json",
+            MessageHelper.SYS_HEADER_PROPERTY_TTL, 60_000L);
+    private String deviceId = "4711";
+    private Integer qos = QoS.AT_LEAST_ONCE.ordinal();
+
+    /**
+     * Creates a header with a string value.
+     *
+     * @return The header.
+     */
+    @Benchmark
+    public KafkaHeader stringHeader() {
+        return KafkaRecordHelper.createKafkaHeader(MessageHelper.APP_PROPERTY_DEVICE_ID, deviceId);
+    }
+
+    /**
+     * Creates a header with a value that needs to be JSON encoded.
+     *
+     * @return The header.
+     */
+    @Benchmark
+    public KafkaHeader numericHeader() {
+        return KafkaRecordHelper.createKafkaHeader(MessageHelper.APP_PROPERTY_QOS, qos);
+    }
+
+    /**
+     * Creates the headers for the properties of a typical telemetry message.
+     *
+     * @return The headers.
+     */
+    @Benchmark
+    public List<KafkaHeader> messageHeaders() {
+        final List<KafkaHeader> headers = new ArrayList<>(properties.size());
+        properties.forEach((k, v) -> headers.add(KafkaRecordHelper.createKafkaHeader(k, v)));
+        return headers;
+    }
+}
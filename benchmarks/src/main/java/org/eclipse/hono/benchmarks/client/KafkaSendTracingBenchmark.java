@@ -0,0 +1,137 @@
+/**
+ * Copyright (c) 2022 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+
+
+package org.eclipse.hono.benchmarks.client;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.hono.benchmarks.Stubs;
+import org.eclipse.hono.client.kafka.producer.CachingKafkaProducerFactory;
+import org.eclipse.hono.client.kafka.producer.MessagingKafkaProducerConfigProperties;
+import org.eclipse.hono.client.telemetry.kafka.KafkaBasedTelemetrySender;
+import org.eclipse.hono.util.QoS;
+import org.eclipse.hono.util.RegistrationAssertion;
+import org.eclipse.hono.util.TenantObject;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.opentelemetry.api.trace.propagation.W3CTraceContextPropagator;
+import io.opentelemetry.context.propagation.ContextPropagators;
+import io.opentelemetry.opentracingshim.OpenTracingShim;
+import io.opentelemetry.sdk.OpenTelemetrySdk;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import io.opentelemetry.sdk.trace.samplers.Sampler;
+import io.opentracing.Tracer;
+import io.vertx.core.Future;
+import io.vertx.core.Vertx;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.kafka.client.producer.KafkaProducer;
+import io.vertx.kafka.client.producer.RecordMetadata;
+
+/**
+ * Benchmarks for sending telemetry messages via the Kafka based telemetry sender with tracing enabled.
+ * <p>
+ * The tracer is an OpenTelemetry SDK based tracer (without any exporter) that samples the configured
+ * ratio of traces. The Kafka producer is replaced with a stub that completes each send operation
+ * immediately, so that only the processing done by the sender itself is measured.
+ * <p>
+ * Run with <em>-prof gc</em> in order to get the number of bytes allocated per message.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class KafkaSendTracingBenchmark {
+
+    /**
+     * The ratio of traces to sample.
+     */
+    @Param({ "0.0", "0.01", "1.0" })
+    public double samplingRatio;
+
+    private final TenantObject tenant = TenantObject.from("DEFAULT_TENANT", true);
+    private final RegistrationAssertion device = new RegistrationAssertion("4711");
+    private final Buffer payload = Buffer.buffer("{\"temp\": 5}");
+
+    private Vertx vertx;
+    private KafkaBasedTelemetrySender sender;
+
+    /**
+     * Creates the sender and verifies that messages can be sent successfully.
+     *
+     * @throws IllegalStateException if sending a message fails.
+     */
+    @SuppressWarnings("unchecked")
+    @Setup
+    public void setUp() {
+        vertx = Vertx.vertx();
+        final Tracer tracer = OpenTracingShim.createTracerShim(OpenTelemetrySdk.builder()
+                .setTracerProvider(SdkTracerProvider.builder()
+                        .setSampler(Sampler.traceIdRatioBased(samplingRatio))
+                        .build())
+                .setPropagators(ContextPropagators.create(W3CTraceContextPropagator.getInstance()))
+                .build());
+
+        final RecordMetadata metadata = new RecordMetadata(0, 0, 0, 0, "hono.telemetry.DEFAULT_TENANT");
+        final KafkaProducer<String, Buffer> producer = Stubs.newStub(
+                KafkaProducer.class,
+                Map.of("send", args -> Future.succeededFuture(metadata)));
+        final var config = new MessagingKafkaProducerConfigProperties();
+        config.setProducerConfig(Map.of("bootstrap.servers", "localhost:9092"));
+
+        sender = new KafkaBasedTelemetrySender(
+                vertx,
+                CachingKafkaProducerFactory.testFactory(vertx, (name, producerConfig) -> producer),
+                config,
+                true,
+                tracer);
+        sender.start();
+
+        final Future<Void> result = sendTelemetry();
+        if (!result.succeeded()) {
+            throw new IllegalStateException("failed to send message", result.cause());
+        }
+    }
+
+    /**
+     * Releases the resources used by the benchmark.
+     */
+    @TearDown
+    public void tearDown() {
+        vertx.close();
+    }
+
+    /**
+     * Sends a telemetry message using QoS 1.
+     *
+     * @return The outcome of the send operation.
+     */
+    @Benchmark
+    public Future<Void> sendTelemetry() {
+        return sender.sendTelemetry(tenant, device, QoS.AT_LEAST_ONCE, "application/json", payload, null, null);
+    }
+}
@@ -0,0 +1,166 @@
+/**
+ * Copyright (c) 2022 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+
+
+package org.eclipse.hono.benchmarks.client;
+
+import java.util.concurrent.TimeUnit;
+
+import org.apache.qpid.proton.amqp.messaging.ApplicationProperties;
+import org.eclipse.hono.client.amqp.AbstractRequestResponseServiceClient;
+import org.eclipse.hono.client.amqp.RequestResponseClient;
+import org.eclipse.hono.client.amqp.config.RequestResponseClientConfigProperties;
+import org.eclipse.hono.client.amqp.connection.HonoConnection;
+import org.eclipse.hono.client.amqp.connection.SendMessageSampler;
+import org.eclipse.hono.client.util.CachingClientFactory;
+import org.eclipse.hono.util.CacheDirective;
+import org.eclipse.hono.util.RequestResponseResult;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.opentracing.Span;
+import io.opentracing.noop.NoopSpan;
+import io.opentracing.noop.NoopTracerFactory;
+import io.vertx.core.Future;
+import io.vertx.core.Vertx;
+import io.vertx.core.buffer.Buffer;
+
+/**
+ * Benchmarks for looking up responses of a request-response service client.
+ * <p>
+ * The hit path takes the response from the cache, whereas on the miss path the
+ * (immediately available) response from the service is not allowed to be cached
+ * so that every invocation runs into a cache miss.
+ * <p>
+ * Run with <em>-prof gc</em> in order to get the number of bytes allocated per lookup.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ResponseCacheLookupBenchmark {
+
+    private static final String HIT_KEY = "cached";
+    private static final String MISS_KEY = "not-cached";
+
+    private Vertx vertx;
+    private LookupClient client;
+
+    /**
+     * Creates the client and populates its cache.
+     */
+    @Setup
+    public void setUp() {
+        vertx = Vertx.vertx();
+        final Cache<Object, RequestResponseResult<String>> cache = Caffeine.newBuilder()
+                .maximumSize(1000)
+                .build();
+        client = new LookupClient(
+                HonoConnection.newConnection(
+                        vertx,
+                        new RequestResponseClientConfigProperties(),
+                        NoopTracerFactory.create()),
+                cache);
+        cache.put(HIT_KEY, new RequestResponseResult<>(200, "cached response", null, null));
+    }
+
+    /**
+     * Releases the resources used by the benchmark.
+     */
+    @TearDown
+    public void tearDown() {
+        vertx.close();
+    }
+
+    /**
+     * Looks up a response that is contained in the cache.
+     *
+     * @return The response.
+     */
+    @Benchmark
+    public Future<String> cacheHit() {
+        return client.get(HIT_KEY);
+    }
+
+    /**
+     * Looks up a response that is not contained in the cache.
+     *
+     * @return The response.
+     */
+    @Benchmark
+    public Future<String> cacheMiss() {
+        return client.get(MISS_KEY);
+    }
+
+    /**
+     * A client that uses the cache lookup support of its parent class but
+     * does not send any requests.
+     */
+    private static final class LookupClient
+            extends AbstractRequestResponseServiceClient<String, RequestResponseResult<String>> {
+
+        private final Future<RequestResponseResult<String>> serviceResponse = Future.succeededFuture(
+                new RequestResponseResult<>(200, "service response", CacheDirective.noCacheDirective(), null));
+
+        LookupClient(
+                final HonoConnection connection,
+                final Cache<Object, RequestResponseResult<String>> cache) {
+            super(
+                    connection,
+                    SendMessageSampler.Factory.noop(),
+                    new CachingClientFactory<>(connection.getVertx(), RequestResponseClient::isOpen),
+                    cache);
+        }
+
+        Future<String> get(final Object key) {
+            final Span span = NoopSpan.INSTANCE;
+            final RequestResponseResult<String> cachedResult = getResponseFromCache(key, span);
+            if (cachedResult != null) {
+                return mapResultAndFinishSpan(cachedResult, RequestResponseResult::getPayload, span);
+            }
+            return mapResultAndFinishSpan(
+                    executeOrUsePendingRequest(key, () -> serviceResponse, response -> addToCache(key, response)),
+                    RequestResponseResult::getPayload,
+                    span);
+        }
+
+        @Override
+        protected String getKey(final String tenantId) {
+            return "benchmark-" + tenantId;
+        }
+
+        @Override
+        protected RequestResponseResult<String> getResult(
+                final int status,
+                final String contentType,
+                final Buffer payload,
+                final CacheDirective cacheDirective,
+                final ApplicationProperties applicationProperties) {
+            return new RequestResponseResult<>(status, payload.toString(), cacheDirective, null);
+        }
+    }
+}
@@ -0,0 +1,224 @@
+/**
+ * Copyright (c) 2022 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+
+
+package org.eclipse.hono.benchmarks.registry;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.hono.deviceregistry.service.credentials.CredentialKey;
+import org.eclipse.hono.deviceregistry.service.device.DeviceKey;
+import org.eclipse.hono.service.base.jdbc.config.JdbcProperties;
+import org.eclipse.hono.service.base.jdbc.store.device.DeviceStores;
+import org.eclipse.hono.service.base.jdbc.store.device.TableAdapterStore;
+import org.eclipse.hono.service.management.credentials.PskCredential;
+import org.eclipse.hono.service.management.credentials.PskSecret;
+import org.eclipse.hono.service.management.device.Device;
+import org.eclipse.hono.util.CredentialsConstants;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.opentracing.noop.NoopSpan;
+import io.opentracing.noop.NoopTracerFactory;
+import io.vertx.core.CompositeFuture;
+import io.vertx.core.Future;
+import io.vertx.core.Vertx;
+import io.vertx.core.json.Json;
+
+/**
+ * Benchmarks for looking up credentials and registration information using the adapter facing
+ * device store of the JDBC based device registry.
+ * <p>
+ * The benchmark compares the JDBC client with the reactive PostgreSQL client. Each invocation issues
+ * a batch of concurrent requests and waits for all of them to complete, so that the reactive client
+ * can pipeline the requests on its connections. Both clients use a pool of the same size.
+ * <p>
+ * The benchmark requires a PostgreSQL database, which can be configured using the following
+ * system properties:
+ * <ul>
+ * <li>{@code hono.benchmarks.jdbc.url}, defaults to {@code jdbc:postgresql://localhost:5432/postgres}</li>
+ * <li>{@code hono.benchmarks.jdbc.username}, defaults to {@code postgres}</li>
+ * <li>{@code hono.benchmarks.jdbc.password}, defaults to an empty password</li>
+ * </ul>
+ * The device registry tables are created if they do not exist yet.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JdbcAdapterStoreBenchmark {
+
+    private static final int CONCURRENT_REQUESTS = 64;
+    private static final int MAX_POOL_SIZE = 4;
+    private static final String TENANT_ID = "DEFAULT_TENANT";
+    private static final String DEVICE_ID = "4711";
+    private static final String AUTH_ID = "sensor1";
+
+    /**
+     * Whether to use the reactive client instead of the JDBC client.
+     */
+    @Param({ "false", "true" })
+    public boolean useReactiveClient;
+
+    private final CredentialKey credentialKey = CredentialKey.from(
+            TENANT_ID,
+            AUTH_ID,
+            CredentialsConstants.SECRETS_TYPE_PRESHARED_KEY);
+    private final DeviceKey deviceKey = DeviceKey.from(TENANT_ID, DEVICE_ID);
+
+    private Vertx vertx;
+    private TableAdapterStore store;
+
+    /**
+     * Creates the store and verifies that the test device's data can be read.
+     *
+     * @throws IOException if the database schema cannot be read.
+     * @throws SQLException if the test data cannot be written to the database.
+     * @throws IllegalStateException if reading the test data fails.
+     */
+    @Setup
+    public void setUp() throws IOException, SQLException {
+        final JdbcProperties properties = new JdbcProperties();
+        properties.setUrl(System.getProperty("hono.benchmarks.jdbc.url", "jdbc:postgresql://localhost:5432/postgres"));
+        properties.setUsername(System.getProperty("hono.benchmarks.jdbc.username", "postgres"));
+        properties.setPassword(System.getProperty("hono.benchmarks.jdbc.password", ""));
+        properties.setMaximumPoolSize(MAX_POOL_SIZE);
+        properties.setUseReactiveClient(useReactiveClient);
+
+        createTestData(properties);
+
+        vertx = Vertx.vertx();
+        store = DeviceStores.adapterStoreFactory().createTable(
+                vertx,
+                NoopTracerFactory.create(),
+                properties,
+                Optional.empty(),
+                Optional.empty(),
+                Optional.empty());
+
+        final var result = findCredentials().toCompletionStage().toCompletableFuture().join();
+        if (result.size() != CONCURRENT_REQUESTS) {
+            throw new IllegalStateException("failed to look up credentials");
+        }
+    }
+
+    private static void createTestData(final JdbcProperties properties) throws IOException, SQLException {
+
+        final String schema;
+        try (InputStream in = JdbcAdapterStoreBenchmark.class.getResourceAsStream("/sql/postgresql/02-create.devices.sql")) {
+            schema = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+
+        final PskCredential credential = new PskCredential(AUTH_ID, List.of(
+                new PskSecret().setKey("secret".getBytes(StandardCharsets.UTF_8))));
+
+        try (Connection connection = DriverManager.getConnection(
+                properties.getUrl(), properties.getUsername(), properties.getPassword())) {
+
+            connection.createStatement().execute(schema);
+
+            try (PreparedStatement device = connection.prepareStatement(
+                    "INSERT INTO device_registrations (tenant_id, device_id, version, data, created)"
+                    + " VALUES (?, ?, 'v1', ?::jsonb, now()) ON CONFLICT DO NOTHING")) {
+                device.setString(1, TENANT_ID);
+                device.setString(2, DEVICE_ID);
+                device.setString(3, Json.encode(new Device()));
+                device.executeUpdate();
+            }
+            try (PreparedStatement credentials = connection.prepareStatement(
+                    "INSERT INTO device_credentials (tenant_id, device_id, type, auth_id, data)"
+                    + " VALUES (?, ?, ?, ?, ?::jsonb) ON CONFLICT DO NOTHING")) {
+                credentials.setString(1, TENANT_ID);
+                credentials.setString(2, DEVICE_ID);
+                credentials.setString(3, CredentialsConstants.SECRETS_TYPE_PRESHARED_KEY);
+                credentials.setString(4, AUTH_ID);
+                credentials.setString(5, Json.encode(credential));
+                credentials.executeUpdate();
+            }
+        }
+    }
+
+    /**
+     * Releases the resources used by the benchmark.
+     *
+     * @throws Exception if the store cannot be closed.
+     */
+    @TearDown
+    public void tearDown() throws Exception {
+        store.close();
+        vertx.close();
+    }
+
+    @SuppressWarnings("rawtypes")
+    private CompositeFuture findCredentials() {
+        final List<Future> requests = new ArrayList<>(CONCURRENT_REQUESTS);
+        for (int i = 0; i < CONCURRENT_REQUESTS; i++) {
+            requests.add(store.findCredentials(credentialKey, NoopSpan.INSTANCE.context()));
+        }
+        return CompositeFuture.all(requests);
+    }
+
+    @SuppressWarnings("rawtypes")
+    private CompositeFuture readDevice() {
+        final List<Future> requests = new ArrayList<>(CONCURRENT_REQUESTS);
+        for (int i = 0; i < CONCURRENT_REQUESTS; i++) {
+            requests.add(store.readDevice(deviceKey, NoopSpan.INSTANCE.context()));
+        }
+        return CompositeFuture.all(requests);
+    }
+
+    /**
+     * Looks up the credentials of a device.
+     *
+     * @return The outcome of the lookups.
+     */
+    @Benchmark
+    @OperationsPerInvocation(CONCURRENT_REQUESTS)
+    public CompositeFuture findCredentialsByAuthId() {
+        return findCredentials().toCompletionStage().toCompletableFuture().join();
+    }
+
+    /**
+     * Reads the registration information of a device.
+     *
+     * @return The outcome of the reads.
+     */
+    @Benchmark
+    @OperationsPerInvocation(CONCURRENT_REQUESTS)
+    public CompositeFuture readRegistration() {
+        return readDevice().toCompletionStage().toCompletableFuture().join();
+    }
+}
@@ -0,0 +1,90 @@
+/**
+ * Copyright (c) 2022 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+
+
+package org.eclipse.hono.benchmarks.util;
+
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.hono.util.ResourceIdentifier;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks for parsing and creating resource identifiers as done by the protocol adapters
+ * for each message that is published by a device.
+ * <p>
+ * Run with <em>-prof gc</em> in order to get the number of bytes allocated per operation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ResourceIdentifierBenchmark {
+
+    private String shortTopic = "telemetry";
+    private String fullTopic = "telemetry/DEFAULT_TENANT/4711";
+    private String tenantId = "DEFAULT_TENANT";
+    private String deviceId = "4711";
+    private ResourceIdentifier shortResource = ResourceIdentifier.fromString(shortTopic);
+
+    /**
+     * Parses a topic name that only contains the endpoint, as used by authenticated devices.
+     *
+     * @return The resource identifier.
+     */
+    @Benchmark
+    public ResourceIdentifier parseShortTopic() {
+        return ResourceIdentifier.fromString(shortTopic);
+    }
+
+    /**
+     * Parses a topic name that contains the endpoint, tenant and device identifier.
+     *
+     * @return The resource identifier.
+     */
+    @Benchmark
+    public ResourceIdentifier parseFullTopic() {
+        return ResourceIdentifier.fromString(fullTopic);
+    }
+
+    /**
+     * Completes a resource identifier that only contains the endpoint with the
+     * identifiers of an authenticated device.
+     *
+     * @return The resource identifier.
+     */
+    @Benchmark
+    public ResourceIdentifier addTenantAndDevice() {
+        return ResourceIdentifier.from(shortResource, tenantId, deviceId);
+    }
+
+    /**
+     * Parses a topic name and creates its string representation.
+     *
+     * @return The string representation.
+     */
+    @Benchmark
+    public String parseAndFormatFullTopic() {
+        return ResourceIdentifier.fromString(fullTopic).toString();
+    }
+}
@@ -1,5 +1,5 @@
 /**
- * Copyright (c) 2020, 2021 Contributors to the Eclipse Foundation
+ * Copyright (c) 2020, 2022 Contributors to the Eclipse Foundation
  *
  * See the NOTICE file(s) distributed with this work for additional
  * information regarding copyright ownership.
@@ -32,6 +32,7 @@ import org.slf4j.LoggerFactory;
 
 import io.vertx.core.AsyncResult;
 import io.vertx.core.Future;
+import io.vertx.core.Handler;
 import io.vertx.core.Promise;
 import io.vertx.core.Vertx;
 
@@ -153,6 +154,17 @@ public abstract class BasicCache<K, V> implements Cache<K, V>, Lifecycle {
         // nothing done by default
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * This default implementation ignores the handler.
+     * Subclasses that share their entries with other clients should override this method.
+     */
+    @Override
+    public void setEntryChangeHandler(final Handler<K> handler) {
+        // nothing done by default
+    }
+
     @Override
     public Future<Void> put(final K key, final V value) {
         Objects.requireNonNull(key);
@@ -193,6 +205,31 @@ public abstract class BasicCache<K, V> implements Cache<K, V>, Lifecycle {
         return withCache(aCache -> aCache.removeAsync(key, value));
     }
 
+    @Override
+    public Future<Boolean> putIfAbsent(final K key, final V value, final long lifespan, final TimeUnit lifespanUnit) {
+        Objects.requireNonNull(key);
+        Objects.requireNonNull(value);
+        Objects.requireNonNull(lifespanUnit);
+
+        return withCache(aCache -> aCache.putIfAbsentAsync(key, value, lifespan, lifespanUnit)
+                .thenApply(Objects::isNull));
+    }
+
+    @Override
+    public Future<Boolean> replace(
+            final K key,
+            final V oldValue,
+            final V newValue,
+            final long lifespan,
+            final TimeUnit lifespanUnit) {
+        Objects.requireNonNull(key);
+        Objects.requireNonNull(oldValue);
+        Objects.requireNonNull(newValue);
+        Objects.requireNonNull(lifespanUnit);
+
+        return withCache(aCache -> aCache.replaceAsync(key, oldValue, newValue, lifespan, lifespanUnit));
+    }
+
     @Override
     public Future<V> get(final K key) {
         Objects.requireNonNull(key);
@@ -1,5 +1,5 @@
 /**
- * Copyright (c) 2020, 2021 Contributors to the Eclipse Foundation
+ * Copyright (c) 2020, 2022 Contributors to the Eclipse Foundation
  *
  * See the NOTICE file(s) distributed with this work for additional
  * information regarding copyright ownership.
@@ -18,6 +18,7 @@ import java.util.Set;
 import java.util.concurrent.TimeUnit;
 
 import io.vertx.core.Future;
+import io.vertx.core.Handler;
 import io.vertx.core.json.JsonObject;
 
 /**
@@ -39,6 +40,20 @@ public interface Cache<K, V> {
      */
     Future<JsonObject> checkForCacheAvailability();
 
+    /**
+     * Sets a handler to be notified about changes of the cache's entries.
+     * <p>
+     * The handler is invoked with the key of each entry that has been created, modified,
+     * removed or expired, including changes made by other clients of the data grid.
+     * The handler is invoked with {@code null} if changes might have been missed.
+     * <p>
+     * The handler needs to be set before the cache is started. Implementations that do not
+     * share their entries with other clients may ignore the handler.
+     *
+     * @param handler The handler or {@code null} to not get notified.
+     */
+    void setEntryChangeHandler(Handler<K> handler);
+
     /**
      * Puts a value to the cache.
      *
@@ -108,6 +123,35 @@ public interface Cache<K, V> {
      */
     Future<Boolean> remove(K key, V value);
 
+    /**
+     * Puts a value to the cache if no value is mapped to the key yet.
+     *
+     * @param key The key.
+     * @param value The value.
+     * @param lifespan The lifespan of the entry. A negative value is interpreted as an unlimited lifespan.
+     * @param lifespanUnit The time unit for the lifespan.
+     * @return A succeeded future containing {@code true} if the value has been put to the cache
+     *         or {@code false} if another value is already mapped to the key.
+     *         A failed future if the value could not be stored in the cache.
+     * @throws NullPointerException if any of the parameters is {@code null}.
+     */
+    Future<Boolean> putIfAbsent(K key, V value, long lifespan, TimeUnit lifespanUnit);
+
+    /**
+     * Replaces the value that a key is mapped to if the key is currently mapped to a given value.
+     *
+     * @param key The key.
+     * @param oldValue The value that the key is expected to be mapped to.
+     * @param newValue The value to replace the old value with.
+     * @param lifespan The lifespan of the entry. A negative value is interpreted as an unlimited lifespan.
+     * @param lifespanUnit The time unit for the lifespan.
+     * @return A succeeded future containing {@code true} if the value has been replaced
+     *         or {@code false} if the key is not mapped to the old value.
+     *         A failed future if the value could not be stored in the cache.
+     * @throws NullPointerException if any of the parameters is {@code null}.
+     */
+    Future<Boolean> replace(K key, V oldValue, V newValue, long lifespan, TimeUnit lifespanUnit);
+
     /**
      * Gets the values for the specified keys from the cache.
      *
@@ -80,6 +80,8 @@ public final class CacheBasedDeviceConnectionInfo implements DeviceConnectionInf
     final Tracer tracer;
     final AdapterInstanceStatusProvider adapterInstanceStatusProvider;
 
+    private final LastKnownGatewayWriteBuffer lastKnownGatewayWriteBuffer;
+
     /**
      * Creates a client for accessing device connection information.
      *
@@ -105,11 +107,16 @@ public final class CacheBasedDeviceConnectionInfo implements DeviceConnectionInf
         this.tracer = Objects.requireNonNull(tracer);
         this.adapterInstanceStatusProvider = Optional.ofNullable(adapterInstanceStatusProvider)
                 .orElseGet(UnknownStatusProvider::new);
+        this.lastKnownGatewayWriteBuffer = new LastKnownGatewayWriteBuffer(cache, LAST_KNOWN_GATEWAY_CACHE_ENTRY_LIFESPAN);
     }
 
     /**
      * {@inheritDoc}
-     *
+     * <p>
+     * The entry is not written to the cache if the same gateway has already been set for
+     * the device recently. Entries set while a previous write operation is still in progress
+     * are written to the cache in a single batch once that operation has completed.
+     * <p>
      * If this method is invoked from a vert.x Context, then the returned future will be completed on that context.
      */
     @Override
@@ -124,8 +131,7 @@ public final class CacheBasedDeviceConnectionInfo implements DeviceConnectionInf
         Objects.requireNonNull(gatewayId);
         Objects.requireNonNull(span);
 
-        final long lifespanMillis = LAST_KNOWN_GATEWAY_CACHE_ENTRY_LIFESPAN.toMillis();
-        return cache.put(getGatewayEntryKey(tenantId, deviceId), gatewayId, lifespanMillis, TimeUnit.MILLISECONDS)
+        return lastKnownGatewayWriteBuffer.write(Map.of(getGatewayEntryKey(tenantId, deviceId), gatewayId))
             .onSuccess(ok -> LOG.debug("set last known gateway [tenant: {}, device-id: {}, gateway: {}]",
                     tenantId, deviceId, gatewayId))
             .otherwise(t -> {
@@ -136,6 +142,15 @@ public final class CacheBasedDeviceConnectionInfo implements DeviceConnectionInf
             });
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Entries are not written to the cache if the same gateway has already been set for
+     * the device recently. Entries set while a previous write operation is still in progress
+     * are written to the cache in a single batch once that operation has completed.
+     * <p>
+     * If this method is invoked from a vert.x Context, then the returned future will be completed on that context.
+     */
     @Override
     public Future<Void> setLastKnownGatewayForDevice(
             final String tenantId,
@@ -150,10 +165,9 @@ public final class CacheBasedDeviceConnectionInfo implements DeviceConnectionInf
             return Future.succeededFuture();
         }
 
-        final long lifespanMillis = LAST_KNOWN_GATEWAY_CACHE_ENTRY_LIFESPAN.toMillis();
         final Map<String, String> mapToBePut = deviceIdToGatewayIdMap.entrySet().stream()
                 .collect(Collectors.toMap(entry -> getGatewayEntryKey(tenantId, entry.getKey()), Map.Entry::getValue));
-        return cache.putAll(mapToBePut, lifespanMillis, TimeUnit.MILLISECONDS)
+        return lastKnownGatewayWriteBuffer.write(mapToBePut)
                 .onSuccess(ok -> LOG.debug("set {} last known gateway entries [tenant: {}]",
                         deviceIdToGatewayIdMap.size(), tenantId))
                 .otherwise(t -> {
@@ -1,5 +1,5 @@
 /**
- * Copyright (c) 2020, 2021 Contributors to the Eclipse Foundation
+ * Copyright (c) 2020, 2022 Contributors to the Eclipse Foundation
  *
  * See the NOTICE file(s) distributed with this work for additional
  * information regarding copyright ownership.
@@ -15,24 +15,55 @@ package org.eclipse.hono.deviceconnection.infinispan.client;
 
 import java.time.Duration;
 import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 
+import org.infinispan.client.hotrod.Flag;
 import org.infinispan.client.hotrod.RemoteCache;
 import org.infinispan.client.hotrod.RemoteCacheContainer;
 import org.infinispan.client.hotrod.RemoteCacheManager;
+import org.infinispan.client.hotrod.annotation.ClientCacheEntryCreated;
+import org.infinispan.client.hotrod.annotation.ClientCacheEntryExpired;
+import org.infinispan.client.hotrod.annotation.ClientCacheEntryModified;
+import org.infinispan.client.hotrod.annotation.ClientCacheEntryRemoved;
+import org.infinispan.client.hotrod.annotation.ClientCacheFailover;
+import org.infinispan.client.hotrod.annotation.ClientListener;
+import org.infinispan.client.hotrod.event.ClientCacheEntryCreatedEvent;
+import org.infinispan.client.hotrod.event.ClientCacheEntryExpiredEvent;
+import org.infinispan.client.hotrod.event.ClientCacheEntryModifiedEvent;
+import org.infinispan.client.hotrod.event.ClientCacheEntryRemovedEvent;
+import org.infinispan.client.hotrod.event.ClientCacheFailoverEvent;
 import org.infinispan.commons.marshall.ProtoStreamMarshaller;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.github.benmanes.caffeine.cache.Caffeine;
+
 import io.vertx.core.AsyncResult;
 import io.vertx.core.Future;
+import io.vertx.core.Handler;
 import io.vertx.core.Promise;
 import io.vertx.core.Vertx;
 import io.vertx.core.json.JsonObject;
 
 /**
  * A remote cache that connects to a data grid using the Hotrod protocol.
+ * <p>
+ * The cache can optionally keep the entries read from the data grid in a local, bounded
+ * <em>near cache</em> so that repeated look-ups of the same keys do not require a round trip
+ * to the data grid. The near cache is kept coherent by means of a client listener which
+ * invalidates local entries when the data grid reports them as having been created, modified,
+ * removed or expired. All entries are invalidated when the client fails over to another server,
+ * because events might have been missed in the meantime. Entries are also kept for a limited
+ * amount of time only, in order to limit the use of stale data in case an event gets lost.
+ * <p>
+ * The Hotrod client's built-in near cache is not used because it only supports single key
+ * look-ups, whereas the cache is mostly accessed using {@link #getAll(Set)}.
  *
  * @param <K> The type of keys used by the cache.
  * @param <V> The type of values stored in the cache.
@@ -45,6 +76,10 @@ public final class HotrodCache<K, V> extends BasicCache<K, V> {
      * Maximum age for a cached connection check result to be used in {@link #checkForCacheAvailability()}.
      */
     private static final Duration CACHED_CONNECTION_CHECK_RESULT_MAX_AGE = Duration.ofSeconds(30);
+    /**
+     * The value put to the near cache for keys that do not exist in the data grid.
+     */
+    private static final Object NOT_FOUND = new Object();
 
     private final AtomicBoolean connecting = new AtomicBoolean(false);
     private final RemoteCacheContainer cacheManager;
@@ -52,6 +87,10 @@ public final class HotrodCache<K, V> extends BasicCache<K, V> {
 
     private final K connectionCheckKey;
     private final V connectionCheckValue;
+    private final ConcurrentMap<K, Object> nearCache;
+    private final EntryChangeListener entryChangeListener = new EntryChangeListener();
+
+    private volatile Handler<K> entryChangeHandler;
 
     private ConnectionCheckResult lastConnectionCheckResult;
 
@@ -73,11 +112,48 @@ public final class HotrodCache<K, V> extends BasicCache<K, V> {
             final String cacheName,
             final K connectionCheckKey,
             final V connectionCheckValue) {
+        this(vertx, cacheManager, cacheName, connectionCheckKey, connectionCheckValue, 0, Duration.ofMinutes(1));
+    }
+
+    /**
+     * Creates a new HotrodCache instance using a near cache.
+     *
+     * @param vertx The vert.x instance to run on.
+     * @param cacheManager The connection to the remote cache.
+     * @param cacheName The name of the (remote) cache.
+     * @param connectionCheckKey The key to use for checking the connection
+     *                           to the data grid.
+     * @param connectionCheckValue The value to use for checking the connection
+     *                           to the data grid.
+     * @param nearCacheMaxEntries The maximum number of entries to keep in the near cache.
+     *                            If 0, no near cache is used.
+     * @param nearCacheMaxAge The maximum period of time that an entry is kept in the near cache.
+     * @throws NullPointerException if any of the parameters are {@code null}.
+     */
+    HotrodCache(
+            final Vertx vertx,
+            final RemoteCacheContainer cacheManager,
+            final String cacheName,
+            final K connectionCheckKey,
+            final V connectionCheckValue,
+            final int nearCacheMaxEntries,
+            final Duration nearCacheMaxAge) {
         super(vertx, cacheManager);
         this.cacheManager = Objects.requireNonNull(cacheManager);
         this.cacheName = Objects.requireNonNull(cacheName);
         this.connectionCheckKey = Objects.requireNonNull(connectionCheckKey);
         this.connectionCheckValue = Objects.requireNonNull(connectionCheckValue);
+        Objects.requireNonNull(nearCacheMaxAge);
+
+        if (nearCacheMaxEntries > 0) {
+            this.nearCache = Caffeine.newBuilder()
+                    .maximumSize(nearCacheMaxEntries)
+                    .expireAfterWrite(nearCacheMaxAge)
+                    .<K, Object> build()
+                    .asMap();
+        } else {
+            this.nearCache = null;
+        }
     }
 
     /**
@@ -109,7 +185,9 @@ public final class HotrodCache<K, V> extends BasicCache<K, V> {
                 new RemoteCacheManager(configuration, false),
                 commonCacheConfig.getCacheName(),
                 commonCacheConfig.getCheckKey(),
-                commonCacheConfig.getCheckValue());
+                commonCacheConfig.getCheckValue(),
+                properties.getNearCacheMaxEntries(),
+                properties.getNearCacheMaxAge());
     }
 
     @Override
@@ -133,6 +211,11 @@ public final class HotrodCache<K, V> extends BasicCache<K, V> {
                         r.fail(new IllegalStateException("remote cache [" + cacheName + "] does not exist"));
                     } else {
                         cache.start();
+                        if (nearCache != null || entryChangeHandler != null) {
+                            // entries might have been changed while not being connected
+                            onChangesMissed();
+                            cache.addClientListener(entryChangeListener);
+                        }
                         setCache(cache);
                         r.complete(cache);
                     }
@@ -156,16 +239,189 @@ public final class HotrodCache<K, V> extends BasicCache<K, V> {
         return result.future();
     }
 
+    @Override
+    public Future<Void> stop() {
+        if (nearCache != null) {
+            nearCache.clear();
+        }
+        return super.stop();
+    }
+
     @Override
     protected boolean isStarted() {
         return cacheManager.isStarted() && getCache() != null;
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The handler is notified about changes reported by the data grid by means of a client listener.
+     * It is invoked on one of the Hotrod client's threads.
+     */
+    @Override
+    public void setEntryChangeHandler(final Handler<K> handler) {
+        this.entryChangeHandler = handler;
+    }
+
     @Override
     protected <T> void postCacheAccess(final AsyncResult<T> cacheOperationResult) {
         lastConnectionCheckResult = new ConnectionCheckResult(cacheOperationResult.cause());
     }
 
+    @Override
+    public Future<Void> put(final K key, final V value) {
+        invalidateNearCacheEntry(key);
+        return super.put(key, value).onComplete(r -> invalidateNearCacheEntry(key));
+    }
+
+    @Override
+    public Future<Void> put(final K key, final V value, final long lifespan, final TimeUnit lifespanUnit) {
+        invalidateNearCacheEntry(key);
+        return super.put(key, value, lifespan, lifespanUnit).onComplete(r -> invalidateNearCacheEntry(key));
+    }
+
+    @Override
+    public Future<Void> putAll(final Map<? extends K, ? extends V> data) {
+        invalidateNearCacheEntries(data);
+        return super.putAll(data).onComplete(r -> invalidateNearCacheEntries(data));
+    }
+
+    @Override
+    public Future<Void> putAll(final Map<? extends K, ? extends V> data, final long lifespan, final TimeUnit lifespanUnit) {
+        invalidateNearCacheEntries(data);
+        return super.putAll(data, lifespan, lifespanUnit).onComplete(r -> invalidateNearCacheEntries(data));
+    }
+
+    @Override
+    public Future<Boolean> remove(final K key, final V value) {
+        invalidateNearCacheEntry(key);
+        return super.remove(key, value).onComplete(r -> invalidateNearCacheEntry(key));
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The Hotrod client only returns the previous value (which is needed for determining
+     * the outcome) if the corresponding flag is set.
+     */
+    @Override
+    public Future<Boolean> putIfAbsent(final K key, final V value, final long lifespan, final TimeUnit lifespanUnit) {
+        Objects.requireNonNull(key);
+        Objects.requireNonNull(value);
+        Objects.requireNonNull(lifespanUnit);
+
+        invalidateNearCacheEntry(key);
+        return withCache(aCache -> ((RemoteCache<K, V>) aCache).withFlags(Flag.FORCE_RETURN_VALUE)
+                .putIfAbsentAsync(key, value, lifespan, lifespanUnit)
+                .thenApply(Objects::isNull))
+            .onComplete(r -> invalidateNearCacheEntry(key));
+    }
+
+    @Override
+    public Future<Boolean> replace(
+            final K key,
+            final V oldValue,
+            final V newValue,
+            final long lifespan,
+            final TimeUnit lifespanUnit) {
+        invalidateNearCacheEntry(key);
+        return super.replace(key, oldValue, newValue, lifespan, lifespanUnit)
+                .onComplete(r -> invalidateNearCacheEntry(key));
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The value is taken from the near cache, if available.
+     */
+    @Override
+    public Future<V> get(final K key) {
+        Objects.requireNonNull(key);
+
+        if (nearCache == null) {
+            return super.get(key);
+        }
+        final Object cachedValue = nearCache.get(key);
+        if (isNearCacheHit(cachedValue)) {
+            return Future.succeededFuture(fromNearCacheValue(cachedValue));
+        }
+        final PendingRead pendingRead = new PendingRead();
+        nearCache.put(key, pendingRead);
+        return super.get(key)
+                .onSuccess(value -> updateNearCacheEntry(key, pendingRead, value))
+                .onFailure(t -> nearCache.remove(key, pendingRead));
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The values are taken from the near cache, if available. Only the remaining
+     * keys are looked up in the data grid.
+     */
+    @Override
+    public Future<Map<K, V>> getAll(final Set<? extends K> keys) {
+        Objects.requireNonNull(keys);
+
+        if (nearCache == null) {
+            return super.getAll(keys);
+        }
+        final Map<K, V> result = new HashMap<>(keys.size());
+        final PendingRead pendingRead = new PendingRead();
+        final Map<K, PendingRead> missingKeys = new HashMap<>(keys.size());
+        keys.forEach(key -> {
+            final Object cachedValue = nearCache.get(key);
+            if (isNearCacheHit(cachedValue)) {
+                if (cachedValue != NOT_FOUND) {
+                    result.put(key, fromNearCacheValue(cachedValue));
+                }
+            } else {
+                nearCache.put(key, pendingRead);
+                missingKeys.put(key, pendingRead);
+            }
+        });
+        if (missingKeys.isEmpty()) {
+            return Future.succeededFuture(result);
+        }
+        return super.getAll(missingKeys.keySet())
+                .map(values -> {
+                    missingKeys.keySet().forEach(key -> updateNearCacheEntry(key, pendingRead, values.get(key)));
+                    result.putAll(values);
+                    return result;
+                })
+                .onFailure(t -> missingKeys.keySet().forEach(key -> nearCache.remove(key, pendingRead)));
+    }
+
+    private static boolean isNearCacheHit(final Object cachedValue) {
+        return cachedValue != null && !(cachedValue instanceof PendingRead);
+    }
+
+    @SuppressWarnings("unchecked")
+    private V fromNearCacheValue(final Object cachedValue) {
+        return cachedValue == NOT_FOUND ? null : (V) cachedValue;
+    }
+
+    /**
+     * Puts a value read from the data grid to the near cache.
+     * <p>
+     * The value is only put to the near cache if the entry has not been invalidated
+     * since the read operation has been started.
+     */
+    private void updateNearCacheEntry(final K key, final PendingRead pendingRead, final V value) {
+        nearCache.replace(key, pendingRead, value == null ? NOT_FOUND : value);
+    }
+
+    private void invalidateNearCacheEntry(final K key) {
+        if (nearCache != null && key != null) {
+            nearCache.remove(key);
+        }
+    }
+
+    private void invalidateNearCacheEntries(final Map<? extends K, ? extends V> data) {
+        if (nearCache != null && data != null) {
+            data.keySet().forEach(nearCache::remove);
+        }
+    }
+
     /**
      * Checks if the cache is connected.
      *
@@ -199,6 +455,67 @@ public final class HotrodCache<K, V> extends BasicCache<K, V> {
         }
     }
 
+    /**
+     * A marker for a near cache entry that is being read from the data grid.
+     * <p>
+     * The marker is replaced with the value read from the data grid unless the
+     * entry gets invalidated in the meantime.
+     */
+    private static final class PendingRead {
+    }
+
+    private void onEntryChanged(final K key) {
+        invalidateNearCacheEntry(key);
+        final Handler<K> handler = entryChangeHandler;
+        if (handler != null && key != null) {
+            handler.handle(key);
+        }
+    }
+
+    private void onChangesMissed() {
+        if (nearCache != null) {
+            nearCache.clear();
+        }
+        final Handler<K> handler = entryChangeHandler;
+        if (handler != null) {
+            handler.handle(null);
+        }
+    }
+
+    /**
+     * Invalidates near cache entries and notifies the entry change handler
+     * based on events sent by the data grid.
+     */
+    @ClientListener
+    final class EntryChangeListener {
+
+        @ClientCacheEntryCreated
+        public void onEntryCreated(final ClientCacheEntryCreatedEvent<K> event) {
+            onEntryChanged(event.getKey());
+        }
+
+        @ClientCacheEntryModified
+        public void onEntryModified(final ClientCacheEntryModifiedEvent<K> event) {
+            onEntryChanged(event.getKey());
+        }
+
+        @ClientCacheEntryRemoved
+        public void onEntryRemoved(final ClientCacheEntryRemovedEvent<K> event) {
+            onEntryChanged(event.getKey());
+        }
+
+        @ClientCacheEntryExpired
+        public void onEntryExpired(final ClientCacheEntryExpiredEvent<K> event) {
+            onEntryChanged(event.getKey());
+        }
+
+        @ClientCacheFailover
+        public void onFailover(final ClientCacheFailoverEvent event) {
+            LOG.debug("client failed over to another server, changes might have been missed");
+            onChangesMissed();
+        }
+    }
+
     /**
      * Keeps the result of a connection check.
      */
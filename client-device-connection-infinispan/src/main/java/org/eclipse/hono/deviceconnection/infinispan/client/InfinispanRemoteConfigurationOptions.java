@@ -14,6 +14,7 @@
 
 package org.eclipse.hono.deviceconnection.infinispan.client;
 
+import java.time.Duration;
 import java.util.Map;
 import java.util.Optional;
 
@@ -199,4 +200,30 @@ public interface InfinispanRemoteConfigurationOptions {
      * @return The protocol.
      */
     Optional<String> sslProtocol();
+
+    /**
+     * Gets the maximum number of entries to keep in the local near cache.
+     * <p>
+     * The near cache keeps entries read from the remote cache in memory and is invalidated
+     * by means of events sent by the data grid when entries get changed or removed.
+     * <p>
+     * The default value of this property is 0, which means that no near cache is used.
+     *
+     * @return The maximum number of entries.
+     */
+    @WithDefault("0")
+    int nearCacheMaxEntries();
+
+    /**
+     * Gets the maximum period of time that an entry is kept in the local near cache.
+     * <p>
+     * This limits the time that a stale entry may be used in case an invalidation event
+     * from the data grid gets lost.
+     * <p>
+     * The default value of this property is one minute.
+     *
+     * @return The maximum age.
+     */
+    @WithDefault("PT1M")
+    Duration nearCacheMaxAge();
 }
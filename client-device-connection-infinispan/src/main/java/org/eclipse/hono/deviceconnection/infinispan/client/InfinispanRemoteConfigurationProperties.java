@@ -14,7 +14,9 @@
 
 package org.eclipse.hono.deviceconnection.infinispan.client;
 
+import java.time.Duration;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.function.Function;
 
@@ -34,6 +36,9 @@ public class InfinispanRemoteConfigurationProperties extends ConfigurationProper
     private static final String DEFAULT_EXECUTOR_FACTORY_PREFIX = "infinispan.client.hotrod.default_executor_factory";
     private static final String CONNECTION_POOL_PREFIX = "infinispan.client.hotrod.connection_pool";
 
+    private int nearCacheMaxEntries = 0;
+    private Duration nearCacheMaxAge = Duration.ofMinutes(1);
+
     /**
      * Creates properties using default values.
      */
@@ -82,6 +87,9 @@ public class InfinispanRemoteConfigurationProperties extends ConfigurationProper
 
         options.sslCiphers().ifPresent(this::setSSLCiphers);
         options.sslProtocol().ifPresent(this::setSSLProtocol);
+
+        setNearCacheMaxEntries(options.nearCacheMaxEntries());
+        setNearCacheMaxAge(options.nearCacheMaxAge());
     }
 
     /**
@@ -178,12 +186,69 @@ public class InfinispanRemoteConfigurationProperties extends ConfigurationProper
         getProperties().put(SSL_CIPHERS, ciphers);
     }
 
+    // ------- Hono specific properties -------
+
+    /**
+     * Gets the maximum number of entries to keep in the local near cache.
+     * <p>
+     * The default value of this property is 0, which means that no near cache is used.
+     *
+     * @return The maximum number of entries.
+     */
+    public int getNearCacheMaxEntries() {
+        return nearCacheMaxEntries;
+    }
+
+    /**
+     * Sets the maximum number of entries to keep in the local near cache.
+     * <p>
+     * The default value of this property is 0, which means that no near cache is used.
+     *
+     * @param maxEntries The maximum number of entries.
+     * @throws IllegalArgumentException if the number is negative.
+     */
+    public void setNearCacheMaxEntries(final int maxEntries) {
+        if (maxEntries < 0) {
+            throw new IllegalArgumentException("maximum number of entries must not be negative");
+        }
+        this.nearCacheMaxEntries = maxEntries;
+    }
+
+    /**
+     * Gets the maximum period of time that an entry is kept in the local near cache.
+     * <p>
+     * The default value of this property is one minute.
+     *
+     * @return The maximum age.
+     */
+    public Duration getNearCacheMaxAge() {
+        return nearCacheMaxAge;
+    }
+
+    /**
+     * Sets the maximum period of time that an entry is kept in the local near cache.
+     * <p>
+     * The default value of this property is one minute.
+     *
+     * @param maxAge The maximum age.
+     * @throws NullPointerException if max age is {@code null}.
+     * @throws IllegalArgumentException if max age is not positive.
+     */
+    public void setNearCacheMaxAge(final Duration maxAge) {
+        Objects.requireNonNull(maxAge);
+        if (maxAge.isNegative() || maxAge.isZero()) {
+            throw new IllegalArgumentException("maximum age must be positive");
+        }
+        this.nearCacheMaxAge = maxAge;
+    }
+
    @Override
    public String toString() {
        return MoreObjects
                .toStringHelper(this)
                .add("serverList", this.getServerList())
                .add("authUsername", this.getAuthUsername())
+               .add("nearCacheMaxEntries", nearCacheMaxEntries)
                .toString();
    }
 }
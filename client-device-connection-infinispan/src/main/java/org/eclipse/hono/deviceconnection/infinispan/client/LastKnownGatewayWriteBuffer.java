@@ -0,0 +1,245 @@
+/**
+ * Copyright (c) 2022 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+
+package org.eclipse.hono.deviceconnection.infinispan.client;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.hono.util.Futures;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.vertx.core.CompositeFuture;
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+
+/**
+ * A buffer for writing last known gateway entries to a cache.
+ * <p>
+ * Gateways usually send messages on behalf of the same devices over and over again,
+ * each one resulting in a request to update the last known gateway of the device.
+ * This buffer reduces the number of resulting write operations on the cache as follows:
+ * <ul>
+ * <li>An update is dropped if the same gateway is already about to be written for the device
+ * or if it has already been written during the last {@link #RECENTLY_WRITTEN_ENTRY_MAX_AGE}.
+ * Entries are written again after that period, so that their lifespan in the cache gets renewed.</li>
+ * <li>Only one write operation is done at a time. Updates made while a write operation is
+ * in progress are buffered, keeping only the most recent gateway per device, and are written
+ * in a single operation once the current one has completed.</li>
+ * </ul>
+ * The recently written entries are kept coherent with the cache by means of the cache's
+ * entry change notifications: the buffer keeps track of the number of notifications that its own
+ * write operations are expected to cause for each entry. Any other notification for a recently written
+ * entry indicates that the entry has been changed by someone else, e.g. another Command Router instance,
+ * and leads to the entry being written again with the next update. Notifications for other entries
+ * are ignored. No additional cache operations are required for processing the notifications.
+ * <p>
+ * The instance is thread safe.
+ */
+final class LastKnownGatewayWriteBuffer {
+
+    /**
+     * Maximum period of time after which an unchanged entry is written again.
+     */
+    static final Duration RECENTLY_WRITTEN_ENTRY_MAX_AGE = Duration.ofMinutes(1);
+    /**
+     * Maximum number of recently written entries to keep track of.
+     */
+    static final int RECENTLY_WRITTEN_ENTRIES_MAX_SIZE = 100_000;
+
+    private static final Logger LOG = LoggerFactory.getLogger(LastKnownGatewayWriteBuffer.class);
+
+    private final Cache<String, String> cache;
+    private final Duration lifespan;
+    private final ConcurrentMap<String, String> recentlyWrittenEntries = Caffeine.newBuilder()
+            .maximumSize(RECENTLY_WRITTEN_ENTRIES_MAX_SIZE)
+            .expireAfterWrite(RECENTLY_WRITTEN_ENTRY_MAX_AGE)
+            .<String, String> build()
+            .asMap();
+    private final Map<String, Integer> expectedOwnChanges = Caffeine.newBuilder()
+            // expectations are dropped eventually if notifications get lost
+            .maximumSize(RECENTLY_WRITTEN_ENTRIES_MAX_SIZE)
+            .expireAfterWrite(RECENTLY_WRITTEN_ENTRY_MAX_AGE)
+            .<String, Integer> build()
+            .asMap();
+    private final Set<String> inFlightEntriesChangedByOthers = new HashSet<>();
+    private final Object lock = new Object();
+
+    private Map<String, String> pendingEntries = new HashMap<>();
+    private Promise<Void> pendingWrite;
+    private Map<String, String> inFlightEntries = Map.of();
+    private Promise<Void> inFlightWrite;
+
+    /**
+     * Creates a new buffer.
+     * <p>
+     * Registers the buffer as the cache's entry change handler.
+     *
+     * @param cache The cache to write the entries to.
+     * @param lifespan The lifespan of the entries in the cache.
+     * @throws NullPointerException if any of the parameters are {@code null}.
+     */
+    LastKnownGatewayWriteBuffer(final Cache<String, String> cache, final Duration lifespan) {
+        this.cache = Objects.requireNonNull(cache);
+        this.lifespan = Objects.requireNonNull(lifespan);
+        cache.setEntryChangeHandler(this::onEntryChanged);
+    }
+
+    /**
+     * Writes last known gateway entries to the cache.
+     * <p>
+     * If this method is invoked from a vert.x Context, then the returned future will be completed on that context.
+     *
+     * @param entries The entries to write. The keys are the cache keys, the values are the gateway identifiers.
+     * @return A future indicating the outcome of the operation.
+     *         The future will be succeeded once all entries have been written to the cache
+     *         or if the entries had already been written recently.
+     * @throws NullPointerException if entries is {@code null}.
+     */
+    Future<Void> write(final Map<String, String> entries) {
+        Objects.requireNonNull(entries);
+
+        final Future<Void> writeResult;
+        synchronized (lock) {
+            boolean awaitPendingWrite = false;
+            boolean awaitInFlightWrite = false;
+            for (final Map.Entry<String, String> entry : entries.entrySet()) {
+                final String key = entry.getKey();
+                final String gatewayId = entry.getValue();
+                // compare with the value that will end up in the cache once the current operations have completed
+                final String latestGatewayId;
+                if (pendingEntries.containsKey(key)) {
+                    latestGatewayId = pendingEntries.get(key);
+                } else if (inFlightEntries.containsKey(key)) {
+                    latestGatewayId = inFlightEntries.get(key);
+                } else {
+                    latestGatewayId = recentlyWrittenEntries.get(key);
+                }
+                if (!gatewayId.equals(latestGatewayId)) {
+                    recentlyWrittenEntries.remove(key);
+                    pendingEntries.put(key, gatewayId);
+                    awaitPendingWrite = true;
+                } else if (pendingEntries.containsKey(key)) {
+                    awaitPendingWrite = true;
+                } else if (inFlightEntries.containsKey(key)) {
+                    awaitInFlightWrite = true;
+                }
+            }
+            if (awaitPendingWrite) {
+                if (pendingWrite == null) {
+                    pendingWrite = Promise.promise();
+                }
+                writeResult = awaitInFlightWrite
+                        ? CompositeFuture.all(inFlightWrite.future(), pendingWrite.future()).mapEmpty()
+                        : pendingWrite.future();
+            } else if (awaitInFlightWrite) {
+                writeResult = inFlightWrite.future();
+            } else {
+                LOG.trace("skipping write of {} last known gateway entries written recently", entries.size());
+                return Future.succeededFuture();
+            }
+        }
+        writePendingEntries();
+
+        final Promise<Void> result = Promise.promise();
+        writeResult.onComplete(Futures.onCurrentContextCompletionHandler(result));
+        return result.future();
+    }
+
+    private void writePendingEntries() {
+
+        final Map<String, String> entriesToWrite;
+        final Promise<Void> writePromise;
+        synchronized (lock) {
+            if (inFlightWrite != null || pendingEntries.isEmpty()) {
+                // pending entries will be written once the current write operation has completed
+                return;
+            }
+            entriesToWrite = pendingEntries;
+            writePromise = pendingWrite;
+            inFlightEntries = entriesToWrite;
+            inFlightWrite = writePromise;
+            pendingEntries = new HashMap<>();
+            pendingWrite = null;
+            entriesToWrite.keySet().forEach(key -> expectedOwnChanges.merge(key, 1, Integer::sum));
+        }
+
+        LOG.trace("writing {} last known gateway entries", entriesToWrite.size());
+        final long lifespanMillis = lifespan.toMillis();
+        final Future<Void> writeOperation;
+        if (entriesToWrite.size() == 1) {
+            final var entry = entriesToWrite.entrySet().iterator().next();
+            writeOperation = cache.put(entry.getKey(), entry.getValue(), lifespanMillis, TimeUnit.MILLISECONDS);
+        } else {
+            writeOperation = cache.putAll(entriesToWrite, lifespanMillis, TimeUnit.MILLISECONDS);
+        }
+        writeOperation.onComplete(ar -> {
+            synchronized (lock) {
+                if (ar.succeeded()) {
+                    // entries with a newer pending value will be recorded once that value has been written
+                    entriesToWrite.forEach((key, gatewayId) -> {
+                        if (!pendingEntries.containsKey(key) && !inFlightEntriesChangedByOthers.contains(key)) {
+                            recentlyWrittenEntries.put(key, gatewayId);
+                        }
+                    });
+                } else {
+                    // notifications for entries that have not been written are not expected anymore
+                    entriesToWrite.keySet().forEach(expectedOwnChanges::remove);
+                }
+                inFlightEntries = Map.of();
+                inFlightWrite = null;
+                inFlightEntriesChangedByOthers.clear();
+            }
+            writePromise.handle(ar);
+            writePendingEntries();
+        });
+    }
+
+    private void onEntryChanged(final String key) {
+
+        synchronized (lock) {
+            if (key == null) {
+                // changes might have been missed
+                recentlyWrittenEntries.clear();
+                expectedOwnChanges.clear();
+                inFlightEntriesChangedByOthers.addAll(inFlightEntries.keySet());
+                return;
+            }
+            final Integer expectedChanges = expectedOwnChanges.get(key);
+            if (expectedChanges != null) {
+                // change caused by a write operation of this buffer
+                if (expectedChanges > 1) {
+                    expectedOwnChanges.put(key, expectedChanges - 1);
+                } else {
+                    expectedOwnChanges.remove(key);
+                }
+                return;
+            }
+            if (recentlyWrittenEntries.remove(key) != null) {
+                LOG.trace("last known gateway entry [{}] has been changed by another client", key);
+            }
+            if (inFlightEntries.containsKey(key)) {
+                inFlightEntriesChangedByOthers.add(key);
+            }
+        }
+    }
+}
@@ -221,6 +221,53 @@ abstract class AbstractBasicCacheTest {
                 }));
     }
 
+    /**
+     * Verifies that a request to put a value to the cache if it is absent
+     * reports whether the value has been written to the data grid.
+     *
+     * @param ctx The vert.x text context.
+     */
+    @Test
+    void testPutIfAbsentReportsOutcome(final VertxTestContext ctx) {
+        final var grid = givenAConnectedInfinispanCache();
+        when(grid.putIfAbsentAsync("key", "value", 1, TimeUnit.SECONDS))
+                .thenReturn(CompletableFuture.completedFuture(null));
+        when(grid.putIfAbsentAsync("otherKey", "value", 1, TimeUnit.SECONDS))
+                .thenReturn(CompletableFuture.completedFuture("existingValue"));
+        getCache().start()
+                .compose(ok -> getCache().putIfAbsent("key", "value", 1, TimeUnit.SECONDS))
+                .compose(added -> {
+                    ctx.verify(() -> assertThat(added).isTrue());
+                    return getCache().putIfAbsent("otherKey", "value", 1, TimeUnit.SECONDS);
+                })
+                .onComplete(ctx.succeeding(added -> {
+                    ctx.verify(() -> assertThat(added).isFalse());
+                    ctx.completeNow();
+                }));
+    }
+
+    /**
+     * Verifies that a request to replace a value in the cache
+     * results in the value being replaced conditionally in the data grid.
+     *
+     * @param ctx The vert.x text context.
+     */
+    @Test
+    void testReplaceSucceeds(final VertxTestContext ctx) {
+        final var grid = givenAConnectedInfinispanCache();
+        when(grid.replaceAsync("key", "oldValue", "newValue", 1, TimeUnit.SECONDS))
+                .thenReturn(CompletableFuture.completedFuture(true));
+        getCache().start()
+                .compose(ok -> getCache().replace("key", "oldValue", "newValue", 1, TimeUnit.SECONDS))
+                .onComplete(ctx.succeeding(replaced -> {
+                    ctx.verify(() -> {
+                        verify(grid).replaceAsync("key", "oldValue", "newValue", 1, TimeUnit.SECONDS);
+                        assertThat(replaced).isTrue();
+                    });
+                    ctx.completeNow();
+                }));
+    }
+
     /**
      * Verifies that a request to get a map of all cache entries with given keys
      * results in the map value being retrieved from the data grid.
@@ -1,5 +1,5 @@
 /**
- * Copyright (c) 2020, 2021 Contributors to the Eclipse Foundation
+ * Copyright (c) 2020, 2022 Contributors to the Eclipse Foundation
  *
  * See the NOTICE file(s) distributed with this work for additional
  * information regarding copyright ownership.
@@ -22,8 +22,10 @@ import static org.mockito.ArgumentMatchers.anyMap;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -42,6 +44,7 @@ import java.util.stream.Stream;
 import org.eclipse.hono.client.ClientErrorException;
 import org.eclipse.hono.client.ServerErrorException;
 import org.eclipse.hono.test.TracingMockSupport;
+import org.eclipse.hono.test.VertxMockSupport;
 import org.eclipse.hono.util.AdapterInstanceStatus;
 import org.eclipse.hono.util.Constants;
 import org.eclipse.hono.util.DeviceConnectionConstants;
@@ -50,10 +53,15 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.MethodSource;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
 
 import io.opentracing.Span;
 import io.opentracing.Tracer;
+import io.vertx.core.CompositeFuture;
 import io.vertx.core.Future;
+import io.vertx.core.Handler;
+import io.vertx.core.Promise;
 import io.vertx.core.json.JsonArray;
 import io.vertx.core.json.JsonObject;
 import io.vertx.junit5.Timeout;
@@ -180,6 +188,211 @@ public class CacheBasedDeviceConnectionInfoTest {
             }));
     }
 
+    /**
+     * Verifies that setting a last known gateway that has already been set recently
+     * does not result in the entry being written to the cache again.
+     *
+     * @param ctx The vert.x test context.
+     */
+    @Test
+    public void testSetLastKnownGatewaySkipsRecentlyWrittenEntry(final VertxTestContext ctx) {
+
+        when(cache.put(anyString(), anyString(), anyLong(), any(TimeUnit.class))).thenReturn(Future.succeededFuture());
+
+        info.setLastKnownGatewayForDevice(Constants.DEFAULT_TENANT, "device-id", "gw-id", span)
+            .compose(ok -> info.setLastKnownGatewayForDevice(Constants.DEFAULT_TENANT, "device-id", "gw-id", span))
+            .compose(ok -> info.setLastKnownGatewayForDevice(Constants.DEFAULT_TENANT, Map.of("device-id", "gw-id"), span))
+            // a different gateway is supposed to be written
+            .compose(ok -> info.setLastKnownGatewayForDevice(Constants.DEFAULT_TENANT, "device-id", "gw-id2", span))
+            .onComplete(ctx.succeeding(ok -> {
+                ctx.verify(() -> {
+                    final String key = CacheBasedDeviceConnectionInfo.getGatewayEntryKey(Constants.DEFAULT_TENANT, "device-id");
+                    verify(cache).put(eq(key), eq("gw-id"), anyLong(), any(TimeUnit.class));
+                    verify(cache).put(eq(key), eq("gw-id2"), anyLong(), any(TimeUnit.class));
+                    verify(cache, never()).putAll(anyMap(), anyLong(), any(TimeUnit.class));
+                });
+                ctx.completeNow();
+            }));
+    }
+
+    /**
+     * Verifies that a last known gateway is written to the cache again after a previous
+     * attempt to write it has failed.
+     *
+     * @param ctx The vert.x test context.
+     */
+    @Test
+    public void testSetLastKnownGatewayWritesEntryAgainAfterFailure(final VertxTestContext ctx) {
+
+        when(cache.put(anyString(), anyString(), anyLong(), any(TimeUnit.class)))
+            .thenReturn(Future.failedFuture(new IOException("not available")))
+            .thenReturn(Future.succeededFuture());
+
+        info.setLastKnownGatewayForDevice(Constants.DEFAULT_TENANT, "device-id", "gw-id", span)
+            .recover(t -> info.setLastKnownGatewayForDevice(Constants.DEFAULT_TENANT, "device-id", "gw-id", span))
+            .onComplete(ctx.succeeding(ok -> {
+                ctx.verify(() -> {
+                    verify(cache, times(2)).put(
+                            eq(CacheBasedDeviceConnectionInfo.getGatewayEntryKey(Constants.DEFAULT_TENANT, "device-id")),
+                            eq("gw-id"),
+                            anyLong(),
+                            any(TimeUnit.class));
+                });
+                ctx.completeNow();
+            }));
+    }
+
+    /**
+     * Verifies that last known gateways being set while a previous write operation is still in progress
+     * are written to the cache in a single batch, keeping only the most recent gateway per device.
+     *
+     * @param ctx The vert.x test context.
+     */
+    @Test
+    public void testSetLastKnownGatewayCoalescesEntriesWhileWriteIsInProgress(final VertxTestContext ctx) {
+
+        final Promise<Void> firstWrite = Promise.promise();
+        when(cache.put(anyString(), anyString(), anyLong(), any(TimeUnit.class))).thenReturn(firstWrite.future());
+        when(cache.putAll(anyMap(), anyLong(), any(TimeUnit.class))).thenReturn(Future.succeededFuture());
+
+        final Future<Void> firstResult = info.setLastKnownGatewayForDevice(Constants.DEFAULT_TENANT, "device-id", "gw-id", span);
+        final Future<Void> secondResult = info.setLastKnownGatewayForDevice(Constants.DEFAULT_TENANT, "device-id2", "gw-id", span);
+        final Future<Void> thirdResult = info.setLastKnownGatewayForDevice(Constants.DEFAULT_TENANT,
+                Map.of("device-id2", "gw-id2", "device-id3", "gw-id"), span);
+
+        // nothing else is written while the first write operation is in progress
+        verify(cache, never()).putAll(anyMap(), anyLong(), any(TimeUnit.class));
+        assertThat(secondResult.isComplete()).isFalse();
+        firstWrite.complete();
+
+        CompositeFuture.all(firstResult, secondResult, thirdResult)
+            .onComplete(ctx.succeeding(ok -> {
+                ctx.verify(() -> {
+                    verify(cache).put(
+                            eq(CacheBasedDeviceConnectionInfo.getGatewayEntryKey(Constants.DEFAULT_TENANT, "device-id")),
+                            eq("gw-id"),
+                            anyLong(),
+                            any(TimeUnit.class));
+                    verify(cache).putAll(
+                            eq(Map.of(
+                                    CacheBasedDeviceConnectionInfo.getGatewayEntryKey(Constants.DEFAULT_TENANT, "device-id2"), "gw-id2",
+                                    CacheBasedDeviceConnectionInfo.getGatewayEntryKey(Constants.DEFAULT_TENANT, "device-id3"), "gw-id")),
+                            anyLong(),
+                            any(TimeUnit.class));
+                });
+                ctx.completeNow();
+            }));
+    }
+
+    /**
+     * Verifies that a last known gateway is written again if it has been replaced by a
+     * different gateway that is still being written to the cache.
+     *
+     * @param ctx The vert.x test context.
+     */
+    @Test
+    public void testSetLastKnownGatewayWritesEntryReplacingInFlightEntry(final VertxTestContext ctx) {
+
+        final String key = CacheBasedDeviceConnectionInfo.getGatewayEntryKey(Constants.DEFAULT_TENANT, "device-id");
+        final Promise<Void> firstWrite = Promise.promise();
+        final Promise<Void> secondWrite = Promise.promise();
+        when(cache.put(anyString(), anyString(), anyLong(), any(TimeUnit.class)))
+            .thenReturn(firstWrite.future(), secondWrite.future(), Future.succeededFuture());
+
+        // GIVEN a write of gateway A that is followed by a write of gateway B
+        final Future<Void> firstResult = info.setLastKnownGatewayForDevice(Constants.DEFAULT_TENANT, "device-id", "gw-A", span);
+        final Future<Void> secondResult = info.setLastKnownGatewayForDevice(Constants.DEFAULT_TENANT, "device-id", "gw-B", span);
+        // of which the write of gateway A completes while the write of gateway B is still in progress
+        firstWrite.complete();
+        verify(cache).put(eq(key), eq("gw-B"), anyLong(), any(TimeUnit.class));
+
+        // WHEN gateway A is set again before the write of gateway B has completed
+        final Future<Void> thirdResult = info.setLastKnownGatewayForDevice(Constants.DEFAULT_TENANT, "device-id", "gw-A", span);
+        assertThat(thirdResult.isComplete()).isFalse();
+        secondWrite.complete();
+
+        CompositeFuture.all(firstResult, secondResult, thirdResult)
+            .onComplete(ctx.succeeding(ok -> {
+                ctx.verify(() -> {
+                    // THEN gateway A is written again after gateway B
+                    final InOrder inOrder = inOrder(cache);
+                    inOrder.verify(cache).put(eq(key), eq("gw-A"), anyLong(), any(TimeUnit.class));
+                    inOrder.verify(cache).put(eq(key), eq("gw-B"), anyLong(), any(TimeUnit.class));
+                    inOrder.verify(cache).put(eq(key), eq("gw-A"), anyLong(), any(TimeUnit.class));
+                });
+                ctx.completeNow();
+            }));
+    }
+
+    /**
+     * Verifies that a recently written last known gateway is written again if the cache reports
+     * that the entry has been changed to a different gateway, e.g. by another Command Router instance.
+     *
+     * @param ctx The vert.x test context.
+     */
+    @Test
+    public void testSetLastKnownGatewayWritesEntryAgainAfterChangeInCache(final VertxTestContext ctx) {
+
+        final String key = CacheBasedDeviceConnectionInfo.getGatewayEntryKey(Constants.DEFAULT_TENANT, "device-id");
+        final ArgumentCaptor<Handler<String>> entryChangeHandler = VertxMockSupport.argumentCaptorHandler();
+        verify(cache).setEntryChangeHandler(entryChangeHandler.capture());
+        when(cache.put(anyString(), anyString(), anyLong(), any(TimeUnit.class))).thenReturn(Future.succeededFuture());
+
+        info.setLastKnownGatewayForDevice(Constants.DEFAULT_TENANT, "device-id", "gw-id", span)
+            .compose(ok -> {
+                // the cache reports the change made by this instance
+                entryChangeHandler.getValue().handle(key);
+                return info.setLastKnownGatewayForDevice(Constants.DEFAULT_TENANT, "device-id", "gw-id", span);
+            })
+            .compose(ok -> {
+                ctx.verify(() -> verify(cache).put(eq(key), eq("gw-id"), anyLong(), any(TimeUnit.class)));
+                // the cache reports a change made by another instance
+                entryChangeHandler.getValue().handle(key);
+                return info.setLastKnownGatewayForDevice(Constants.DEFAULT_TENANT, "device-id", "gw-id", span);
+            })
+            .onComplete(ctx.succeeding(ok -> {
+                ctx.verify(() -> {
+                    verify(cache, times(2)).put(eq(key), eq("gw-id"), anyLong(), any(TimeUnit.class));
+                    // the change notifications are processed without reading from the cache
+                    verify(cache, never()).get(anyString());
+                });
+                ctx.completeNow();
+            }));
+    }
+
+    /**
+     * Verifies that a last known gateway entry is written to the cache again if the entry
+     * has been changed by another instance while this instance's write operation was in progress.
+     *
+     * @param ctx The vert.x test context.
+     */
+    @Test
+    public void testSetLastKnownGatewayWritesEntryAgainAfterChangeInCacheDuringWrite(final VertxTestContext ctx) {
+
+        final String key = CacheBasedDeviceConnectionInfo.getGatewayEntryKey(Constants.DEFAULT_TENANT, "device-id");
+        final ArgumentCaptor<Handler<String>> entryChangeHandler = VertxMockSupport.argumentCaptorHandler();
+        verify(cache).setEntryChangeHandler(entryChangeHandler.capture());
+        final Promise<Void> firstWrite = Promise.promise();
+        when(cache.put(anyString(), anyString(), anyLong(), any(TimeUnit.class)))
+            .thenReturn(firstWrite.future())
+            .thenReturn(Future.succeededFuture());
+
+        final Future<Void> firstResult = info.setLastKnownGatewayForDevice(Constants.DEFAULT_TENANT, "device-id", "gw-id", span);
+        // the cache reports the change made by this instance followed by a change made by another instance
+        entryChangeHandler.getValue().handle(key);
+        entryChangeHandler.getValue().handle(key);
+        firstWrite.complete();
+
+        firstResult
+            .compose(ok -> info.setLastKnownGatewayForDevice(Constants.DEFAULT_TENANT, "device-id", "gw-id", span))
+            .onComplete(ctx.succeeding(ok -> {
+                ctx.verify(() -> {
+                    verify(cache, times(2)).put(eq(key), eq("gw-id"), anyLong(), any(TimeUnit.class));
+                });
+                ctx.completeNow();
+            }));
+    }
+
     /**
      * Verifies that a last known gateway can be successfully retrieved.
      *
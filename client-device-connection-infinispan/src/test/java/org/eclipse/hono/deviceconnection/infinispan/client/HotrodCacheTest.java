@@ -1,5 +1,5 @@
 /**
- * Copyright (c) 2020, 2021 Contributors to the Eclipse Foundation
+ * Copyright (c) 2020, 2022 Contributors to the Eclipse Foundation
  *
  * See the NOTICE file(s) distributed with this work for additional
  * information regarding copyright ownership.
@@ -14,21 +14,32 @@
 
 package org.eclipse.hono.deviceconnection.infinispan.client;
 
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anySet;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import static com.google.common.truth.Truth.assertThat;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.TimeUnit;
 
 import org.infinispan.client.hotrod.Flag;
 import org.infinispan.client.hotrod.RemoteCacheContainer;
 import org.infinispan.client.hotrod.configuration.Configuration;
+import org.infinispan.client.hotrod.event.ClientCacheEntryModifiedEvent;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 
+import io.vertx.core.Handler;
 import io.vertx.junit5.Timeout;
 import io.vertx.junit5.VertxExtension;
 import io.vertx.junit5.VertxTestContext;
@@ -94,4 +105,125 @@ class HotrodCacheTest extends AbstractBasicCacheTest {
                     ctx.completeNow();
                 }));
     }
+
+    /**
+     * Verifies that values retrieved from the data grid are kept in the near cache and
+     * that keys that do not exist in the data grid are not looked up again.
+     *
+     * @param ctx The vert.x text context.
+     */
+    @Test
+    void testGetAllUsesNearCache(final VertxTestContext ctx) {
+        final var grid = givenAConnectedInfinispanCache();
+        when(grid.getAllAsync(anySet())).thenReturn(CompletableFuture.completedFuture(Map.of("k1", "v1")));
+        final var nearCachingCache = new HotrodCache<>(vertx, remoteCacheManager, "cache", "testKey", "testValue",
+                100, Duration.ofMinutes(1));
+        final Set<String> keys = Set.of("k1", "k2");
+
+        nearCachingCache.start()
+                .compose(ok -> nearCachingCache.getAll(keys))
+                // 2nd invocation is supposed to use the near cache
+                .compose(ok -> nearCachingCache.getAll(keys))
+                .onComplete(ctx.succeeding(result -> {
+                    ctx.verify(() -> {
+                        verify(grid).getAllAsync(keys);
+                        assertThat(result).containsExactly("k1", "v1");
+                    });
+                    ctx.completeNow();
+                }));
+    }
+
+    /**
+     * Verifies that only the keys that are not contained in the near cache are
+     * looked up in the data grid.
+     *
+     * @param ctx The vert.x text context.
+     */
+    @Test
+    void testGetAllRetrievesMissingKeysFromDataGrid(final VertxTestContext ctx) {
+        final var grid = givenAConnectedInfinispanCache();
+        when(grid.getAsync("k1")).thenReturn(CompletableFuture.completedFuture("v1"));
+        when(grid.getAllAsync(anySet())).thenReturn(CompletableFuture.completedFuture(Map.of("k2", "v2")));
+        final var nearCachingCache = new HotrodCache<>(vertx, remoteCacheManager, "cache", "testKey", "testValue",
+                100, Duration.ofMinutes(1));
+
+        nearCachingCache.start()
+                .compose(ok -> nearCachingCache.get("k1"))
+                .compose(ok -> nearCachingCache.getAll(Set.of("k1", "k2")))
+                .onComplete(ctx.succeeding(result -> {
+                    ctx.verify(() -> {
+                        verify(grid).getAllAsync(Set.of("k2"));
+                        assertThat(result).containsExactly("k1", "v1", "k2", "v2");
+                    });
+                    ctx.completeNow();
+                }));
+    }
+
+    /**
+     * Verifies that a near cache entry is invalidated when the data grid reports
+     * the entry as having been modified.
+     *
+     * @param ctx The vert.x text context.
+     */
+    @Test
+    @SuppressWarnings("unchecked")
+    void testGetRetrievesModifiedValueFromDataGrid(final VertxTestContext ctx) {
+        final var grid = givenAConnectedInfinispanCache();
+        when(grid.getAsync("k1"))
+            .thenReturn(CompletableFuture.completedFuture("v1"))
+            .thenReturn(CompletableFuture.completedFuture("v2"));
+        final var nearCachingCache = new HotrodCache<>(vertx, remoteCacheManager, "cache", "testKey", "testValue",
+                100, Duration.ofMinutes(1));
+        final ClientCacheEntryModifiedEvent<String> event = mock(ClientCacheEntryModifiedEvent.class);
+        when(event.getKey()).thenReturn("k1");
+
+        nearCachingCache.start()
+                .compose(ok -> nearCachingCache.get("k1"))
+                // 2nd invocation is supposed to use the near cache
+                .compose(ok -> nearCachingCache.get("k1"))
+                .compose(value -> {
+                    ctx.verify(() -> assertThat(value).isEqualTo("v1"));
+                    final ArgumentCaptor<Object> listener = ArgumentCaptor.forClass(Object.class);
+                    verify(grid).addClientListener(listener.capture());
+                    ((HotrodCache<String, String>.EntryChangeListener) listener.getValue())
+                        .onEntryModified(event);
+                    return nearCachingCache.get("k1");
+                })
+                .onComplete(ctx.succeeding(value -> {
+                    ctx.verify(() -> {
+                        verify(grid, times(2)).getAsync(any());
+                        assertThat(value).isEqualTo("v2");
+                    });
+                    ctx.completeNow();
+                }));
+    }
+
+    /**
+     * Verifies that the entry change handler is notified about changes reported by the data grid.
+     *
+     * @param ctx The vert.x text context.
+     */
+    @Test
+    @SuppressWarnings("unchecked")
+    void testEntryChangeHandlerIsNotifiedAboutChangedEntries(final VertxTestContext ctx) {
+        final var grid = givenAConnectedInfinispanCache();
+        final Handler<String> entryChangeHandler = mock(Handler.class);
+        final ClientCacheEntryModifiedEvent<String> event = mock(ClientCacheEntryModifiedEvent.class);
+        when(event.getKey()).thenReturn("k1");
+        cache.setEntryChangeHandler(entryChangeHandler);
+
+        cache.start()
+                .onComplete(ctx.succeeding(ok -> {
+                    ctx.verify(() -> {
+                        // changes might have been missed while not being connected
+                        verify(entryChangeHandler).handle(null);
+                        final ArgumentCaptor<Object> listener = ArgumentCaptor.forClass(Object.class);
+                        verify(grid).addClientListener(listener.capture());
+                        ((HotrodCache<String, String>.EntryChangeListener) listener.getValue())
+                            .onEntryModified(event);
+                        verify(entryChangeHandler).handle("k1");
+                    });
+                    ctx.completeNow();
+                }));
+    }
 }
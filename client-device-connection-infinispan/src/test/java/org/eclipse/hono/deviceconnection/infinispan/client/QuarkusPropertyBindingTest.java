@@ -15,6 +15,7 @@ package org.eclipse.hono.deviceconnection.infinispan.client;
 
 import static com.google.common.truth.Truth.assertThat;
 
+import java.time.Duration;
 import java.util.List;
 
 import javax.security.sasl.Sasl;
@@ -91,5 +92,7 @@ public class QuarkusPropertyBindingTest {
         assertThat(remoteCacheConfig.getTrustStorePassword()).isEqualTo("trust-store-secret");
         assertThat(remoteCacheConfig.getUseSSL()).isTrue();
         assertThat(remoteCacheConfig.getSSLCiphers()).isEqualTo("TLS_AES_128_GCM_SHA256 TLS_AES_256_GCM_SHA384 TLS_CHACHA20_POLY1305_SHA256");
+        assertThat(remoteCacheConfig.getNearCacheMaxEntries()).isEqualTo(10000);
+        assertThat(remoteCacheConfig.getNearCacheMaxAge()).isEqualTo(Duration.ofSeconds(30));
     }
 }
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2016, 2021 Contributors to the Eclipse Foundation
+ * Copyright (c) 2016, 2022 Contributors to the Eclipse Foundation
  *
  * See the NOTICE file(s) distributed with this work for additional
  * information regarding copyright ownership.
@@ -18,8 +18,13 @@ import java.util.HashMap;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Function;
 import java.util.function.Predicate;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 import org.apache.qpid.proton.amqp.messaging.ApplicationProperties;
@@ -42,6 +47,7 @@ import io.opentracing.Span;
 import io.opentracing.tag.Tags;
 import io.vertx.core.Future;
 import io.vertx.core.Handler;
+import io.vertx.core.Promise;
 import io.vertx.core.buffer.Buffer;
 
 /**
@@ -55,6 +61,13 @@ import io.vertx.core.buffer.Buffer;
  */
 public abstract class AbstractRequestResponseServiceClient<T, R extends RequestResponseResult<T>> extends AbstractServiceClient {
 
+    /**
+     * The number of (potentially stale) entries the response cache index may contain
+     * in addition to twice the number of entries in the response cache before stale
+     * entries get removed from the index.
+     */
+    private static final int RESPONSE_CACHE_INDEX_SLACK = 1000;
+
     private static final int[] CACHEABLE_STATUS_CODES = new int[] {
                             HttpURLConnection.HTTP_OK,
                             HttpURLConnection.HTTP_NOT_AUTHORITATIVE,
@@ -72,6 +85,20 @@ public abstract class AbstractRequestResponseServiceClient<T, R extends RequestR
      * A cache to use for responses received from the service.
      */
     private final Cache<Object, R> responseCache;
+    /**
+     * The requests that have been sent to the service but for which no response has been received yet.
+     */
+    private final Map<Object, Future<R>> pendingRequests = new ConcurrentHashMap<>();
+    /**
+     * An index of the keys of the responses that this client has put to the cache.
+     * <p>
+     * Maps index keys (e.g. a tenant) to the cache keys of the responses related to them,
+     * so that the responses affected by a change can be removed from the cache without
+     * scanning all of its entries.
+     */
+    private final Map<Object, Set<Object>> responseCacheIndex = new ConcurrentHashMap<>();
+    private final AtomicInteger indexedResponseCount = new AtomicInteger();
+    private final AtomicBoolean indexCleanupRunning = new AtomicBoolean(false);
 
     /**
      * Creates a request-response client.
@@ -242,28 +269,65 @@ public abstract class AbstractRequestResponseServiceClient<T, R extends RequestR
      * Gets a response from the cache.
      * <p>
      * Sets a tag on the given span according to whether there was a cache hit.
+     * <p>
+     * A cache miss is indicated by means of a {@code null} return value so that neither
+     * a future nor an exception needs to be created for looking up a response.
      *
      * @param key The key to get the response for.
      * @param currentSpan The span to mark (may be {@code null}).
-     * @return A succeeded future containing the response from the cache
-     *         or a failed future if no response exists for the key
-     *         or the response is expired.
+     * @return The response from the cache or {@code null} if no cache is configured,
+     *         no response exists for the key or the response is expired.
      * @throws NullPointerException if key is {@code null}.
      */
-    protected Future<R> getResponseFromCache(final Object key, final Span currentSpan) {
+    protected final R getResponseFromCache(final Object key, final Span currentSpan) {
 
         Objects.requireNonNull(key);
 
-        if (isCachingEnabled()) {
-            final R result = responseCache.getIfPresent(key);
+        final R result = isCachingEnabled() ? responseCache.getIfPresent(key) : null;
+        if (currentSpan != null) {
             TracingHelper.TAG_CACHE_HIT.set(currentSpan, result != null);
-            return Optional.ofNullable(result)
-                    .map(Future::succeededFuture)
-                    .orElse(Future.failedFuture("cache miss"));
-        } else {
-            TracingHelper.TAG_CACHE_HIT.set(currentSpan, Boolean.FALSE);
-            return Future.failedFuture(new IllegalStateException("no cache configured"));
         }
+        return result;
+    }
+
+    /**
+     * Sends a request to the service unless a request for the same key is already pending.
+     * <p>
+     * Concurrent invocations of this method with equal keys share the outcome of a single
+     * request. This prevents identical requests from being sent to the service in large
+     * numbers, e.g. when many devices of the same tenant try to connect after the
+     * cached responses have expired.
+     *
+     * @param key The key identifying the request, usually the response cache key.
+     * @param serviceRequest The supplier of the request to send to the service.
+     * @param responseHandler The handler to invoke with a response that has been received from
+     *                        the service before the pending request is being removed, e.g. for
+     *                        adding the response to the cache.
+     * @return A future indicating the outcome of the (shared) request.
+     * @throws NullPointerException if any of the parameters is {@code null}.
+     */
+    protected final Future<R> executeOrUsePendingRequest(
+            final Object key,
+            final Supplier<Future<R>> serviceRequest,
+            final Handler<R> responseHandler) {
+
+        Objects.requireNonNull(key);
+        Objects.requireNonNull(serviceRequest);
+        Objects.requireNonNull(responseHandler);
+
+        final Promise<R> resultPromise = Promise.promise();
+        Optional.ofNullable(pendingRequests.putIfAbsent(key, resultPromise.future()))
+                .ifPresentOrElse(
+                        // pending request exists - complete the result promise with its result
+                        pendingRequest -> pendingRequest.onComplete(resultPromise),
+                        // otherwise execute the request
+                        () -> serviceRequest.get()
+                                // make sure to process the response (e.g. put it to the cache)
+                                .onSuccess(responseHandler)
+                                // and again remove the result promise so that a subsequent request will be executed again
+                                .onComplete(ar -> pendingRequests.remove(key))
+                                .onComplete(resultPromise));
+        return resultPromise.future();
     }
 
     /**
@@ -281,25 +345,78 @@ public abstract class AbstractRequestResponseServiceClient<T, R extends RequestR
      * It is the cache implementation's responsibility to evict entries after a reasonable amount
      * of time. The maxAge property of the cache directive contained in a response should be
      * considered when determining the concrete amount of time.
+     * <p>
+     * The key of a response that has been put to the cache is also added to the index
+     * entries for the given index keys. The response can then be removed from the cache
+     * by means of {@link #removeFromCacheByIndexKey(Object)}.
      *
      * @param key The key to use for the response.
      * @param response The response to put to the cache.
+     * @param indexKeys The keys of the index entries to add the response's key to.
      * @throws NullPointerException if any of the parameters is {@code null}.
      */
-    protected final void addToCache(final Object key, final R response) {
+    protected final void addToCache(final Object key, final R response, final Object... indexKeys) {
 
         if (isCachingEnabled()) {
 
             Objects.requireNonNull(key);
             Objects.requireNonNull(response);
+            Objects.requireNonNull(indexKeys);
 
             final boolean resultCanBeCached = Optional.ofNullable(response.getCacheDirective())
                     .map(directive -> directive.isCachingAllowed())
                     .orElse(isCacheableStatusCode(response.getStatus()));
 
             if (resultCanBeCached) {
+                // put the response first so that a concurrent removal of stale index entries
+                // does not consider the new index entries to be stale
                 responseCache.put(key, response);
+                for (final Object indexKey : indexKeys) {
+                    addToResponseCacheIndex(indexKey, key);
+                }
+                if (indexKeys.length > 0) {
+                    removeStaleIndexEntriesIfNecessary();
+                }
+            }
+        }
+    }
+
+    private void addToResponseCacheIndex(final Object indexKey, final Object key) {
+        responseCacheIndex.compute(indexKey, (k, keys) -> {
+            final Set<Object> result = Optional.ofNullable(keys).orElseGet(ConcurrentHashMap::newKeySet);
+            if (result.add(key)) {
+                indexedResponseCount.incrementAndGet();
             }
+            return result;
+        });
+    }
+
+    /**
+     * Removes index entries for responses that are no longer contained in the cache,
+     * e.g. because they have expired or have been evicted.
+     * <p>
+     * This is done on a worker thread once the number of indexed keys considerably exceeds
+     * the number of entries in the cache.
+     */
+    private void removeStaleIndexEntriesIfNecessary() {
+
+        final long maxIndexedResponses = 2 * responseCache.estimatedSize() + RESPONSE_CACHE_INDEX_SLACK;
+        if (indexedResponseCount.get() > maxIndexedResponses && indexCleanupRunning.compareAndSet(false, true)) {
+
+            connection.getVertx().executeBlocking(p -> {
+                final var cachedResponses = responseCache.asMap();
+                responseCacheIndex.keySet().forEach(indexKey -> responseCacheIndex.computeIfPresent(
+                        indexKey,
+                        (k, keys) -> {
+                            final int sizeBefore = keys.size();
+                            keys.removeIf(key -> !cachedResponses.containsKey(key));
+                            indexedResponseCount.addAndGet(keys.size() - sizeBefore);
+                            return keys.isEmpty() ? null : keys;
+                        }));
+                log.debug("removed stale entries from response cache index [remaining entries: {}]",
+                        indexedResponseCount.get());
+                p.complete();
+            }, false, r -> indexCleanupRunning.set(false));
         }
     }
 
@@ -318,6 +435,31 @@ public abstract class AbstractRequestResponseServiceClient<T, R extends RequestR
         }
     }
 
+    /**
+     * Removes all responses from the cache that have been added with a given index key.
+     * <p>
+     * In contrast to {@link #removeFromCacheByPattern(Predicate)}, this method does not need to
+     * scan all entries of the cache and is therefore executed on the current thread.
+     * <p>
+     * If no cache is configured then this method does nothing.
+     *
+     * @param indexKey The index key.
+     * @throws NullPointerException if index key is {@code null}.
+     * @see #addToCache(Object, RequestResponseResult, Object...)
+     */
+    protected final void removeFromCacheByIndexKey(final Object indexKey) {
+        if (isCachingEnabled()) {
+            Objects.requireNonNull(indexKey);
+
+            final Set<Object> matchingKeys = responseCacheIndex.remove(indexKey);
+            if (matchingKeys != null) {
+                indexedResponseCount.addAndGet(-matchingKeys.size());
+                log.debug("removing {} responses from the cache", matchingKeys.size());
+                responseCache.invalidateAll(matchingKeys);
+            }
+        }
+    }
+
     /**
      * Removes responses from the cache where the keys match the given predicate.
      * <p>
@@ -353,17 +495,27 @@ public abstract class AbstractRequestResponseServiceClient<T, R extends RequestR
      * Makes sure that the given Span is finished when the given Future is completed.
      * Also sets the {@code Tags.HTTP_STATUS} tag on the span and logs error information if there was an error.
      *
+     * @param <V> The type of the mapped result.
      * @param result The Future supplying the <em>RequestResponseResult</em> that the mapper will be applied on.
      * @param resultMapper The mapper function.
      * @param currentSpan The OpenTracing Span to use.
      * @return The Future with the result of applying the mapping function or with the error from the given Future.
      * @throws NullPointerException if either of the parameters is {@code null}.
      */
-    protected final Future<T> mapResultAndFinishSpan(
+    protected final <V> Future<V> mapResultAndFinishSpan(
             final Future<R> result,
-            final Function<R, T> resultMapper,
+            final Function<R, V> resultMapper,
             final Span currentSpan) {
 
+        Objects.requireNonNull(result);
+        Objects.requireNonNull(resultMapper);
+        Objects.requireNonNull(currentSpan);
+
+        if (result.succeeded()) {
+            // no need to create intermediate futures for a result that is already available
+            return mapResultAndFinishSpan(result.result(), resultMapper, currentSpan);
+        }
+
         return result.recover(t -> {
             Tags.HTTP_STATUS.set(currentSpan, ServiceInvocationException.extractStatusCode(t));
             TracingHelper.logError(currentSpan, t);
@@ -374,6 +526,37 @@ public abstract class AbstractRequestResponseServiceClient<T, R extends RequestR
         }).onComplete(o -> currentSpan.finish());
     }
 
+    /**
+     * Applies the given mapper function to a result that is already available, e.g. from the cache.
+     * <p>
+     * Makes sure that the given Span is finished and sets the {@code Tags.HTTP_STATUS} tag on the span.
+     *
+     * @param <V> The type of the mapped result.
+     * @param result The result that the mapper will be applied on.
+     * @param resultMapper The mapper function.
+     * @param currentSpan The OpenTracing Span to use.
+     * @return A succeeded future containing the result of applying the mapping function or a
+     *         failed future containing the error thrown by the mapping function.
+     * @throws NullPointerException if mapper or span are {@code null}.
+     */
+    protected final <V> Future<V> mapResultAndFinishSpan(
+            final R result,
+            final Function<R, V> resultMapper,
+            final Span currentSpan) {
+
+        Objects.requireNonNull(resultMapper);
+        Objects.requireNonNull(currentSpan);
+
+        try {
+            setTagsForResult(currentSpan, result);
+            return Future.succeededFuture(resultMapper.apply(result));
+        } catch (final RuntimeException e) {
+            return Future.failedFuture(e);
+        } finally {
+            currentSpan.finish();
+        }
+    }
+
     /**
      * Sets the necessary Opentracing tags for the given request response result.
      *
@@ -406,4 +589,69 @@ public abstract class AbstractRequestResponseServiceClient<T, R extends RequestR
         properties.put(MessageHelper.APP_PROPERTY_DEVICE_ID, deviceId);
         return properties;
     }
+
+    /**
+     * A key for the index of cached responses.
+     * <p>
+     * Identifies either all responses related to a tenant or all responses related
+     * to a particular device of a tenant.
+     */
+    protected static final class CacheIndexKey {
+
+        private final String tenantId;
+        private final String deviceId;
+
+        private CacheIndexKey(final String tenantId, final String deviceId) {
+            this.tenantId = Objects.requireNonNull(tenantId);
+            this.deviceId = deviceId;
+        }
+
+        /**
+         * Creates a key for the responses related to a tenant.
+         *
+         * @param tenantId The tenant identifier.
+         * @return The key.
+         * @throws NullPointerException if tenant ID is {@code null}.
+         */
+        public static CacheIndexKey forTenant(final String tenantId) {
+            return new CacheIndexKey(tenantId, null);
+        }
+
+        /**
+         * Creates a key for the responses related to a device.
+         *
+         * @param tenantId The tenant that the device belongs to.
+         * @param deviceId The device identifier.
+         * @return The key.
+         * @throws NullPointerException if any of the parameters is {@code null}.
+         */
+        public static CacheIndexKey forDevice(final String tenantId, final String deviceId) {
+            return new CacheIndexKey(tenantId, Objects.requireNonNull(deviceId));
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            final CacheIndexKey other = (CacheIndexKey) o;
+            return tenantId.equals(other.tenantId) && Objects.equals(deviceId, other.deviceId);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(tenantId, deviceId);
+        }
+
+        @Override
+        public String toString() {
+            return "CacheIndexKey{" +
+                    "tenantId='" + tenantId + '\'' +
+                    ", deviceId='" + deviceId + '\'' +
+                    '}';
+        }
+    }
 }
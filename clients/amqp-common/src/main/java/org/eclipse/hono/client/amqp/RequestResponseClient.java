@@ -41,6 +41,7 @@ import org.eclipse.hono.client.amqp.connection.SendMessageSampler;
 import org.eclipse.hono.tracing.TracingHelper;
 import org.eclipse.hono.util.MessageHelper;
 import org.eclipse.hono.util.RequestResponseResult;
+import org.eclipse.hono.util.TimingWheel;
 import org.eclipse.hono.util.TriTuple;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -693,12 +694,14 @@ public class RequestResponseClient<R extends RequestResponseResult<?>> extends A
                     }
                 });
                 if (requestTimeoutMillis > 0) {
-                    connection.getVertx().setTimer(requestTimeoutMillis, tid -> {
+                    final TimingWheel.Timeout timeout = TimingWheel.setTimeout(connection.getVertx(), requestTimeoutMillis, v -> {
                         if (cancelRequest(correlationId, () -> new ServerErrorException(
                                 HttpURLConnection.HTTP_UNAVAILABLE, "request timed out after " + requestTimeoutMillis + "ms"))) {
                             sample.timeout();
                         }
                     });
+                    // most requests get answered in time, so release the timeout right away
+                    res.future().onComplete(r -> timeout.cancel());
                 }
                 if (LOG.isDebugEnabled()) {
                     final String deviceId = AmqpUtils.getDeviceId(request);
@@ -15,15 +15,24 @@
 package org.eclipse.hono.client.amqp;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import static com.google.common.truth.Truth.assertThat;
+
 import java.time.Duration;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import org.apache.qpid.proton.amqp.messaging.ApplicationProperties;
 import org.eclipse.hono.client.amqp.config.RequestResponseClientConfigProperties;
@@ -31,14 +40,19 @@ import org.eclipse.hono.client.amqp.connection.HonoConnection;
 import org.eclipse.hono.client.amqp.connection.SendMessageSampler;
 import org.eclipse.hono.client.amqp.test.AmqpClientUnitTestHelper;
 import org.eclipse.hono.client.util.CachingClientFactory;
+import org.eclipse.hono.test.TracingMockSupport;
 import org.eclipse.hono.test.VertxMockSupport;
+import org.eclipse.hono.tracing.TracingHelper;
 import org.eclipse.hono.util.CacheDirective;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import com.github.benmanes.caffeine.cache.Cache;
 
+import io.opentracing.Span;
 import io.vertx.core.Future;
+import io.vertx.core.Handler;
+import io.vertx.core.Promise;
 import io.vertx.core.Vertx;
 import io.vertx.core.buffer.Buffer;
 
@@ -116,6 +130,44 @@ class AbstractRequestResponseServiceClientTest {
         verify(connection).shutdown(VertxMockSupport.anyHandler());
     }
 
+    /**
+     * Verifies that a response is taken from the cache and that the span is
+     * marked as a cache hit.
+     */
+    @Test
+    public void testGetResponseFromCacheReturnsCachedResponse() {
+
+        // GIVEN a cache containing a response
+        final var response = SimpleRequestResponseResult.from(200, Buffer.buffer("ok"), null, null);
+        when(cache.getIfPresent("key")).thenReturn(response);
+        final Span span = TracingMockSupport.mockSpan();
+
+        // WHEN looking up the response
+        // THEN the cached response is returned
+        assertThat(client.getResponseFromCache("key", span)).isSameInstanceAs(response);
+        // and the span is marked as a cache hit
+        verify(span).setTag(TracingHelper.TAG_CACHE_HIT.getKey(), true);
+    }
+
+    /**
+     * Verifies that a cache miss is signaled by means of a {@code null} return value
+     * and that the span is marked accordingly.
+     */
+    @Test
+    public void testGetResponseFromCacheReturnsNullOnCacheMiss() {
+
+        // GIVEN an empty cache
+        final Span span = TracingMockSupport.mockSpan();
+
+        // WHEN looking up a response
+        // THEN no response is returned
+        assertThat(client.getResponseFromCache("key", span)).isNull();
+        // and the span is marked as a cache miss
+        verify(span).setTag(TracingHelper.TAG_CACHE_HIT.getKey(), false);
+        // and a span is not required for looking up a response
+        assertThat(client.getResponseFromCache("key", null)).isNull();
+    }
+
     /**
      * Verifies that the client puts a response from a service to the cache
      * using the default cache timeout if the response does not contain a
@@ -201,4 +253,92 @@ class AbstractRequestResponseServiceClientTest {
         // THEN the response is not put to the cache
         verify(cache, never()).put(anyString(), any(SimpleRequestResponseResult.class));
     }
+
+    /**
+     * Verifies that the client removes only those responses from the cache that
+     * have been added using the index key that the removal is requested for.
+     */
+    @Test
+    public void testRemoveFromCacheByIndexKeyRemovesIndexedResponses() {
+
+        final var response = SimpleRequestResponseResult.from(
+                200,
+                Buffer.buffer("ok"),
+                null,
+                null);
+
+        // GIVEN responses for devices of two tenants in the cache
+        client.addToCache(
+                "key1",
+                response,
+                AbstractRequestResponseServiceClient.CacheIndexKey.forTenant("tenant"),
+                AbstractRequestResponseServiceClient.CacheIndexKey.forDevice("tenant", "device1"));
+        client.addToCache(
+                "key2",
+                response,
+                AbstractRequestResponseServiceClient.CacheIndexKey.forTenant("tenant"),
+                AbstractRequestResponseServiceClient.CacheIndexKey.forDevice("tenant", "device2"));
+        client.addToCache(
+                "key3",
+                response,
+                AbstractRequestResponseServiceClient.CacheIndexKey.forTenant("other-tenant"),
+                AbstractRequestResponseServiceClient.CacheIndexKey.forDevice("other-tenant", "device1"));
+
+        // WHEN removing the responses for one of the devices
+        client.removeFromCacheByIndexKey(AbstractRequestResponseServiceClient.CacheIndexKey.forDevice("tenant", "device1"));
+        // THEN only the device's response is removed from the cache
+        verify(cache).invalidateAll(Set.of("key1"));
+
+        // and WHEN removing all responses for the tenant
+        client.removeFromCacheByIndexKey(AbstractRequestResponseServiceClient.CacheIndexKey.forTenant("tenant"));
+        // THEN the responses of the tenant's devices are removed but not those of the other tenant
+        verify(cache).invalidateAll(Set.of("key1", "key2"));
+
+        // and WHEN removing the tenant's responses again
+        client.removeFromCacheByIndexKey(AbstractRequestResponseServiceClient.CacheIndexKey.forTenant("tenant"));
+        // THEN the cache is not accessed anymore
+        verify(cache, times(2)).invalidateAll(any());
+    }
+
+    /**
+     * Verifies that the removal of stale index entries, running while a response is being added
+     * to the cache, does not remove the index entries of the response being added.
+     */
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testRemoveStaleIndexEntriesKeepsEntriesOfResponseBeingAdded() {
+
+        final var response = SimpleRequestResponseResult.from(200, Buffer.buffer("ok"), null, null);
+        final ConcurrentMap<Object, SimpleRequestResponseResult> cachedResponses = new ConcurrentHashMap<>();
+        when(cache.asMap()).thenReturn(cachedResponses);
+        doAnswer(invocation -> {
+            final Object key = invocation.getArgument(0);
+            if ("key".equals(key)) {
+                // another response is added concurrently, which triggers the removal of stale index entries
+                client.addToCache("other-key", response, AbstractRequestResponseServiceClient.CacheIndexKey.forTenant("tenant"));
+            }
+            cachedResponses.put(key, invocation.getArgument(1));
+            return null;
+        }).when(cache).put(any(), any());
+        doAnswer(invocation -> {
+            final Promise<Void> result = Promise.promise();
+            invocation.getArgument(0, Handler.class).handle(result);
+            invocation.getArgument(2, Handler.class).handle(result.future());
+            return null;
+        }).when(vertx).executeBlocking(VertxMockSupport.anyHandler(), anyBoolean(), VertxMockSupport.anyHandler());
+
+        // GIVEN a cache with as many indexed responses as can be indexed without removing stale index entries
+        for (int i = 0; i < 1000; i++) {
+            client.addToCache("key" + i, response, AbstractRequestResponseServiceClient.CacheIndexKey.forTenant("tenant"));
+        }
+        verify(vertx, never()).executeBlocking(VertxMockSupport.anyHandler(), anyBoolean(), VertxMockSupport.anyHandler());
+
+        // WHEN adding a response while stale index entries are being removed
+        client.addToCache("key", response, AbstractRequestResponseServiceClient.CacheIndexKey.forDevice("tenant", "device"));
+        verify(vertx, atLeastOnce()).executeBlocking(VertxMockSupport.anyHandler(), anyBoolean(), VertxMockSupport.anyHandler());
+
+        // THEN the response can still be removed by means of its index key
+        client.removeFromCacheByIndexKey(AbstractRequestResponseServiceClient.CacheIndexKey.forDevice("tenant", "device"));
+        verify(cache).invalidateAll(Set.of("key"));
+    }
 }
@@ -13,6 +13,9 @@
 
 package org.eclipse.hono.application.client.kafka;
 
+import java.util.Set;
+import java.util.regex.Pattern;
+
 import org.eclipse.hono.application.client.ApplicationClient;
 import org.eclipse.hono.application.client.DownstreamMessage;
 import org.eclipse.hono.application.client.MessageConsumer;
@@ -59,6 +62,94 @@ public interface KafkaApplicationClient extends ApplicationClient<KafkaMessageCo
             Handler<DownstreamMessage<KafkaMessageContext>> messageHandler,
             Handler<Throwable> closeHandler);
 
+    /**
+     * Creates a client for consuming data of multiple tenants from Hono's north bound <em>Telemetry API</em>.
+     * <p>
+     * In contrast to {@link #createTelemetryConsumer(String, Handler, Handler)}, the returned client uses
+     * a single Kafka consumer that subscribes to the telemetry topics of all tenants matching the given pattern.
+     * Handlers for the messages of individual tenants can be registered using
+     * {@link MultiTenantMessageConsumer#addTenant(String, Handler)}. All other messages are passed
+     * to the given message handler.
+     *
+     * @param tenantIdPattern The pattern that the identifiers of the tenants to consume data for match.
+     * @param messageHandler The handler to invoke with every message received for a tenant that no
+     *                       specific handler has been registered for.
+     * @param closeHandler The handler invoked when the consumer is closed due to an error.
+     * @return A future that will complete with the consumer once it is ready. The future will fail if the consumer
+     *         cannot be started.
+     * @throws NullPointerException if tenant ID pattern or message handler are {@code null}.
+     */
+    Future<MultiTenantMessageConsumer> createMultiTenantTelemetryConsumer(
+            Pattern tenantIdPattern,
+            Handler<DownstreamMessage<KafkaMessageContext>> messageHandler,
+            Handler<Throwable> closeHandler);
+
+    /**
+     * Creates a client for consuming data of a set of tenants from Hono's north bound <em>Telemetry API</em>.
+     * <p>
+     * The returned client uses a single Kafka consumer that subscribes to the telemetry topics of the given
+     * tenants. Handlers for the messages of individual tenants can be registered using
+     * {@link MultiTenantMessageConsumer#addTenant(String, Handler)}, which only accepts
+     * the given tenants. All other messages are passed to the given message handler.
+     *
+     * @param tenantIds The tenants to consume data for.
+     * @param messageHandler The handler to invoke with every message received for a tenant that no
+     *                       specific handler has been registered for.
+     * @param closeHandler The handler invoked when the consumer is closed due to an error.
+     * @return A future that will complete with the consumer once it is ready. The future will fail if the consumer
+     *         cannot be started.
+     * @throws NullPointerException if tenant IDs or message handler are {@code null}.
+     * @throws IllegalArgumentException if tenant IDs is empty.
+     */
+    Future<MultiTenantMessageConsumer> createMultiTenantTelemetryConsumer(
+            Set<String> tenantIds,
+            Handler<DownstreamMessage<KafkaMessageContext>> messageHandler,
+            Handler<Throwable> closeHandler);
+
+    /**
+     * Creates a client for consuming events of multiple tenants from Hono's north bound <em>Event API</em>.
+     * <p>
+     * In contrast to {@link #createEventConsumer(String, Handler, Handler)}, the returned client uses
+     * a single Kafka consumer that subscribes to the event topics of all tenants matching the given pattern.
+     * Handlers for the messages of individual tenants can be registered using
+     * {@link MultiTenantMessageConsumer#addTenant(String, Handler)}. All other messages are passed
+     * to the given message handler.
+     *
+     * @param tenantIdPattern The pattern that the identifiers of the tenants to consume events for match.
+     * @param messageHandler The handler to invoke with every message received for a tenant that no
+     *                       specific handler has been registered for.
+     * @param closeHandler The handler invoked when the consumer is closed due to an error.
+     * @return A future that will complete with the consumer once it is ready. The future will fail if the consumer
+     *         cannot be started.
+     * @throws NullPointerException if tenant ID pattern or message handler are {@code null}.
+     */
+    Future<MultiTenantMessageConsumer> createMultiTenantEventConsumer(
+            Pattern tenantIdPattern,
+            Handler<DownstreamMessage<KafkaMessageContext>> messageHandler,
+            Handler<Throwable> closeHandler);
+
+    /**
+     * Creates a client for consuming events of a set of tenants from Hono's north bound <em>Event API</em>.
+     * <p>
+     * The returned client uses a single Kafka consumer that subscribes to the event topics of the given
+     * tenants. Handlers for the messages of individual tenants can be registered using
+     * {@link MultiTenantMessageConsumer#addTenant(String, Handler)}, which only accepts
+     * the given tenants. All other messages are passed to the given message handler.
+     *
+     * @param tenantIds The tenants to consume events for.
+     * @param messageHandler The handler to invoke with every message received for a tenant that no
+     *                       specific handler has been registered for.
+     * @param closeHandler The handler invoked when the consumer is closed due to an error.
+     * @return A future that will complete with the consumer once it is ready. The future will fail if the consumer
+     *         cannot be started.
+     * @throws NullPointerException if tenant IDs or message handler are {@code null}.
+     * @throws IllegalArgumentException if tenant IDs is empty.
+     */
+    Future<MultiTenantMessageConsumer> createMultiTenantEventConsumer(
+            Set<String> tenantIds,
+            Handler<DownstreamMessage<KafkaMessageContext>> messageHandler,
+            Handler<Throwable> closeHandler);
+
     /**
      * Adds a handler to be invoked with a succeeded future once this client is ready to be used.
      * This may be when the {@link #start()} result future is completed or some time afterwards.
@@ -0,0 +1,62 @@
+/*
+ * Copyright (c) 2022 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+
+package org.eclipse.hono.application.client.kafka;
+
+import org.eclipse.hono.application.client.DownstreamMessage;
+import org.eclipse.hono.application.client.MessageConsumer;
+
+import io.vertx.core.Future;
+import io.vertx.core.Handler;
+
+/**
+ * A client that consumes messages of multiple tenants from one of Hono's north bound APIs
+ * using a single Kafka consumer.
+ * <p>
+ * The consumer subscribes to all topics that match the tenant identifier pattern it has been created
+ * with. Received messages are dispatched to the handler registered for the message's tenant.
+ * Messages of tenants that no handler has been registered for are passed to the message handler
+ * that the consumer has been created with, so that no messages are lost, e.g. if they are received
+ * before a tenant's handler has been registered.
+ */
+public interface MultiTenantMessageConsumer extends MessageConsumer {
+
+    /**
+     * Registers a handler for the messages of a tenant.
+     * <p>
+     * An existing handler for the tenant is replaced.
+     *
+     * @param tenantId The tenant to consume messages for.
+     * @param messageHandler The handler to invoke with every message received for the tenant.
+     * @return A future indicating the outcome of the operation.
+     *         The future will be succeeded once the tenant's topic is among the topics that the consumer
+     *         is subscribed to. Otherwise the future will be failed with a
+     *         {@link org.eclipse.hono.client.ServerErrorException} and the handler is not registered.
+     * @throws NullPointerException if any of the parameters are {@code null}.
+     * @throws IllegalArgumentException if the tenant identifier does not match the pattern that
+     *                                  the consumer has been created with.
+     */
+    Future<Void> addTenant(String tenantId, Handler<DownstreamMessage<KafkaMessageContext>> messageHandler);
+
+    /**
+     * Removes the handler for the messages of a tenant.
+     * <p>
+     * Messages of the tenant received afterwards are passed to the message handler that the
+     * consumer has been created with.
+     *
+     * @param tenantId The tenant to stop consuming messages for.
+     * @return {@code true} if a handler had been registered for the tenant.
+     * @throws NullPointerException if tenant ID is {@code null}.
+     */
+    boolean removeTenant(String tenantId);
+}
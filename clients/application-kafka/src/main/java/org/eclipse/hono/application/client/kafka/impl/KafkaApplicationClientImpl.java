@@ -16,17 +16,22 @@ package org.eclipse.hono.application.client.kafka.impl;
 import java.time.Duration;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
 import java.util.function.Supplier;
+import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
 import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.consumer.CooperativeStickyAssignor;
 import org.eclipse.hono.application.client.DownstreamMessage;
 import org.eclipse.hono.application.client.MessageConsumer;
 import org.eclipse.hono.application.client.kafka.KafkaApplicationClient;
 import org.eclipse.hono.application.client.kafka.KafkaMessageContext;
+import org.eclipse.hono.application.client.kafka.MultiTenantMessageConsumer;
 import org.eclipse.hono.client.kafka.HonoTopic;
 import org.eclipse.hono.client.kafka.consumer.HonoKafkaConsumer;
 import org.eclipse.hono.client.kafka.consumer.MessagingKafkaConsumerConfigProperties;
@@ -137,6 +142,42 @@ public class KafkaApplicationClientImpl extends KafkaBasedCommandSender implemen
         return createKafkaBasedDownstreamMessageConsumer(tenantId, HonoTopic.Type.EVENT, messageHandler);
     }
 
+    @Override
+    public Future<MultiTenantMessageConsumer> createMultiTenantTelemetryConsumer(
+            final Pattern tenantIdPattern,
+            final Handler<DownstreamMessage<KafkaMessageContext>> messageHandler,
+            final Handler<Throwable> closeHandler) {
+
+        return createKafkaBasedMultiTenantMessageConsumer(tenantIdPattern, HonoTopic.Type.TELEMETRY, messageHandler);
+    }
+
+    @Override
+    public Future<MultiTenantMessageConsumer> createMultiTenantTelemetryConsumer(
+            final Set<String> tenantIds,
+            final Handler<DownstreamMessage<KafkaMessageContext>> messageHandler,
+            final Handler<Throwable> closeHandler) {
+
+        return createKafkaBasedMultiTenantMessageConsumer(getTenantIdPattern(tenantIds), HonoTopic.Type.TELEMETRY, messageHandler);
+    }
+
+    @Override
+    public Future<MultiTenantMessageConsumer> createMultiTenantEventConsumer(
+            final Pattern tenantIdPattern,
+            final Handler<DownstreamMessage<KafkaMessageContext>> messageHandler,
+            final Handler<Throwable> closeHandler) {
+
+        return createKafkaBasedMultiTenantMessageConsumer(tenantIdPattern, HonoTopic.Type.EVENT, messageHandler);
+    }
+
+    @Override
+    public Future<MultiTenantMessageConsumer> createMultiTenantEventConsumer(
+            final Set<String> tenantIds,
+            final Handler<DownstreamMessage<KafkaMessageContext>> messageHandler,
+            final Handler<Throwable> closeHandler) {
+
+        return createKafkaBasedMultiTenantMessageConsumer(getTenantIdPattern(tenantIds), HonoTopic.Type.EVENT, messageHandler);
+    }
+
     /**
      * {@inheritDoc}
      *
@@ -160,6 +201,44 @@ public class KafkaApplicationClientImpl extends KafkaBasedCommandSender implemen
     }
 
 
+    private static Pattern getTenantIdPattern(final Set<String> tenantIds) {
+        Objects.requireNonNull(tenantIds);
+        if (tenantIds.isEmpty()) {
+            throw new IllegalArgumentException("tenant IDs must not be empty");
+        }
+        return Pattern.compile(tenantIds.stream()
+                .map(Pattern::quote)
+                .collect(Collectors.joining("|")));
+    }
+
+    private Future<MultiTenantMessageConsumer> createKafkaBasedMultiTenantMessageConsumer(
+            final Pattern tenantIdPattern,
+            final HonoTopic.Type type,
+            final Handler<DownstreamMessage<KafkaMessageContext>> messageHandler) {
+
+        Objects.requireNonNull(tenantIdPattern);
+        Objects.requireNonNull(messageHandler);
+
+        final Map<String, String> config = consumerConfig.getConsumerConfig(type.toString());
+        // let partitions of newly subscribed topics be assigned without revoking the partitions of all other topics
+        config.putIfAbsent(ConsumerConfig.PARTITION_ASSIGNMENT_STRATEGY_CONFIG, CooperativeStickyAssignor.class.getName());
+
+        final KafkaMultiTenantMessageConsumer multiTenantConsumer = new KafkaMultiTenantMessageConsumer(
+                type,
+                tenantIdPattern,
+                messageHandler,
+                (topicPattern, recordHandler) -> {
+                    final HonoKafkaConsumer<Buffer> consumer = new HonoKafkaConsumer<>(vertx, topicPattern,
+                            recordHandler, config);
+                    consumer.setPollTimeout(Duration.ofMillis(consumerConfig.getPollTimeout()));
+                    Optional.ofNullable(kafkaConsumerSupplier)
+                            .ifPresent(consumer::setKafkaConsumerSupplier);
+                    return consumer;
+                });
+        return multiTenantConsumer.start(Promise.promise())
+                .onSuccess(consumersToCloseOnStop::add);
+    }
+
     private Future<MessageConsumer> createKafkaBasedDownstreamMessageConsumer(
             final String tenantId,
             final HonoTopic.Type type,
@@ -15,18 +15,18 @@ package org.eclipse.hono.application.client.kafka.impl;
 import java.net.HttpURLConnection;
 import java.time.Duration;
 import java.util.HashMap;
-import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
-import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Supplier;
-import java.util.stream.Collectors;
+import java.util.regex.Pattern;
 
 import org.apache.kafka.clients.consumer.Consumer;
 import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.consumer.CooperativeStickyAssignor;
 import org.eclipse.hono.application.client.DownstreamMessage;
 import org.eclipse.hono.application.client.kafka.KafkaCommandSender;
 import org.eclipse.hono.application.client.kafka.KafkaMessageContext;
@@ -40,6 +40,7 @@ import org.eclipse.hono.client.kafka.producer.KafkaProducerFactory;
 import org.eclipse.hono.client.kafka.producer.MessagingKafkaProducerConfigProperties;
 import org.eclipse.hono.client.util.StatusCodeMapper;
 import org.eclipse.hono.tracing.TracingHelper;
+import org.eclipse.hono.util.Futures;
 import org.eclipse.hono.util.MessageHelper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -59,6 +60,11 @@ import io.vertx.kafka.client.consumer.KafkaConsumerRecord;
 
 /**
  * A Kafka based client for sending commands and receiving command responses.
+ * <p>
+ * Command responses for all tenants are received by means of a single Kafka consumer, subscribed to
+ * the command response topics of all tenants using a topic pattern. The consumer gets created when
+ * the first command that requires a response is sent. The topic of a tenant is explicitly added to
+ * the subscription when the first such command is sent to a device of the tenant.
  *
  * @see <a href="https://www.eclipse.org/hono/docs/api/command-and-control-kafka/">
  *      Command &amp; Control API for Kafka Specification</a>
@@ -71,18 +77,20 @@ public class KafkaBasedCommandSender extends AbstractKafkaBasedMessageSender<Buf
     protected static final long DEFAULT_COMMAND_TIMEOUT_IN_MS = 10000;
 
     private static final Logger LOGGER = LoggerFactory.getLogger(KafkaBasedCommandSender.class);
+    private static final Pattern COMMAND_RESPONSE_TOPIC_PATTERN = Pattern
+            .compile(Pattern.quote(HonoTopic.Type.COMMAND_RESPONSE.prefix) + ".*");
 
     private final Vertx vertx;
     private final MessagingKafkaConsumerConfigProperties consumerConfig;
     /**
-     * Key is the tenant identifier, value the corresponding consumer for receiving the command responses.
+     * The consumer for receiving the command responses of all tenants.
      */
-    private final Map<String, HonoKafkaConsumer<Buffer>> commandResponseConsumers = new ConcurrentHashMap<>();
+    private final AtomicReference<Future<HonoKafkaConsumer<Buffer>>> commandResponseConsumer = new AtomicReference<>();
     /**
-     * Key is the tenant identifier, value is a map with correlation ids as keys and expiring command promises as values.
+     * Key is the correlation id, value is the expiring command promise.
      * These correlation ids are used to correlate the response messages with the sent commands.
      */
-    private final Map<String, Map<String, ExpiringCommandPromise>> pendingCommandResponses = new ConcurrentHashMap<>();
+    private final Map<String, ExpiringCommandPromise> pendingCommandResponses = new ConcurrentHashMap<>();
     private Supplier<Consumer<String, Buffer>> kafkaConsumerSupplier;
     private Supplier<String> correlationIdSupplier = () -> UUID.randomUUID().toString();
 
@@ -109,19 +117,17 @@ public class KafkaBasedCommandSender extends AbstractKafkaBasedMessageSender<Buf
         this.consumerConfig = Objects.requireNonNull(consumerConfig);
     }
 
-    @SuppressWarnings("rawtypes")
     @Override
     public Future<Void> stop() {
 
         return lifecycleStatus.runStopAttempt(() -> {
-            // assemble futures for closing the command response consumers
-            final List<Future> stopConsumersTracker = commandResponseConsumers.values().stream()
-                    .map(HonoKafkaConsumer::stop)
-                    .collect(Collectors.toList());
-            commandResponseConsumers.clear();
-            return CompositeFuture.join(
-                    stopProducer(),
-                    CompositeFuture.join(stopConsumersTracker))
+            final Future<Void> stopConsumerTracker = Optional.ofNullable(commandResponseConsumer.getAndSet(null))
+                    .map(consumerFuture -> consumerFuture
+                            .compose(HonoKafkaConsumer::stop)
+                            // consumer creation has failed, nothing to stop
+                            .otherwiseEmpty())
+                    .orElseGet(Future::succeededFuture);
+            return CompositeFuture.join(stopProducer(), stopConsumerTracker)
                 .mapEmpty();
         });
     }
@@ -251,6 +257,7 @@ public class KafkaBasedCommandSender extends AbstractKafkaBasedMessageSender<Buf
                 .withTag(TracingHelper.TAG_CORRELATION_ID, correlationId)
                 .start();
         final ExpiringCommandPromise expiringCommandPromise = new ExpiringCommandPromise(
+                tenantId,
                 correlationId,
                 timeoutInMs,
                 // Remove the corresponding pending response entry if times out
@@ -260,8 +267,7 @@ public class KafkaBasedCommandSender extends AbstractKafkaBasedMessageSender<Buf
         subscribeForCommandResponse(tenantId, span)
                 .compose(ok -> {
                     // Store the correlation id and the expiring command promise
-                    pendingCommandResponses.computeIfAbsent(tenantId, k -> new ConcurrentHashMap<>())
-                            .put(correlationId, expiringCommandPromise);
+                    pendingCommandResponses.put(correlationId, expiringCommandPromise);
                     return sendCommand(tenantId, deviceId, command, correlationId, true, data, contentType,
                             failureNotificationMetadata, "send command", span.context())
                                     .onSuccess(sent -> {
@@ -356,18 +362,17 @@ public class KafkaBasedCommandSender extends AbstractKafkaBasedMessageSender<Buf
         return props;
     }
 
-    private Handler<DownstreamMessage<KafkaMessageContext>> getCommandResponseHandler(final String tenantId) {
-        return message -> {
-            if (message.getCorrelationId() == null) {
-                LOGGER.trace("ignoring received command response - no correlation id set [tenant: {}]", tenantId);
-                return;
-            }
-            removePendingCommandResponse(tenantId, message.getCorrelationId())
-                    .ifPresentOrElse(expiringCommandPromise -> expiringCommandPromise
-                            .tryCompleteAndCancelTimer(mapResponseResult(message)),
-                            () -> LOGGER.trace("ignoring received command response - no response pending [tenant: {}, correlation-id: {}]",
-                                    tenantId, message.getCorrelationId()));
-        };
+    private void handleCommandResponse(final DownstreamMessage<KafkaMessageContext> message) {
+        final String tenantId = message.getTenantId();
+        if (message.getCorrelationId() == null) {
+            LOGGER.trace("ignoring received command response - no correlation id set [tenant: {}]", tenantId);
+            return;
+        }
+        removePendingCommandResponse(tenantId, message.getCorrelationId())
+                .ifPresentOrElse(expiringCommandPromise -> expiringCommandPromise
+                        .tryCompleteAndCancelTimer(mapResponseResult(message)),
+                        () -> LOGGER.trace("ignoring received command response - no response pending [tenant: {}, correlation-id: {}]",
+                                tenantId, message.getCorrelationId()));
     }
 
     /**
@@ -398,16 +403,42 @@ public class KafkaBasedCommandSender extends AbstractKafkaBasedMessageSender<Buf
 
     private Optional<ExpiringCommandPromise> removePendingCommandResponse(final String tenantId,
             final String correlationId) {
-        return Optional.ofNullable(pendingCommandResponses.get(tenantId))
-                .map(ids -> ids.remove(correlationId));
+        return Optional.ofNullable(pendingCommandResponses.get(correlationId))
+                // make sure that a response can only complete a command sent to a device of the same tenant
+                .filter(expiringCommandPromise -> expiringCommandPromise.tenantId.equals(tenantId))
+                .filter(expiringCommandPromise -> pendingCommandResponses.remove(correlationId, expiringCommandPromise));
     }
 
     private Future<Void> subscribeForCommandResponse(final String tenantId, final Span span) {
-        if (commandResponseConsumers.get(tenantId) != null) {
-            LOGGER.debug("command response consumer already exists for tenant [{}]", tenantId);
-            span.log("command response consumer already exists");
-            return Future.succeededFuture();
+        final String topic = new HonoTopic(HonoTopic.Type.COMMAND_RESPONSE, tenantId).toString();
+        return getOrCreateCommandResponseConsumer(span)
+                .compose(consumer -> {
+                    if (consumer.isAmongKnownSubscribedTopics(topic)) {
+                        LOGGER.debug("command response consumer already subscribed to topic [{}]", topic);
+                        span.log("command response consumer already subscribed to topic");
+                        return Future.succeededFuture();
+                    }
+                    return consumer.ensureTopicIsAmongSubscribedTopicPatternTopics(topic)
+                            .onSuccess(v -> {
+                                LOGGER.debug("command response consumer subscribed to topic [{}]", topic);
+                                span.log("command response consumer subscribed to topic");
+                            })
+                            .onFailure(error -> {
+                                LOGGER.debug("error subscribing to command response topic [{}]", topic, error);
+                                TracingHelper.logError(span, "error subscribing to command response topic", error);
+                            });
+                });
+    }
+
+    private Future<HonoKafkaConsumer<Buffer>> getOrCreateCommandResponseConsumer(final Span span) {
+
+        final Promise<HonoKafkaConsumer<Buffer>> consumerPromise = Promise.promise();
+        if (!commandResponseConsumer.compareAndSet(null, consumerPromise.future())) {
+            return commandResponseConsumer.get();
         }
+        final Handler<AsyncResult<HonoKafkaConsumer<Buffer>>> completionHandler = Futures
+                .onCurrentContextCompletionHandler(consumerPromise);
+
         final Map<String, String> consumerConfig = this.consumerConfig
                 .getConsumerConfig(HonoTopic.Type.COMMAND_RESPONSE.toString());
         final String autoOffsetResetConfigValue = consumerConfig.get(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG);
@@ -416,33 +447,38 @@ public class KafkaBasedCommandSender extends AbstractKafkaBasedMessageSender<Buf
             LOGGER.warn("[auto.offset.reset] value is set to other than [latest]. It will be ignored and internally set to [latest]");
         }
         consumerConfig.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "latest");
-        // Use a unique group-id so that all command responses for this tenant are received by this consumer.
+        // Use a unique group-id so that all command responses are received by this consumer.
         // Thereby the responses can be correlated with the command that has been sent.
-        consumerConfig.put(ConsumerConfig.GROUP_ID_CONFIG, tenantId + "-" + UUID.randomUUID());
+        consumerConfig.put(ConsumerConfig.GROUP_ID_CONFIG, "cmd-response-" + UUID.randomUUID());
+        // don't revoke the partitions of already subscribed topics when a new tenant's topic gets added to the subscription
+        consumerConfig.putIfAbsent(ConsumerConfig.PARTITION_ASSIGNMENT_STRATEGY_CONFIG, CooperativeStickyAssignor.class.getName());
 
-        final String topic = new HonoTopic(HonoTopic.Type.COMMAND_RESPONSE, tenantId).toString();
         final Handler<KafkaConsumerRecord<String, Buffer>> recordHandler = record -> {
-            getCommandResponseHandler(tenantId)
-                    .handle(new KafkaDownstreamMessage(record));
+            handleCommandResponse(new KafkaDownstreamMessage(record));
         };
         final Promise<Void> readyTracker = Promise.promise();
-        final HonoKafkaConsumer<Buffer> consumer = new HonoKafkaConsumer<>(vertx, Set.of(topic), recordHandler, consumerConfig);
+        final HonoKafkaConsumer<Buffer> consumer = new HonoKafkaConsumer<>(vertx, COMMAND_RESPONSE_TOPIC_PATTERN,
+                recordHandler, consumerConfig);
         consumer.setPollTimeout(Duration.ofMillis(this.consumerConfig.getPollTimeout()));
         Optional.ofNullable(kafkaConsumerSupplier)
                 .ifPresent(consumer::setKafkaConsumerSupplier);
         consumer.addOnKafkaConsumerReadyHandler(readyTracker);
-        return consumer.start()
+        consumer.start()
                 .compose(ok -> readyTracker.future())
-                .recover(error -> {
-                    LOGGER.debug("error creating command response consumer for tenant [{}]", tenantId, error);
-                    TracingHelper.logError(span, "error creating command response consumer", error);
-                    return Future.failedFuture(error);
-                })
+                .map(consumer)
                 .onSuccess(v -> {
-                    LOGGER.debug("created command response consumer for tenant [{}]", tenantId);
+                    LOGGER.debug("created command response consumer");
                     span.log("created command response consumer");
-                    commandResponseConsumers.put(tenantId, consumer);
-                });
+                })
+                .onFailure(error -> {
+                    LOGGER.debug("error creating command response consumer", error);
+                    TracingHelper.logError(span, "error creating command response consumer", error);
+                    // allow for another attempt to create the consumer
+                    commandResponseConsumer.compareAndSet(consumerPromise.future(), null);
+                })
+                // continue on the current context instead of the thread that has completed the consumer's start
+                .onComplete(completionHandler);
+        return consumerPromise.future();
     }
 
     /**
@@ -451,12 +487,14 @@ public class KafkaBasedCommandSender extends AbstractKafkaBasedMessageSender<Buf
      */
     private class ExpiringCommandPromise {
         private final Promise<DownstreamMessage<KafkaMessageContext>> promise = Promise.promise();
+        private final String tenantId;
         private final Span span;
         private Long timerId;
 
         /**
          * Starts a timer so that after the given timeout value, this promise shall get failed if not completed already.
          *
+         * @param tenantId The tenant that the command has been sent to.
          * @param correlationId The identifier to use for correlating a command with its response.
          * @param timeoutInMs The timeout duration in milliseconds to use for the timer.
          *                    If it is set to &lt;= 0 then the promise never times out.
@@ -464,12 +502,14 @@ public class KafkaBasedCommandSender extends AbstractKafkaBasedMessageSender<Buf
          * @param span The active OpenTracing span for this operation. It is not to be closed in this method!
          *             An implementation should log (error) events on this span and it may set tags and use this span as
          *             the parent for any spans created in this method.
-         * @throws NullPointerException if the span is {@code null}.
+         * @throws NullPointerException if tenant ID or span is {@code null}.
          */
-        ExpiringCommandPromise(final String correlationId, final long timeoutInMs, final Handler<Void> timeOutHandler,
-                final Span span) {
+        ExpiringCommandPromise(final String tenantId, final String correlationId, final long timeoutInMs,
+                final Handler<Void> timeOutHandler, final Span span) {
+            Objects.requireNonNull(tenantId);
             Objects.requireNonNull(span);
 
+            this.tenantId = tenantId;
             this.span = span;
             if (timeoutInMs > 0) {
                 timerId = vertx.setTimer(timeoutInMs, id -> {
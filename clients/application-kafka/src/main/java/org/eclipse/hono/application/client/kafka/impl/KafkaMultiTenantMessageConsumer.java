@@ -0,0 +1,162 @@
+/*
+ * Copyright (c) 2022 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+
+package org.eclipse.hono.application.client.kafka.impl;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+import org.eclipse.hono.application.client.DownstreamMessage;
+import org.eclipse.hono.application.client.kafka.KafkaMessageContext;
+import org.eclipse.hono.application.client.kafka.MultiTenantMessageConsumer;
+import org.eclipse.hono.client.kafka.HonoTopic;
+import org.eclipse.hono.client.kafka.consumer.HonoKafkaConsumer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import io.vertx.core.Future;
+import io.vertx.core.Handler;
+import io.vertx.core.Promise;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.kafka.client.consumer.KafkaConsumerRecord;
+
+/**
+ * A consumer of messages of multiple tenants that uses a single Kafka consumer with a topic pattern subscription.
+ */
+final class KafkaMultiTenantMessageConsumer implements MultiTenantMessageConsumer {
+
+    private static final Logger LOG = LoggerFactory.getLogger(KafkaMultiTenantMessageConsumer.class);
+
+    private final HonoTopic.Type type;
+    private final Pattern topicPattern;
+    private final HonoKafkaConsumer<Buffer> consumer;
+    private final Handler<DownstreamMessage<KafkaMessageContext>> defaultMessageHandler;
+    private final Map<String, Handler<DownstreamMessage<KafkaMessageContext>>> messageHandlers = new ConcurrentHashMap<>();
+
+    /**
+     * Creates a new consumer.
+     *
+     * @param type The type of messages to consume.
+     * @param tenantIdPattern The pattern of the identifiers of the tenants to consume messages of.
+     * @param defaultMessageHandler The handler to invoke with the messages of tenants that no handler
+     *                              has been registered for.
+     * @param consumerFactory The factory to use for creating the Kafka consumer from the topic pattern
+     *                        and the record handler.
+     * @throws NullPointerException if any of the parameters are {@code null}.
+     */
+    KafkaMultiTenantMessageConsumer(
+            final HonoTopic.Type type,
+            final Pattern tenantIdPattern,
+            final Handler<DownstreamMessage<KafkaMessageContext>> defaultMessageHandler,
+            final ConsumerFactory consumerFactory) {
+
+        this.type = Objects.requireNonNull(type);
+        Objects.requireNonNull(tenantIdPattern);
+        this.defaultMessageHandler = Objects.requireNonNull(defaultMessageHandler);
+        Objects.requireNonNull(consumerFactory);
+
+        this.topicPattern = getTopicPattern(type, tenantIdPattern);
+        this.consumer = consumerFactory.apply(topicPattern, this::handleRecord);
+    }
+
+    /**
+     * A factory for creating the Kafka consumer.
+     */
+    @FunctionalInterface
+    interface ConsumerFactory {
+
+        /**
+         * Creates a Kafka consumer.
+         *
+         * @param topicPattern The pattern of the topics to subscribe to.
+         * @param recordHandler The handler to invoke with every record received.
+         * @return The consumer.
+         */
+        HonoKafkaConsumer<Buffer> apply(Pattern topicPattern, Handler<KafkaConsumerRecord<String, Buffer>> recordHandler);
+    }
+
+    /**
+     * Gets the pattern of the topics containing messages of a given type of the tenants matching a pattern.
+     *
+     * @param type The type of messages.
+     * @param tenantIdPattern The pattern of the tenant identifiers.
+     * @return The topic pattern.
+     * @throws NullPointerException if any of the parameters are {@code null}.
+     */
+    static Pattern getTopicPattern(final HonoTopic.Type type, final Pattern tenantIdPattern) {
+        Objects.requireNonNull(type);
+        Objects.requireNonNull(tenantIdPattern);
+        return Pattern.compile(Pattern.quote(type.prefix) + "(?:" + tenantIdPattern.pattern() + ")");
+    }
+
+    /**
+     * Starts the underlying Kafka consumer.
+     *
+     * @param consumerReadyTracker The handler that the Kafka consumer invokes once it is ready to be used.
+     * @return A future that will be completed with this consumer once the Kafka consumer is ready.
+     */
+    Future<MultiTenantMessageConsumer> start(final Promise<Void> consumerReadyTracker) {
+        consumer.addOnKafkaConsumerReadyHandler(consumerReadyTracker);
+        return consumer.start()
+                .compose(ok -> consumerReadyTracker.future())
+                .map(this);
+    }
+
+    private void handleRecord(final KafkaConsumerRecord<String, Buffer> record) {
+        final KafkaDownstreamMessage message = new KafkaDownstreamMessage(record);
+        final var handler = message.getTenantId() == null ? null : messageHandlers.get(message.getTenantId());
+        if (handler == null) {
+            // records must not be discarded because their offsets get committed nevertheless
+            LOG.trace("passing {} message of tenant without handler to default handler [topic: {}]",
+                    type, record.topic());
+            defaultMessageHandler.handle(message);
+        } else {
+            handler.handle(message);
+        }
+    }
+
+    @Override
+    public Future<Void> addTenant(
+            final String tenantId,
+            final Handler<DownstreamMessage<KafkaMessageContext>> messageHandler) {
+
+        Objects.requireNonNull(tenantId);
+        Objects.requireNonNull(messageHandler);
+
+        final String topic = new HonoTopic(type, tenantId).toString();
+        if (!topicPattern.matcher(topic).matches()) {
+            throw new IllegalArgumentException("tenant ID does not match the pattern of this consumer");
+        }
+        messageHandlers.put(tenantId, messageHandler);
+        if (consumer.isAmongKnownSubscribedTopics(topic)) {
+            return Future.succeededFuture();
+        }
+        LOG.debug("tenant's {} topic is not among the subscribed topics yet [tenant: {}]", type, tenantId);
+        return consumer.ensureTopicIsAmongSubscribedTopicPatternTopics(topic)
+                .onFailure(thr -> messageHandlers.remove(tenantId, messageHandler));
+    }
+
+    @Override
+    public boolean removeTenant(final String tenantId) {
+        Objects.requireNonNull(tenantId);
+        return messageHandlers.remove(tenantId) != null;
+    }
+
+    @Override
+    public Future<Void> close() {
+        messageHandlers.clear();
+        return consumer.stop();
+    }
+}
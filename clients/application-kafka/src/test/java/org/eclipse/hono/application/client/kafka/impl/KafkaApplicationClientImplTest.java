@@ -12,15 +12,21 @@
  */
 package org.eclipse.hono.application.client.kafka.impl;
 
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
 import static com.google.common.truth.Truth.assertThat;
 
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import org.apache.kafka.clients.CommonClientConfigs;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
 import org.apache.kafka.clients.consumer.OffsetResetStrategy;
 import org.apache.kafka.clients.producer.MockProducer;
 import org.apache.kafka.common.TopicPartition;
@@ -37,15 +43,18 @@ import org.eclipse.hono.kafka.test.KafkaClientUnitTestHelper;
 import org.eclipse.hono.kafka.test.KafkaMockConsumer;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.MethodSource;
 
+import io.vertx.core.CompositeFuture;
 import io.vertx.core.Future;
 import io.vertx.core.Handler;
 import io.vertx.core.Promise;
 import io.vertx.core.Vertx;
 import io.vertx.core.buffer.Buffer;
+import io.vertx.junit5.Checkpoint;
 import io.vertx.junit5.Timeout;
 import io.vertx.junit5.VertxExtension;
 import io.vertx.junit5.VertxTestContext;
@@ -177,6 +186,119 @@ public class KafkaApplicationClientImplTest {
             }));
     }
 
+    /**
+     * Verifies that a multi-tenant message consumer dispatches the messages received on the topics of
+     * different tenants to the handlers registered for these tenants and passes messages of tenants
+     * without a registered handler to the consumer's message handler.
+     *
+     * @param ctx The vert.x test context.
+     */
+    @Test
+    public void testMultiTenantConsumerDispatchesMessagesToTenantHandlers(final VertxTestContext ctx) {
+
+        final String otherTenantId = UUID.randomUUID().toString();
+        final String tenantWithoutHandler = UUID.randomUUID().toString();
+        final List<TopicPartition> topicPartitions = Stream.of(tenantId, otherTenantId, tenantWithoutHandler)
+                .map(tenant -> new TopicPartition(new HonoTopic(Type.TELEMETRY, tenant).toString(), 0))
+                .collect(Collectors.toList());
+        topicPartitions.forEach(topicPartition -> {
+            mockConsumer.updateBeginningOffsets(Map.of(topicPartition, ((long) 0)));
+            mockConsumer.updatePartitions(topicPartition, KafkaMockConsumer.DEFAULT_NODE);
+        });
+        mockConsumer.setRebalancePartitionAssignmentAfterSubscribe(topicPartitions);
+
+        final Checkpoint messagesReceived = ctx.checkpoint(2);
+        final Checkpoint messageOfTenantWithoutHandlerReceived = ctx.checkpoint();
+        final Handler<DownstreamMessage<KafkaMessageContext>> handler = msg -> {
+            ctx.verify(() -> assertThat(msg.getDeviceId()).isEqualTo("device-of-" + msg.getTenantId()));
+            messagesReceived.flag();
+        };
+        final Handler<DownstreamMessage<KafkaMessageContext>> defaultHandler = msg -> {
+            ctx.verify(() -> assertThat(msg.getTenantId()).isEqualTo(tenantWithoutHandler));
+            messageOfTenantWithoutHandlerReceived.flag();
+        };
+
+        client.start()
+            .compose(ok -> clientReadyTracker.future())
+            .compose(ok -> client.createMultiTenantTelemetryConsumer(Pattern.compile(".*"), defaultHandler, t -> {}))
+            .compose(consumer -> CompositeFuture.all(
+                    consumer.addTenant(tenantId, handler),
+                    consumer.addTenant(otherTenantId, handler)))
+            .onComplete(ctx.succeeding(ok -> {
+                mockConsumer.schedulePollTask(() -> {
+                    topicPartitions.forEach(topicPartition -> mockConsumer.addRecord(new ConsumerRecord<>(
+                            topicPartition.topic(),
+                            topicPartition.partition(),
+                            0,
+                            "device-of-" + HonoTopic.fromString(topicPartition.topic()).getTenantId(),
+                            Buffer.buffer())));
+                });
+            }));
+    }
+
+    /**
+     * Verifies that a multi-tenant message consumer does not lose messages that are received before
+     * a handler has been registered for the messages' tenant.
+     *
+     * @param ctx The vert.x test context.
+     */
+    @Test
+    public void testMultiTenantConsumerPassesMessagesReceivedBeforeAddTenantToMessageHandler(final VertxTestContext ctx) {
+
+        final TopicPartition topicPartition = new TopicPartition(new HonoTopic(Type.EVENT, tenantId).toString(), 0);
+        mockConsumer.updateBeginningOffsets(Map.of(topicPartition, ((long) 0)));
+        mockConsumer.updatePartitions(topicPartition, KafkaMockConsumer.DEFAULT_NODE);
+        mockConsumer.setRebalancePartitionAssignmentAfterSubscribe(List.of(topicPartition));
+
+        final Checkpoint messageReceived = ctx.checkpoint();
+        final Handler<DownstreamMessage<KafkaMessageContext>> defaultHandler = msg -> {
+            ctx.verify(() -> {
+                assertThat(msg.getTenantId()).isEqualTo(tenantId);
+                assertThat(msg.getDeviceId()).isEqualTo("device");
+            });
+            messageReceived.flag();
+        };
+
+        client.start()
+            .compose(ok -> clientReadyTracker.future())
+            .compose(ok -> client.createMultiTenantEventConsumer(Pattern.compile(".*"), defaultHandler, t -> {}))
+            .onComplete(ctx.succeeding(consumer -> {
+                // no handler has been registered for the tenant
+                mockConsumer.schedulePollTask(() -> mockConsumer.addRecord(new ConsumerRecord<>(
+                        topicPartition.topic(),
+                        topicPartition.partition(),
+                        0,
+                        "device",
+                        Buffer.buffer())));
+            }));
+    }
+
+    /**
+     * Verifies that a multi-tenant message consumer for a set of tenants rejects handlers for other tenants.
+     *
+     * @param ctx The vert.x test context.
+     */
+    @Test
+    public void testMultiTenantConsumerForTenantSetRejectsOtherTenant(final VertxTestContext ctx) {
+
+        final TopicPartition topicPartition = new TopicPartition(new HonoTopic(Type.EVENT, tenantId).toString(), 0);
+        mockConsumer.updateBeginningOffsets(Map.of(topicPartition, ((long) 0)));
+        mockConsumer.updatePartitions(topicPartition, KafkaMockConsumer.DEFAULT_NODE);
+        mockConsumer.setRebalancePartitionAssignmentAfterSubscribe(List.of(topicPartition));
+
+        client.start()
+            .compose(ok -> clientReadyTracker.future())
+            .compose(ok -> client.createMultiTenantEventConsumer(Set.of(tenantId), msg -> {}, t -> {}))
+            .onComplete(ctx.succeeding(consumer -> {
+                ctx.verify(() -> {
+                    assertThrows(IllegalArgumentException.class,
+                            () -> consumer.addTenant("other-" + tenantId, msg -> {}));
+                });
+                consumer.addTenant(tenantId, msg -> {})
+                    .onComplete(ctx.succeedingThenComplete());
+            }));
+    }
+
     private Future<MessageConsumer> createConsumer(
             final String tenantId,
             final Type type,
@@ -12,6 +12,7 @@
  */
 package org.eclipse.hono.application.client.kafka.impl;
 
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
 import static com.google.common.truth.Truth.assertThat;
@@ -24,6 +25,7 @@ import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.apache.kafka.clients.consumer.ConsumerRecord;
 import org.apache.kafka.clients.consumer.OffsetResetStrategy;
@@ -62,6 +64,7 @@ import io.opentracing.Tracer;
 import io.opentracing.noop.NoopSpan;
 import io.opentracing.noop.NoopTracerFactory;
 import io.vertx.core.Context;
+import io.vertx.core.Future;
 import io.vertx.core.Promise;
 import io.vertx.core.Vertx;
 import io.vertx.core.buffer.Buffer;
@@ -236,6 +239,7 @@ public class KafkaBasedCommandSenderTest {
     @Test
     public void testSendCommandAndReceiveResponseTimesOut(final VertxTestContext ctx) {
         final Context context = vertx.getOrCreateContext();
+        givenCommandResponseTopicPartitions(tenantId);
         commandSender.setKafkaConsumerSupplier(() -> mockConsumer);
         context.runOnContext(v -> {
             commandSender.start()
@@ -247,19 +251,77 @@ public class KafkaBasedCommandSenderTest {
                         Buffer.buffer("data"),
                         "text/plain",
                         (Map<String, Object>) null, // no failure header props
-                        Duration.ofMillis(5),
+                        Duration.ofMillis(100),
                         null))
                 .onComplete(ctx.failing(error -> {
                     ctx.verify(() -> {
                         // VERIFY that the error is caused due to time out.
                         assertThat(error).isInstanceOf(SendMessageTimeoutException.class);
-                        verify(span).finish();
+                        // both the span for sending the command and the span for the overall operation are finished
+                        verify(span, times(2)).finish();
                     });
                     ctx.completeNow();
                 }));
         });
     }
 
+    /**
+     * Verifies that the command responses for multiple tenants are received using a single consumer.
+     *
+     * @param ctx The vert.x test context.
+     */
+    @Test
+    public void testSendCommandsToMultipleTenantsUsesSingleConsumer(final VertxTestContext ctx) {
+        final Context context = vertx.getOrCreateContext();
+        final String otherTenantId = UUID.randomUUID().toString();
+        givenCommandResponseTopicPartitions(tenantId, otherTenantId);
+        final AtomicInteger createdConsumers = new AtomicInteger();
+        commandSender.setKafkaConsumerSupplier(() -> {
+            createdConsumers.incrementAndGet();
+            return mockConsumer;
+        });
+        context.runOnContext(v -> {
+            commandSender.start()
+                .compose(ok -> commandSenderReadyTracker.future())
+                .compose(ok -> sendCommandAndExpectTimeout(tenantId))
+                .compose(ok -> sendCommandAndExpectTimeout(otherTenantId))
+                .onComplete(ctx.succeeding(ok -> {
+                    ctx.verify(() -> assertThat(createdConsumers.get()).isEqualTo(1));
+                    ctx.completeNow();
+                }));
+        });
+    }
+
+    private Future<Void> sendCommandAndExpectTimeout(final String tenant) {
+        return commandSender.sendCommand(
+                tenant,
+                deviceId,
+                "testCommand",
+                Buffer.buffer("data"),
+                "text/plain",
+                (Map<String, Object>) null, // no failure header props
+                Duration.ofMillis(5),
+                null)
+            .compose(
+                    response -> Future.failedFuture(new IllegalStateException("command should have timed out")),
+                    error -> error instanceof SendMessageTimeoutException
+                            ? Future.succeededFuture()
+                            : Future.failedFuture(error));
+    }
+
+    private void givenCommandResponseTopicPartitions(final String... tenantIds) {
+        final List<TopicPartition> partitions = new ArrayList<>();
+        for (final String tenant : tenantIds) {
+            final TopicPartition partition = new TopicPartition(
+                    new HonoTopic(HonoTopic.Type.COMMAND_RESPONSE, tenant).toString(), 0);
+            mockConsumer.updatePartitions(partition, KafkaMockConsumer.DEFAULT_NODE);
+            mockConsumer.updateBeginningOffsets(Map.of(partition, 0L));
+            mockConsumer.updateEndOffsets(Map.of(partition, 0L));
+            partitions.add(partition);
+        }
+        mockConsumer.setRebalancePartitionAssignmentAfterSubscribe(partitions);
+    }
+
     /**
      * Verifies that a command sent to a device succeeds and also a response is received from the device.
      *
@@ -334,12 +396,7 @@ public class KafkaBasedCommandSenderTest {
         final String command = "setVolume";
         final ConsumerRecord<String, Buffer> commandResponseRecord = commandResponseRecord(tenantId,
                 deviceId, correlationId, responseStatus, Buffer.buffer(responsePayload));
-        final String responseTopic = new HonoTopic(HonoTopic.Type.COMMAND_RESPONSE, tenantId).toString();
-        final TopicPartition responseTopicPartition = new TopicPartition(responseTopic, 0);
-        mockConsumer.setRebalancePartitionAssignmentAfterSubscribe(List.of(responseTopicPartition));
-        mockConsumer.updatePartitions(responseTopicPartition, KafkaMockConsumer.DEFAULT_NODE);
-        mockConsumer.updateBeginningOffsets(Map.of(responseTopicPartition, 0L));
-        mockConsumer.updateEndOffsets(Map.of(responseTopicPartition, 0L));
+        givenCommandResponseTopicPartitions(tenantId);
         onProducerRecordSentPromise.future().onComplete(ar -> {
             LOG.debug("producer record sent, add command response record to mockConsumer");
             // Send a command response with the same correlation id as that of the command
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2021 Contributors to the Eclipse Foundation
+ * Copyright (c) 2021, 2022 Contributors to the Eclipse Foundation
  *
  * See the NOTICE file(s) distributed with this work for additional
  * information regarding copyright ownership.
@@ -349,6 +349,9 @@ public final class KafkaBasedCommand implements Command {
     @Override
     public void logToSpan(final Span span) {
         Objects.requireNonNull(span);
+        if (!TracingHelper.isRecording(span)) {
+            return;
+        }
         if (isValid()) {
             TracingHelper.TAG_CORRELATION_ID.set(span, correlationId);
             final Map<String, Object> items = new HashMap<>(3);
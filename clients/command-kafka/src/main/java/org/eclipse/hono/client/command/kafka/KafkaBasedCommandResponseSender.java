@@ -66,8 +66,8 @@ public class KafkaBasedCommandResponseSender extends AbstractKafkaBasedMessageSe
         NotificationEventBusSupport.registerConsumer(vertx, TenantChangeNotification.TYPE,
                 notification -> {
                     if (LifecycleChange.DELETE.equals(notification.getChange())) {
-                        producerFactory.getProducer(CommandConstants.COMMAND_RESPONSE_ENDPOINT)
-                                .ifPresent(producer -> removeTenantTopicBasedProducerMetrics(producer, notification.getTenantId()));
+                        producerFactory.getProducers(CommandConstants.COMMAND_RESPONSE_ENDPOINT)
+                                .forEach(producer -> removeTenantTopicBasedProducerMetrics(producer, notification.getTenantId()));
                     }
                 });
     }
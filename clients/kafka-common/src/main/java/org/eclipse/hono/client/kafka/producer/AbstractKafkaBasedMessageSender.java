@@ -145,6 +145,8 @@ public abstract class AbstractKafkaBasedMessageSender<V> implements MessagingCli
      * <p>
      * This methods triggers the creation of a Kafka producer in the background. A new attempt to create the
      * producer is made once a second until creation succeeds or the {@link #stop()} method has been invoked.
+     * If a {@linkplain KafkaProducerConfigProperties#getPoolSize() pool of producers} is configured, all
+     * producers of the pool are created.
      * <p>
      * Client code may {@linkplain #addOnKafkaProducerReadyHandler(Handler) register a dedicated handler}
      * to be notified once the producer has been created successfully.
@@ -266,7 +268,15 @@ public abstract class AbstractKafkaBasedMessageSender<V> implements MessagingCli
         KafkaTracingHelper.injectSpanContext(tracer, record, currentSpan.context());
         logProducerRecord(currentSpan, record);
 
-        return getOrCreateProducer().send(record)
+        final KafkaProducer<String, V> producer;
+        try {
+            // the producer needs to be re-created if it has been closed because of a fatal error
+            producer = producerFactory.getOrCreateProducer(producerName, config, deviceId);
+        } catch (final KafkaException e) {
+            logError(currentSpan, topic, tenantId, deviceId, e);
+            return Future.failedFuture(new ServerErrorException(tenantId, HttpURLConnection.HTTP_UNAVAILABLE, e));
+        }
+        return producer.send(record)
                 .onSuccess(recordMetadata -> logRecordMetadata(currentSpan, deviceId, recordMetadata))
                 .otherwise(t -> {
                     logError(currentSpan, topic, tenantId, deviceId, t);
@@ -304,26 +314,51 @@ public abstract class AbstractKafkaBasedMessageSender<V> implements MessagingCli
     private List<KafkaHeader> encodePropertiesAsKafkaHeaders(final Map<String, Object> properties, final Span span) {
         final List<KafkaHeader> headers = new ArrayList<>();
 
-        properties.forEach((k, v) -> {
-            try {
-                headers.add(KafkaRecordHelper.createKafkaHeader(k, v));
-            } catch (final EncodeException e) {
-                log.info("failed to serialize property with key [{}] to Kafka header", k);
-                span.log("failed to create Kafka header from property: " + k);
-            }
-        });
+        properties.forEach((k, v) -> encodePropertyAsKafkaHeader(headers, k, v, span));
 
         if (!properties.containsKey(MessageHelper.SYS_PROPERTY_CREATION_TIME)) {
-            // must match http://docs.oasis-open.org/amqp/core/v1.0/os/amqp-core-types-v1.0-os.html#type-timestamp
-            // as defined in https://www.eclipse.org/hono/docs/api/telemetry/#forward-telemetry-data
-            headers.add(KafkaRecordHelper.createKafkaHeader(
-                    MessageHelper.SYS_PROPERTY_CREATION_TIME,
-                    Json.encode(Instant.now().toEpochMilli())));
+            headers.add(createCreationTimeHeader());
         }
 
         return headers;
     }
 
+    /**
+     * Encodes a property as a Kafka record header and adds it to a list of headers.
+     *
+     * @param headers The list to add the header to.
+     * @param key The name of the property.
+     * @param value The value of the property.
+     * @param span The span to log to if the property cannot be encoded.
+     * @throws NullPointerException if any of the parameters are {@code null}.
+     */
+    protected final void encodePropertyAsKafkaHeader(
+            final List<KafkaHeader> headers,
+            final String key,
+            final Object value,
+            final Span span) {
+
+        try {
+            headers.add(KafkaRecordHelper.createKafkaHeader(key, value));
+        } catch (final EncodeException e) {
+            log.info("failed to serialize property with key [{}] to Kafka header", key);
+            span.log("failed to create Kafka header from property: " + key);
+        }
+    }
+
+    /**
+     * Creates a header containing the current time as the message's creation time.
+     *
+     * @return The header.
+     */
+    protected static KafkaHeader createCreationTimeHeader() {
+        // must match http://docs.oasis-open.org/amqp/core/v1.0/os/amqp-core-types-v1.0-os.html#type-timestamp
+        // as defined in https://www.eclipse.org/hono/docs/api/telemetry/#forward-telemetry-data
+        return KafkaRecordHelper.createKafkaHeader(
+                MessageHelper.SYS_PROPERTY_CREATION_TIME,
+                Json.encode(Instant.now().toEpochMilli()));
+    }
+
     /**
      * Creates a new <em>OpenTracing</em> child span to trace producing messages to Kafka.
      *
@@ -363,6 +398,11 @@ public abstract class AbstractKafkaBasedMessageSender<V> implements MessagingCli
     }
 
     private void logProducerRecord(final Span span, final KafkaProducerRecord<String, V> record) {
+        final boolean isSpanRecording = TracingHelper.isRecording(span);
+        if (!isSpanRecording && !log.isTraceEnabled()) {
+            // no need to create the (rather expensive) string representation of the headers
+            return;
+        }
         final String headersAsString = record.headers()
                 .stream()
                 .map(header -> header.key() + "=" + header.value())
@@ -371,7 +411,9 @@ public abstract class AbstractKafkaBasedMessageSender<V> implements MessagingCli
         log.trace("producing message [topic: {}, key: {}, partition: {}, timestamp: {}, headers: {}]",
                 record.topic(), record.key(), record.partition(), record.timestamp(), headersAsString);
 
-        span.log("producing message with headers: " + headersAsString);
+        if (isSpanRecording) {
+            span.log("producing message with headers: " + headersAsString);
+        }
     }
 
     private void logRecordMetadata(final Span span, final String recordKey, final RecordMetadata metadata) {
@@ -379,10 +421,11 @@ public abstract class AbstractKafkaBasedMessageSender<V> implements MessagingCli
         log.trace("message produced to Kafka [topic: {}, key: {}, partition: {}, offset: {}, timestamp: {}]",
                 metadata.getTopic(), recordKey, metadata.getPartition(), metadata.getOffset(), metadata.getTimestamp());
 
-        span.log("message produced to Kafka");
-        KafkaTracingHelper.setRecordMetadataTags(span, metadata);
-        Tags.HTTP_STATUS.set(span, HttpURLConnection.HTTP_ACCEPTED);
-
+        if (TracingHelper.isRecording(span)) {
+            span.log("message produced to Kafka");
+            KafkaTracingHelper.setRecordMetadataTags(span, metadata);
+            Tags.HTTP_STATUS.set(span, HttpURLConnection.HTTP_ACCEPTED);
+        }
     }
 
     private void logError(
@@ -14,6 +14,8 @@
 package org.eclipse.hono.client.kafka.producer;
 
 import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
@@ -21,6 +23,7 @@ import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.BiFunction;
 import java.util.function.Supplier;
+import java.util.stream.Collectors;
 
 import org.apache.kafka.clients.producer.ProducerConfig;
 import org.apache.kafka.common.errors.AuthorizationException;
@@ -33,6 +36,7 @@ import org.eclipse.hono.client.kafka.metrics.KafkaClientMetricsSupport;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import io.vertx.core.CompositeFuture;
 import io.vertx.core.Future;
 import io.vertx.core.Handler;
 import io.vertx.core.Promise;
@@ -50,6 +54,15 @@ import io.vertx.kafka.client.producer.KafkaProducer;
  * {@link io.vertx.kafka.client.producer.impl.KafkaWriteStreamImpl#send(org.apache.kafka.clients.producer.ProducerRecord, Handler)
  * send operation} has finished. A following invocation of {@link #getOrCreateProducer(String, KafkaProducerConfigProperties)}
  * will then return a new instance.
+ * <p>
+ * The factory may use a {@linkplain KafkaProducerConfigProperties#getPoolSize() pool} of producers for the same
+ * producer name. In this case, {@link #getOrCreateProducer(String, KafkaProducerConfigProperties, Object)} selects
+ * the producer to use based on the hash code of the record key, so that records having the same key are always sent
+ * using the same producer. All producers of a pool are created by
+ * {@link #getOrCreateProducerWithRetries(String, KafkaProducerConfigProperties, Supplier, Duration)}.
+ * Each producer of a pool has its own client ID, which contains the producer name, and
+ * is registered with the {@link KafkaClientMetricsSupport} individually. The metrics of the producers of a pool
+ * can thus be aggregated by means of the client ID.
  *
  * @param <K> The type for the record key serialization.
  * @param <V> The type for the record value serialization.
@@ -57,8 +70,16 @@ import io.vertx.kafka.client.producer.KafkaProducer;
 public class CachingKafkaProducerFactory<K, V> implements KafkaProducerFactory<K, V> {
 
     private static final Logger LOG = LoggerFactory.getLogger(CachingKafkaProducerFactory.class);
+    private static final String POOL_MEMBER_NAME_SEPARATOR = "#";
 
+    /**
+     * The active producers, indexed by pool member name.
+     */
     private final Map<String, KafkaProducer<K, V>> activeProducers = new ConcurrentHashMap<>();
+    /**
+     * The names of the members of the producer pools, indexed by producer name.
+     */
+    private final Map<String, String[]> poolMemberNames = new ConcurrentHashMap<>();
     private final KafkaClientFactory kafkaClientFactory;
     private final BiFunction<String, Map<String, String>, KafkaProducer<K, V>> producerInstanceSupplier;
 
@@ -154,6 +175,8 @@ public class CachingKafkaProducerFactory<K, V> implements KafkaProducerFactory<K
      * a new instance is created using the given factory and put to the cache.
      * <p>
      * The given config is ignored when an existing producer is returned.
+     * <p>
+     * If a pool of producers is used for the given name, the first producer of the pool is returned.
      *
      * @param producerName The name to identify the producer.
      * @param config The Kafka configuration with which the producer is to be created.
@@ -165,13 +188,53 @@ public class CachingKafkaProducerFactory<K, V> implements KafkaProducerFactory<K
     public KafkaProducer<K, V> getOrCreateProducer(final String producerName,
             final KafkaProducerConfigProperties config) {
 
+        final String[] memberNames = getPoolMemberNames(producerName, config);
+        return getOrCreatePoolMember(memberNames[0], config);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * This method first tries to look up an already existing producer using the given name. If no producer exists yet,
+     * a new instance is created using the given factory and put to the cache.
+     * <p>
+     * The given config is ignored when an existing producer is returned.
+     */
+    @Override
+    public KafkaProducer<K, V> getOrCreateProducer(
+            final String producerName,
+            final KafkaProducerConfigProperties config,
+            final K key) {
+
+        final String[] memberNames = getPoolMemberNames(producerName, config);
+        final int index = memberNames.length == 1 || key == null
+                ? 0
+                : Math.floorMod(key.hashCode(), memberNames.length);
+        return getOrCreatePoolMember(memberNames[index], config);
+    }
+
+    private String[] getPoolMemberNames(final String producerName, final KafkaProducerConfigProperties config) {
+        return poolMemberNames.computeIfAbsent(producerName, name -> {
+            final String[] memberNames = new String[config.getPoolSize()];
+            memberNames[0] = name;
+            for (int i = 1; i < memberNames.length; i++) {
+                memberNames[i] = name + POOL_MEMBER_NAME_SEPARATOR + i;
+            }
+            return memberNames;
+        });
+    }
+
+    private KafkaProducer<K, V> getOrCreatePoolMember(
+            final String memberName,
+            final KafkaProducerConfigProperties config) {
+
         final AtomicReference<KafkaProducer<K, V>> createdProducer = new AtomicReference<>();
-        final KafkaProducer<K, V> kafkaProducer = activeProducers.computeIfAbsent(producerName, (name) -> {
-            final Map<String, String> producerConfig = config.getProducerConfig(producerName);
+        final KafkaProducer<K, V> kafkaProducer = activeProducers.computeIfAbsent(memberName, (name) -> {
+            final Map<String, String> producerConfig = config.getProducerConfig(memberName);
             final String clientId = producerConfig.get(ProducerConfig.CLIENT_ID_CONFIG);
-            final KafkaProducer<K, V> producer = producerInstanceSupplier.apply(producerName, producerConfig);
+            final KafkaProducer<K, V> producer = producerInstanceSupplier.apply(memberName, producerConfig);
             createdProducer.set(producer);
-            return producer.exceptionHandler(getExceptionHandler(producerName, producer, clientId));
+            return producer.exceptionHandler(getExceptionHandler(memberName, producer, clientId));
         });
         if (metricsSupport != null && kafkaProducer == createdProducer.get()) {
             // metrics registration is somewhat expensive therefore doing it here to keep computation in computeIfAbsent() short
@@ -181,6 +244,12 @@ public class CachingKafkaProducerFactory<K, V> implements KafkaProducerFactory<K
         return kafkaProducer;
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * If a pool of producers is used for the given name, all producers of the pool are created
+     * and the first producer of the pool is returned.
+     */
     @Override
     public Future<KafkaProducer<K, V>> getOrCreateProducerWithRetries(
             final String producerName,
@@ -194,7 +263,14 @@ public class CachingKafkaProducerFactory<K, V> implements KafkaProducerFactory<K
 
         final String bootstrapServersConfig = config.getBootstrapServers();
         return kafkaClientFactory.createClientWithRetries(
-                () -> getOrCreateProducer(producerName, config),
+                () -> {
+                    final String[] memberNames = getPoolMemberNames(producerName, config);
+                    // create the other members first so that all of them exist once the returned producer exists
+                    for (int i = memberNames.length - 1; i > 0; i--) {
+                        getOrCreatePoolMember(memberNames[i], config);
+                    }
+                    return getOrCreatePoolMember(memberNames[0], config);
+                },
                 keepTrying,
                 bootstrapServersConfig,
                 retriesTimeout);
@@ -219,28 +295,52 @@ public class CachingKafkaProducerFactory<K, V> implements KafkaProducerFactory<K
         };
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * If a pool of producers is used for the given name, the first producer of the pool is returned.
+     */
     @Override
     public Optional<KafkaProducer<K, V>> getProducer(final String producerName) {
         return Optional.ofNullable(activeProducers.get(producerName));
     }
 
+    @Override
+    public List<KafkaProducer<K, V>> getProducers(final String producerName) {
+        return Optional.ofNullable(poolMemberNames.get(producerName))
+                .map(memberNames -> Arrays.stream(memberNames)
+                        .map(activeProducers::get)
+                        .filter(Objects::nonNull)
+                        .collect(Collectors.toList()))
+                .orElseGet(List::of);
+    }
+
     /**
      * {@inheritDoc}
      * <p>
-     * If a producer with the given name exists, it is removed from the cache.
+     * If producers with the given name exist, they are removed from the cache.
      */
     @Override
     public Future<Void> closeProducer(final String producerName) {
-        final KafkaProducer<K, V> producer = activeProducers.remove(producerName);
-        if (producer == null) {
+        final String[] memberNames = poolMemberNames.remove(producerName);
+        if (memberNames == null) {
             return Future.succeededFuture();
-        } else {
-            final Promise<Void> promise = Promise.promise();
-            producer.close(promise);
-            return promise.future()
-                    .onComplete(ar -> Optional.ofNullable(metricsSupport)
-                            .ifPresent(ms -> ms.unregisterKafkaProducer(producer.unwrap())));
         }
+        @SuppressWarnings("rawtypes")
+        final List<Future> closeResults = Arrays.stream(memberNames)
+                .map(activeProducers::remove)
+                .filter(Objects::nonNull)
+                .map(this::closeProducer)
+                .collect(Collectors.toList());
+        return CompositeFuture.all(closeResults).mapEmpty();
+    }
+
+    private Future<Void> closeProducer(final KafkaProducer<K, V> producer) {
+        final Promise<Void> promise = Promise.promise();
+        producer.close(promise);
+        return promise.future()
+                .onComplete(ar -> Optional.ofNullable(metricsSupport)
+                        .ifPresent(ms -> ms.unregisterKafkaProducer(producer.unwrap())));
     }
 
     /**
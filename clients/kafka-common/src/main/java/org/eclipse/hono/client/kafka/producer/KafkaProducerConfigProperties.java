@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2021 Contributors to the Eclipse Foundation
+ * Copyright (c) 2021, 2022 Contributors to the Eclipse Foundation
  *
  * See the NOTICE file(s) distributed with this work for additional
  * information regarding copyright ownership.
@@ -33,9 +33,16 @@ import org.eclipse.hono.client.kafka.ConfigOptionsHelper;
  */
 public class KafkaProducerConfigProperties extends AbstractKafkaConfigProperties {
 
+    /**
+     * The default number of producers to use per producer name.
+     */
+    public static final int DEFAULT_POOL_SIZE = 1;
+
     private final Class<? extends Serializer<?>> keySerializerClass;
     private final Class<? extends Serializer<?>> valueSerializerClass;
 
+    private int poolSize = DEFAULT_POOL_SIZE;
+
     /**
      * Creates an instance.
      *
@@ -77,6 +84,36 @@ public class KafkaProducerConfigProperties extends AbstractKafkaConfigProperties
         final CommonKafkaClientConfigProperties commonConfig = new CommonKafkaClientConfigProperties(commonOptions);
         setCommonClientConfig(commonConfig);
         setSpecificClientConfig(ConfigOptionsHelper.toStringValueMap(options.producerConfig()));
+        setPoolSize(options.poolSize());
+    }
+
+    /**
+     * Sets the number of producers to use for sending records under the same producer name.
+     * <p>
+     * Each Kafka producer uses a single I/O thread and a single buffer pool for sending records.
+     * Using multiple producers allows the records to be sent in parallel. The records are distributed
+     * among the producers based on the record key so that the order of records having the same
+     * key is retained.
+     * <p>
+     * The default value of this property is {@value #DEFAULT_POOL_SIZE}.
+     *
+     * @param poolSize The number of producers.
+     * @throws IllegalArgumentException if the pool size is &lt; 1.
+     */
+    public final void setPoolSize(final int poolSize) {
+        if (poolSize < 1) {
+            throw new IllegalArgumentException("pool size must be > 0");
+        }
+        this.poolSize = poolSize;
+    }
+
+    /**
+     * Gets the number of producers to use for sending records under the same producer name.
+     *
+     * @return The number of producers.
+     */
+    public final int getPoolSize() {
+        return poolSize;
     }
 
     /**
@@ -14,6 +14,7 @@
 package org.eclipse.hono.client.kafka.producer;
 
 import java.time.Duration;
+import java.util.List;
 import java.util.Optional;
 import java.util.function.Supplier;
 
@@ -43,6 +44,17 @@ public interface KafkaProducerFactory<K, V> {
      */
     Optional<KafkaProducer<K, V>> getProducer(String producerName);
 
+    /**
+     * Gets all existing producers for sending data to Kafka that have been created with the given producer name.
+     * <p>
+     * The returned list contains more than one element if a
+     * {@linkplain KafkaProducerConfigProperties#getPoolSize() pool of producers} is used for the producer name.
+     *
+     * @param producerName The name to identify the producers.
+     * @return The (unmodifiable) list of existing producers. The list is empty if no such producer exists.
+     */
+    List<KafkaProducer<K, V>> getProducers(String producerName);
+
     /**
      * Gets a producer for sending data to Kafka.
      * <p>
@@ -64,6 +76,25 @@ public interface KafkaProducerFactory<K, V> {
      */
     KafkaProducer<K, V> getOrCreateProducer(String producerName, KafkaProducerConfigProperties config);
 
+    /**
+     * Gets a producer for sending a record with a given key to Kafka.
+     * <p>
+     * If the configuration defines a {@linkplain KafkaProducerConfigProperties#getPoolSize() pool size} greater than 1,
+     * the producer is selected from a pool of producers based on the given key. It is guaranteed that the same
+     * producer is returned for records having the same key for as long as the producer is not closed. This makes
+     * sure that the order of records having the same key is retained.
+     * <p>
+     * Otherwise, this method behaves like {@link #getOrCreateProducer(String, KafkaProducerConfigProperties)}.
+     *
+     * @param producerName The name to identify the producer.
+     * @param config The Kafka configuration with which the producer is to be created.
+     * @param key The key of the record to be sent or {@code null} if the record has no key.
+     * @return an existing or new producer.
+     * @throws org.apache.kafka.common.KafkaException If creating the producer failed because of an invalid config or
+     *             because bootstrap servers could not be resolved.
+     */
+    KafkaProducer<K, V> getOrCreateProducer(String producerName, KafkaProducerConfigProperties config, K key);
+
     /**
      * Gets a producer for sending data to Kafka.
      * <p>
@@ -71,6 +102,9 @@ public interface KafkaProducerFactory<K, V> {
      * contains a (non-empty) list of URLs that are not (yet) resolvable, further creation attempts are done with some
      * delay in between. These retries are done until the given <em>retriesTimeout</em> has elapsed.
      * <p>
+     * If the configuration defines a {@linkplain KafkaProducerConfigProperties#getPoolSize() pool size} greater than 1,
+     * all producers of the pool are created before the returned future is completed.
+     * <p>
      * The producer returned may be either newly created or it may be an existing producer for the given producer name.
      * The config parameter might be ignored if an existing producer is returned.
      * <p>
@@ -97,7 +131,7 @@ public interface KafkaProducerFactory<K, V> {
             Duration retriesTimeout);
 
     /**
-     * Closes the producer with the given producer name if it exists.
+     * Closes the producers with the given producer name if any exist.
      * <p>
      * This method is expected to be invoked as soon as the producer is no longer needed, especially before the
      * application shuts down.
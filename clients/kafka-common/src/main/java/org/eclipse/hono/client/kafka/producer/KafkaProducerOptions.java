@@ -1,5 +1,5 @@
 /**
- * Copyright (c) 2021 Contributors to the Eclipse Foundation
+ * Copyright (c) 2021, 2022 Contributors to the Eclipse Foundation
  *
  * See the NOTICE file(s) distributed with this work for additional
  * information regarding copyright ownership.
@@ -17,6 +17,7 @@ import java.util.Map;
 
 import io.smallrye.config.ConfigMapping;
 import io.smallrye.config.ConfigValue;
+import io.smallrye.config.WithDefault;
 
 /**
  * Options for configuring Kafka producers.
@@ -38,4 +39,12 @@ public interface KafkaProducerOptions {
      */
     Map<String, ConfigValue> producerConfig();
 
+    /**
+     * Gets the number of producers to use for sending records under the same producer name.
+     *
+     * @return The number of producers.
+     */
+    @WithDefault("1")
+    int poolSize();
+
 }
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2020, 2021 Contributors to the Eclipse Foundation
+ * Copyright (c) 2020, 2022 Contributors to the Eclipse Foundation
  *
  * See the NOTICE file(s) distributed with this work for additional
  * information regarding copyright ownership.
@@ -100,12 +100,17 @@ public final class KafkaTracingHelper {
      * </ul>
      * <p>
      * <em>It does not set the topic, as this is expected to be already already set.</em>
+     * <p>
+     * No tags are set if the span is not {@linkplain TracingHelper#isRecording(Span) recording}.
      *
      * @param span The span to set the tags on.
      * @param recordMetadata The record metadata.
      */
     public static void setRecordMetadataTags(final Span span, final RecordMetadata recordMetadata) {
 
+        if (!TracingHelper.isRecording(span)) {
+            return;
+        }
         TAG_OFFSET.set(span, recordMetadata.getOffset());
         TAG_PARTITION.set(span, recordMetadata.getPartition());
         TAG_TIMESTAMP.set(span, recordMetadata.getTimestamp());
@@ -121,12 +126,17 @@ public final class KafkaTracingHelper {
      * <li>{@link #TAG_PARTITION}</li>
      * <li>{@link #TAG_TIMESTAMP}</li>
      * </ul>
+     * <p>
+     * No tags are set if the span is not {@linkplain TracingHelper#isRecording(Span) recording}.
      *
      * @param span The span to set the tags on.
      * @param record The record.
      */
     public static void setRecordTags(final Span span, final KafkaConsumerRecord<?, ?> record) {
 
+        if (!TracingHelper.isRecording(span)) {
+            return;
+        }
         Tags.MESSAGE_BUS_DESTINATION.set(span, record.topic());
         TAG_OFFSET.set(span, record.offset());
         TAG_PARTITION.set(span, record.partition());
@@ -137,6 +147,9 @@ public final class KafkaTracingHelper {
      * Injects a {@code SpanContext} into a Kafka record.
      * <p>
      * The span context will be written to the record headers.
+     * <p>
+     * Note that the context of a span that is not recording is injected as well, because it
+     * conveys the sampling decision to downstream components.
      *
      * @param <V> The type of the record's value.
      * @param tracer The Tracer to use for injecting the context.
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2020, 2021 Contributors to the Eclipse Foundation
+ * Copyright (c) 2020, 2022 Contributors to the Eclipse Foundation
  *
  * See the NOTICE file(s) distributed with this work for additional
  * information regarding copyright ownership.
@@ -19,8 +19,10 @@ import static org.mockito.Mockito.when;
 
 import static com.google.common.truth.Truth.assertThat;
 
+import java.util.HashSet;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.function.BiFunction;
 
 import org.apache.kafka.clients.producer.MockProducer;
@@ -132,6 +134,48 @@ public class CachingKafkaProducerFactoryTest {
 
     }
 
+    /**
+     * Verifies that records having the same key are sent using the same producer of a pool
+     * and that all producers of the pool are closed when the producer name is closed.
+     */
+    @Test
+    public void testProducerPoolIsStripedByKey() {
+
+        configProperties.setPoolSize(4);
+
+        final Set<KafkaProducer<String, Buffer>> producers = new HashSet<>();
+        for (int i = 0; i < 100; i++) {
+            final String key = "device-" + i;
+            final KafkaProducer<String, Buffer> producer = factory.getOrCreateProducer(PRODUCER_NAME, configProperties, key);
+            assertThat(factory.getOrCreateProducer(PRODUCER_NAME, configProperties, key)).isSameInstanceAs(producer);
+            producers.add(producer);
+        }
+        assertThat(producers).hasSize(4);
+        assertThat(factory.getProducers(PRODUCER_NAME)).containsExactlyElementsIn(producers);
+        assertThat(producers).contains(factory.getProducer(PRODUCER_NAME).get());
+
+        factory.closeProducer(PRODUCER_NAME);
+
+        producers.forEach(producer -> assertThat(((MockProducer<String, Buffer>) producer.unwrap()).closed()).isTrue());
+        assertThat(factory.getProducer(PRODUCER_NAME).isEmpty()).isTrue();
+        assertThat(factory.getProducers(PRODUCER_NAME)).isEmpty();
+    }
+
+    /**
+     * Verifies that all producers of a pool are created when creating the producer with retries.
+     */
+    @Test
+    public void testGetOrCreateProducerWithRetriesCreatesAllPoolMembers() {
+
+        configProperties.setPoolSize(3);
+
+        final var result = factory.getOrCreateProducerWithRetries(PRODUCER_NAME, configProperties, () -> true, null);
+
+        assertThat(result.succeeded()).isTrue();
+        assertThat(result.result()).isSameInstanceAs(factory.getProducer(PRODUCER_NAME).get());
+        assertThat(factory.getProducers(PRODUCER_NAME)).hasSize(3);
+    }
+
     /**
      * Verifies that {@link CachingKafkaProducerFactory#isFatalError(Throwable)} returns true for the expected exception
      * types.
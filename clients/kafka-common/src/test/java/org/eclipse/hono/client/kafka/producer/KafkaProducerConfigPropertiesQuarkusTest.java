@@ -50,6 +50,7 @@ class KafkaProducerConfigPropertiesQuarkusTest {
                 () -> assertThat(commandResponseConfig.getProducerConfig("test").get("producer.property"))
                     .isEqualTo("producer"),
                 () -> assertThat(commandResponseConfig.getProducerConfig("test").get("number")).isEqualTo("123"),
-                () -> assertThat(commandResponseConfig.getProducerConfig("test").get("empty")).isEqualTo(""));
+                () -> assertThat(commandResponseConfig.getProducerConfig("test").get("empty")).isEqualTo(""),
+                () -> assertThat(commandResponseConfig.getPoolSize()).isEqualTo(4));
     }
 }
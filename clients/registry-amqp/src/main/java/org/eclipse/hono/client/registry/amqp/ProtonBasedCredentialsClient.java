@@ -65,7 +65,6 @@ public class ProtonBasedCredentialsClient extends AbstractRequestResponseService
     private static final Logger LOG = LoggerFactory.getLogger(ProtonBasedCredentialsClient.class);
     private static final String TAG_AUTH_ID = "auth_id";
     private static final String TAG_CREDENTIALS_TYPE = "credentials_type";
-    private static final String ATTRIBUTE_KEY_DEVICE_ID = "device-id";
 
     /**
      * Creates a new client for a connection.
@@ -196,72 +195,71 @@ public class ProtonBasedCredentialsClient extends AbstractRequestResponseService
         span.setTag(TAG_CREDENTIALS_TYPE, type);
         span.setTag(TAG_AUTH_ID, authId);
 
-        final Future<CredentialsResult<CredentialsObject>> resultTracker = getResponseFromCache(responseCacheKey, span)
-                .recover(cacheMiss -> getOrCreateClient(tenantId)
-                        .compose(client -> {
-                            final JsonObject specification = CredentialsConstants
-                                    .getSearchCriteria(type, authId)
-                                    .mergeIn(clientContext);
-                            if (LOG.isTraceEnabled()) {
-                                LOG.trace("getting credentials using spec:{}{}",
-                                        System.lineSeparator(),
-                                        specification.encodePrettily());
-                            }
-                            return client.createAndSendRequest(
-                                    CredentialsConstants.CredentialsAction.get.toString(),
-                                    null,
-                                    specification.toBuffer(),
-                                    MessageHelper.CONTENT_TYPE_APPLICATION_JSON,
-                                    this::getRequestResponseResult,
-                                    span);
-                        })
-                        .map(credentialsResult -> {
-                            addResultToCache(responseCacheKey, credentialsResult);
-                            return credentialsResult;
-                        }));
-
-        return mapResultAndFinishSpan(resultTracker, result -> {
-            switch (result.getStatus()) {
-            case HttpURLConnection.HTTP_OK:
-            case HttpURLConnection.HTTP_CREATED:
-                return result.getPayload();
-            case HttpURLConnection.HTTP_NOT_FOUND:
-                throw new ClientErrorException(result.getStatus(), "no such credentials");
-            default:
-                throw StatusCodeMapper.from(result);
-            }
-        }, span);
+        final CredentialsResult<CredentialsObject> cachedResult = getResponseFromCache(responseCacheKey, span);
+        if (cachedResult != null) {
+            return mapResultAndFinishSpan(cachedResult, ProtonBasedCredentialsClient::getCredentialsObject, span);
+        }
+
+        final Future<CredentialsResult<CredentialsObject>> resultTracker = executeOrUsePendingRequest(
+                responseCacheKey,
+                () -> getOrCreateClient(tenantId)
+                    .compose(client -> {
+                        final JsonObject specification = CredentialsConstants
+                                .getSearchCriteria(type, authId)
+                                .mergeIn(clientContext);
+                        if (LOG.isTraceEnabled()) {
+                            LOG.trace("getting credentials using spec:{}{}",
+                                    System.lineSeparator(),
+                                    specification.encodePrettily());
+                        }
+                        return client.createAndSendRequest(
+                                CredentialsConstants.CredentialsAction.get.toString(),
+                                null,
+                                specification.toBuffer(),
+                                MessageHelper.CONTENT_TYPE_APPLICATION_JSON,
+                                this::getRequestResponseResult,
+                                span);
+                    }),
+                credentialsResult -> addResultToCache(responseCacheKey, credentialsResult));
+
+        return mapResultAndFinishSpan(resultTracker, ProtonBasedCredentialsClient::getCredentialsObject, span);
+    }
+
+    private static CredentialsObject getCredentialsObject(final CredentialsResult<CredentialsObject> result) {
+        switch (result.getStatus()) {
+        case HttpURLConnection.HTTP_OK:
+        case HttpURLConnection.HTTP_CREATED:
+            return result.getPayload();
+        case HttpURLConnection.HTTP_NOT_FOUND:
+            throw new ClientErrorException(result.getStatus(), "no such credentials");
+        default:
+            throw StatusCodeMapper.from(result);
+        }
     }
 
     private void addResultToCache(final AnnotatedCacheKey<CacheKey> responseCacheKey,
             final CredentialsResult<CredentialsObject> credentialsResult) {
 
-        if (isCachingEnabled()) {
-            // add device ID to cache keys so that they can be found when removing them
-            if (credentialsResult.getPayload() != null) {
-                // payload will be null if credentials not found, in this case the result will not be cached
-                responseCacheKey.putAttribute(ATTRIBUTE_KEY_DEVICE_ID, credentialsResult.getPayload().getDeviceId());
-            }
-
-            addToCache(responseCacheKey, credentialsResult);
+        final String tenantId = responseCacheKey.getKey().tenantId;
+        if (credentialsResult.getPayload() != null) {
+            // add the entry to the device's index entry so that it can be found when removing the device's results
+            addToCache(
+                    responseCacheKey,
+                    credentialsResult,
+                    CacheIndexKey.forTenant(tenantId),
+                    CacheIndexKey.forDevice(tenantId, credentialsResult.getPayload().getDeviceId()));
+        } else {
+            // payload will be null if credentials not found, in this case the result will usually not be cached
+            addToCache(responseCacheKey, credentialsResult, CacheIndexKey.forTenant(tenantId));
         }
     }
 
-    @SuppressWarnings("unchecked")
     private void removeResultsForTenantFromCache(final String tenantId) {
-        removeFromCacheByPattern(k -> ((AnnotatedCacheKey<CacheKey>) k).getKey().tenantId.equals(tenantId));
+        removeFromCacheByIndexKey(CacheIndexKey.forTenant(tenantId));
     }
 
-    @SuppressWarnings("unchecked")
     private void removeResultsForDeviceFromCache(final String tenantId, final String deviceId) {
-        removeFromCacheByPattern(key -> {
-            final AnnotatedCacheKey<CacheKey> annotatedCacheKey = (AnnotatedCacheKey<CacheKey>) key;
-            final boolean tenantMatches = annotatedCacheKey.getKey().tenantId.equals(tenantId);
-            final Boolean deviceMatches = annotatedCacheKey.getAttribute(ATTRIBUTE_KEY_DEVICE_ID)
-                    .map(id -> id.equals(deviceId))
-                    .orElse(false);
-            return tenantMatches && deviceMatches;
-        });
+        removeFromCacheByIndexKey(CacheIndexKey.forDevice(tenantId, deviceId));
     }
 
     private static class CacheKey {
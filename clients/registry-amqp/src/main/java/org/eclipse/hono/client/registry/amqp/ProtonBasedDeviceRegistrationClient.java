@@ -15,16 +15,21 @@
 package org.eclipse.hono.client.registry.amqp;
 
 import java.net.HttpURLConnection;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.stream.Collectors;
 
 import org.apache.qpid.proton.amqp.messaging.ApplicationProperties;
+import org.apache.qpid.proton.message.Message;
 import org.eclipse.hono.client.ClientErrorException;
 import org.eclipse.hono.client.ServerErrorException;
 import org.eclipse.hono.client.ServiceInvocationException;
 import org.eclipse.hono.client.amqp.AbstractRequestResponseServiceClient;
 import org.eclipse.hono.client.amqp.RequestResponseClient;
+import org.eclipse.hono.client.amqp.connection.AmqpUtils;
 import org.eclipse.hono.client.amqp.connection.HonoConnection;
 import org.eclipse.hono.client.amqp.connection.SendMessageSampler;
 import org.eclipse.hono.client.registry.DeviceRegistrationClient;
@@ -38,6 +43,7 @@ import org.eclipse.hono.tracing.TracingHelper;
 import org.eclipse.hono.util.CacheDirective;
 import org.eclipse.hono.util.Constants;
 import org.eclipse.hono.util.MessageHelper;
+import org.eclipse.hono.util.Pair;
 import org.eclipse.hono.util.RegistrationAssertion;
 import org.eclipse.hono.util.RegistrationConstants;
 import org.eclipse.hono.util.RegistrationResult;
@@ -49,9 +55,12 @@ import com.github.benmanes.caffeine.cache.Cache;
 import io.opentracing.Span;
 import io.opentracing.SpanContext;
 import io.opentracing.tag.Tags;
+import io.vertx.core.CompositeFuture;
 import io.vertx.core.Future;
+import io.vertx.core.Promise;
 import io.vertx.core.buffer.Buffer;
 import io.vertx.core.json.DecodeException;
+import io.vertx.core.json.JsonArray;
 import io.vertx.core.json.JsonObject;
 
 
@@ -135,8 +144,19 @@ public class ProtonBasedDeviceRegistrationClient extends AbstractRequestResponse
 
         if (isSuccessResponse(status, contentType, payload)) {
             try {
-                return RegistrationResult.from(status, new JsonObject(payload), cacheDirective, props);
-            } catch (final DecodeException e) {
+                final JsonObject json = new JsonObject(payload);
+                if (status == HttpURLConnection.HTTP_OK) {
+                    // decode the assertion only once so that results taken from the cache
+                    // can be used without mapping the JSON payload again
+                    return RegistrationResult.from(
+                            status,
+                            json,
+                            json.mapTo(RegistrationAssertion.class),
+                            cacheDirective,
+                            props);
+                }
+                return RegistrationResult.from(status, json, cacheDirective, props);
+            } catch (final DecodeException | IllegalArgumentException e) {
                 LOG.warn("received malformed payload from Device Registration service", e);
                 return RegistrationResult.from(HttpURLConnection.HTTP_INTERNAL_ERROR, null, null, props);
             }
@@ -161,77 +181,273 @@ public class ProtonBasedDeviceRegistrationClient extends AbstractRequestResponse
         TracingHelper.setDeviceTags(span, tenantId, deviceId);
         TracingHelper.TAG_GATEWAY_ID.set(span, gatewayId);
 
-        return getResponseFromCache(responseCacheKey, span)
-                .recover(t -> getOrCreateClient(tenantId)
-                        .compose(client -> {
-                            final Map<String, Object> properties = createDeviceIdProperties(deviceId);
-                            if (gatewayId != null) {
-                                properties.put(MessageHelper.APP_PROPERTY_GATEWAY_ID, gatewayId);
-                            }
-                            return client.createAndSendRequest(
-                                    RegistrationConstants.ACTION_ASSERT,
-                                    properties,
-                                    null,
-                                    MessageHelper.CONTENT_TYPE_APPLICATION_JSON,
-                                    this::getRequestResponseResult,
-                                    span);
-                        })
-                        .map(registrationResult -> {
-                            addToCache(responseCacheKey, registrationResult);
-                            return registrationResult;
-                        }))
-                .recover(t -> {
-                    Tags.HTTP_STATUS.set(span, ServiceInvocationException.extractStatusCode(t));
-                    TracingHelper.logError(span, t);
-                    return Future.failedFuture(t);
-                })
-                .map(registrationResult -> {
-                    Tags.HTTP_STATUS.set(span, registrationResult.getStatus());
-                    if (registrationResult.isError()) {
-                        Tags.ERROR.set(span, Boolean.TRUE);
-                    }
-                    switch (registrationResult.getStatus()) {
-                    case HttpURLConnection.HTTP_OK:
-                        final JsonObject payload = registrationResult.getPayload();
-                        try {
-                            return payload.mapTo(RegistrationAssertion.class);
-                        } catch (final DecodeException e) {
-                            if (log.isDebugEnabled()) {
-                                log.debug("registration service returned invalid response:{}{}",
-                                        System.lineSeparator(), payload.encodePrettily());
-                            }
-                            TracingHelper.logError(span, "registration service returned invalid response", e);
-                            throw new ServerErrorException(
-                                    HttpURLConnection.HTTP_INTERNAL_ERROR,
-                                    "registration service returned invalid response");
+        final RegistrationResult cachedResult = getResponseFromCache(responseCacheKey, span);
+        if (cachedResult != null) {
+            return mapResultAndFinishSpan(cachedResult, result -> getAssertion(result, span), span);
+        }
+
+        final Future<RegistrationResult> resultTracker = executeOrUsePendingRequest(
+                responseCacheKey,
+                () -> getOrCreateClient(tenantId)
+                    .compose(client -> {
+                        final Map<String, Object> properties = createDeviceIdProperties(deviceId);
+                        if (gatewayId != null) {
+                            properties.put(MessageHelper.APP_PROPERTY_GATEWAY_ID, gatewayId);
                         }
-                    case HttpURLConnection.HTTP_NOT_FOUND:
-                        throw new ClientErrorException(registrationResult.getStatus(), "device unknown or disabled");
-                    case HttpURLConnection.HTTP_FORBIDDEN:
-                        throw new ClientErrorException(
-                                registrationResult.getStatus(),
-                                "gateway unknown, disabled or not authorized to act on behalf of device");
-                    default:
-                        throw StatusCodeMapper.from(registrationResult);
+                        return client.createAndSendRequest(
+                                RegistrationConstants.ACTION_ASSERT,
+                                properties,
+                                null,
+                                MessageHelper.CONTENT_TYPE_APPLICATION_JSON,
+                                this::getRequestResponseResult,
+                                span);
+                    }),
+                registrationResult -> addResultToCache(responseCacheKey, registrationResult));
+        return mapResultAndFinishSpan(resultTracker, result -> getAssertion(result, span), span);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * This implementation takes the assertions that are contained in the response cache from the
+     * cache and asserts the registration status of all other devices using <em>assert-batch</em>
+     * requests, each containing at most {@value RegistrationConstants#MAX_DEVICES_PER_BATCH} devices.
+     * The results contained in the responses are added to the cache.
+     */
+    @Override
+    public List<Future<RegistrationAssertion>> assertRegistrations(
+            final String tenantId,
+            final List<Pair<String, String>> devices,
+            final SpanContext context) {
+
+        Objects.requireNonNull(tenantId);
+        Objects.requireNonNull(devices);
+
+        final Span span = newChildSpan(context, "assert Device Registrations");
+        TracingHelper.TAG_TENANT_ID.set(span, tenantId);
+        span.setTag("devices", devices.size());
+
+        final List<Future<RegistrationResult>> results = new ArrayList<>(devices.size());
+        final List<AnnotatedCacheKey<CacheKey>> requestedKeys = new ArrayList<>();
+        final List<Promise<RegistrationResult>> requestedResults = new ArrayList<>();
+        final JsonArray request = new JsonArray();
+
+        for (final Pair<String, String> device : devices) {
+            final AnnotatedCacheKey<CacheKey> responseCacheKey = new AnnotatedCacheKey<>(
+                    new CacheKey(tenantId, device.one(), device.two()));
+            final RegistrationResult cachedResult = getResponseFromCache(responseCacheKey, span);
+            if (cachedResult != null) {
+                results.add(Future.succeededFuture(cachedResult));
+            } else {
+                final Promise<RegistrationResult> result = Promise.promise();
+                results.add(result.future());
+                requestedKeys.add(responseCacheKey);
+                requestedResults.add(result);
+                final JsonObject entry = new JsonObject()
+                        .put(RegistrationConstants.FIELD_PAYLOAD_DEVICE_ID, device.one());
+                Optional.ofNullable(device.two())
+                        .ifPresent(gatewayId -> entry.put(RegistrationConstants.FIELD_GATEWAY_ID, gatewayId));
+                request.add(entry);
+            }
+        }
+
+        final List<Future<RegistrationAssertion>> assertions = results.stream()
+                .map(result -> result.map(registrationResult -> getAssertion(registrationResult, span)))
+                .collect(Collectors.toList());
+
+        if (requestedResults.isEmpty()) {
+            span.finish();
+            return assertions;
+        }
+
+        // send one request per chunk of devices in order to not exceed the registration service's limit
+        final List<Future<List<RegistrationResult>>> batchResults = new ArrayList<>();
+        for (int start = 0; start < requestedResults.size(); start += RegistrationConstants.MAX_DEVICES_PER_BATCH) {
+            final int end = Math.min(start + RegistrationConstants.MAX_DEVICES_PER_BATCH, requestedResults.size());
+            batchResults.add(sendBatchRequest(
+                    tenantId,
+                    new JsonArray(request.getList().subList(start, end)),
+                    requestedKeys.subList(start, end),
+                    span));
+        }
+        @SuppressWarnings("rawtypes")
+        final List<Future> batches = new ArrayList<>(batchResults);
+        CompositeFuture.join(batches).onComplete(r -> {
+            span.finish();
+            int resultIndex = 0;
+            for (final Future<List<RegistrationResult>> batchEntryResults : batchResults) {
+                final int batchSize = Math.min(
+                        RegistrationConstants.MAX_DEVICES_PER_BATCH,
+                        requestedResults.size() - resultIndex);
+                for (int i = 0; i < batchSize; i++) {
+                    final Promise<RegistrationResult> result = requestedResults.get(resultIndex++);
+                    if (batchEntryResults.succeeded()) {
+                        result.complete(batchEntryResults.result().get(i));
+                    } else {
+                        result.fail(batchEntryResults.cause());
+                    }
+                }
+            }
+        });
+
+        return assertions;
+    }
+
+    private Future<List<RegistrationResult>> sendBatchRequest(
+            final String tenantId,
+            final JsonArray request,
+            final List<AnnotatedCacheKey<CacheKey>> requestedKeys,
+            final Span span) {
+
+        span.log(Map.of("event", "sending batch request", "devices", request.size()));
+        return getOrCreateClient(tenantId)
+            .compose(client -> client.createAndSendRequest(
+                    RegistrationConstants.ACTION_ASSERT_BATCH,
+                    null,
+                    request.toBuffer(),
+                    MessageHelper.CONTENT_TYPE_APPLICATION_JSON,
+                    this::getBatchResult,
+                    span))
+            .map(batchResult -> {
+                final JsonArray entries = getBatchEntries(batchResult, requestedKeys.size());
+                final List<RegistrationResult> batchEntryResults = new ArrayList<>(entries.size());
+                for (int i = 0; i < requestedKeys.size(); i++) {
+                    final RegistrationResult result = getBatchEntryResult(entries.getValue(i));
+                    addResultToCache(requestedKeys.get(i), result);
+                    batchEntryResults.add(result);
+                }
+                return batchEntryResults;
+            })
+            .onFailure(t -> {
+                Tags.HTTP_STATUS.set(span, ServiceInvocationException.extractStatusCode(t));
+                TracingHelper.logError(span, t);
+            });
+    }
+
+    private RegistrationResult getBatchResult(final Message message) {
+
+        final Integer status = AmqpUtils.getStatus(message);
+        if (status == null) {
+            LOG.debug("response message has no status code application property [reply-to: {}, correlation ID: {}]",
+                    message.getReplyTo(), message.getCorrelationId());
+            return null;
+        }
+        final Buffer payload = AmqpUtils.getPayload(message);
+        if (isSuccessResponse(status, message.getContentType(), payload)) {
+            try {
+                return RegistrationResult.from(status, new JsonObject(payload));
+            } catch (final DecodeException e) {
+                LOG.warn("received malformed payload from Device Registration service", e);
+                return RegistrationResult.from(HttpURLConnection.HTTP_INTERNAL_ERROR);
+            }
+        }
+        return RegistrationResult.from(status);
+    }
+
+    private static JsonArray getBatchEntries(final RegistrationResult batchResult, final int expectedSize) {
+
+        if (batchResult.getStatus() != HttpURLConnection.HTTP_OK) {
+            throw StatusCodeMapper.from(batchResult);
+        }
+        final Object entries = batchResult.getPayload().getValue(RegistrationConstants.FIELD_RESULTS);
+        if (entries instanceof JsonArray && ((JsonArray) entries).size() == expectedSize) {
+            return (JsonArray) entries;
+        }
+        throw new ServerErrorException(
+                HttpURLConnection.HTTP_INTERNAL_ERROR,
+                "registration service returned invalid response");
+    }
+
+    private static RegistrationResult getBatchEntryResult(final Object entry) {
+
+        if (entry instanceof JsonObject) {
+            final JsonObject json = (JsonObject) entry;
+            try {
+                final Integer status = json.getInteger(RegistrationConstants.FIELD_STATUS);
+                if (status != null) {
+                    final JsonObject payload = json.getJsonObject(RegistrationConstants.FIELD_PAYLOAD);
+                    final CacheDirective cacheDirective = CacheDirective.from(
+                            json.getString(RegistrationConstants.FIELD_CACHE_CONTROL));
+                    if (status == HttpURLConnection.HTTP_OK && payload != null) {
+                        return RegistrationResult.from(
+                                status,
+                                payload,
+                                payload.mapTo(RegistrationAssertion.class),
+                                cacheDirective,
+                                null);
                     }
-                })
-                .onComplete(o -> span.finish());
+                    return RegistrationResult.from(status, payload, cacheDirective, null);
+                }
+            } catch (final ClassCastException | IllegalArgumentException e) {
+                LOG.debug("received malformed batch entry from Device Registration service", e);
+            }
+        }
+        return RegistrationResult.from(HttpURLConnection.HTTP_INTERNAL_ERROR);
+    }
+
+    private RegistrationAssertion getAssertion(final RegistrationResult registrationResult, final Span span) {
+
+        switch (registrationResult.getStatus()) {
+        case HttpURLConnection.HTTP_OK:
+            try {
+                final RegistrationAssertion assertion = registrationResult.getAssertion();
+                if (assertion == null) {
+                    throw new IllegalArgumentException("response contains no payload");
+                }
+                return assertion;
+            } catch (final DecodeException | IllegalArgumentException e) {
+                if (log.isDebugEnabled()) {
+                    log.debug("registration service returned invalid response:{}{}",
+                            System.lineSeparator(),
+                            Optional.ofNullable(registrationResult.getPayload())
+                                .map(JsonObject::encodePrettily)
+                                .orElse(null));
+                }
+                TracingHelper.logError(span, "registration service returned invalid response", e);
+                throw new ServerErrorException(
+                        HttpURLConnection.HTTP_INTERNAL_ERROR,
+                        "registration service returned invalid response");
+            }
+        case HttpURLConnection.HTTP_NOT_FOUND:
+            throw new ClientErrorException(registrationResult.getStatus(), "device unknown or disabled");
+        case HttpURLConnection.HTTP_FORBIDDEN:
+            throw new ClientErrorException(
+                    registrationResult.getStatus(),
+                    "gateway unknown, disabled or not authorized to act on behalf of device");
+        default:
+            throw StatusCodeMapper.from(registrationResult);
+        }
+    }
+
+    private void addResultToCache(
+            final AnnotatedCacheKey<CacheKey> responseCacheKey,
+            final RegistrationResult registrationResult) {
+
+        final CacheKey cacheKey = responseCacheKey.getKey();
+        if (cacheKey.gatewayId == null || cacheKey.gatewayId.equals(cacheKey.deviceId)) {
+            addToCache(
+                    responseCacheKey,
+                    registrationResult,
+                    CacheIndexKey.forTenant(cacheKey.tenantId),
+                    CacheIndexKey.forDevice(cacheKey.tenantId, cacheKey.deviceId));
+        } else {
+            // make sure the entry also gets removed if the gateway is changed
+            addToCache(
+                    responseCacheKey,
+                    registrationResult,
+                    CacheIndexKey.forTenant(cacheKey.tenantId),
+                    CacheIndexKey.forDevice(cacheKey.tenantId, cacheKey.deviceId),
+                    CacheIndexKey.forDevice(cacheKey.tenantId, cacheKey.gatewayId));
+        }
     }
 
-    @SuppressWarnings("unchecked")
     private void removeResultsForTenantFromCache(final String tenantId) {
-        removeFromCacheByPattern(k -> ((AnnotatedCacheKey<CacheKey>) k).getKey().tenantId.equals(tenantId));
+        removeFromCacheByIndexKey(CacheIndexKey.forTenant(tenantId));
     }
 
-    @SuppressWarnings("unchecked")
     private void removeResultsForDeviceFromCache(final String tenantId, final String deviceId) {
-        removeFromCacheByPattern(key -> {
-            final CacheKey cacheKey = ((AnnotatedCacheKey<CacheKey>) key).getKey();
-            final boolean tenantMatches = cacheKey.tenantId.equals(tenantId);
-            final boolean deviceOrGatewayMatches = cacheKey.deviceId.equals(deviceId)
-                    || Objects.equals(cacheKey.gatewayId, deviceId);
-            return tenantMatches && deviceOrGatewayMatches;
-        });
+        // this matches the entries in which the device is either the asserted device or the gateway
+        removeFromCacheByIndexKey(CacheIndexKey.forDevice(tenantId, deviceId));
     }
 
     private static class CacheKey {
@@ -15,8 +15,6 @@
 package org.eclipse.hono.client.registry.amqp;
 
 import java.net.HttpURLConnection;
-import java.util.HashMap;
-import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.function.Supplier;
@@ -52,7 +50,6 @@ import io.opentracing.Span;
 import io.opentracing.SpanContext;
 import io.opentracing.tag.StringTag;
 import io.vertx.core.Future;
-import io.vertx.core.Promise;
 import io.vertx.core.buffer.Buffer;
 import io.vertx.core.json.DecodeException;
 import io.vertx.core.json.Json;
@@ -62,6 +59,10 @@ import io.vertx.core.json.JsonObject;
 /**
  * A vertx-proton based client of Hono's Tenant service.
  * <p>
+ * A tenant that has been retrieved by the subject DN of one of its trust anchors is put to the response cache
+ * under both the subject DN and the tenant identifier, so that subsequent look ups by either key can be served
+ * from the same cached response.
+ * <p>
  * If a response cache has been provided, a notification receiver can be used to receive notifications about changes in
  * tenants from Hono's Device Registry. The notifications are used to invalidate the corresponding entries in the
  * response cache.
@@ -70,8 +71,6 @@ public final class ProtonBasedTenantClient extends AbstractRequestResponseServic
 
     private static final Logger LOG = LoggerFactory.getLogger(ProtonBasedTenantClient.class);
     private static final StringTag TAG_SUBJECT_DN = new StringTag("subject_dn");
-    private static final String ATTRIBUTE_KEY_TENANT_ID = "tenant-id";
-    private final Map<Object, Future<TenantResult<TenantObject>>> pendingRequests = new HashMap<>();
 
     /**
      * Creates a new client for a connection.
@@ -189,67 +188,59 @@ public final class ProtonBasedTenantClient extends AbstractRequestResponseServic
             final Supplier<JsonObject> payloadSupplier,
             final Span currentSpan) {
 
-        final Future<TenantResult<TenantObject>> resultTracker = getResponseFromCache(responseCacheKey, currentSpan)
-                .recover(cacheMiss -> executeOrUsePendingRequestResult(
-                        responseCacheKey,
-                        () -> getOrCreateClient().compose(client -> client.createAndSendRequest(
-                                    TenantAction.get.toString(),
-                                    null,
-                                    payloadSupplier.get().toBuffer(),
-                                    MessageHelper.CONTENT_TYPE_APPLICATION_JSON,
-                                    this::getRequestResponseResult,
-                                    currentSpan))));
-        return mapResultAndFinishSpan(resultTracker, tenantResult -> {
-            switch (tenantResult.getStatus()) {
-            case HttpURLConnection.HTTP_OK:
-                return tenantResult.getPayload();
-            case HttpURLConnection.HTTP_NOT_FOUND:
-                throw new ClientErrorException(tenantResult.getStatus(), "no such tenant");
-            default:
-                throw StatusCodeMapper.from(tenantResult);
-            }
-        }, currentSpan);
+        final TenantResult<TenantObject> cachedResult = getResponseFromCache(responseCacheKey, currentSpan);
+        if (cachedResult != null) {
+            return mapResultAndFinishSpan(cachedResult, ProtonBasedTenantClient::getTenantObject, currentSpan);
+        }
+
+        final Future<TenantResult<TenantObject>> resultTracker = executeOrUsePendingRequest(
+                responseCacheKey,
+                () -> getOrCreateClient().compose(client -> client.createAndSendRequest(
+                            TenantAction.get.toString(),
+                            null,
+                            payloadSupplier.get().toBuffer(),
+                            MessageHelper.CONTENT_TYPE_APPLICATION_JSON,
+                            this::getRequestResponseResult,
+                            currentSpan)),
+                tenantResult -> addResultToCache(responseCacheKey, tenantResult));
+        return mapResultAndFinishSpan(resultTracker, ProtonBasedTenantClient::getTenantObject, currentSpan);
     }
 
-    private Future<TenantResult<TenantObject>> executeOrUsePendingRequestResult(
-            final AnnotatedCacheKey<?> responseCacheKey,
-            final Supplier<Future<TenantResult<TenantObject>>> serviceRequest) {
-
-        final Promise<TenantResult<TenantObject>> resultPromise = Promise.promise();
-        Optional.ofNullable(pendingRequests.putIfAbsent(responseCacheKey, resultPromise.future()))
-                .ifPresentOrElse(
-                        // pending request exists - complete the result promise with its result
-                        pendingRequest -> pendingRequest.onComplete(resultPromise),
-                        // otherwise execute the request
-                        () -> serviceRequest.get()
-                                // make sure to put the response to the cache (if applicable)
-                                .onSuccess(tenantResult -> addResultToCache(responseCacheKey, tenantResult))
-                                // and again remove the result promise so that a subsequent request will be executed again
-                                .onComplete(ar -> pendingRequests.remove(responseCacheKey))
-                                .onComplete(resultPromise));
-        return resultPromise.future();
+    private static TenantObject getTenantObject(final TenantResult<TenantObject> tenantResult) {
+        switch (tenantResult.getStatus()) {
+        case HttpURLConnection.HTTP_OK:
+            return tenantResult.getPayload();
+        case HttpURLConnection.HTTP_NOT_FOUND:
+            throw new ClientErrorException(tenantResult.getStatus(), "no such tenant");
+        default:
+            throw StatusCodeMapper.from(tenantResult);
+        }
     }
 
     private void addResultToCache(final AnnotatedCacheKey<?> responseCacheKey,
             final TenantResult<TenantObject> tenantResult) {
 
-        if (isCachingEnabled()) {
-            // add tenant ID to all cache keys so that they can be found in a consistent way when removing them
-            if (tenantResult.getPayload() != null) {
-                // payload will be null if tenant not found, in this case the result will not be cached
-                responseCacheKey.putAttribute(ATTRIBUTE_KEY_TENANT_ID, tenantResult.getPayload().getTenantId());
+        if (tenantResult.getPayload() != null) {
+            final String tenantId = tenantResult.getPayload().getTenantId();
+            // index all cache keys by tenant ID so that they can be found in a consistent way when removing them
+            final CacheIndexKey indexKey = CacheIndexKey.forTenant(tenantId);
+            addToCache(responseCacheKey, tenantResult, indexKey);
+            if (responseCacheKey.getKey() instanceof X500Principal) {
+                // the tenant ID unambiguously identifies the tenant found for the subject DN
+                // so the same response can also be used for look ups by tenant ID
+                addToCache(new AnnotatedCacheKey<>(tenantId), tenantResult, indexKey);
             }
-
+            // the opposite is not true in general: multiple tenants may use the same trust anchor
+            // (if supported by the registry), in which case a look up by subject DN fails
+        } else {
+            // payload will be null if tenant not found, in this case the result will usually not be cached
             addToCache(responseCacheKey, tenantResult);
         }
     }
 
     private void removeResultFromCache(final String tenantId) {
         // this matches all entries for the tenant, regardless of the cache key
-        removeFromCacheByPattern(key -> ((AnnotatedCacheKey<?>) key)
-                .getAttribute(ATTRIBUTE_KEY_TENANT_ID)
-                .map(id -> id.equals(tenantId))
-                .orElse(false));
+        removeFromCacheByIndexKey(CacheIndexKey.forTenant(tenantId));
     }
 
 }
@@ -18,6 +18,8 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
@@ -31,9 +33,8 @@ import java.net.HttpURLConnection;
 import java.time.Instant;
 import java.util.HashSet;
 import java.util.Set;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
 
 import org.apache.qpid.proton.amqp.messaging.Rejected;
 import org.apache.qpid.proton.message.Message;
@@ -101,7 +102,7 @@ class ProtonBasedCredentialsClientTest {
     private Span span;
     private Vertx vertx;
     private EventBus eventBus;
-    private final ConcurrentMap<Object, CredentialsResult<CredentialsObject>> cacheBackingMap = new ConcurrentHashMap<>();
+    private final AtomicReference<ProtonMessageHandler> responseHandler = new AtomicReference<>();
 
     /**
      * Sets up the fixture.
@@ -125,12 +126,14 @@ class ProtonBasedCredentialsClientTest {
         when(connection.connect()).thenReturn(Future.succeededFuture());
         when(connection.isConnected(anyLong())).thenReturn(Future.succeededFuture());
         when(connection.createReceiver(anyString(), any(ProtonQoS.class), any(ProtonMessageHandler.class), VertxMockSupport.anyHandler()))
-                .thenReturn(Future.succeededFuture(receiver));
+                .thenAnswer(invocation -> {
+                    responseHandler.set(invocation.getArgument(2));
+                    return Future.succeededFuture(receiver);
+                });
         when(connection.createSender(anyString(), any(ProtonQoS.class), VertxMockSupport.anyHandler()))
             .thenReturn(Future.succeededFuture(sender));
 
         cache = mock(Cache.class);
-        when(cache.asMap()).thenReturn(cacheBackingMap);
     }
 
 
@@ -567,21 +570,33 @@ class ProtonBasedCredentialsClientTest {
 
         final String credentialsType = CredentialsConstants.SECRETS_TYPE_HASHED_PASSWORD;
 
-        final CredentialsResult<CredentialsObject> credentialsResult = CredentialsResult.from(HttpURLConnection.HTTP_OK,
-                new CredentialsObject(deviceId, authId, credentialsType));
-
-        final ArgumentCaptor<AnnotatedCacheKey<?>> responseCacheKey = ArgumentCaptor.forClass(AnnotatedCacheKey.class);
-        when(cache.getIfPresent(responseCacheKey.capture())).thenReturn(credentialsResult);
+        when(cache.getIfPresent(any())).thenReturn(null);
+        givenTheServiceRespondsWith(JsonObject.mapFrom(new CredentialsObject(deviceId, authId, credentialsType)));
 
         return client.get(tenantId, credentialsType, authId, new JsonObject(), null)
-                .map(credentialsObject -> {
-
-                    final AnnotatedCacheKey<?> cacheKey = responseCacheKey.getValue();
-                    cacheKey.putAttribute("device-id", deviceId);
-                    cacheBackingMap.put(cacheKey, credentialsResult);
+                .map(credentialsObject -> getKeyOfLastResponseAddedToCache());
+    }
 
-                    return cacheKey;
-                });
+    private AnnotatedCacheKey<?> getKeyOfLastResponseAddedToCache() {
+        final ArgumentCaptor<AnnotatedCacheKey<?>> responseCacheKey = ArgumentCaptor.forClass(AnnotatedCacheKey.class);
+        verify(cache, atLeastOnce()).put(responseCacheKey.capture(), any(CredentialsResult.class));
+        return responseCacheKey.getValue();
     }
 
+    /**
+     * Makes the mocked service respond to all requests with a given payload.
+     *
+     * @param payload The payload to include in the response messages.
+     */
+    private void givenTheServiceRespondsWith(final JsonObject payload) {
+        doAnswer(invocation -> {
+            final Message request = invocation.getArgument(0);
+            final Message response = ProtonHelper.message();
+            AmqpUtils.addProperty(response, MessageHelper.APP_PROPERTY_STATUS, HttpURLConnection.HTTP_OK);
+            response.setCorrelationId(request.getMessageId());
+            AmqpUtils.setJsonPayload(response, payload);
+            responseHandler.get().handle(mock(ProtonDelivery.class), response);
+            return mock(ProtonDelivery.class);
+        }).when(sender).send(any(Message.class), VertxMockSupport.anyHandler());
+    }
 }
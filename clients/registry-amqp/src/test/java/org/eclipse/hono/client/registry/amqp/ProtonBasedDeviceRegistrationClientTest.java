@@ -14,13 +14,17 @@
 
 package org.eclipse.hono.client.registry.amqp;
 
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
@@ -29,13 +33,18 @@ import static com.google.common.truth.Truth.assertThat;
 
 import java.net.HttpURLConnection;
 import java.time.Instant;
+import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 import org.apache.qpid.proton.message.Message;
+import org.eclipse.hono.client.ServiceInvocationException;
 import org.eclipse.hono.client.amqp.config.RequestResponseClientConfigProperties;
 import org.eclipse.hono.client.amqp.connection.AmqpUtils;
 import org.eclipse.hono.client.amqp.connection.HonoConnection;
@@ -53,6 +62,8 @@ import org.eclipse.hono.test.VertxMockSupport;
 import org.eclipse.hono.util.CacheDirective;
 import org.eclipse.hono.util.Constants;
 import org.eclipse.hono.util.MessageHelper;
+import org.eclipse.hono.util.Pair;
+import org.eclipse.hono.util.RegistrationAssertion;
 import org.eclipse.hono.util.RegistrationConstants;
 import org.eclipse.hono.util.RegistrationResult;
 import org.junit.jupiter.api.BeforeEach;
@@ -64,10 +75,12 @@ import com.github.benmanes.caffeine.cache.Cache;
 
 import io.opentracing.Span;
 import io.opentracing.Tracer;
+import io.vertx.core.CompositeFuture;
 import io.vertx.core.Future;
 import io.vertx.core.Handler;
 import io.vertx.core.Vertx;
 import io.vertx.core.eventbus.EventBus;
+import io.vertx.core.json.JsonArray;
 import io.vertx.core.json.JsonObject;
 import io.vertx.junit5.Timeout;
 import io.vertx.junit5.VertxExtension;
@@ -96,7 +109,7 @@ class ProtonBasedDeviceRegistrationClientTest {
     private Span span;
     private Vertx vertx;
     private EventBus eventBus;
-    private final ConcurrentMap<Object, RegistrationResult> cacheBackingMap = new ConcurrentHashMap<>();
+    private final AtomicReference<ProtonMessageHandler> responseHandler = new AtomicReference<>();
 
     /**
      * Sets up the fixture.
@@ -120,12 +133,14 @@ class ProtonBasedDeviceRegistrationClientTest {
         when(connection.connect()).thenReturn(Future.succeededFuture());
         when(connection.isConnected(anyLong())).thenReturn(Future.succeededFuture());
         when(connection.createReceiver(anyString(), any(ProtonQoS.class), any(ProtonMessageHandler.class), VertxMockSupport.anyHandler()))
-                .thenReturn(Future.succeededFuture(receiver));
+                .thenAnswer(invocation -> {
+                    responseHandler.set(invocation.getArgument(2));
+                    return Future.succeededFuture(receiver);
+                });
         when(connection.createSender(anyString(), any(ProtonQoS.class), VertxMockSupport.anyHandler()))
             .thenReturn(Future.succeededFuture(sender));
 
         cache = mock(Cache.class);
-        when(cache.asMap()).thenReturn(cacheBackingMap);
     }
 
     private static JsonObject newRegistrationAssertionResult(final String deviceId) {
@@ -150,6 +165,144 @@ class ProtonBasedDeviceRegistrationClientTest {
                 cache);
     }
 
+    /**
+     * Verifies that the client takes assertions from the cache and retrieves the assertions
+     * of all other devices from the Device Registration service using a single batch request.
+     *
+     * @param ctx The vert.x test context.
+     */
+    @Test
+    public void testAssertRegistrationsSendsSingleBatchRequestForCacheMisses(final VertxTestContext ctx) {
+
+        final var cachedAssertion = newRegistrationAssertionResult("cachedDevice");
+        final var registrationAssertion = newRegistrationAssertionResult("myDevice");
+
+        // GIVEN a client with a cache containing the assertion of a single device only
+        givenAClient(cache);
+        when(cache.getIfPresent(any())).thenReturn(
+                RegistrationResult.from(
+                        HttpURLConnection.HTTP_OK,
+                        cachedAssertion,
+                        cachedAssertion.mapTo(RegistrationAssertion.class),
+                        CacheDirective.maxAgeDirective(60),
+                        null),
+                (RegistrationResult) null);
+
+        // WHEN asserting the registration status of three devices
+        final var results = client.assertRegistrations(
+                "tenant",
+                List.of(Pair.of("cachedDevice", null), Pair.of("myDevice", "gw"), Pair.of("unknownDevice", null)),
+                span.context());
+
+        // THEN a single request containing the devices not found in the cache has been sent
+        final Message request = AmqpClientUnitTestHelper.assertMessageHasBeenSent(sender);
+        ctx.verify(() -> {
+            assertThat(request.getSubject()).isEqualTo(RegistrationConstants.ACTION_ASSERT_BATCH);
+            final JsonArray requestedDevices = new JsonArray(AmqpUtils.getPayload(request));
+            assertThat(requestedDevices).containsExactly(
+                    new JsonObject()
+                        .put(RegistrationConstants.FIELD_PAYLOAD_DEVICE_ID, "myDevice")
+                        .put(RegistrationConstants.FIELD_GATEWAY_ID, "gw"),
+                    new JsonObject().put(RegistrationConstants.FIELD_PAYLOAD_DEVICE_ID, "unknownDevice"));
+        });
+
+        CompositeFuture.join(results.get(0), results.get(1), results.get(2)).onComplete(ctx.failing(t -> {
+            ctx.verify(() -> {
+                // and the results are returned in the order of the request
+                assertThat(results.get(0).result().getDeviceId()).isEqualTo("cachedDevice");
+                assertThat(results.get(1).result().getDeviceId()).isEqualTo("myDevice");
+                assertThat(results.get(2).failed()).isTrue();
+                assertThat(ServiceInvocationException.extractStatusCode(results.get(2).cause()))
+                        .isEqualTo(HttpURLConnection.HTTP_NOT_FOUND);
+                // and the retrieved assertion has been added to the cache
+                verify(cache).put(
+                        any(),
+                        argThat((RegistrationResult response) -> registrationAssertion.equals(response.getPayload())));
+                // and the span is finished
+                verify(span).finish();
+            });
+            ctx.completeNow();
+        }));
+
+        final Message response = ProtonHelper.message();
+        AmqpUtils.addProperty(response, MessageHelper.APP_PROPERTY_STATUS, HttpURLConnection.HTTP_OK);
+        response.setCorrelationId(request.getMessageId());
+        AmqpUtils.setJsonPayload(response, new JsonObject().put(RegistrationConstants.FIELD_RESULTS, new JsonArray()
+                .add(new JsonObject()
+                        .put(RegistrationConstants.FIELD_STATUS, HttpURLConnection.HTTP_OK)
+                        .put(RegistrationConstants.FIELD_PAYLOAD, registrationAssertion)
+                        .put(RegistrationConstants.FIELD_CACHE_CONTROL, CacheDirective.maxAgeDirective(60).toString()))
+                .add(new JsonObject()
+                        .put(RegistrationConstants.FIELD_STATUS, HttpURLConnection.HTTP_NOT_FOUND))));
+        final ProtonDelivery delivery = mock(ProtonDelivery.class);
+        AmqpClientUnitTestHelper.assertReceiverLinkCreated(connection).handle(delivery, response);
+    }
+
+    /**
+     * Verifies that the client splits the devices to be asserted into multiple batch requests
+     * if the number of devices exceeds the maximum number of devices per batch.
+     *
+     * @param ctx The vert.x test context.
+     */
+    @Test
+    public void testAssertRegistrationsSplitsLargeNumberOfDevicesIntoMultipleBatches(final VertxTestContext ctx) {
+
+        // GIVEN a client with an empty cache
+        givenAClient(cache);
+        when(cache.getIfPresent(any())).thenReturn(null);
+
+        // WHEN asserting the registration status of more devices than fit into a single batch
+        final int numberOfDevices = RegistrationConstants.MAX_DEVICES_PER_BATCH + 50;
+        final List<Pair<String, String>> devices = IntStream.range(0, numberOfDevices)
+                .mapToObj(i -> Pair.of("device-" + i, (String) null))
+                .collect(Collectors.toList());
+        final var results = client.assertRegistrations("tenant", devices, span.context());
+
+        // THEN two requests have been sent
+        final ArgumentCaptor<Message> requestCaptor = ArgumentCaptor.forClass(Message.class);
+        verify(sender, times(2)).send(requestCaptor.capture(), VertxMockSupport.anyHandler());
+        final List<Message> requests = requestCaptor.getAllValues();
+        ctx.verify(() -> {
+            // containing all devices in the order of the original request
+            final JsonArray firstBatch = new JsonArray(AmqpUtils.getPayload(requests.get(0)));
+            final JsonArray secondBatch = new JsonArray(AmqpUtils.getPayload(requests.get(1)));
+            assertThat(firstBatch.size()).isEqualTo(RegistrationConstants.MAX_DEVICES_PER_BATCH);
+            assertThat(secondBatch.size()).isEqualTo(50);
+            assertThat(secondBatch.getJsonObject(0).getString(RegistrationConstants.FIELD_PAYLOAD_DEVICE_ID))
+                .isEqualTo("device-" + RegistrationConstants.MAX_DEVICES_PER_BATCH);
+        });
+
+        @SuppressWarnings("rawtypes")
+        final List<Future> resultFutures = new ArrayList<>(results);
+        CompositeFuture.all(resultFutures).onComplete(ctx.succeeding(ok -> {
+            ctx.verify(() -> {
+                // and the results are returned in the order of the request
+                for (int i = 0; i < numberOfDevices; i++) {
+                    assertThat(results.get(i).result().getDeviceId()).isEqualTo("device-" + i);
+                }
+                // and the span is finished once both responses have been received
+                verify(span).finish();
+            });
+            ctx.completeNow();
+        }));
+
+        final ProtonMessageHandler linkHandler = AmqpClientUnitTestHelper.assertReceiverLinkCreated(connection);
+        for (final Message request : requests) {
+            final JsonArray entries = new JsonArray();
+            new JsonArray(AmqpUtils.getPayload(request)).stream()
+                .map(JsonObject.class::cast)
+                .forEach(entry -> entries.add(new JsonObject()
+                        .put(RegistrationConstants.FIELD_STATUS, HttpURLConnection.HTTP_OK)
+                        .put(RegistrationConstants.FIELD_PAYLOAD, newRegistrationAssertionResult(
+                                entry.getString(RegistrationConstants.FIELD_PAYLOAD_DEVICE_ID)))));
+            final Message response = ProtonHelper.message();
+            AmqpUtils.addProperty(response, MessageHelper.APP_PROPERTY_STATUS, HttpURLConnection.HTTP_OK);
+            response.setCorrelationId(request.getMessageId());
+            AmqpUtils.setJsonPayload(response, new JsonObject().put(RegistrationConstants.FIELD_RESULTS, entries));
+            linkHandler.handle(mock(ProtonDelivery.class), response);
+        }
+    }
+
     /**
      * Verifies that on a cache miss the client retrieves registration information
      * from the Device Registration service and puts it to the cache.
@@ -192,6 +345,44 @@ class ProtonBasedDeviceRegistrationClientTest {
         AmqpClientUnitTestHelper.assertReceiverLinkCreated(connection).handle(delivery, response);
     }
 
+    /**
+     * Verifies that concurrent requests for the same device's registration information
+     * share the outcome of a single request to the Device Registration service.
+     *
+     * @param ctx The vert.x test context.
+     */
+    @Test
+    public void testAssertRegistrationUsesResultFromPendingRequest(final VertxTestContext ctx) {
+
+        // GIVEN a client with an empty cache
+        givenAClient(cache);
+        when(cache.getIfPresent(any())).thenReturn(null);
+
+        // WHEN getting registration information twice before a response has been received
+        final Future<RegistrationAssertion> firstFuture = client.assertRegistration("tenant", "myDevice", null, span.context());
+        final Future<RegistrationAssertion> secondFuture = client.assertRegistration("tenant", "myDevice", null, span.context());
+
+        // THEN only a single request message is sent to the service
+        final Message request = AmqpClientUnitTestHelper.assertMessageHasBeenSent(sender);
+        final Message response = ProtonHelper.message();
+        AmqpUtils.addProperty(response, MessageHelper.APP_PROPERTY_STATUS, HttpURLConnection.HTTP_OK);
+        AmqpUtils.addCacheDirective(response, CacheDirective.maxAgeDirective(60));
+        response.setCorrelationId(request.getMessageId());
+        AmqpUtils.setJsonPayload(response, newRegistrationAssertionResult("myDevice"));
+        final ProtonDelivery delivery = mock(ProtonDelivery.class);
+        AmqpClientUnitTestHelper.assertReceiverLinkCreated(connection).handle(delivery, response);
+
+        // and both invocations succeed with the assertion from the response
+        CompositeFuture.all(firstFuture, secondFuture).onComplete(ctx.succeeding(ok -> {
+            ctx.verify(() -> {
+                assertThat(firstFuture.result().getDeviceId()).isEqualTo("myDevice");
+                assertThat(secondFuture.result()).isSameInstanceAs(firstFuture.result());
+                verify(cache).put(any(), any(RegistrationResult.class));
+            });
+            ctx.completeNow();
+        }));
+    }
+
     /**
      * Verifies that the client retrieves registration information from the
      * Device Registration service if no cache is configured.
@@ -261,6 +452,48 @@ class ProtonBasedDeviceRegistrationClientTest {
 
     }
 
+    /**
+     * Verifies that the registration assertion contained in a cached response is decoded
+     * only once and is then shared by subsequent look-ups.
+     *
+     * @param ctx The vert.x test context.
+     */
+    @Test
+    public void testGetRegistrationInfoReturnsSameAssertionFromCache(final VertxTestContext ctx) {
+
+        // GIVEN an adapter with a cache containing a registration assertion
+        // response for "device"
+        givenAClient(cache);
+        final JsonObject registrationAssertion = newRegistrationAssertionResult("device", "text/plain");
+        final RegistrationResult regResult = RegistrationResult.from(HttpURLConnection.HTTP_OK, registrationAssertion);
+        when(cache.getIfPresent(any())).thenReturn(regResult);
+
+        // WHEN getting registration information twice
+        client.assertRegistration("tenant", "device", null, span.context())
+            .compose(firstResult -> client.assertRegistration("tenant", "device", null, span.context())
+                    .map(secondResult -> {
+                        ctx.verify(() -> {
+                            // THEN both look-ups return the same, read-only assertion
+                            assertThat(secondResult).isSameInstanceAs(firstResult);
+                            assertThat(secondResult.getDefaults())
+                                .containsEntry(MessageHelper.SYS_PROPERTY_CONTENT_TYPE, "text/plain");
+                            assertThrows(
+                                    UnsupportedOperationException.class,
+                                    () -> secondResult.getDefaults().put("foo", "bar"));
+                            assertThrows(
+                                    UnsupportedOperationException.class,
+                                    () -> secondResult.setDefaults(Map.of("foo", "bar")));
+                            assertThrows(
+                                    UnsupportedOperationException.class,
+                                    () -> secondResult.setAuthorizedGateways(List.of("gw")));
+                            // and no request message is sent to the service
+                            verify(sender, never()).send(any(Message.class), VertxMockSupport.anyHandler());
+                        });
+                        return secondResult;
+                    }))
+            .onComplete(ctx.succeedingThenComplete());
+    }
+
     /**
      * Verifies that the client includes the required information in the request
      * message sent to the Device Registration service.
@@ -448,20 +681,33 @@ class ProtonBasedDeviceRegistrationClientTest {
     private Future<AnnotatedCacheKey<?>> addResultToCache(final String tenantId, final String deviceId,
             final String gatewayId) {
 
-        final JsonObject registrationAssertion = newRegistrationAssertionResult(deviceId);
-        final RegistrationResult registrationResult = RegistrationResult.from(HttpURLConnection.HTTP_OK,
-                registrationAssertion);
-        when(cache.getIfPresent(any())).thenReturn(registrationResult);
-
-        final ArgumentCaptor<AnnotatedCacheKey<?>> responseCacheKey = ArgumentCaptor.forClass(AnnotatedCacheKey.class);
-        when(cache.getIfPresent(responseCacheKey.capture())).thenReturn(registrationResult);
+        when(cache.getIfPresent(any())).thenReturn(null);
+        givenTheServiceRespondsWith(newRegistrationAssertionResult(deviceId));
 
         return client.assertRegistration(tenantId, deviceId, gatewayId, null)
-                .map(assertion -> {
-                    final AnnotatedCacheKey<?> cacheKey = responseCacheKey.getValue();
-                    cacheBackingMap.put(cacheKey, registrationResult);
-                    return cacheKey;
-                });
+                .map(assertion -> getKeyOfLastResponseAddedToCache());
+    }
+
+    private AnnotatedCacheKey<?> getKeyOfLastResponseAddedToCache() {
+        final ArgumentCaptor<AnnotatedCacheKey<?>> responseCacheKey = ArgumentCaptor.forClass(AnnotatedCacheKey.class);
+        verify(cache, atLeastOnce()).put(responseCacheKey.capture(), any(RegistrationResult.class));
+        return responseCacheKey.getValue();
     }
 
+    /**
+     * Makes the mocked service respond to all requests with a given payload.
+     *
+     * @param payload The payload to include in the response messages.
+     */
+    private void givenTheServiceRespondsWith(final JsonObject payload) {
+        doAnswer(invocation -> {
+            final Message request = invocation.getArgument(0);
+            final Message response = ProtonHelper.message();
+            AmqpUtils.addProperty(response, MessageHelper.APP_PROPERTY_STATUS, HttpURLConnection.HTTP_OK);
+            response.setCorrelationId(request.getMessageId());
+            AmqpUtils.setJsonPayload(response, payload);
+            responseHandler.get().handle(mock(ProtonDelivery.class), response);
+            return mock(ProtonDelivery.class);
+        }).when(sender).send(any(Message.class), VertxMockSupport.anyHandler());
+    }
 }
@@ -19,6 +19,7 @@ import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.atLeastOnce;
 import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
@@ -32,10 +33,9 @@ import static com.google.common.truth.Truth.assertThat;
 import java.net.HttpURLConnection;
 import java.time.Instant;
 import java.util.Set;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
 
 import javax.security.auth.x500.X500Principal;
 
@@ -65,6 +65,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 
 import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 
 import io.opentracing.Span;
 import io.opentracing.Tracer;
@@ -104,7 +105,7 @@ class ProtonBasedTenantClientTest {
     private Span span;
     private Vertx vertx;
     private EventBus eventBus;
-    private final ConcurrentMap<Object, TenantResult<TenantObject>> cacheBackingMap = new ConcurrentHashMap<>();
+    private final AtomicReference<ProtonMessageHandler> responseHandler = new AtomicReference<>();
 
     /**
      * Sets up the fixture.
@@ -129,12 +130,14 @@ class ProtonBasedTenantClientTest {
         when(connection.connect()).thenReturn(Future.succeededFuture());
         when(connection.isConnected(anyLong())).thenReturn(Future.succeededFuture());
         when(connection.createReceiver(anyString(), any(ProtonQoS.class), any(ProtonMessageHandler.class), VertxMockSupport.anyHandler()))
-                .thenReturn(Future.succeededFuture(receiver));
+                .thenAnswer(invocation -> {
+                    responseHandler.set(invocation.getArgument(2));
+                    return Future.succeededFuture(receiver);
+                });
         when(connection.createSender(anyString(), any(ProtonQoS.class), VertxMockSupport.anyHandler()))
             .thenReturn(Future.succeededFuture(sender));
 
         cache = mock(Cache.class);
-        when(cache.asMap()).thenReturn(cacheBackingMap);
     }
 
     private static JsonObject newTenantResult(final String tenantId) {
@@ -435,6 +438,79 @@ class ProtonBasedTenantClientTest {
         assertThat(payload.getString(TenantConstants.FIELD_PAYLOAD_SUBJECT_DN)).isEqualTo("CN=ca,OU=Hono,O=Eclipse");
     }
 
+    /**
+     * Verifies that a tenant that has been retrieved by subject DN is also used for
+     * subsequent requests for the tenant's identifier and that both entries are removed
+     * from the cache when the tenant is deleted.
+     *
+     * @param ctx The vert.x test context.
+     */
+    @Test
+    public void testGetTenantBySubjectDnAddsResultForTenantIdToCache(final VertxTestContext ctx) {
+
+        // GIVEN a client with an empty cache
+        final Cache<Object, TenantResult<TenantObject>> responseCache = Caffeine.newBuilder().build();
+        givenAClient(responseCache);
+        final var notificationHandlerCaptor = getEventBusConsumerHandlerArgumentCaptor(TenantChangeNotification.TYPE);
+        givenTheServiceRespondsWith(JsonObject.mapFrom(new TenantObject("tenant", true)));
+        final X500Principal dn = new X500Principal("CN=ca, OU=Hono, O=Eclipse");
+
+        // WHEN getting tenant information for a subject DN
+        client.get(dn, span.context())
+            // and then for the identifier of the tenant that has been found
+            .compose(tenantByDn -> client.get("tenant", span.context())
+                    .map(tenantById -> {
+                        ctx.verify(() -> assertThat(tenantById).isSameInstanceAs(tenantByDn));
+                        return tenantById;
+                    }))
+            .onComplete(ctx.succeeding(tenant -> {
+                ctx.verify(() -> {
+                    // THEN only the first request has been sent to the service
+                    verify(sender, times(1)).send(any(Message.class), VertxMockSupport.anyHandler());
+                    assertThat(responseCache.getIfPresent(new AnnotatedCacheKey<>(dn))).isNotNull();
+                    assertThat(responseCache.getIfPresent(new AnnotatedCacheKey<>("tenant"))).isNotNull();
+
+                    // and both entries are removed once the tenant has been deleted
+                    sendViaEventBusMock(
+                            new TenantChangeNotification(LifecycleChange.DELETE, "tenant", Instant.now(), false, false),
+                            notificationHandlerCaptor.getValue());
+                    assertThat(responseCache.asMap()).isEmpty();
+                });
+                ctx.completeNow();
+            }));
+    }
+
+    /**
+     * Verifies that a tenant that has been retrieved by identifier is not used for
+     * requests for the subject DN of the tenant's trust anchor.
+     *
+     * @param ctx The vert.x test context.
+     */
+    @Test
+    public void testGetTenantByIdDoesNotAddResultForSubjectDnToCache(final VertxTestContext ctx) {
+
+        // GIVEN a client with an empty cache
+        final Cache<Object, TenantResult<TenantObject>> responseCache = Caffeine.newBuilder().build();
+        givenAClient(responseCache);
+        final X500Principal dn = new X500Principal("CN=ca, OU=Hono, O=Eclipse");
+        final TenantObject tenantObject = new TenantObject("tenant", true)
+                .addTrustAnchor(new byte[] { 0x01, 0x02 }, "EC", dn, null, false);
+        givenTheServiceRespondsWith(JsonObject.mapFrom(tenantObject));
+
+        // WHEN getting tenant information by identifier
+        client.get("tenant", span.context())
+            // and then for the subject DN of the tenant's trust anchor
+            .compose(tenantById -> client.get(dn, span.context()))
+            .onComplete(ctx.succeeding(tenant -> {
+                ctx.verify(() -> {
+                    // THEN both requests have been sent to the service because the
+                    // same trust anchor may be used by other tenants as well
+                    verify(sender, times(2)).send(any(Message.class), VertxMockSupport.anyHandler());
+                });
+                ctx.completeNow();
+            }));
+    }
+
     /**
      * Verifies that the client includes the required information in the request
      * message sent to the Tenant service.
@@ -570,20 +646,33 @@ class ProtonBasedTenantClientTest {
 
     private Future<AnnotatedCacheKey<?>> addResultToCache(final String tenantId) {
 
-        final TenantResult<TenantObject> tenantResult = TenantResult.from(HttpURLConnection.HTTP_OK,
-                new TenantObject(tenantId, false));
-
-        final ArgumentCaptor<AnnotatedCacheKey<?>> responseCacheKey = ArgumentCaptor.forClass(AnnotatedCacheKey.class);
-        when(cache.getIfPresent(responseCacheKey.capture())).thenReturn(tenantResult);
+        when(cache.getIfPresent(any())).thenReturn(null);
+        givenTheServiceRespondsWith(JsonObject.mapFrom(new TenantObject(tenantId, false)));
 
         return client.get(tenantId, null)
-                .map(tenantObject -> {
-                    final AnnotatedCacheKey<?> cacheKey = responseCacheKey.getValue();
-                    cacheKey.putAttribute("tenant-id", tenantId);
-                    cacheBackingMap.put(cacheKey, tenantResult);
-                    return cacheKey;
-                });
+                .map(tenantObject -> getKeyOfLastResponseAddedToCache());
+    }
 
+    private AnnotatedCacheKey<?> getKeyOfLastResponseAddedToCache() {
+        final ArgumentCaptor<AnnotatedCacheKey<?>> responseCacheKey = ArgumentCaptor.forClass(AnnotatedCacheKey.class);
+        verify(cache, atLeastOnce()).put(responseCacheKey.capture(), any(TenantResult.class));
+        return responseCacheKey.getValue();
     }
 
+    /**
+     * Makes the mocked service respond to all requests with a given payload.
+     *
+     * @param payload The payload to include in the response messages.
+     */
+    private void givenTheServiceRespondsWith(final JsonObject payload) {
+        doAnswer(invocation -> {
+            final Message request = invocation.getArgument(0);
+            final Message response = ProtonHelper.message();
+            AmqpUtils.addProperty(response, MessageHelper.APP_PROPERTY_STATUS, HttpURLConnection.HTTP_OK);
+            response.setCorrelationId(request.getMessageId());
+            AmqpUtils.setJsonPayload(response, payload);
+            responseHandler.get().handle(mock(ProtonDelivery.class), response);
+            return mock(ProtonDelivery.class);
+        }).when(sender).send(any(Message.class), VertxMockSupport.anyHandler());
+    }
 }
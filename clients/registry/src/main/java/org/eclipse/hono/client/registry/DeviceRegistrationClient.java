@@ -1,5 +1,5 @@
 /**
- * Copyright (c) 2020 Contributors to the Eclipse Foundation
+ * Copyright (c) 2020, 2022 Contributors to the Eclipse Foundation
  *
  * See the NOTICE file(s) distributed with this work for additional
  * information regarding copyright ownership.
@@ -14,7 +14,12 @@
 
 package org.eclipse.hono.client.registry;
 
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
 import org.eclipse.hono.util.Lifecycle;
+import org.eclipse.hono.util.Pair;
 import org.eclipse.hono.util.RegistrationAssertion;
 
 import io.opentracing.SpanContext;
@@ -58,4 +63,39 @@ public interface DeviceRegistrationClient extends Lifecycle {
             String deviceId,
             String gatewayId,
             SpanContext context);
+
+    /**
+     * Asserts that multiple devices are registered and <em>enabled</em>.
+     * <p>
+     * This default implementation invokes {@link #assertRegistration(String, String, String, SpanContext)}
+     * for each of the devices. Implementations should override this method in order to assert the
+     * registration status of all devices using a single request to the Device Registration service.
+     *
+     * @param tenantId The ID of the tenant that the devices belong to.
+     * @param devices The pairs of device and gateway identifiers to get assertions for. The gateway
+     *                identifier may be {@code null} as described for
+     *                {@link #assertRegistration(String, String, String, SpanContext)}.
+     * @param context The currently active OpenTracing span. An implementation
+     *         should use this as the parent for any span it creates for tracing
+     *         the execution of this operation.
+     * @return The futures indicating the result of the assertions, in the order of the given devices.
+     *         <p>
+     *         Each future will complete in the same way as the future returned by
+     *         {@link #assertRegistration(String, String, String, SpanContext)} for the corresponding device.
+     *         See <a href="https://www.eclipse.org/hono/docs/api/device-registration/#assert-device-registrations">
+     *         Assert Device Registrations</a>.
+     * @throws NullPointerException if tenant ID, devices or any of the device IDs are {@code null}.
+     */
+    default List<Future<RegistrationAssertion>> assertRegistrations(
+            final String tenantId,
+            final List<Pair<String, String>> devices,
+            final SpanContext context) {
+
+        Objects.requireNonNull(tenantId);
+        Objects.requireNonNull(devices);
+
+        return devices.stream()
+                .map(device -> assertRegistration(tenantId, device.one(), device.two(), context))
+                .collect(Collectors.toList());
+    }
 }
@@ -13,19 +13,24 @@
 
 package org.eclipse.hono.client.telemetry.kafka;
 
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.stream.Stream;
 
 import org.eclipse.hono.client.kafka.HonoTopic;
+import org.eclipse.hono.client.kafka.KafkaRecordHelper;
 import org.eclipse.hono.client.kafka.producer.AbstractKafkaBasedMessageSender;
 import org.eclipse.hono.client.kafka.producer.KafkaProducerFactory;
 import org.eclipse.hono.client.kafka.producer.KafkaProducerHelper;
 import org.eclipse.hono.client.kafka.producer.MessagingKafkaProducerConfigProperties;
 import org.eclipse.hono.client.util.DownstreamMessageProperties;
 import org.eclipse.hono.notification.NotificationEventBusSupport;
+import org.eclipse.hono.notification.deviceregistry.AllDevicesOfTenantDeletedNotification;
+import org.eclipse.hono.notification.deviceregistry.DeviceChangeNotification;
 import org.eclipse.hono.notification.deviceregistry.LifecycleChange;
 import org.eclipse.hono.notification.deviceregistry.TenantChangeNotification;
 import org.eclipse.hono.util.MessageHelper;
@@ -33,9 +38,11 @@ import org.eclipse.hono.util.QoS;
 import org.eclipse.hono.util.RegistrationAssertion;
 import org.eclipse.hono.util.TenantObject;
 
+import io.opentracing.Span;
 import io.opentracing.Tracer;
 import io.vertx.core.Vertx;
 import io.vertx.core.buffer.Buffer;
+import io.vertx.kafka.client.producer.KafkaHeader;
 import io.vertx.kafka.client.producer.KafkaProducer;
 
 /**
@@ -43,7 +50,16 @@ import io.vertx.kafka.client.producer.KafkaProducer;
  */
 public abstract class AbstractKafkaBasedDownstreamSender extends AbstractKafkaBasedMessageSender<Buffer> {
 
+    /**
+     * The maximum number of devices to keep pre-encoded default properties for.
+     */
+    private static final long MAX_HEADER_TEMPLATES = 100_000L;
+    private static final KafkaHeader CONTENT_TYPE_OCTET_STREAM_HEADER = KafkaRecordHelper.createKafkaHeader(
+            MessageHelper.SYS_PROPERTY_CONTENT_TYPE,
+            MessageHelper.CONTENT_TYPE_OCTET_STREAM);
+
     private final boolean isDefaultsEnabled;
+    private final DownstreamHeaderTemplates headerTemplates = new DownstreamHeaderTemplates(MAX_HEADER_TEMPLATES);
 
     /**
      * Creates a new Kafka-based downstream sender.
@@ -69,11 +85,16 @@ public abstract class AbstractKafkaBasedDownstreamSender extends AbstractKafkaBa
 
         NotificationEventBusSupport.registerConsumer(vertx, TenantChangeNotification.TYPE,
                 notification -> {
+                    headerTemplates.invalidate(notification.getTenantId());
                     if (LifecycleChange.DELETE.equals(notification.getChange())) {
-                        producerFactory.getProducer(producerName)
-                                .ifPresent(producer -> removeTenantTopicBasedProducerMetrics(producer, notification.getTenantId()));
+                        producerFactory.getProducers(producerName)
+                                .forEach(producer -> removeTenantTopicBasedProducerMetrics(producer, notification.getTenantId()));
                     }
                 });
+        NotificationEventBusSupport.registerConsumer(vertx, DeviceChangeNotification.TYPE,
+                notification -> headerTemplates.invalidate(notification.getTenantId(), notification.getDeviceId()));
+        NotificationEventBusSupport.registerConsumer(vertx, AllDevicesOfTenantDeletedNotification.TYPE,
+                notification -> headerTemplates.invalidate(notification.getTenantId()));
     }
 
     private void removeTenantTopicBasedProducerMetrics(final KafkaProducer<String, Buffer> producer, final String tenantId) {
@@ -149,4 +170,90 @@ public abstract class AbstractKafkaBasedDownstreamSender extends AbstractKafkaBa
 
         return propsWithDefaults;
     }
+
+    /**
+     * Creates the Kafka record headers for a downstream message.
+     * <p>
+     * The headers contain the same properties as the map returned by
+     * {@link #addDefaults(String, TenantObject, RegistrationAssertion, QoS, String, Buffer, Map)}
+     * and a creation time, if not set already. However, the default properties defined at the device and tenant
+     * level are encoded only once per device and are then reused for subsequent messages. Only the
+     * properties of the individual message and the message's time-to-live are encoded for each message.
+     *
+     * @param endpointName The endpoint that the message is targeted at.
+     * @param tenant The tenant that the device belongs to.
+     * @param device The registration assertion for the device that the data originates from.
+     * @param qos The delivery semantics to use for sending the data.
+     * @param contentType The content type of the data. If {@code null}, the content type will be determined
+     *            as described for {@link #addDefaults(String, TenantObject, RegistrationAssertion, QoS, String, Buffer, Map)}.
+     * @param payload The data to send in the message or {@code null}.
+     * @param properties Additional meta data that should be included in the downstream message.
+     * @param span The span to log to if a property cannot be encoded.
+     * @return The headers.
+     * @throws NullPointerException if endpoint name, tenant, device, qos or span are {@code null}.
+     */
+    protected final List<KafkaHeader> createHeaders(
+            final String endpointName,
+            final TenantObject tenant,
+            final RegistrationAssertion device,
+            final QoS qos,
+            final String contentType,
+            final Buffer payload,
+            final Map<String, Object> properties,
+            final Span span) {
+
+        Objects.requireNonNull(endpointName);
+        Objects.requireNonNull(tenant);
+        Objects.requireNonNull(device);
+        Objects.requireNonNull(qos);
+        Objects.requireNonNull(span);
+
+        final DownstreamHeaderTemplates.Template template = isDefaultsEnabled
+                ? headerTemplates.get(tenant, device)
+                : DownstreamHeaderTemplates.Template.EMPTY;
+
+        final Map<String, Object> messageProperties = Optional.ofNullable(properties)
+                .map(HashMap::new)
+                .orElseGet(HashMap::new);
+        messageProperties.put(MessageHelper.APP_PROPERTY_DEVICE_ID, device.getDeviceId());
+        messageProperties.put(MessageHelper.APP_PROPERTY_QOS, qos.ordinal());
+
+        // only the TTL related defaults need to be evaluated for each message
+        final var propsWithTtl = new DownstreamMessageProperties(
+                endpointName,
+                template.getTtlDefaults(),
+                null,
+                messageProperties,
+                tenant.getResourceLimits())
+            .asMap();
+
+        if (contentType != null) {
+            propsWithTtl.put(MessageHelper.SYS_PROPERTY_CONTENT_TYPE, contentType);
+        }
+
+        final Map<String, KafkaHeader> defaultHeaders = template.getHeaders();
+        final List<KafkaHeader> headers = new ArrayList<>(propsWithTtl.size() + defaultHeaders.size() + 2);
+        propsWithTtl.forEach((k, v) -> encodePropertyAsKafkaHeader(headers, k, v, span));
+        // properties of the message take precedence over the defaults
+        defaultHeaders.forEach((k, header) -> {
+            if (!propsWithTtl.containsKey(k)) {
+                headers.add(header);
+            }
+        });
+
+        if (payload != null && !hasProperty(MessageHelper.SYS_PROPERTY_CONTENT_TYPE, propsWithTtl, defaultHeaders)) {
+            headers.add(CONTENT_TYPE_OCTET_STREAM_HEADER);
+        }
+        if (!hasProperty(MessageHelper.SYS_PROPERTY_CREATION_TIME, propsWithTtl, defaultHeaders)) {
+            headers.add(createCreationTimeHeader());
+        }
+        return headers;
+    }
+
+    private static boolean hasProperty(
+            final String name,
+            final Map<String, Object> properties,
+            final Map<String, KafkaHeader> defaultHeaders) {
+        return properties.containsKey(name) || defaultHeaders.containsKey(name);
+    }
 }
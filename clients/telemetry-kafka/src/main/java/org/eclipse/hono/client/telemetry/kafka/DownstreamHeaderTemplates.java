@@ -0,0 +1,240 @@
+/**
+ * Copyright (c) 2022 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+
+
+package org.eclipse.hono.client.telemetry.kafka;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.eclipse.hono.client.kafka.KafkaRecordHelper;
+import org.eclipse.hono.util.MessageHelper;
+import org.eclipse.hono.util.RegistrationAssertion;
+import org.eclipse.hono.util.TenantConstants;
+import org.eclipse.hono.util.TenantObject;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.vertx.core.json.EncodeException;
+import io.vertx.kafka.client.producer.KafkaHeader;
+
+/**
+ * A cache of the Kafka record headers that are derived from the default properties of devices.
+ * <p>
+ * The tenant and device level default properties of a device are merged and encoded as Kafka
+ * headers only once and are then reused for all messages of the device. The properties that are used
+ * for determining a message's time-to-live are not encoded, because the TTL depends on the
+ * properties of the individual message as well.
+ * <p>
+ * A template is only used as long as the defaults that it has been created from are equal to the
+ * defaults contained in the tenant and registration information that a message is sent for.
+ * Templates are therefore also re-created if the tenant or registration information has changed
+ * without this cache having been invalidated.
+ * <p>
+ * Invalidating the templates of a tenant does not scan the cache. Instead, the point in time of the
+ * invalidation is recorded for the tenant and templates that have been created before that point in time
+ * are re-created lazily when they are looked up.
+ */
+final class DownstreamHeaderTemplates {
+
+    /**
+     * The names of the default properties that are used for determining a message's time-to-live.
+     */
+    static final Set<String> TTL_PROPERTY_NAMES = Set.of(
+            MessageHelper.SYS_HEADER_PROPERTY_TTL,
+            TenantConstants.FIELD_TTL_TELEMETRY_QOS0,
+            TenantConstants.FIELD_TTL_TELEMETRY_QOS1,
+            TenantConstants.FIELD_TTL_COMMAND_RESPONSE);
+
+    private static final Logger LOG = LoggerFactory.getLogger(DownstreamHeaderTemplates.class);
+
+    private final AtomicLong sequence = new AtomicLong();
+    private final Cache<DeviceKey, Template> templates;
+    // evicting an entry is safe, templates are always checked against the current defaults as well
+    private final Cache<String, Long> tenantInvalidations;
+
+    /**
+     * Creates a new cache.
+     *
+     * @param maxSize The maximum number of templates to keep.
+     */
+    DownstreamHeaderTemplates(final long maxSize) {
+        this.templates = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .build();
+        this.tenantInvalidations = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .build();
+    }
+
+    /**
+     * Gets the template for a device.
+     *
+     * @param tenant The tenant that the device belongs to.
+     * @param device The registration information of the device.
+     * @return The template.
+     * @throws NullPointerException if any of the parameters are {@code null}.
+     */
+    Template get(final TenantObject tenant, final RegistrationAssertion device) {
+        Objects.requireNonNull(tenant);
+        Objects.requireNonNull(device);
+
+        final Map<String, Object> tenantDefaults = tenant.getDefaults().getMap();
+        final Map<String, Object> deviceDefaults = Optional.ofNullable(device.getDefaults()).orElse(Map.of());
+        if (tenantDefaults.isEmpty() && deviceDefaults.isEmpty()) {
+            return Template.EMPTY;
+        }
+
+        final DeviceKey key = new DeviceKey(tenant.getTenantId(), device.getDeviceId());
+        final Template cachedTemplate = templates.getIfPresent(key);
+        if (cachedTemplate != null
+                && cachedTemplate.isBasedOn(tenantDefaults, deviceDefaults)
+                && !isInvalidated(tenant.getTenantId(), cachedTemplate)) {
+            return cachedTemplate;
+        }
+        final Template template = new Template(tenantDefaults, deviceDefaults, sequence.incrementAndGet());
+        templates.put(key, template);
+        return template;
+    }
+
+    /**
+     * Removes the templates of all devices of a tenant.
+     *
+     * @param tenantId The tenant identifier.
+     * @throws NullPointerException if tenant ID is {@code null}.
+     */
+    void invalidate(final String tenantId) {
+        Objects.requireNonNull(tenantId);
+        tenantInvalidations.put(tenantId, sequence.incrementAndGet());
+    }
+
+    private boolean isInvalidated(final String tenantId, final Template template) {
+        final Long invalidatedAt = tenantInvalidations.getIfPresent(tenantId);
+        return invalidatedAt != null && template.sequenceNumber < invalidatedAt;
+    }
+
+    /**
+     * Removes the template of a device.
+     *
+     * @param tenantId The tenant that the device belongs to.
+     * @param deviceId The device identifier.
+     * @throws NullPointerException if any of the parameters are {@code null}.
+     */
+    void invalidate(final String tenantId, final String deviceId) {
+        templates.invalidate(new DeviceKey(tenantId, deviceId));
+    }
+
+    /**
+     * The pre-encoded headers for the default properties of a device.
+     */
+    static final class Template {
+
+        /**
+         * A template for a device for which no default properties are defined.
+         */
+        static final Template EMPTY = new Template(Map.of(), Map.of(), 0);
+
+        private final Map<String, Object> tenantDefaults;
+        private final Map<String, Object> deviceDefaults;
+        private final Map<String, Object> ttlDefaults;
+        private final Map<String, KafkaHeader> headers;
+        private final long sequenceNumber;
+
+        private Template(
+                final Map<String, Object> tenantDefaults,
+                final Map<String, Object> deviceDefaults,
+                final long sequenceNumber) {
+            this.sequenceNumber = sequenceNumber;
+            this.tenantDefaults = new HashMap<>(tenantDefaults);
+            this.deviceDefaults = new HashMap<>(deviceDefaults);
+
+            final Map<String, Object> defaults = new HashMap<>(tenantDefaults);
+            defaults.putAll(deviceDefaults);
+
+            final Map<String, Object> ttlProperties = new HashMap<>();
+            final Map<String, KafkaHeader> encodedProperties = new LinkedHashMap<>();
+            defaults.forEach((k, v) -> {
+                if (TTL_PROPERTY_NAMES.contains(k)) {
+                    ttlProperties.put(k, v);
+                } else {
+                    try {
+                        encodedProperties.put(k, KafkaRecordHelper.createKafkaHeader(k, v));
+                    } catch (final EncodeException e) {
+                        LOG.info("failed to serialize default property with key [{}] to Kafka header", k);
+                    }
+                }
+            });
+            this.ttlDefaults = Collections.unmodifiableMap(ttlProperties);
+            this.headers = Collections.unmodifiableMap(encodedProperties);
+        }
+
+        private boolean isBasedOn(final Map<String, Object> tenantDefaults, final Map<String, Object> deviceDefaults) {
+            return this.tenantDefaults.equals(tenantDefaults) && this.deviceDefaults.equals(deviceDefaults);
+        }
+
+        /**
+         * Gets the default properties that are used for determining a message's time-to-live.
+         *
+         * @return The (unmodifiable) properties.
+         */
+        Map<String, Object> getTtlDefaults() {
+            return ttlDefaults;
+        }
+
+        /**
+         * Gets the headers for all other default properties.
+         *
+         * @return The (unmodifiable) headers, indexed by property name.
+         */
+        Map<String, KafkaHeader> getHeaders() {
+            return headers;
+        }
+    }
+
+    private static final class DeviceKey {
+
+        private final String tenantId;
+        private final String deviceId;
+
+        DeviceKey(final String tenantId, final String deviceId) {
+            this.tenantId = Objects.requireNonNull(tenantId);
+            this.deviceId = Objects.requireNonNull(deviceId);
+        }
+
+        @Override
+        public boolean equals(final Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof DeviceKey)) {
+                return false;
+            }
+            final DeviceKey other = (DeviceKey) obj;
+            return tenantId.equals(other.tenantId) && deviceId.equals(other.deviceId);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(tenantId, deviceId);
+        }
+    }
+}
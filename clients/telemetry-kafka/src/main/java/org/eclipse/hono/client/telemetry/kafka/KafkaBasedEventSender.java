@@ -13,6 +13,7 @@
 
 package org.eclipse.hono.client.telemetry.kafka;
 
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 
@@ -31,6 +32,7 @@ import io.opentracing.Tracer;
 import io.vertx.core.Future;
 import io.vertx.core.Vertx;
 import io.vertx.core.buffer.Buffer;
+import io.vertx.kafka.client.producer.KafkaHeader;
 
 /**
  * A client for publishing event messages to a Kafka cluster.
@@ -80,14 +82,6 @@ public class KafkaBasedEventSender extends AbstractKafkaBasedDownstreamSender im
         }
 
         final HonoTopic topic = new HonoTopic(HonoTopic.Type.EVENT, tenant.getTenantId());
-        final Map<String, Object> propsWithDefaults = addDefaults(
-                topic.getType().endpoint,
-                tenant,
-                device,
-                QoS.AT_LEAST_ONCE,
-                contentType,
-                payload,
-                properties);
         final String topicName = topic.toString();
 
         final Span currentSpan = startChildSpan(
@@ -96,12 +90,21 @@ public class KafkaBasedEventSender extends AbstractKafkaBasedDownstreamSender im
                 tenant.getTenantId(),
                 device.getDeviceId(),
                 context);
+        final List<KafkaHeader> headers = createHeaders(
+                topic.getType().endpoint,
+                tenant,
+                device,
+                QoS.AT_LEAST_ONCE,
+                contentType,
+                payload,
+                properties,
+                currentSpan);
         return sendAndWaitForOutcome(
                 topic.toString(),
                 tenant.getTenantId(),
                 device.getDeviceId(),
                 payload,
-                propsWithDefaults,
+                headers,
                 currentSpan)
             .onComplete(ar -> currentSpan.finish());
     }
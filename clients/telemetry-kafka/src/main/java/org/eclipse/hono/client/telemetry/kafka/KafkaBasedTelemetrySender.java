@@ -13,6 +13,7 @@
 
 package org.eclipse.hono.client.telemetry.kafka;
 
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 
@@ -32,6 +33,7 @@ import io.opentracing.Tracer;
 import io.vertx.core.Future;
 import io.vertx.core.Vertx;
 import io.vertx.core.buffer.Buffer;
+import io.vertx.kafka.client.producer.KafkaHeader;
 
 /**
  * A client for publishing telemetry messages to a Kafka cluster.
@@ -83,14 +85,6 @@ public class KafkaBasedTelemetrySender extends AbstractKafkaBasedDownstreamSende
         }
 
         final HonoTopic topic = new HonoTopic(HonoTopic.Type.TELEMETRY, tenant.getTenantId());
-        final Map<String, Object> propsWithDefaults = addDefaults(
-                topic.getType().endpoint,
-                tenant,
-                device,
-                qos,
-                contentType,
-                payload,
-                properties);
         final String topicName = topic.toString();
 
         final Span currentSpan = startSpan(
@@ -100,12 +94,21 @@ public class KafkaBasedTelemetrySender extends AbstractKafkaBasedDownstreamSende
                 device.getDeviceId(),
                 qos == QoS.AT_MOST_ONCE ? References.FOLLOWS_FROM : References.CHILD_OF,
                 context);
+        final List<KafkaHeader> headers = createHeaders(
+                topic.getType().endpoint,
+                tenant,
+                device,
+                qos,
+                contentType,
+                payload,
+                properties,
+                currentSpan);
         final var outcome = sendAndWaitForOutcome(
                 topic.toString(),
                 tenant.getTenantId(),
                 device.getDeviceId(),
                 payload,
-                propsWithDefaults,
+                headers,
                 currentSpan)
             .onComplete(ar -> currentSpan.finish());
 
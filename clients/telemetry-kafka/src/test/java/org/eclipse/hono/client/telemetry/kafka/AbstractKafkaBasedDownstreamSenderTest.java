@@ -23,6 +23,7 @@ import static org.mockito.Mockito.when;
 import static com.google.common.truth.Truth.assertThat;
 
 import java.util.Collections;
+import java.util.List;
 import java.util.Map;
 
 import org.apache.kafka.clients.producer.MockProducer;
@@ -32,6 +33,8 @@ import org.eclipse.hono.client.kafka.producer.KafkaProducerFactory;
 import org.eclipse.hono.client.kafka.producer.MessagingKafkaProducerConfigProperties;
 import org.eclipse.hono.kafka.test.KafkaClientUnitTestHelper;
 import org.eclipse.hono.notification.NotificationEventBusSupport;
+import org.eclipse.hono.notification.deviceregistry.AllDevicesOfTenantDeletedNotification;
+import org.eclipse.hono.notification.deviceregistry.DeviceChangeNotification;
 import org.eclipse.hono.notification.deviceregistry.TenantChangeNotification;
 import org.eclipse.hono.test.TracingMockSupport;
 import org.eclipse.hono.test.VertxMockSupport;
@@ -46,12 +49,14 @@ import org.junit.jupiter.api.extension.ExtendWith;
 
 import io.opentracing.Span;
 import io.opentracing.Tracer;
+import io.opentracing.noop.NoopSpan;
 import io.opentracing.noop.NoopTracerFactory;
 import io.vertx.core.Vertx;
 import io.vertx.core.buffer.Buffer;
 import io.vertx.core.eventbus.EventBus;
 import io.vertx.core.json.JsonObject;
 import io.vertx.junit5.VertxExtension;
+import io.vertx.kafka.client.producer.KafkaHeader;
 
 /**
  * Verifies behavior of {@link AbstractKafkaBasedDownstreamSender}.
@@ -197,6 +202,82 @@ public class AbstractKafkaBasedDownstreamSenderTest {
                 messageProperties);
 
         assertThat(propsWithDefaults.get(CONTENT_TYPE_KEY)).isEqualTo(expectedContentType);
+
+        final var headers = sender.createHeaders(
+                EventConstants.EVENT_ENDPOINT,
+                tenant,
+                device,
+                qos,
+                messageContentType,
+                payload,
+                messageProperties,
+                NoopSpan.INSTANCE);
+
+        assertThat(getHeaderValue(headers, CONTENT_TYPE_KEY)).isEqualTo(expectedContentType);
+    }
+
+    /**
+     * Verifies that the headers created for a message contain the same properties as the map
+     * returned by <em>addDefaults</em>, including the message's TTL, and a creation time.
+     */
+    @Test
+    public void testCreateHeadersContainsDefaultsAndTtl() {
+
+        tenant.setDefaults(new JsonObject()
+                .put("tenant-prop", "tenant-value")
+                .put("overridden-prop", "tenant-value")
+                .put(MessageHelper.SYS_HEADER_PROPERTY_TTL, 30));
+        device.setDefaults(Map.of("device-prop", 5, "overridden-prop", "device-value"));
+        final Map<String, Object> properties = Map.of("message-prop", "message-value");
+
+        final var propsWithDefaults = sender.addDefaults(
+                EventConstants.EVENT_ENDPOINT,
+                tenant,
+                device,
+                qos,
+                null,
+                null,
+                properties);
+        final var headers = sender.createHeaders(
+                EventConstants.EVENT_ENDPOINT,
+                tenant,
+                device,
+                qos,
+                null,
+                null,
+                properties,
+                NoopSpan.INSTANCE);
+
+        assertThat(headers).hasSize(propsWithDefaults.size() + 1);
+        propsWithDefaults.forEach((k, v) -> assertThat(getHeaderValue(headers, k)).isEqualTo(String.valueOf(v)));
+        assertThat(getHeaderValue(headers, MessageHelper.SYS_HEADER_PROPERTY_TTL)).isEqualTo("30000");
+        assertThat(getHeaderValue(headers, "overridden-prop")).isEqualTo("device-value");
+        assertThat(getHeaderValue(headers, CONTENT_TYPE_KEY)).isNull();
+        assertThat(getHeaderValue(headers, MessageHelper.SYS_PROPERTY_CREATION_TIME)).isNotNull();
+    }
+
+    /**
+     * Verifies that the headers created for a message reflect changes of a device's default properties.
+     */
+    @Test
+    public void testCreateHeadersReflectsChangedDefaults() {
+
+        device.setDefaults(Map.of(CONTENT_TYPE_KEY, "text/english"));
+        assertContentType("text/english", null, Buffer.buffer("hello"), null, device, tenant);
+
+        device.setDefaults(Map.of(CONTENT_TYPE_KEY, "text/german"));
+        assertContentType("text/german", null, Buffer.buffer("hello"), null, device, tenant);
+
+        device.setDefaults(null);
+        assertContentType(MessageHelper.CONTENT_TYPE_OCTET_STREAM, null, Buffer.buffer("hello"), null, device, tenant);
+    }
+
+    private static String getHeaderValue(final List<KafkaHeader> headers, final String key) {
+        return headers.stream()
+                .filter(header -> header.key().equals(key))
+                .findFirst()
+                .map(header -> header.value().toString())
+                .orElse(null);
     }
 
     /**
@@ -249,7 +330,8 @@ public class AbstractKafkaBasedDownstreamSenderTest {
     }
 
     /**
-     * Verifies that the sender registers itself for notifications of the type {@link TenantChangeNotification}.
+     * Verifies that the sender registers itself for notifications of the types {@link TenantChangeNotification},
+     * {@link DeviceChangeNotification} and {@link AllDevicesOfTenantDeletedNotification}.
      */
     @Test
     public void testThatNotificationConsumerIsRegistered() {
@@ -271,6 +353,11 @@ public class AbstractKafkaBasedDownstreamSenderTest {
 
         verify(eventBus).consumer(eq(NotificationEventBusSupport.getEventBusAddress(TenantChangeNotification.TYPE)),
                 VertxMockSupport.anyHandler());
+        verify(eventBus).consumer(eq(NotificationEventBusSupport.getEventBusAddress(DeviceChangeNotification.TYPE)),
+                VertxMockSupport.anyHandler());
+        verify(eventBus).consumer(
+                eq(NotificationEventBusSupport.getEventBusAddress(AllDevicesOfTenantDeletedNotification.TYPE)),
+                VertxMockSupport.anyHandler());
 
         verifyNoMoreInteractions(eventBus);
     }
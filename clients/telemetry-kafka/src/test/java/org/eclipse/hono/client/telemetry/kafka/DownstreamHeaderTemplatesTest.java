@@ -0,0 +1,97 @@
+/**
+ * Copyright (c) 2022 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+
+
+package org.eclipse.hono.client.telemetry.kafka;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import java.util.Map;
+
+import org.eclipse.hono.util.RegistrationAssertion;
+import org.eclipse.hono.util.TenantObject;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import io.vertx.core.json.JsonObject;
+
+/**
+ * Verifies behavior of {@link DownstreamHeaderTemplates}.
+ */
+public class DownstreamHeaderTemplatesTest {
+
+    private DownstreamHeaderTemplates templates;
+    private TenantObject tenant;
+    private TenantObject otherTenant;
+    private RegistrationAssertion device;
+
+    /**
+     * Sets up the fixture.
+     */
+    @BeforeEach
+    public void setUp() {
+        templates = new DownstreamHeaderTemplates(100);
+        tenant = TenantObject.from("tenant").setDefaults(new JsonObject().put("foo", "bar"));
+        otherTenant = TenantObject.from("other-tenant").setDefaults(new JsonObject().put("foo", "bar"));
+        device = new RegistrationAssertion("device").setDefaults(Map.of("ttl", 30));
+    }
+
+    /**
+     * Verifies that the template of a device is reused as long as its defaults do not change.
+     */
+    @Test
+    public void testGetReusesTemplate() {
+
+        final var template = templates.get(tenant, device);
+
+        assertThat(template.getHeaders()).containsKey("foo");
+        assertThat(template.getTtlDefaults()).containsExactly("ttl", 30);
+        assertThat(templates.get(tenant, device)).isSameInstanceAs(template);
+        assertThat(templates.get(tenant, new RegistrationAssertion("device").setDefaults(Map.of("ttl", 60))))
+            .isNotSameInstanceAs(template);
+    }
+
+    /**
+     * Verifies that invalidating a tenant's templates only affects templates that have been
+     * created for the tenant before the invalidation.
+     */
+    @Test
+    public void testInvalidateTenantRecreatesTemplatesOfTenantOnly() {
+
+        final var template = templates.get(tenant, device);
+        final var otherTemplate = templates.get(otherTenant, device);
+
+        templates.invalidate("tenant");
+
+        final var recreatedTemplate = templates.get(tenant, device);
+        assertThat(recreatedTemplate).isNotSameInstanceAs(template);
+        assertThat(templates.get(tenant, device)).isSameInstanceAs(recreatedTemplate);
+        assertThat(templates.get(otherTenant, device)).isSameInstanceAs(otherTemplate);
+    }
+
+    /**
+     * Verifies that invalidating a device's template only affects the device's template.
+     */
+    @Test
+    public void testInvalidateDeviceRecreatesTemplateOfDeviceOnly() {
+
+        final var otherDevice = new RegistrationAssertion("other-device").setDefaults(Map.of("ttl", 30));
+        final var template = templates.get(tenant, device);
+        final var otherTemplate = templates.get(tenant, otherDevice);
+
+        templates.invalidate("tenant", "device");
+
+        assertThat(templates.get(tenant, device)).isNotSameInstanceAs(template);
+        assertThat(templates.get(tenant, otherDevice)).isSameInstanceAs(otherTemplate);
+    }
+}
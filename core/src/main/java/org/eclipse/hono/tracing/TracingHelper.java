@@ -26,11 +26,14 @@ import org.eclipse.hono.util.MessageHelper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import io.opentelemetry.context.Context;
+import io.opentelemetry.context.ImplicitContextKeyed;
 import io.opentracing.References;
 import io.opentracing.Span;
 import io.opentracing.SpanContext;
 import io.opentracing.Tracer;
 import io.opentracing.log.Fields;
+import io.opentracing.noop.NoopSpan;
 import io.opentracing.noop.NoopSpanContext;
 import io.opentracing.propagation.Format;
 import io.opentracing.propagation.TextMap;
@@ -144,6 +147,32 @@ public final class TracingHelper {
         // prevent instantiation
     }
 
+    /**
+     * Checks if a span records the tags and log entries being added to it.
+     * <p>
+     * Client code may use this method in order to skip the (potentially expensive) creation of tag values and
+     * log entries for spans that will not be reported to the tracing system anyway, e.g. because the trace
+     * has not been sampled.
+     * <p>
+     * Note that the context of a non-recording span still needs to be propagated to downstream components
+     * in order for them to be able to apply the sampling decision.
+     *
+     * @param span The span to check.
+     * @return {@code false} if the span is {@code null}, a no-op span or an OpenTelemetry based span that
+     *         is not recording, {@code true} otherwise.
+     */
+    public static boolean isRecording(final Span span) {
+        if (span == null || span instanceof NoopSpan) {
+            return false;
+        }
+        if (span instanceof ImplicitContextKeyed) {
+            // span created by the OpenTracing shim, wrapping an OpenTelemetry span
+            final Context context = ((ImplicitContextKeyed) span).storeInContext(Context.root());
+            return io.opentelemetry.api.trace.Span.fromContext(context).isRecording();
+        }
+        return true;
+    }
+
     /**
      * Sets the tags identifying a device.
      *
@@ -38,6 +38,7 @@ public final class CommandEndpoint {
     private String uri;
     private Map<String, String> headers = new HashMap<>();
     private Map<String, Object> payloadProperties = new HashMap<>();
+    private boolean readOnly = false;
 
     /**
      * Gets the URI to be used when sending a command to this endpoint.
@@ -58,8 +59,10 @@ public final class CommandEndpoint {
      *
      * @param uri The URI to set or {@code null}.
      * @return A reference to this object for method chaining.
+     * @throws UnsupportedOperationException if this endpoint is read-only.
      */
     public CommandEndpoint setUri(final String uri) {
+        checkModifiable();
         this.uri = uri;
         return this;
     }
@@ -80,8 +83,10 @@ public final class CommandEndpoint {
      *
      * @param headers The headers to set or {@code null} to clear all headers.
      * @return A reference to this object for method chaining.
+     * @throws UnsupportedOperationException if this endpoint is read-only.
      */
     public CommandEndpoint setHeaders(final Map<String, String> headers) {
+        checkModifiable();
         this.headers.clear();
         Optional.ofNullable(headers).ifPresent(this.headers::putAll);
         return this;
@@ -103,8 +108,10 @@ public final class CommandEndpoint {
      *
      * @param payloadProperties The payload properties to set or {@code null} to clear all payload properties.
      * @return A reference to this object for method chaining.
+     * @throws UnsupportedOperationException if this endpoint is read-only.
      */
     public CommandEndpoint setPayloadProperties(final Map<String, String> payloadProperties) {
+        checkModifiable();
         this.payloadProperties.clear();
         Optional.ofNullable(payloadProperties).ifPresent(this.payloadProperties::putAll);
         return this;
@@ -140,4 +147,17 @@ public final class CommandEndpoint {
         Objects.requireNonNull(deviceId);
         return uri.replace("{{deviceId}}", deviceId);
     }
+
+    /**
+     * Makes this endpoint read-only.
+     */
+    void makeReadOnly() {
+        readOnly = true;
+    }
+
+    private void checkModifiable() {
+        if (readOnly) {
+            throw new UnsupportedOperationException("command endpoint is read-only");
+        }
+    }
 }
@@ -32,6 +32,10 @@ import io.quarkus.runtime.annotations.RegisterForReflection;
 /**
  * Encapsulates the registration assertion information for a device as defined by the
  * <a href="https://www.eclipse.org/hono/docs/api/device-registration/">Device Registration API</a>.
+ * <p>
+ * Assertions that are shared by multiple consumers, e.g. the ones contained in cached responses
+ * of the Device Registration service, are read-only. Invoking any of the setters on such an instance
+ * results in an {@link UnsupportedOperationException}.
  */
 @RegisterForReflection
 @JsonIgnoreProperties(ignoreUnknown = true)
@@ -40,11 +44,14 @@ public final class RegistrationAssertion {
 
     private final String deviceId;
 
-    private List<String> authorizedGateways = new ArrayList<>();
-    private Map<String, Object> defaults = new HashMap<>();
+    private final List<String> authorizedGateways = new ArrayList<>();
+    private final List<String> unmodifiableAuthorizedGateways = Collections.unmodifiableList(authorizedGateways);
+    private final Map<String, Object> defaults = new HashMap<>();
+    private final Map<String, Object> unmodifiableDefaults = Collections.unmodifiableMap(defaults);
     private String downstreamMessageMapper;
     private String upstreamMessageMapper;
     private CommandEndpoint commandEndpoint;
+    private boolean readOnly = false;
 
     /**
      * Creates a new registration assertion for a device.
@@ -72,11 +79,11 @@ public final class RegistrationAssertion {
      * Gets the gateway devices that are authorized to act on behalf of
      * the device.
      *
-     * @return The gateway identifiers.
+     * @return An unmodifiable view on the gateway identifiers.
      */
     @JsonProperty(value = RegistrationConstants.FIELD_VIA)
     public List<String> getAuthorizedGateways() {
-        return authorizedGateways;
+        return unmodifiableAuthorizedGateways;
     }
 
     /**
@@ -85,8 +92,10 @@ public final class RegistrationAssertion {
      *
      * @param gatewayIds The gateway identifiers or {@code null} to clear the list.
      * @return A reference to this object for method chaining.
+     * @throws UnsupportedOperationException if this assertion is read-only.
      */
     public RegistrationAssertion setAuthorizedGateways(final List<String> gatewayIds) {
+        checkModifiable();
         this.authorizedGateways.clear();
         Optional.ofNullable(gatewayIds).ifPresent(this.authorizedGateways::addAll);
         return this;
@@ -107,8 +116,10 @@ public final class RegistrationAssertion {
      *
      * @param downstreamMessageMapper The mapper to set or {@code null} if no downstream mapper should be used.
      * @return A reference to this object for method chaining.
+     * @throws UnsupportedOperationException if this assertion is read-only.
      */
     public RegistrationAssertion setDownstreamMessageMapper(final String downstreamMessageMapper) {
+        checkModifiable();
         this.downstreamMessageMapper = downstreamMessageMapper;
         return this;
     }
@@ -129,8 +140,10 @@ public final class RegistrationAssertion {
      *
      * @param upstreamMessageMapper The upstream mapper to set or {@code null} if no upstream mapper should be used.
      * @return A reference to this object for method chaining.
+     * @throws UnsupportedOperationException if this assertion is read-only.
      */
     public RegistrationAssertion setUpstreamMessageMapper(final String upstreamMessageMapper) {
+        checkModifiable();
         this.upstreamMessageMapper = upstreamMessageMapper;
         return this;
     }
@@ -142,7 +155,7 @@ public final class RegistrationAssertion {
      */
     @JsonProperty(value = RequestResponseApiConstants.FIELD_PAYLOAD_DEFAULTS)
     public Map<String, Object> getDefaults() {
-        return Collections.unmodifiableMap(defaults);
+        return unmodifiableDefaults;
     }
 
     /**
@@ -150,8 +163,10 @@ public final class RegistrationAssertion {
      *
      * @param defaults The properties to set or {@code null} to clear all properties.
      * @return A reference to this object for method chaining.
+     * @throws UnsupportedOperationException if this assertion is read-only.
      */
     public RegistrationAssertion setDefaults(final Map<String, Object> defaults) {
+        checkModifiable();
         this.defaults.clear();
         Optional.ofNullable(defaults).ifPresent(this.defaults::putAll);
         return this;
@@ -172,9 +187,30 @@ public final class RegistrationAssertion {
      *
      * @param commandEndpoint The command endpoint to set or {@code null} if no command endpoint is available.
      * @return A reference to this object for method chaining.
+     * @throws UnsupportedOperationException if this assertion is read-only.
      */
     public RegistrationAssertion setCommandEndpoint(final CommandEndpoint commandEndpoint) {
+        checkModifiable();
         this.commandEndpoint = commandEndpoint;
         return this;
     }
+
+    /**
+     * Makes this assertion read-only.
+     * <p>
+     * The command endpoint (if set) is made read-only as well.
+     *
+     * @return A reference to this object.
+     */
+    RegistrationAssertion makeReadOnly() {
+        readOnly = true;
+        Optional.ofNullable(commandEndpoint).ifPresent(CommandEndpoint::makeReadOnly);
+        return this;
+    }
+
+    private void checkModifiable() {
+        if (readOnly) {
+            throw new UnsupportedOperationException("registration assertion is read-only");
+        }
+    }
 }
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2016, 2021 Contributors to the Eclipse Foundation
+ * Copyright (c) 2016, 2022 Contributors to the Eclipse Foundation
  *
  * See the NOTICE file(s) distributed with this work for additional
  * information regarding copyright ownership.
@@ -22,6 +22,18 @@ public final class RegistrationConstants extends RequestResponseApiConstants {
      */
     public static final String ACTION_ASSERT = "assert";
 
+    /**
+     * The AMQP 1.0 <em>subject</em> to use for the <em>assert device registrations</em> operation,
+     * which asserts the registration status of multiple devices in a single request.
+     */
+    public static final String ACTION_ASSERT_BATCH = "assert-batch";
+
+    /**
+     * The maximum number of devices that can be asserted by means of a single
+     * <em>assert device registrations</em> request.
+     */
+    public static final int MAX_DEVICES_PER_BATCH = 100;
+
     /**
      * The name of the field containing a device's registration information.
      * May be used when getting registration data in order to create the
@@ -48,6 +60,30 @@ public final class RegistrationConstants extends RequestResponseApiConstants {
      */
     public static final String FIELD_UPSTREAM_MESSAGE_MAPPER = "upstream-message-mapper";
 
+    /**
+     * The name of the field in a request of the <em>assert device registrations</em> operation
+     * that contains the identifier of the gateway that wants to act on behalf of the device.
+     */
+    public static final String FIELD_GATEWAY_ID = "gateway-id";
+
+    /**
+     * The name of the field in a response to the <em>assert device registrations</em> operation
+     * that contains the results of the individual assertions.
+     */
+    public static final String FIELD_RESULTS = "results";
+
+    /**
+     * The name of the field in a result of the <em>assert device registrations</em> operation
+     * that contains the status code of the assertion.
+     */
+    public static final String FIELD_STATUS = "status";
+
+    /**
+     * The name of the field in a result of the <em>assert device registrations</em> operation
+     * that contains the cache directive for the assertion.
+     */
+    public static final String FIELD_CACHE_CONTROL = "cache-control";
+
     /**
      * The name of the Device Registration API endpoint.
      */
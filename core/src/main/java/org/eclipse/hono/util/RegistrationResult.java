@@ -14,6 +14,7 @@
 package org.eclipse.hono.util;
 
 import java.util.Map;
+import java.util.Objects;
 
 import io.vertx.core.json.JsonObject;
 
@@ -23,12 +24,16 @@ import io.vertx.core.json.JsonObject;
  */
 public final class RegistrationResult extends RequestResponseResult<JsonObject> {
 
+    private volatile RegistrationAssertion assertion;
+
     private RegistrationResult(
             final int status,
             final JsonObject payload,
+            final RegistrationAssertion assertion,
             final CacheDirective cacheDirective,
             final Map<String, Object> responseProperties) {
         super(status, payload, cacheDirective, responseProperties);
+        this.assertion = assertion;
     }
 
     /**
@@ -38,7 +43,7 @@ public final class RegistrationResult extends RequestResponseResult<JsonObject>
      * @return The result.
      */
     public static RegistrationResult from(final int status) {
-        return new RegistrationResult(status, null, null, null);
+        return new RegistrationResult(status, null, null, null, null);
     }
 
     /**
@@ -50,7 +55,7 @@ public final class RegistrationResult extends RequestResponseResult<JsonObject>
      * @return The result.
      */
     public static RegistrationResult from(final int status, final JsonObject payload) {
-        return new RegistrationResult(status, payload, null, null);
+        return new RegistrationResult(status, payload, null, null, null);
     }
 
     /**
@@ -64,9 +69,9 @@ public final class RegistrationResult extends RequestResponseResult<JsonObject>
      */
     public static RegistrationResult from(final int status, final String payload) {
         if (payload != null) {
-            return new RegistrationResult(status, new JsonObject(payload), null, null);
+            return new RegistrationResult(status, new JsonObject(payload), null, null, null);
         } else {
-            return new RegistrationResult(status, null, null, null);
+            return new RegistrationResult(status, null, null, null, null);
         }
     }
 
@@ -81,7 +86,7 @@ public final class RegistrationResult extends RequestResponseResult<JsonObject>
      * @return The result.
      */
     public static RegistrationResult from(final int status, final JsonObject payload, final CacheDirective cacheDirective) {
-        return new RegistrationResult(status, payload, cacheDirective, null);
+        return new RegistrationResult(status, payload, null, cacheDirective, null);
     }
 
     /**
@@ -101,6 +106,51 @@ public final class RegistrationResult extends RequestResponseResult<JsonObject>
             final JsonObject payload,
             final CacheDirective cacheDirective,
             final Map<String, Object> responseProperties) {
-        return new RegistrationResult(status, payload, cacheDirective, responseProperties);
+        return new RegistrationResult(status, payload, null, cacheDirective, responseProperties);
+    }
+
+    /**
+     * Creates a new result for a status code and an already decoded registration assertion.
+     * <p>
+     * The assertion is made read-only and is returned by {@link #getAssertion()} as is,
+     * i.e. without decoding the payload again.
+     *
+     * @param status The code indicating the outcome of processing the request.
+     * @param payload The payload contained in the response message.
+     * @param assertion The assertion decoded from the payload.
+     * @param cacheDirective Restrictions regarding the caching of the payload by the receiver of the result
+     *                       or {@code null} if no restrictions apply.
+     * @param responseProperties Arbitrary additional properties conveyed in the response message or {@code null}, if
+     *                           the response does not contain additional properties.
+     * @return The result.
+     * @throws NullPointerException if payload or assertion are {@code null}.
+     */
+    public static RegistrationResult from(
+            final int status,
+            final JsonObject payload,
+            final RegistrationAssertion assertion,
+            final CacheDirective cacheDirective,
+            final Map<String, Object> responseProperties) {
+        Objects.requireNonNull(payload);
+        Objects.requireNonNull(assertion);
+        return new RegistrationResult(status, payload, assertion.makeReadOnly(), cacheDirective, responseProperties);
+    }
+
+    /**
+     * Gets the registration assertion contained in the payload of this result.
+     * <p>
+     * The payload is decoded at most once, subsequent invocations return the same
+     * instance. The returned object is therefore read-only.
+     *
+     * @return The assertion or {@code null} if this result does not contain a payload.
+     * @throws IllegalArgumentException if the payload cannot be decoded into an assertion.
+     */
+    public RegistrationAssertion getAssertion() {
+        RegistrationAssertion result = assertion;
+        if (result == null && getPayload() != null) {
+            result = getPayload().mapTo(RegistrationAssertion.class).makeReadOnly();
+            assertion = result;
+        }
+        return result;
     }
 }
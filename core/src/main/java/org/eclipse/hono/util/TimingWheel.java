@@ -0,0 +1,279 @@
+/**
+ * Copyright (c) 2022 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+
+package org.eclipse.hono.util;
+
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import io.vertx.core.Context;
+import io.vertx.core.Handler;
+import io.vertx.core.Vertx;
+
+/**
+ * A hashed timing wheel for managing a large number of timeouts on a vert.x event loop context.
+ * <p>
+ * Components that need to time out a lot of outstanding operations, e.g. requests waiting for a response,
+ * usually cancel most of the timeouts before they expire. Setting a vert.x timer for each of these operations
+ * is comparatively expensive. A timing wheel instead keeps the timeouts in a fixed number of buckets and
+ * uses a single periodic vert.x timer for advancing from one bucket to the next, so that setting and
+ * canceling a timeout are constant time operations that only require a single small object to be allocated.
+ * <p>
+ * The price to pay is accuracy: a timeout expires no earlier than its delay but may expire up to two
+ * {@linkplain #DEFAULT_TICK_DURATION_MILLIS ticks} later, because the next tick of the wheel may happen
+ * at any time after the timeout has been set.
+ * <p>
+ * Each vert.x event loop context uses its own timing wheel which is created on demand by means of
+ * {@link #setTimeout(Vertx, long, Handler)}. Instances are not thread safe, except for canceling
+ * timeouts which may be done on any thread.
+ */
+public final class TimingWheel {
+
+    /**
+     * The default number of milliseconds between two ticks of the wheel.
+     */
+    public static final long DEFAULT_TICK_DURATION_MILLIS = 20;
+    /**
+     * The default number of buckets of the wheel.
+     */
+    static final int DEFAULT_WHEEL_SIZE = 512;
+
+    private static final Logger LOG = LoggerFactory.getLogger(TimingWheel.class);
+    private static final String CONTEXT_KEY_TIMING_WHEEL = TimingWheel.class.getName();
+    private static final int STATE_PENDING = 0;
+    private static final int STATE_EXPIRED = 1;
+    private static final int STATE_CANCELED = 2;
+    private static final AtomicIntegerFieldUpdater<WheelTimeout> STATE = AtomicIntegerFieldUpdater
+            .newUpdater(WheelTimeout.class, "state");
+
+    private final Vertx vertx;
+    private final long tickDurationMillis;
+    private final WheelTimeout[] buckets;
+    private final int mask;
+    private Thread owner;
+    private Context context;
+    private int cursor = 0;
+    private int pendingTimeouts = 0;
+    private long timerId = -1;
+    private boolean ticking = false;
+
+    /**
+     * Creates a new timing wheel.
+     *
+     * @param vertx The vert.x instance to use for advancing the wheel.
+     * @param tickDurationMillis The number of milliseconds between two ticks.
+     * @param wheelSize The number of buckets, rounded up to the next power of two.
+     * @throws NullPointerException if vert.x is {@code null}.
+     * @throws IllegalArgumentException if tick duration or wheel size are not positive.
+     */
+    TimingWheel(final Vertx vertx, final long tickDurationMillis, final int wheelSize) {
+        this.vertx = Objects.requireNonNull(vertx);
+        if (tickDurationMillis <= 0) {
+            throw new IllegalArgumentException("tick duration must be positive");
+        }
+        if (wheelSize <= 0 || wheelSize > 1 << 30) {
+            throw new IllegalArgumentException("wheel size must be positive");
+        }
+        this.tickDurationMillis = tickDurationMillis;
+        final int size = Integer.highestOneBit(wheelSize - 1) << 1;
+        this.buckets = new WheelTimeout[Math.max(1, size)];
+        this.mask = buckets.length - 1;
+    }
+
+    /**
+     * Sets a timeout.
+     * <p>
+     * If this method is invoked on an event loop context of the given vert.x instance, the timeout
+     * is managed by the timing wheel of that context. Otherwise, a vert.x timer is used for the timeout.
+     * In both cases, the handler is invoked on the context that this method has been invoked on (if any).
+     *
+     * @param vertx The vert.x instance to use.
+     * @param delayMillis The number of milliseconds after which the timeout should expire.
+     * @param handler The handler to invoke once the timeout has expired.
+     * @return The timeout which can be used for canceling it. Canceling the timeout on the same
+     *         context that it has been set on is cheapest but it may be canceled on any thread.
+     * @throws NullPointerException if any of the parameters are {@code null}.
+     * @throws IllegalArgumentException if delay is &lt; 1.
+     */
+    public static Timeout setTimeout(final Vertx vertx, final long delayMillis, final Handler<Void> handler) {
+        Objects.requireNonNull(vertx);
+        Objects.requireNonNull(handler);
+        if (delayMillis < 1) {
+            throw new IllegalArgumentException("delay must be positive");
+        }
+
+        final Context currentContext = Vertx.currentContext();
+        if (currentContext == null || currentContext.owner() != vertx || !currentContext.isEventLoopContext()) {
+            final long id = vertx.setTimer(delayMillis, tid -> handler.handle(null));
+            return () -> vertx.cancelTimer(id);
+        }
+        TimingWheel wheel = currentContext.get(CONTEXT_KEY_TIMING_WHEEL);
+        if (wheel == null) {
+            wheel = new TimingWheel(vertx, DEFAULT_TICK_DURATION_MILLIS, DEFAULT_WHEEL_SIZE);
+            currentContext.put(CONTEXT_KEY_TIMING_WHEEL, wheel);
+        }
+        return wheel.schedule(delayMillis, handler);
+    }
+
+    /**
+     * Adds a timeout to this wheel.
+     *
+     * @param delayMillis The number of milliseconds after which the timeout should expire.
+     * @param handler The handler to invoke once the timeout has expired.
+     * @return The timeout.
+     */
+    Timeout schedule(final long delayMillis, final Handler<Void> handler) {
+
+        if (owner == null) {
+            owner = Thread.currentThread();
+            context = Vertx.currentContext();
+        }
+        // the next tick may happen right away, so one more tick is needed for not expiring too early
+        final long ticks = Math.max(1, (delayMillis + tickDurationMillis - 1) / tickDurationMillis) + 1;
+        final WheelTimeout timeout = new WheelTimeout(handler, (ticks - 1) / buckets.length);
+        timeout.bucket = (int) ((cursor + ticks) & mask);
+        timeout.next = buckets[timeout.bucket];
+        if (timeout.next != null) {
+            timeout.next.prev = timeout;
+        }
+        buckets[timeout.bucket] = timeout;
+        if (pendingTimeouts++ == 0 && timerId < 0) {
+            timerId = vertx.setPeriodic(tickDurationMillis, tid -> tick());
+        }
+        return timeout;
+    }
+
+    private void tick() {
+
+        ticking = true;
+        cursor = (cursor + 1) & mask;
+        // collect the expired timeouts first, so that handlers may cancel or set timeouts
+        WheelTimeout expired = null;
+        WheelTimeout timeout = buckets[cursor];
+        while (timeout != null) {
+            final WheelTimeout next = timeout.next;
+            if (timeout.remainingRounds > 0) {
+                timeout.remainingRounds--;
+            } else {
+                timeout.remove();
+                timeout.next = expired;
+                expired = timeout;
+            }
+            timeout = next;
+        }
+        while (expired != null) {
+            final WheelTimeout next = expired.next;
+            expired.next = null;
+            // the timeout might have been canceled on another thread in the meantime
+            if (STATE.compareAndSet(expired, STATE_PENDING, STATE_EXPIRED)) {
+                try {
+                    expired.handler.handle(null);
+                } catch (final RuntimeException e) {
+                    LOG.warn("error running timeout handler", e);
+                }
+            }
+            expired = next;
+        }
+        ticking = false;
+        stopTimerIfIdle();
+    }
+
+    private void onTimeoutRemoved() {
+        pendingTimeouts--;
+        if (!ticking) {
+            stopTimerIfIdle();
+        }
+    }
+
+    private void stopTimerIfIdle() {
+        if (pendingTimeouts == 0 && timerId >= 0) {
+            // no need to wake up the event loop without any pending timeouts
+            vertx.cancelTimer(timerId);
+            timerId = -1;
+        }
+    }
+
+    /**
+     * A timeout that has been set.
+     */
+    @FunctionalInterface
+    public interface Timeout {
+
+        /**
+         * Cancels this timeout.
+         * <p>
+         * The timeout's handler will not be invoked if the timeout has not expired yet.
+         * This method may be invoked on any thread. However, if invoked outside of the context
+         * that the timeout has been set on, the timeout is removed from the timing wheel
+         * asynchronously on that context.
+         *
+         * @return {@code true} if the timeout had not expired and has been canceled, meaning that
+         *         its handler is guaranteed not to be invoked.
+         */
+        boolean cancel();
+    }
+
+    /**
+     * A timeout in one of the wheel's buckets.
+     */
+    private final class WheelTimeout implements Timeout {
+
+        private final Handler<Void> handler;
+        private long remainingRounds;
+        private int bucket = -1;
+        // accessed by means of the STATE field updater
+        volatile int state = STATE_PENDING;
+        private WheelTimeout prev;
+        private WheelTimeout next;
+
+        WheelTimeout(final Handler<Void> handler, final long remainingRounds) {
+            this.handler = handler;
+            this.remainingRounds = remainingRounds;
+        }
+
+        @Override
+        public boolean cancel() {
+            if (!STATE.compareAndSet(this, STATE_PENDING, STATE_CANCELED)) {
+                return false;
+            }
+            if (Thread.currentThread() == owner) {
+                remove();
+            } else {
+                LOG.debug("timeout canceled outside of the timing wheel's context");
+                context.runOnContext(v -> remove());
+            }
+            return true;
+        }
+
+        private void remove() {
+            if (bucket < 0) {
+                return;
+            }
+            if (prev == null) {
+                buckets[bucket] = next;
+            } else {
+                prev.next = next;
+            }
+            if (next != null) {
+                next.prev = prev;
+            }
+            prev = null;
+            next = null;
+            bucket = -1;
+            onTimeoutRemoved();
+        }
+    }
+}
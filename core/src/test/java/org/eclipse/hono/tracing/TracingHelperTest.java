@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2019, 2021 Contributors to the Eclipse Foundation
+ * Copyright (c) 2019, 2022 Contributors to the Eclipse Foundation
  *
  * See the NOTICE file(s) distributed with this work for additional
  * information regarding copyright ownership.
@@ -24,8 +24,14 @@ import java.util.Map;
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentCaptor;
 
+import io.opentelemetry.opentracingshim.OpenTracingShim;
+import io.opentelemetry.sdk.OpenTelemetrySdk;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import io.opentelemetry.sdk.trace.samplers.Sampler;
 import io.opentracing.Span;
+import io.opentracing.Tracer;
 import io.opentracing.log.Fields;
+import io.opentracing.noop.NoopSpan;
 import io.opentracing.tag.Tags;
 
 /**
@@ -33,6 +39,24 @@ import io.opentracing.tag.Tags;
  */
 public class TracingHelperTest {
 
+    private static Tracer newTracer(final Sampler sampler) {
+        return OpenTracingShim.createTracerShim(OpenTelemetrySdk.builder()
+                .setTracerProvider(SdkTracerProvider.builder().setSampler(sampler).build())
+                .build());
+    }
+
+    /**
+     * Verifies that only spans of sampled traces are considered to be recording.
+     */
+    @Test
+    public void testIsRecording() {
+        assertThat(TracingHelper.isRecording(null)).isFalse();
+        assertThat(TracingHelper.isRecording(NoopSpan.INSTANCE)).isFalse();
+        assertThat(TracingHelper.isRecording(newTracer(Sampler.alwaysOn()).buildSpan("sampled").start())).isTrue();
+        assertThat(TracingHelper.isRecording(newTracer(Sampler.alwaysOff()).buildSpan("dropped").start())).isFalse();
+        assertThat(TracingHelper.isRecording(mock(Span.class))).isTrue();
+    }
+
     /**
      * Verifies that a logging an error creates the appropriate log items.
      */
@@ -14,10 +14,14 @@
 
 package org.eclipse.hono.util;
 
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
 import static com.google.common.truth.Truth.assertThat;
 
 import org.junit.jupiter.api.Test;
 
+import io.vertx.core.json.JsonObject;
+
 
 /**
  * Tests verifying behavior of {@link CommandEndpoint}.
@@ -34,4 +38,22 @@ class CommandEndpointTest {
             .isEqualTo("https://hono.eclipseprojects.io/command/the-device/the-device");
     }
 
+    /**
+     * Verifies that the command endpoint of an assertion decoded from a registration result
+     * cannot be modified.
+     */
+    @Test
+    void testEndpointOfRegistrationResultIsReadOnly() {
+
+        final JsonObject payload = new JsonObject()
+                .put(RequestResponseApiConstants.FIELD_PAYLOAD_DEVICE_ID, "the-device")
+                .put(RegistrationConstants.FIELD_COMMAND_ENDPOINT, new JsonObject()
+                        .put(RegistrationConstants.FIELD_COMMAND_ENDPOINT_URI, "https://hono.eclipseprojects.io/command"));
+        final RegistrationAssertion assertion = RegistrationResult.from(200, payload).getAssertion();
+
+        assertThat(assertion.getCommandEndpoint().getUri()).isEqualTo("https://hono.eclipseprojects.io/command");
+        assertThrows(UnsupportedOperationException.class, () -> assertion.getCommandEndpoint().setUri("https://other"));
+        assertThrows(UnsupportedOperationException.class, () -> assertion.setCommandEndpoint(null));
+    }
+
 }
@@ -0,0 +1,226 @@
+/**
+ * Copyright (c) 2022 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+
+package org.eclipse.hono.util;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import io.vertx.core.Context;
+import io.vertx.core.Handler;
+import io.vertx.core.Vertx;
+import io.vertx.junit5.Timeout;
+import io.vertx.junit5.VertxExtension;
+import io.vertx.junit5.VertxTestContext;
+
+/**
+ * Tests verifying behavior of {@link TimingWheel}.
+ *
+ */
+@ExtendWith(VertxExtension.class)
+class TimingWheelTest {
+
+    private Vertx vertx;
+    private AtomicReference<Handler<Long>> tickHandler;
+    private TimingWheel wheel;
+
+    /**
+     * Sets up the fixture.
+     */
+    @SuppressWarnings("unchecked")
+    @BeforeEach
+    void setUp() {
+        vertx = mock(Vertx.class);
+        tickHandler = new AtomicReference<>();
+        when(vertx.setPeriodic(anyLong(), any(Handler.class))).thenAnswer(invocation -> {
+            tickHandler.set(invocation.getArgument(1));
+            return 1L;
+        });
+        wheel = new TimingWheel(vertx, 10, 4);
+    }
+
+    private void tick(final int times) {
+        for (int i = 0; i < times; i++) {
+            tickHandler.get().handle(1L);
+        }
+    }
+
+    /**
+     * Verifies that timeouts expire once the number of ticks corresponding to their delay has passed,
+     * including delays that exceed a full rotation of the wheel.
+     */
+    @Test
+    void testTimeoutsExpireAfterDelay() {
+
+        final AtomicInteger shortTimeoutExpired = new AtomicInteger();
+        final AtomicInteger longTimeoutExpired = new AtomicInteger();
+        wheel.schedule(25, v -> shortTimeoutExpired.incrementAndGet());
+        wheel.schedule(100, v -> longTimeoutExpired.incrementAndGet());
+        verify(vertx).setPeriodic(eq(10L), any());
+
+        tick(3);
+        assertThat(shortTimeoutExpired.get()).isEqualTo(0);
+        tick(1);
+        assertThat(shortTimeoutExpired.get()).isEqualTo(1);
+        tick(6);
+        assertThat(longTimeoutExpired.get()).isEqualTo(0);
+        tick(1);
+        assertThat(longTimeoutExpired.get()).isEqualTo(1);
+        // the periodic timer is stopped once no timeouts are pending anymore
+        verify(vertx).cancelTimer(1L);
+
+        tick(20);
+        assertThat(shortTimeoutExpired.get()).isEqualTo(1);
+        assertThat(longTimeoutExpired.get()).isEqualTo(1);
+    }
+
+    /**
+     * Verifies that a timeout does not expire before its delay has passed, even if the
+     * next tick of the wheel happens right after the timeout has been set.
+     */
+    @Test
+    void testTimeoutDoesNotExpireBeforeDelay() {
+
+        final AtomicInteger expired = new AtomicInteger();
+        wheel.schedule(1, v -> expired.incrementAndGet());
+        wheel.schedule(20, v -> expired.incrementAndGet());
+
+        // the first tick may happen right away
+        tick(1);
+        assertThat(expired.get()).isEqualTo(0);
+        tick(1);
+        assertThat(expired.get()).isEqualTo(1);
+        tick(1);
+        assertThat(expired.get()).isEqualTo(2);
+    }
+
+    /**
+     * Verifies that a canceled timeout does not expire.
+     */
+    @Test
+    void testCanceledTimeoutDoesNotExpire() {
+
+        final AtomicInteger expired = new AtomicInteger();
+        final TimingWheel.Timeout timeout = wheel.schedule(10, v -> expired.incrementAndGet());
+        final TimingWheel.Timeout otherTimeout = wheel.schedule(10, v -> expired.incrementAndGet());
+
+        assertThat(timeout.cancel()).isTrue();
+        assertThat(timeout.cancel()).isFalse();
+        verify(vertx, never()).cancelTimer(anyLong());
+        tick(2);
+        assertThat(expired.get()).isEqualTo(1);
+        assertThat(timeout.cancel()).isFalse();
+        assertThat(otherTimeout.cancel()).isFalse();
+        verify(vertx).cancelTimer(1L);
+    }
+
+    /**
+     * Verifies that a timeout's handler may cancel and set other timeouts.
+     */
+    @Test
+    void testHandlerCanCancelAndSetTimeouts() {
+
+        final AtomicInteger expired = new AtomicInteger();
+        final AtomicReference<TimingWheel.Timeout> otherTimeout = new AtomicReference<>();
+        wheel.schedule(10, v -> {
+            otherTimeout.get().cancel();
+            wheel.schedule(10, w -> expired.incrementAndGet());
+        });
+        otherTimeout.set(wheel.schedule(20, v -> expired.incrementAndGet()));
+
+        tick(3);
+        assertThat(expired.get()).isEqualTo(0);
+        tick(1);
+        assertThat(expired.get()).isEqualTo(1);
+        verify(vertx, times(1)).setPeriodic(anyLong(), any());
+    }
+
+    /**
+     * Verifies that a vert.x timer is used for a timeout set outside of a vert.x context.
+     */
+    @Test
+    void testSetTimeoutUsesVertxTimerOutsideOfContext() {
+
+        when(vertx.setTimer(anyLong(), any())).thenReturn(5L);
+        when(vertx.cancelTimer(5L)).thenReturn(true);
+
+        final TimingWheel.Timeout timeout = TimingWheel.setTimeout(vertx, 100, v -> {});
+        verify(vertx).setTimer(eq(100L), any());
+        assertThat(timeout.cancel()).isTrue();
+        verify(vertx).cancelTimer(5L);
+    }
+
+    /**
+     * Verifies that a timeout set on an event loop context expires on that context.
+     *
+     * @param ctx The vert.x test context.
+     * @param vertx The vert.x instance.
+     */
+    @Test
+    @Timeout(value = 5, timeUnit = TimeUnit.SECONDS)
+    void testSetTimeoutExpiresOnEventLoopContext(final VertxTestContext ctx, final Vertx vertx) {
+
+        final Context context = vertx.getOrCreateContext();
+        context.runOnContext(go -> {
+            final long start = System.nanoTime();
+            final TimingWheel.Timeout canceledTimeout = TimingWheel.setTimeout(vertx, 30, v -> ctx.failNow("canceled timeout expired"));
+            TimingWheel.setTimeout(vertx, 50, v -> {
+                ctx.verify(() -> {
+                    assertThat(Vertx.currentContext()).isEqualTo(context);
+                    assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)).isAtLeast(50L);
+                });
+                ctx.completeNow();
+            });
+            canceledTimeout.cancel();
+        });
+    }
+
+    /**
+     * Verifies that a timeout that is canceled on a thread other than the one that it has been set on
+     * does not expire.
+     *
+     * @param ctx The vert.x test context.
+     * @param vertx The vert.x instance.
+     * @throws Exception if the timeout could not be set.
+     */
+    @Test
+    @Timeout(value = 5, timeUnit = TimeUnit.SECONDS)
+    void testTimeoutCanceledOnOtherThreadDoesNotExpire(final VertxTestContext ctx, final Vertx vertx) throws Exception {
+
+        final CompletableFuture<TimingWheel.Timeout> timeoutSet = new CompletableFuture<>();
+        vertx.getOrCreateContext().runOnContext(go -> timeoutSet.complete(
+                TimingWheel.setTimeout(vertx, 50, v -> ctx.failNow("canceled timeout expired"))));
+        final TimingWheel.Timeout timeout = timeoutSet.get(1, TimeUnit.SECONDS);
+
+        assertThat(timeout.cancel()).isTrue();
+        assertThat(timeout.cancel()).isFalse();
+        vertx.setTimer(150, tid -> ctx.completeNow());
+    }
+}
@@ -14,8 +14,17 @@
 package org.eclipse.hono.service.auth.delegating;
 
 import java.net.HttpURLConnection;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Date;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 
 import javax.security.sasl.AuthenticationException;
 
@@ -26,10 +35,13 @@ import org.eclipse.hono.client.ServerErrorException;
 import org.eclipse.hono.client.ServiceInvocationException;
 import org.eclipse.hono.client.amqp.connection.AmqpUtils;
 import org.eclipse.hono.client.amqp.connection.ConnectionFactory;
+import org.eclipse.hono.service.auth.AuthTokenHelper;
 import org.eclipse.hono.util.AuthenticationConstants;
+import org.eclipse.hono.util.Futures;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import io.jsonwebtoken.JwtException;
 import io.vertx.core.Future;
 import io.vertx.core.Promise;
 import io.vertx.core.Vertx;
@@ -41,16 +53,35 @@ import io.vertx.proton.sasl.MechanismMismatchException;
 
 /**
  * A client for retrieving a token from an authentication service via AMQP 1.0.
- *
+ * <p>
+ * The Authentication service authenticates the client based on the credentials used for
+ * establishing the AMQP connection, so a new connection is required for retrieving a token
+ * for a particular set of credentials. In order to reduce the number of connections being
+ * established, the client
+ * <ul>
+ * <li>uses a single connection attempt for concurrent requests to verify the same credentials and</li>
+ * <li>reuses tokens retrieved for the same credentials during the first half of the token's
+ * remaining lifetime, if a token validator has been set.</li>
+ * </ul>
  */
 public final class AuthenticationServerClient {
 
+    /**
+     * The maximum number of tokens being kept for reuse.
+     */
+    static final int MAX_CACHED_TOKENS = 10_000;
+
     private static final Logger LOG = LoggerFactory.getLogger(AuthenticationServerClient.class);
     private final ConnectionFactory factory;
     private final Vertx vertx;
+    private final AuthTokenHelper tokenValidator;
+    private final Map<String, Future<HonoUser>> pendingRequests = new ConcurrentHashMap<>();
+    private final Map<String, CachedToken> cachedTokens = new ConcurrentHashMap<>();
 
     /**
      * Creates a client for a remote authentication server.
+     * <p>
+     * Tokens retrieved by the client are not reused.
      *
      * @param vertx The Vert.x instance to run on.
      * @param connectionFactory The factory.
@@ -59,9 +90,26 @@ public final class AuthenticationServerClient {
     public AuthenticationServerClient(
             final Vertx vertx,
             final ConnectionFactory connectionFactory) {
+        this(vertx, connectionFactory, null);
+    }
+
+    /**
+     * Creates a client for a remote authentication server.
+     *
+     * @param vertx The Vert.x instance to run on.
+     * @param connectionFactory The factory.
+     * @param tokenValidator The object to use for determining the expiration time of retrieved tokens
+     *                       or {@code null} if tokens should not be reused.
+     * @throws NullPointerException if vertx or connection factory are {@code null}.
+     */
+    public AuthenticationServerClient(
+            final Vertx vertx,
+            final ConnectionFactory connectionFactory,
+            final AuthTokenHelper tokenValidator) {
 
         this.vertx = Objects.requireNonNull(vertx);
         this.factory = Objects.requireNonNull(connectionFactory);
+        this.tokenValidator = tokenValidator;
     }
 
     /**
@@ -93,6 +141,86 @@ public final class AuthenticationServerClient {
      */
     public Future<HonoUser> verifyPlain(final String authzid, final String authcid, final String password) {
 
+        final String key = getCacheKey(authzid, authcid, password);
+        final CachedToken cachedToken = cachedTokens.get(key);
+        if (cachedToken != null) {
+            if (cachedToken.isReusable()) {
+                LOG.debug("reusing token retrieved from Authentication service");
+                return Future.succeededFuture(cachedToken.user);
+            }
+            cachedTokens.remove(key, cachedToken);
+        }
+
+        final Promise<HonoUser> request = Promise.promise();
+        final Future<HonoUser> pendingRequest = pendingRequests.putIfAbsent(key, request.future());
+        final Future<HonoUser> result;
+        if (pendingRequest == null) {
+            result = request.future();
+            retrieveToken(authcid, password)
+                .onComplete(attempt -> {
+                    pendingRequests.remove(key, request.future());
+                    if (attempt.succeeded()) {
+                        putCachedToken(key, attempt.result());
+                    }
+                    request.handle(attempt);
+                });
+        } else {
+            LOG.debug("joining pending request for verifying the same credentials");
+            result = pendingRequest;
+        }
+        // continue on the current context instead of the one that has completed the request
+        final Promise<HonoUser> outcome = Promise.promise();
+        result.onComplete(Futures.onCurrentContextCompletionHandler(outcome));
+        return outcome.future();
+    }
+
+    private static String getCacheKey(final String authzid, final String authcid, final String password) {
+        try {
+            final MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            // separate the values by a character that is not allowed in SASL PLAIN messages
+            Optional.ofNullable(authzid).ifPresent(id -> digest.update(id.getBytes(StandardCharsets.UTF_8)));
+            digest.update((byte) 0);
+            digest.update(authcid.getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+            digest.update(password.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(digest.digest());
+        } catch (final NoSuchAlgorithmException e) {
+            // every JRE is required to support SHA-256
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private void putCachedToken(final String key, final HonoUser user) {
+
+        if (tokenValidator == null) {
+            return;
+        }
+        final Date expiration;
+        try {
+            expiration = tokenValidator.expand(user.getToken()).getBody().getExpiration();
+        } catch (final JwtException e) {
+            LOG.debug("cannot determine expiration time of token retrieved from Authentication service", e);
+            return;
+        }
+        final Instant now = Instant.now();
+        if (expiration == null || !now.isBefore(expiration.toInstant())) {
+            return;
+        }
+        if (cachedTokens.size() >= MAX_CACHED_TOKENS) {
+            cachedTokens.values().removeIf(token -> !token.isReusable());
+            if (cachedTokens.size() >= MAX_CACHED_TOKENS) {
+                LOG.debug("maximum number of cached tokens reached, not caching token");
+                return;
+            }
+        }
+        // connections being authenticated with a reused token are closed once the token expires,
+        // so the token is only reused during the first half of its remaining lifetime
+        final Instant reusableUntil = now.plus(Duration.between(now, expiration.toInstant()).dividedBy(2));
+        cachedTokens.put(key, new CachedToken(user, reusableUntil));
+    }
+
+    private Future<HonoUser> retrieveToken(final String authcid, final String password) {
+
         final ProtonClientOptions options = new ProtonClientOptions();
         options.setReconnectAttempts(3).setReconnectInterval(50);
         options.addEnabledSaslMechanism(AuthenticationConstants.MECHANISM_PLAIN);
@@ -194,4 +322,22 @@ public final class AuthenticationServerClient {
         recv.open();
         return result.future();
     }
+
+    /**
+     * A token that has been retrieved from the Authentication service.
+     */
+    private static final class CachedToken {
+
+        private final HonoUser user;
+        private final Instant reusableUntil;
+
+        CachedToken(final HonoUser user, final Instant reusableUntil) {
+            this.user = user;
+            this.reusableUntil = reusableUntil;
+        }
+
+        boolean isReusable() {
+            return Instant.now().isBefore(reusableUntil);
+        }
+    }
 }
@@ -21,6 +21,7 @@ import org.eclipse.hono.auth.HonoUser;
 import org.eclipse.hono.client.amqp.connection.ConnectionFactory;
 import org.eclipse.hono.service.HealthCheckProvider;
 import org.eclipse.hono.service.auth.AbstractHonoAuthenticationService;
+import org.eclipse.hono.service.auth.AuthTokenHelper;
 
 import io.vertx.core.Future;
 import io.vertx.core.Promise;
@@ -41,6 +42,7 @@ public class DelegatingAuthenticationService
 
     private AuthenticationServerClient client;
     private ConnectionFactory factory;
+    private AuthTokenHelper tokenValidator;
     private DnsClient dnsClient;
 
     /**
@@ -78,6 +80,21 @@ public class DelegatingAuthenticationService
         this.factory = Objects.requireNonNull(connectionFactory);
     }
 
+    /**
+     * Sets the object to use for determining the expiration time of tokens retrieved
+     * from the authentication server.
+     * <p>
+     * If set, tokens retrieved for a set of credentials are reused for verifying the same
+     * credentials again until they are about to expire. Otherwise, a new token is retrieved
+     * for each verification.
+     *
+     * @param tokenValidator The validator.
+     * @throws NullPointerException if the validator is {@code null}.
+     */
+    public void setTokenValidator(final AuthTokenHelper tokenValidator) {
+        this.tokenValidator = Objects.requireNonNull(tokenValidator);
+    }
+
     /**
      * This method does not register any specific liveness checks.
      */
@@ -136,7 +153,7 @@ public class DelegatingAuthenticationService
         if (factory == null) {
             startFuture.fail(new IllegalStateException("no connection factory for Authentication service set"));
         } else {
-            client = new AuthenticationServerClient(vertx, factory);
+            client = new AuthenticationServerClient(vertx, factory, tokenValidator);
             if (log.isInfoEnabled()) {
                 final String saslMechanisms = getConfig().getSupportedSaslMechanisms().stream()
                         .collect(Collectors.joining(", "));
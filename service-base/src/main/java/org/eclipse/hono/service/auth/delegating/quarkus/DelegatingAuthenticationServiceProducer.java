@@ -50,6 +50,7 @@ public class DelegatingAuthenticationServiceProducer {
         final var service = new DelegatingAuthenticationService();
         service.setConfig(authServerClientConfig);
         service.setConnectionFactory(ConnectionFactory.newConnectionFactory(vertx, authServerClientConfig));
+        service.setTokenValidator(AuthTokenHelperImpl.forValidating(vertx, authServerClientConfig.getValidation()));
         return service;
     }
 
@@ -0,0 +1,182 @@
+/**
+ * Copyright (c) 2022 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+
+
+package org.eclipse.hono.service.auth.delegating;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+import javax.security.sasl.AuthenticationException;
+
+import org.apache.qpid.proton.amqp.messaging.AmqpValue;
+import org.apache.qpid.proton.amqp.messaging.ApplicationProperties;
+import org.apache.qpid.proton.message.Message;
+import org.eclipse.hono.auth.HonoUser;
+import org.eclipse.hono.client.ClientErrorException;
+import org.eclipse.hono.client.amqp.connection.ConnectionFactory;
+import org.eclipse.hono.service.auth.AuthTokenHelper;
+import org.eclipse.hono.service.auth.AuthTokenHelperImpl;
+import org.eclipse.hono.util.AuthenticationConstants;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Future;
+import io.vertx.core.Handler;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
+import io.vertx.proton.ProtonConnection;
+import io.vertx.proton.ProtonHelper;
+import io.vertx.proton.ProtonMessageHandler;
+import io.vertx.proton.ProtonReceiver;
+
+/**
+ * Tests verifying behavior of {@link AuthenticationServerClient}.
+ *
+ */
+public class AuthenticationServerClientTest {
+
+    private static final String SHARED_SECRET = "sharedSecretWithAtLeast32Characters";
+
+    private Vertx vertx;
+    private ConnectionFactory factory;
+    private ProtonConnection connection;
+    private AuthTokenHelper tokenHelper;
+
+    /**
+     * Sets up the fixture.
+     */
+    @SuppressWarnings("unchecked")
+    @BeforeEach
+    public void setUp() {
+        vertx = mock(Vertx.class);
+        when(vertx.setTimer(anyLong(), any(Handler.class))).thenReturn(1L);
+        tokenHelper = AuthTokenHelperImpl.forSharedSecret(SHARED_SECRET, 60);
+
+        connection = mock(ProtonConnection.class);
+        when(connection.createReceiver(anyString())).thenAnswer(invocation -> newReceiver());
+        factory = mock(ConnectionFactory.class);
+        when(factory.connect(any(), anyString(), anyString(), any(), any()))
+            .thenAnswer(invocation -> Future.succeededFuture(connection));
+    }
+
+    /**
+     * Creates a receiver that gets opened successfully and then receives a token.
+     */
+    @SuppressWarnings("unchecked")
+    private ProtonReceiver newReceiver() {
+        final ProtonReceiver receiver = mock(ProtonReceiver.class);
+        final AtomicReference<Handler<AsyncResult<ProtonReceiver>>> openHandler = new AtomicReference<>();
+        final AtomicReference<ProtonMessageHandler> messageHandler = new AtomicReference<>();
+        when(receiver.openHandler(any(Handler.class))).thenAnswer(invocation -> {
+            openHandler.set(invocation.getArgument(0));
+            return receiver;
+        });
+        when(receiver.handler(any(ProtonMessageHandler.class))).thenAnswer(invocation -> {
+            messageHandler.set(invocation.getArgument(0));
+            return receiver;
+        });
+        when(receiver.open()).thenAnswer(invocation -> {
+            openHandler.get().handle(Future.succeededFuture(receiver));
+            final Message message = ProtonHelper.message();
+            message.setApplicationProperties(new ApplicationProperties(Map.of(
+                    AuthenticationConstants.APPLICATION_PROPERTY_TYPE, AuthenticationConstants.TYPE_AMQP_JWT)));
+            message.setBody(new AmqpValue(tokenHelper.createToken("user", null)));
+            messageHandler.get().handle(null, message);
+            return receiver;
+        });
+        return receiver;
+    }
+
+    /**
+     * Verifies that a token retrieved for a set of credentials is reused for verifying
+     * the same credentials again.
+     */
+    @Test
+    public void testVerifyPlainReusesTokenForSameCredentials() {
+
+        final var client = new AuthenticationServerClient(vertx, factory, tokenHelper);
+
+        final Future<HonoUser> first = client.verifyPlain(null, "user", "pwd");
+        final Future<HonoUser> second = client.verifyPlain(null, "user", "pwd");
+        assertThat(first.succeeded()).isTrue();
+        assertThat(second.result().getToken()).isEqualTo(first.result().getToken());
+        verify(factory, times(1)).connect(any(), eq("user"), eq("pwd"), any(), any());
+
+        assertThat(client.verifyPlain(null, "user", "otherPwd").succeeded()).isTrue();
+        assertThat(client.verifyPlain("other", "user", "pwd").succeeded()).isTrue();
+        verify(factory, times(3)).connect(any(), anyString(), anyString(), any(), any());
+    }
+
+    /**
+     * Verifies that tokens are not reused if no token validator has been set.
+     */
+    @Test
+    public void testVerifyPlainDoesNotReuseTokenWithoutValidator() {
+
+        final var client = new AuthenticationServerClient(vertx, factory);
+
+        assertThat(client.verifyPlain(null, "user", "pwd").succeeded()).isTrue();
+        assertThat(client.verifyPlain(null, "user", "pwd").succeeded()).isTrue();
+        verify(factory, times(2)).connect(any(), anyString(), anyString(), any(), any());
+    }
+
+    /**
+     * Verifies that concurrent requests for verifying the same credentials share
+     * a single connection attempt.
+     */
+    @Test
+    public void testVerifyPlainSharesPendingRequestForSameCredentials() {
+
+        final Promise<ProtonConnection> connectAttempt = Promise.promise();
+        when(factory.connect(any(), anyString(), anyString(), any(), any())).thenReturn(connectAttempt.future());
+        final var client = new AuthenticationServerClient(vertx, factory);
+
+        final Future<HonoUser> first = client.verifyPlain(null, "user", "pwd");
+        final Future<HonoUser> second = client.verifyPlain(null, "user", "pwd");
+        assertThat(first.isComplete()).isFalse();
+        connectAttempt.complete(connection);
+
+        assertThat(first.succeeded()).isTrue();
+        assertThat(second.succeeded()).isTrue();
+        verify(factory, times(1)).connect(any(), anyString(), anyString(), any(), any());
+    }
+
+    /**
+     * Verifies that the outcome of a failed authentication attempt is not reused.
+     */
+    @Test
+    public void testVerifyPlainDoesNotReuseFailedAttempt() {
+
+        when(factory.connect(any(), anyString(), anyString(), any(), any()))
+            .thenReturn(Future.failedFuture(new AuthenticationException("wrong password")));
+        final var client = new AuthenticationServerClient(vertx, factory, tokenHelper);
+
+        final Future<HonoUser> first = client.verifyPlain(null, "user", "pwd");
+        assertThat(first.cause()).isInstanceOf(ClientErrorException.class);
+        assertThat(client.verifyPlain(null, "user", "pwd").failed()).isTrue();
+        verify(factory, times(2)).connect(any(), anyString(), anyString(), any(), any());
+    }
+}
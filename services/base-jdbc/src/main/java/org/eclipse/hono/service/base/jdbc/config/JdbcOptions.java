@@ -18,6 +18,7 @@ import java.util.OptionalInt;
 
 import io.smallrye.config.ConfigMapping;
 import io.smallrye.config.ConfigMapping.NamingStrategy;
+import io.smallrye.config.WithDefault;
 
 /**
  * Configuration properties for a JDBC service.
@@ -66,4 +67,14 @@ public interface JdbcOptions {
      * @return The table name.
      */
     Optional<String> tableName();
+
+    /**
+     * Checks if the reactive PostgreSQL client should be used for accessing the DB instead of JDBC.
+     * <p>
+     * The reactive client is only supported for PostgreSQL and only by the adapter facing stores.
+     *
+     * @return {@code true} if the reactive client should be used.
+     */
+    @WithDefault("false")
+    boolean useReactiveClient();
 }
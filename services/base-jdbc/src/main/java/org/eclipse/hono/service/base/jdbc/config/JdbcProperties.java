@@ -13,6 +13,8 @@
 
 package org.eclipse.hono.service.base.jdbc.config;
 
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Objects;
 
 import org.slf4j.Logger;
@@ -24,6 +26,10 @@ import com.fasterxml.jackson.annotation.JsonInclude.Include;
 import io.vertx.core.Vertx;
 import io.vertx.core.json.JsonObject;
 import io.vertx.ext.jdbc.JDBCClient;
+import io.vertx.pgclient.PgConnectOptions;
+import io.vertx.pgclient.PgPool;
+import io.vertx.sqlclient.Pool;
+import io.vertx.sqlclient.PoolOptions;
 
 /**
  * Configuration properties for a JDBC service.
@@ -31,6 +37,8 @@ import io.vertx.ext.jdbc.JDBCClient;
 @JsonInclude(value = Include.NON_NULL)
 public class JdbcProperties {
 
+    private static final String POSTGRESQL_URL_PREFIX = "jdbc:postgresql:";
+
     private static final Logger log = LoggerFactory.getLogger(JdbcProperties.class);
 
     private String url;
@@ -39,6 +47,7 @@ public class JdbcProperties {
     private String password;
     private Integer maximumPoolSize;
     private String tableName;
+    private boolean useReactiveClient = false;
 
     /**
      * Creates default properties.
@@ -61,6 +70,7 @@ public class JdbcProperties {
         options.tableName().ifPresent(this::setTableName);
         setUrl(options.url());
         options.username().ifPresent(this::setUsername);
+        setUseReactiveClient(options.useReactiveClient());
     }
 
     public void setUrl(final String url) {
@@ -105,6 +115,30 @@ public class JdbcProperties {
         this.tableName = tableName;
     }
 
+    /**
+     * Checks if the reactive PostgreSQL client should be used for accessing the DB instead of JDBC.
+     * <p>
+     * The reactive client is only supported for PostgreSQL and only by the adapter facing stores.
+     * The default value of this property is {@code false}.
+     *
+     * @return {@code true} if the reactive client should be used.
+     */
+    public boolean isUseReactiveClient() {
+        return useReactiveClient;
+    }
+
+    /**
+     * Sets whether the reactive PostgreSQL client should be used for accessing the DB instead of JDBC.
+     * <p>
+     * The reactive client is only supported for PostgreSQL and only by the adapter facing stores.
+     * The default value of this property is {@code false}.
+     *
+     * @param useReactiveClient {@code true} if the reactive client should be used.
+     */
+    public void setUseReactiveClient(final boolean useReactiveClient) {
+        this.useReactiveClient = useReactiveClient;
+    }
+
     /**
      * Creates a JDBC client for configuration properties.
      *
@@ -113,6 +147,26 @@ public class JdbcProperties {
      * @return The client.
      */
     public static JDBCClient dataSource(final Vertx vertx, final JdbcProperties dataSourceProperties) {
+        return dataSource(vertx, dataSourceProperties, 0);
+    }
+
+    /**
+     * Creates a JDBC client for configuration properties, which re-uses prepared statements.
+     * <p>
+     * Each pooled connection caches up to the given number of prepared statements. This allows
+     * the database to re-use the statements it prepared for the connection, instead of parsing and
+     * planning the statement for every execution.
+     *
+     * @param vertx The vertx instance to use.
+     * @param dataSourceProperties The properties.
+     * @param maxStatementsPerConnection The maximum number of prepared statements to cache for each connection,
+     *        {@code 0} disables caching of prepared statements.
+     * @return The client.
+     */
+    public static JDBCClient dataSource(
+            final Vertx vertx,
+            final JdbcProperties dataSourceProperties,
+            final int maxStatementsPerConnection) {
 
         final JsonObject config = new JsonObject()
                 .put("url", dataSourceProperties.getUrl())
@@ -126,6 +180,9 @@ public class JdbcProperties {
         if (dataSourceProperties.getMaximumPoolSize() != null) {
             config.put("max_pool_size", dataSourceProperties.getMaximumPoolSize());
         }
+        if (maxStatementsPerConnection > 0) {
+            config.put("max_statements_per_connection", maxStatementsPerConnection);
+        }
 
         log.info("Creating new SQL client: {} - table: {}", config, dataSourceProperties.getTableName());
 
@@ -140,4 +197,52 @@ public class JdbcProperties {
 
     }
 
+    /**
+     * Creates a reactive PostgreSQL client for configuration properties.
+     * <p>
+     * The connection options are derived from the JDBC URL. The JDBC specific {@code currentSchema}
+     * parameter is mapped to the {@code search_path} parameter, other parameters that are not
+     * supported by the reactive client are ignored. The client pipelines requests on its connections
+     * and caches the prepared statements of each connection.
+     *
+     * @param vertx The vertx instance to use.
+     * @param dataSourceProperties The properties.
+     * @return The client.
+     * @throws IllegalArgumentException if the URL is not a PostgreSQL JDBC URL.
+     */
+    public static Pool reactiveDataSource(final Vertx vertx, final JdbcProperties dataSourceProperties) {
+
+        final String url = dataSourceProperties.getUrl();
+        if (url == null || !url.startsWith(POSTGRESQL_URL_PREFIX)) {
+            throw new IllegalArgumentException("reactive client requires a PostgreSQL JDBC URL: " + url);
+        }
+
+        final String uri = url.substring("jdbc:".length()).replaceFirst("([?&])currentSchema=", "$1search_path=");
+        final PgConnectOptions connectOptions = PgConnectOptions.fromUri(uri)
+                .setCachePreparedStatements(true);
+        // parameters from the URI replace the default connection properties (e.g. the client encoding)
+        final Map<String, String> connectionProperties = new HashMap<>(PgConnectOptions.DEFAULT_PROPERTIES);
+        connectionProperties.putAll(connectOptions.getProperties());
+        connectOptions.setProperties(connectionProperties);
+        if (dataSourceProperties.getUsername() != null) {
+            connectOptions.setUser(dataSourceProperties.getUsername());
+        }
+        final PoolOptions poolOptions = new PoolOptions();
+        if (dataSourceProperties.getMaximumPoolSize() != null) {
+            poolOptions.setMaxSize(dataSourceProperties.getMaximumPoolSize());
+        }
+
+        log.info("Creating new reactive SQL client: {} - pipelining limit: {}, max pool size: {} - table: {}",
+                url, connectOptions.getPipeliningLimit(), poolOptions.getMaxSize(), dataSourceProperties.getTableName());
+
+        // set password after logging
+
+        if (dataSourceProperties.getPassword() != null) {
+            connectOptions.setPassword(dataSourceProperties.getPassword());
+        }
+
+        return PgPool.pool(vertx, connectOptions, poolOptions);
+
+    }
+
 }
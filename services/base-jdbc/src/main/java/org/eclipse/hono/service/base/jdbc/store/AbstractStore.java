@@ -34,9 +34,12 @@ import io.vertx.ext.healthchecks.Status;
 import io.vertx.ext.jdbc.JDBCClient;
 import io.vertx.ext.sql.ResultSet;
 import io.vertx.ext.sql.UpdateResult;
+import io.vertx.sqlclient.Pool;
 
 /**
  * An abstract JDBC based data store.
+ * <p>
+ * A store either uses a JDBC client or a reactive SQL client for accessing the database.
  */
 public abstract class AbstractStore implements HealthCheckProvider, AutoCloseable {
 
@@ -46,6 +49,7 @@ public abstract class AbstractStore implements HealthCheckProvider, AutoCloseabl
     public static final String DEFAULT_CHECK_SQL = "SELECT 1";
 
     private final JDBCClient client;
+    private final Pool pool;
     private final Tracer tracer;
 
     private final ExpandedStatement checkSql;
@@ -59,14 +63,35 @@ public abstract class AbstractStore implements HealthCheckProvider, AutoCloseabl
      *        database is OK. It this value is empty, the default statement {@value #DEFAULT_CHECK_SQL} will be used.
      */
     public AbstractStore(final JDBCClient client, final Tracer tracer, final Optional<Statement> checkSql) {
-        this.client = Objects.requireNonNull(client);
+        this(Objects.requireNonNull(client), null, tracer, checkSql);
+    }
+
+    /**
+     * Create a new instance using a reactive SQL client.
+     *
+     * @param pool The reactive client to use for accessing the DB.
+     * @param tracer The tracer to use.
+     * @param checkSql An optional SQL statement, which will be used to check if the connection to the
+     *        database is OK. It this value is empty, the default statement {@value #DEFAULT_CHECK_SQL} will be used.
+     */
+    public AbstractStore(final Pool pool, final Tracer tracer, final Optional<Statement> checkSql) {
+        this(null, Objects.requireNonNull(pool), tracer, checkSql);
+    }
+
+    private AbstractStore(final JDBCClient client, final Pool pool, final Tracer tracer, final Optional<Statement> checkSql) {
+        this.client = client;
+        this.pool = pool;
         this.tracer = Objects.requireNonNull(tracer);
         this.checkSql = checkSql.orElseGet(() -> Statement.statement(DEFAULT_CHECK_SQL)).expand();
     }
 
     @Override
     public void close() throws Exception {
-        this.client.close();
+        if (this.pool != null) {
+            this.pool.close();
+        } else {
+            this.client.close();
+        }
     }
 
     @Override
@@ -76,8 +101,7 @@ public abstract class AbstractStore implements HealthCheckProvider, AutoCloseabl
     @Override
     public void registerReadinessChecks(final HealthCheckHandler readinessHandler) {
         readinessHandler.register("sql", Duration.ofSeconds(10).toMillis(), p -> {
-            this.checkSql
-                    .query(this.client)
+            query(this.checkSql)
                     .onComplete(ar -> {
                         if (ar.succeeded()) {
                             p.tryComplete(Status.OK());
@@ -88,6 +112,22 @@ public abstract class AbstractStore implements HealthCheckProvider, AutoCloseabl
         });
     }
 
+    /**
+     * Execute a statement as a query.
+     * <p>
+     * The statement is executed using the reactive SQL client, if the store has been created with one,
+     * and using the JDBC client otherwise.
+     *
+     * @param statement The statement to execute.
+     * @return A future tracking the query result.
+     */
+    protected Future<ResultSet> query(final ExpandedStatement statement) {
+        if (this.pool != null) {
+            return statement.query(this.pool);
+        }
+        return statement.query(this.client);
+    }
+
     /**
      * Check of an optimistic lock outcome.
      * <p>
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2020 Contributors to the Eclipse Foundation
+ * Copyright (c) 2020, 2022 Contributors to the Eclipse Foundation
  *
  * See the NOTICE file(s) distributed with this work for additional
  * information regarding copyright ownership.
@@ -14,12 +14,14 @@
 package org.eclipse.hono.service.base.jdbc.store;
 
 import java.io.Serializable;
-import java.util.AbstractMap.SimpleImmutableEntry;
+import java.time.temporal.Temporal;
+import java.util.AbstractMap;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -42,9 +44,16 @@ import io.vertx.core.json.JsonArray;
 import io.vertx.ext.sql.ResultSet;
 import io.vertx.ext.sql.SQLOperations;
 import io.vertx.ext.sql.UpdateResult;
+import io.vertx.sqlclient.Row;
+import io.vertx.sqlclient.RowSet;
+import io.vertx.sqlclient.SqlClient;
+import io.vertx.sqlclient.Tuple;
 
 /**
  * An SQL statement, which can map named parameters to positional parameters.
+ * <p>
+ * The statement is parsed once, when it is created. Expanding the statement only binds the values of
+ * the named parameters to the positions recorded while parsing.
  */
 public final class Statement {
 
@@ -52,15 +61,40 @@ public final class Statement {
 
     private static final Object NOT_FOUND_MARKER = new Object();
 
+    private static final Object[] NO_PARAMETERS = new Object[0];
+
     private final String sql;
-    private final List<Map.Entry<String, Integer>> mappings;
+    private final String numberedSql;
+    /**
+     * The name of the named parameter, for each positional parameter.
+     */
+    private final String[] parameterNames;
+    /**
+     * The positional parameters, for each named parameter.
+     */
+    private final Map<String, int[]> positions;
+    private final ExpandedStatement withoutParameters;
 
-    private Statement(final String sql, final List<Map.Entry<String, Integer>> mappings) {
+    private Statement(final String sql, final String numberedSql, final String[] parameterNames) {
         Objects.requireNonNull(sql);
-        Objects.requireNonNull(mappings);
+        Objects.requireNonNull(numberedSql);
+        Objects.requireNonNull(parameterNames);
 
         this.sql = sql;
-        this.mappings = mappings;
+        this.numberedSql = numberedSql;
+        this.parameterNames = parameterNames;
+
+        final Map<String, int[]> positions = new LinkedHashMap<>();
+        for (int i = 0; i < parameterNames.length; i++) {
+            final int[] current = positions.get(parameterNames[i]);
+            final int[] next = current == null ? new int[1] : Arrays.copyOf(current, current.length + 1);
+            next[next.length - 1] = i;
+            positions.put(parameterNames[i], next);
+        }
+        this.positions = Collections.unmodifiableMap(positions);
+
+        // an expanded statement without parameters is immutable, and can be shared
+        this.withoutParameters = parameterNames.length == 0 ? new ExpandedStatement(sql, numberedSql, NO_PARAMETERS) : null;
     }
 
     /**
@@ -80,9 +114,9 @@ public final class Statement {
         Arrays.sort(availableParameters);
 
         final Set<String> missingKeys = new HashSet<>();
-        for (final Map.Entry<String, Integer> entry : this.mappings) {
-            if (Arrays.binarySearch(availableParameters, entry.getKey()) < 0) {
-                missingKeys.add(entry.getKey());
+        for (final String name : this.positions.keySet()) {
+            if (Arrays.binarySearch(availableParameters, name) < 0) {
+                missingKeys.add(name);
             }
         }
 
@@ -111,11 +145,17 @@ public final class Statement {
      *         parameter.
      */
     public ExpandedStatement expand() {
+        if (this.withoutParameters != null) {
+            return this.withoutParameters;
+        }
         return expand(Collections.emptyMap());
     }
 
     /**
      * Expand the statement with the provided named parameters.
+     * <p>
+     * The map provided to the builder binds the values directly to their positional parameters.
+     * Values of named parameters, which are not used by the statement, are ignored.
      *
      * @param mapBuilder Allows you to build a map, rather then providing one.
      * @return The expanded statement.
@@ -123,14 +163,10 @@ public final class Statement {
      *         parameter.
      */
     public ExpandedStatement expand(final Consumer<Map<String, Object>> mapBuilder) {
-        final Map<String, Object> map = new HashMap<>();
-        mapBuilder.accept(map);
-        map.forEach((key, value) -> {
-            if (value != null && !(value instanceof Serializable)) {
-                throw new RuntimeException(String.format("%s of type %s is not serializable", key, value.getClass()));
-            }
-        });
-        return expand(map);
+        final Object[] params = new Object[this.parameterNames.length];
+        Arrays.fill(params, NOT_FOUND_MARKER);
+        mapBuilder.accept(new ParameterBinder(params));
+        return expanded(params);
     }
 
     /**
@@ -142,25 +178,68 @@ public final class Statement {
      *         parameter.
      */
     public ExpandedStatement expand(final Map<String, Object> parameters) {
-        final Object[] params = new Object[this.mappings.size()];
+        final Object[] params = new Object[this.parameterNames.length];
+        for (int i = 0; i < params.length; i++) {
+            params[i] = parameters.getOrDefault(this.parameterNames[i], NOT_FOUND_MARKER);
+        }
+        return expanded(params);
+    }
 
-        for (Map.Entry<String, Integer> entry : this.mappings) {
-            final Object value = parameters.getOrDefault(entry.getKey(), NOT_FOUND_MARKER);
-            if (value == NOT_FOUND_MARKER) { // we explicitly check here for equality of the object reference
-                throw new IllegalArgumentException(String.format("Value for named parameter '%s' is missing", entry.getKey()));
+    private ExpandedStatement expanded(final Object[] params) {
+        for (int i = 0; i < params.length; i++) {
+            if (params[i] == NOT_FOUND_MARKER) { // we explicitly check here for equality of the object reference
+                throw new IllegalArgumentException(String.format("Value for named parameter '%s' is missing", this.parameterNames[i]));
             }
-            params[entry.getValue()] = value;
         }
-
-        return new ExpandedStatement(this.sql, params);
+        return new ExpandedStatement(this.sql, this.numberedSql, params);
     }
 
+    /**
+     * A map, which binds the values of named parameters to their positional parameters.
+     */
+    private final class ParameterBinder extends AbstractMap<String, Object> {
+
+        private final Object[] params;
+
+        private ParameterBinder(final Object[] params) {
+            this.params = params;
+        }
+
+        @Override
+        public Object put(final String key, final Object value) {
+            if (value != null && !(value instanceof Serializable)) {
+                throw new RuntimeException(String.format("%s of type %s is not serializable", key, value.getClass()));
+            }
+            final int[] indexes = positions.get(key);
+            if (indexes == null) {
+                // not used by the statement
+                return null;
+            }
+            final Object previous = this.params[indexes[0]];
+            for (final int index : indexes) {
+                this.params[index] = value;
+            }
+            return previous == NOT_FOUND_MARKER ? null : previous;
+        }
+
+        @Override
+        public Set<Entry<String, Object>> entrySet() {
+            final Set<Entry<String, Object>> result = new LinkedHashSet<>();
+            positions.forEach((name, indexes) -> {
+                final Object value = this.params[indexes[0]];
+                if (value != NOT_FOUND_MARKER) {
+                    result.add(new SimpleImmutableEntry<>(name, value));
+                }
+            });
+            return Collections.unmodifiableSet(result);
+        }
+    }
 
     @Override
     public String toString() {
         return MoreObjects.toStringHelper(this)
                 .add("sql", this.sql)
-                .add("mappings", this.mappings)
+                .add("parameters", Arrays.asList(this.parameterNames))
                 .toString();
     }
 
@@ -168,7 +247,8 @@ public final class Statement {
      * Create a new SQL statement instance.
      * <p>
      * This will parse the SQL statement for named parameters, and record the information for expanding
-     * it later on.
+     * it later on. Named parameters are replaced with positional parameters ({@code ?}) for use with JDBC,
+     * and with numbered parameters ({@code $1}, {@code $2}, ...) for use with the reactive PostgreSQL client.
      *
      * @param sql The SQL statement to process. This is a formatted string according to
      *        {@link String#format(String, Object...)}.
@@ -184,17 +264,24 @@ public final class Statement {
 
         final Matcher m = DEFAULT_PATTERN.matcher(sqlFormatted);
 
-        int idx = 0;
         final StringBuilder sb = new StringBuilder();
-        final List<Map.Entry<String, Integer>> mappings = new ArrayList<>();
+        final List<String> parameterNames = new ArrayList<>();
         while (m.find()) {
             m.appendReplacement(sb, "${pre}?");
-            mappings.add(new SimpleImmutableEntry<>(m.group("name"), idx));
-            idx++;
+            parameterNames.add(m.group("name"));
         }
         m.appendTail(sb);
 
-        return new Statement(sb.toString(), mappings);
+        final Matcher numbered = DEFAULT_PATTERN.matcher(sqlFormatted);
+        final StringBuilder numberedSql = new StringBuilder();
+        int idx = 0;
+        while (numbered.find()) {
+            idx++;
+            numbered.appendReplacement(numberedSql, "${pre}\\$" + idx);
+        }
+        numbered.appendTail(numberedSql);
+
+        return new Statement(sb.toString(), numberedSql.toString(), parameterNames.toArray(String[]::new));
     }
 
     /**
@@ -205,26 +292,32 @@ public final class Statement {
      */
     public static class ExpandedStatement {
         private final String sql;
+        private final String numberedSql;
         private final Object[] parameters;
 
         private final Tracer tracer;
         private final SpanContext spanContext;
 
-        private ExpandedStatement(final String sql, final Object[] parameters, final Tracer tracer, final SpanContext spanContext) {
+        private ExpandedStatement(final String sql, final String numberedSql, final Object[] parameters, final Tracer tracer, final SpanContext spanContext) {
             this.sql = sql;
+            this.numberedSql = numberedSql;
             this.parameters = parameters;
             this.tracer = tracer;
             this.spanContext = spanContext;
         }
 
-        private ExpandedStatement(final String sql, final Object[] parameters) {
-            this(sql, parameters, null, null);
+        private ExpandedStatement(final String sql, final String numberedSql, final Object[] parameters) {
+            this(sql, numberedSql, parameters, null, null);
         }
 
         public String getSql() {
             return this.sql;
         }
 
+        public String getNumberedSql() {
+            return this.numberedSql;
+        }
+
         public Object[] getParameters() {
             return this.parameters;
         }
@@ -249,7 +342,7 @@ public final class Statement {
          * @return The new instance, containing the span.
          */
         public ExpandedStatement trace(final Tracer tracer, final SpanContext spanContext) {
-            return new ExpandedStatement(this.sql, this.parameters, tracer, spanContext);
+            return new ExpandedStatement(this.sql, this.numberedSql, this.parameters, tracer, spanContext);
         }
 
         @FunctionalInterface
@@ -289,6 +382,42 @@ public final class Statement {
             });
         }
 
+        /**
+         * Execute this statement as a query, using a reactive SQL client.
+         * <p>
+         * The statement is executed as a prepared query, using the numbered parameter form of
+         * the statement. The rows are converted to a {@link ResultSet}, so that they can be processed
+         * in the same way as the result of {@link #query(SQLOperations)}. Values of JSON columns are
+         * provided as decoded JSON values instead of strings, though.
+         *
+         * @param client The client to work on.
+         * @return A future tracking the query result.
+         */
+        public Future<ResultSet> query(final SqlClient client) {
+            final Span sqlSpan = startSqlSpan();
+            final Future<ResultSet> result = client
+                    .preparedQuery(this.numberedSql)
+                    .execute(Tuple.wrap(this.parameters))
+                    .map(ExpandedStatement::toResultSet);
+            return SQL.finishSpan(result, sqlSpan, (r, log) -> {
+                log.put("rows", r.getNumRows());
+            });
+        }
+
+        private static ResultSet toResultSet(final RowSet<Row> rows) {
+            final List<JsonArray> results = new ArrayList<>(rows.size());
+            for (final Row row : rows) {
+                final List<Object> values = new ArrayList<>(row.size());
+                for (int i = 0; i < row.size(); i++) {
+                    final Object value = row.getValue(i);
+                    // date and time values are provided as ISO strings by the JDBC client as well
+                    values.add(value instanceof Temporal ? value.toString() : value);
+                }
+                results.add(new JsonArray(values));
+            }
+            return new ResultSet(rows.columnsNames(), results, null);
+        }
+
         /**
          * Execute this statement as a update.
          * @param connection The connection to work on.
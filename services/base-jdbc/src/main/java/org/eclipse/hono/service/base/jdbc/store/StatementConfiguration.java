@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2020, 2021 Contributors to the Eclipse Foundation
+ * Copyright (c) 2020, 2022 Contributors to the Eclipse Foundation
  *
  * See the NOTICE file(s) distributed with this work for additional
  * information regarding copyright ownership.
@@ -159,6 +159,18 @@ public class StatementConfiguration {
                 .orElseThrow(() -> new IllegalArgumentException(String.format("Statement with key '%s' not found", key)));
     }
 
+    /**
+     * Get the number of statements in the configuration.
+     * <p>
+     * This may be used to size a cache of prepared statements, so that each connection can keep all
+     * statements of the configuration prepared.
+     *
+     * @return The number of statements.
+     */
+    public int size() {
+        return this.statements.size();
+    }
+
     /**
      * And empty statement configuration.
      * <p>
@@ -29,6 +29,7 @@ import io.vertx.core.Future;
 import io.vertx.ext.jdbc.JDBCClient;
 import io.vertx.ext.sql.ResultSet;
 import io.vertx.ext.sql.SQLOperations;
+import io.vertx.sqlclient.Pool;
 
 /**
  * An abstract base for implementing a device registration store.
@@ -54,13 +55,32 @@ public abstract class AbstractDeviceStore extends AbstractStore {
 
         this.client = client;
         this.tracer = tracer;
+        this.readRegistrationStatement = readRegistrationStatement(cfg);
+    }
+
+    /**
+     * Create a new instance using a reactive SQL client.
+     * <p>
+     * The JDBC client of a store created by this constructor is {@code null}.
+     *
+     * @param pool The reactive client to use for accessing the DB.
+     * @param tracer The tracer to use.
+     * @param cfg The SQL statement configuration.
+     */
+    public AbstractDeviceStore(final Pool pool, final Tracer tracer, final StatementConfiguration cfg) {
+        super(pool, tracer, cfg.getStatement("checkConnection"));
+
+        this.client = null;
+        this.tracer = tracer;
+        this.readRegistrationStatement = readRegistrationStatement(cfg);
+    }
 
-        this.readRegistrationStatement = cfg
+    private static Statement readRegistrationStatement(final StatementConfiguration cfg) {
+        return cfg
                 .getRequiredStatement("readRegistration")
                 .validateParameters(
                         "tenant_id",
                         "device_id");
-
     }
 
     /**
@@ -122,9 +142,7 @@ public abstract class AbstractDeviceStore extends AbstractStore {
 
         log.debug("read - statement: {}", expanded);
 
-        return expanded
-                .trace(this.tracer, spanContext)
-                .query(this.client);
+        return query(expanded.trace(this.tracer, spanContext));
 
     }
 
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2020 Contributors to the Eclipse Foundation
+ * Copyright (c) 2020, 2022 Contributors to the Eclipse Foundation
  *
  * See the NOTICE file(s) distributed with this work for additional
  * information regarding copyright ownership.
@@ -95,11 +95,22 @@ public final class DeviceStores {
                 final Optional<String> registrations,
                 final Optional<String> groups) throws IOException {
 
+            final var cfg = Configurations.tableConfiguration(properties.getUrl(), credentials, registrations, groups);
+            final var dialect = SQL.getDatabaseDialect(properties.getUrl());
+
+            if (properties.isUseReactiveClient()) {
+                return new TableAdapterStore(
+                        JdbcProperties.reactiveDataSource(vertx, properties),
+                        tracer,
+                        cfg,
+                        dialect);
+            }
+
             return new TableAdapterStore(
-                    JdbcProperties.dataSource(vertx, properties),
+                    JdbcProperties.dataSource(vertx, properties, cfg.size()),
                     tracer,
-                    Configurations.tableConfiguration(properties.getUrl(), credentials, registrations, groups),
-                    SQL.getDatabaseDialect(properties.getUrl()));
+                    cfg,
+                    dialect);
 
         }
     }
@@ -120,10 +131,12 @@ public final class DeviceStores {
                 final Optional<String> registrations,
                 final Optional<String> groups) throws IOException {
 
+            final var cfg = Configurations.tableConfiguration(properties.getUrl(), credentials, registrations, groups);
+
             return new TableManagementStore(
-                    JdbcProperties.dataSource(vertx, properties),
+                    JdbcProperties.dataSource(vertx, properties, cfg.size()),
                     tracer,
-                    Configurations.tableConfiguration(properties.getUrl(), credentials, registrations, groups));
+                    cfg);
 
         }
     }
@@ -14,6 +14,7 @@
 package org.eclipse.hono.service.base.jdbc.store.device;
 
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -37,8 +38,10 @@ import io.opentracing.SpanContext;
 import io.opentracing.Tracer;
 import io.vertx.core.Future;
 import io.vertx.core.json.Json;
+import io.vertx.core.json.JsonObject;
 import io.vertx.ext.jdbc.JDBCClient;
 import io.vertx.ext.sql.ResultSet;
+import io.vertx.sqlclient.Pool;
 
 /**
  * A data store for devices and credentials, based on a table data model.
@@ -49,6 +52,7 @@ public class TableAdapterStore extends AbstractDeviceStore {
 
     private final Statement findCredentialsStatement;
     private final Statement resolveGroupsStatement;
+    private final Statement readRegistrationsStatement;
     private final String dialect;
 
     /**
@@ -64,19 +68,52 @@ public class TableAdapterStore extends AbstractDeviceStore {
         this.dialect = dialect;
         cfg.dump(log);
 
-        this.findCredentialsStatement = cfg
+        this.findCredentialsStatement = findCredentialsStatement(cfg);
+        this.resolveGroupsStatement = resolveGroupsStatement(cfg);
+        this.readRegistrationsStatement = readRegistrationsStatement(cfg);
+    }
+
+    /**
+     * Create a new instance using a reactive SQL client.
+     *
+     * @param pool The reactive client to use for accessing the DB.
+     * @param tracer The tracer to use.
+     * @param cfg The SQL statement configuration.
+     * @param dialect Database type, from the JDBC URL scheme
+     */
+    public TableAdapterStore(final Pool pool, final Tracer tracer, final StatementConfiguration cfg, final String dialect) {
+        super(pool, tracer, cfg);
+        this.dialect = dialect;
+        cfg.dump(log);
+
+        this.findCredentialsStatement = findCredentialsStatement(cfg);
+        this.resolveGroupsStatement = resolveGroupsStatement(cfg);
+        this.readRegistrationsStatement = readRegistrationsStatement(cfg);
+    }
+
+    private static Statement findCredentialsStatement(final StatementConfiguration cfg) {
+        return cfg
                 .getRequiredStatement("findCredentials")
                 .validateParameters(
                         "tenant_id",
                         "type",
                         "auth_id");
+    }
 
-        this.resolveGroupsStatement = cfg
+    private static Statement resolveGroupsStatement(final StatementConfiguration cfg) {
+        return cfg
                 .getRequiredStatement("resolveGroups")
                 .validateParameters(
                         "tenant_id",
                         "group_ids");
+    }
 
+    private static Statement readRegistrationsStatement(final StatementConfiguration cfg) {
+        return cfg
+                .getRequiredStatement("readRegistrations")
+                .validateParameters(
+                        "tenant_id",
+                        "device_ids");
     }
 
 
@@ -127,7 +164,7 @@ public class TableAdapterStore extends AbstractDeviceStore {
                             return Future.succeededFuture((Optional.empty()));
                         case 1:
                             final var entry = entries.get(0);
-                            final var device = Json.decodeValue(entry.getString("data"), Device.class);
+                            final var device = decodeData(entry, Device.class);
                             final var version = Optional.ofNullable(entry.getString("version"));
                             return Future.succeededFuture(Optional.of(new DeviceReadResult(device, version)));
                         default:
@@ -139,6 +176,64 @@ public class TableAdapterStore extends AbstractDeviceStore {
 
     }
 
+    /**
+     * Reads the device data of multiple devices using a single query.
+     * <p>
+     * This executes the {@code readRegistrations} statement and transforms each row
+     * into a {@link DeviceReadResult}, reading the device registration information from the column
+     * {@code data} and optionally current resource version from the column {@code version}.
+     * <p>
+     * Devices that do not exist are not contained in the resulting map.
+     *
+     * @param tenantId The tenant that the devices belong to.
+     * @param deviceIds The identifiers of the devices to read.
+     * @param spanContext The span to contribute to.
+     *
+     * @return A future, tracking the outcome of the operation. The map contains the
+     *         read results, keyed by device identifier.
+     */
+    public Future<Map<String, DeviceReadResult>> readDevices(
+            final String tenantId,
+            final Set<String> deviceIds,
+            final SpanContext spanContext) {
+
+        if (deviceIds.isEmpty()) {
+            return Future.succeededFuture(Map.of());
+        }
+
+        final Span span = TracingHelper.buildChildSpan(this.tracer, spanContext, "read devices", getClass().getSimpleName())
+                .withTag(TracingHelper.TAG_TENANT_ID, tenantId)
+                .withTag("devices", deviceIds.size())
+                .start();
+
+        final var expanded = this.readRegistrationsStatement.expand(params -> {
+            params.put("tenant_id", tenantId);
+            params.put("device_ids", convertToArrayValue(deviceIds));
+        });
+
+        log.debug("readDevices - statement: {}", expanded);
+
+        return query(expanded.trace(this.tracer, span.context()))
+
+                .map(r -> {
+                    final var entries = r.getRows(true);
+                    span.log(Map.of(
+                            "event", "read result",
+                            "rows", entries.size()));
+
+                    final Map<String, DeviceReadResult> result = new HashMap<>(entries.size());
+                    for (final JsonObject entry : entries) {
+                        final var device = decodeData(entry, Device.class);
+                        final var version = Optional.ofNullable(entry.getString("version"));
+                        result.put(entry.getString("device_id"), new DeviceReadResult(device, version));
+                    }
+                    return result;
+                })
+
+                .onComplete(x -> span.finish());
+
+    }
+
     /**
      * Find credentials for a device.
      *
@@ -162,9 +257,7 @@ public class TableAdapterStore extends AbstractDeviceStore {
         });
 
         log.debug("findCredentials - statement: {}", expanded);
-        return expanded
-                .trace(this.tracer, span.context())
-                .query(this.client)
+        return query(expanded.trace(this.tracer, span.context()))
                 .<Optional<CredentialsReadResult>>flatMap(r -> {
                     final var entries = r.getRows(true);
                     span.log(Map.of(
@@ -188,8 +281,7 @@ public class TableAdapterStore extends AbstractDeviceStore {
                     final String deviceId = deviceIds.iterator().next();
 
                     final List<CommonCredential> credentials = entries.stream()
-                            .map(o -> o.getString("data"))
-                            .map(s -> Json.decodeValue(s, CommonCredential.class))
+                            .map(o -> decodeData(o, CommonCredential.class))
                             .collect(Collectors.toList());
 
                     return Future.succeededFuture(Optional.of(new CredentialsReadResult(deviceId, credentials, Optional.empty())));
@@ -222,10 +314,7 @@ public class TableAdapterStore extends AbstractDeviceStore {
 
         log.debug("resolveGroupMembers - statement: {}", expanded);
 
-        return expanded
-
-                .trace(this.tracer, span.context())
-                .query(this.client)
+        return query(expanded.trace(this.tracer, span.context()))
 
                 .flatMap(r -> {
 
@@ -246,6 +335,15 @@ public class TableAdapterStore extends AbstractDeviceStore {
 
     }
 
+    private static <T> T decodeData(final JsonObject entry, final Class<T> type) {
+        final Object data = entry.getValue("data");
+        if (data instanceof JsonObject) {
+            // the reactive client provides the content of JSON columns in decoded form
+            return ((JsonObject) data).mapTo(type);
+        }
+        return Json.decodeValue((String) data, type);
+    }
+
     private Object convertToArrayValue(final Collection<String> values) {
         // SQLServer and Postgres driver fails to recognize String array value
         // pass as CSV string instead and use database specific functions
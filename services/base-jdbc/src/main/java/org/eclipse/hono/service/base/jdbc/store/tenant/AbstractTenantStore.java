@@ -16,6 +16,7 @@ package org.eclipse.hono.service.base.jdbc.store.tenant;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 import org.eclipse.hono.service.base.jdbc.store.AbstractStore;
@@ -38,6 +39,7 @@ import io.vertx.core.json.JsonObject;
 import io.vertx.ext.jdbc.JDBCClient;
 import io.vertx.ext.sql.ResultSet;
 import io.vertx.ext.sql.SQLOperations;
+import io.vertx.sqlclient.Pool;
 
 /**
  * A data store for tenant information.
@@ -50,6 +52,7 @@ public abstract class AbstractTenantStore extends AbstractStore {
     private static final Logger log = LoggerFactory.getLogger(AbstractTenantStore.class);
 
     protected final JDBCClient client;
+    protected final Pool pool;
     protected final Tracer tracer;
 
     private final Statement readStatement;
@@ -67,20 +70,46 @@ public abstract class AbstractTenantStore extends AbstractStore {
         cfg.dump(log);
 
         this.client = client;
+        this.pool = null;
         this.tracer = tracer;
+        this.readStatement = readStatement(cfg);
+        this.readTrustAnchorsStatement = readTrustAnchorsStatement(cfg);
+    }
+
+    /**
+     * Create a new instance using a reactive SQL client.
+     * <p>
+     * The JDBC client of a store created by this constructor is {@code null}.
+     *
+     * @param pool The reactive client to use for accessing the DB.
+     * @param tracer The tracer to use.
+     * @param cfg The statement configuration to use.
+     */
+    public AbstractTenantStore(final Pool pool, final Tracer tracer, final StatementConfiguration cfg) {
+        super(pool, tracer, cfg.getStatement("checkConnection"));
+        cfg.dump(log);
 
-        this.readStatement = cfg
+        this.client = null;
+        this.pool = pool;
+        this.tracer = tracer;
+        this.readStatement = readStatement(cfg);
+        this.readTrustAnchorsStatement = readTrustAnchorsStatement(cfg);
+    }
+
+    private static Statement readStatement(final StatementConfiguration cfg) {
+        return cfg
                 .getRequiredStatement("read")
                 .validateParameters(
                         "tenant_id"
                 );
+    }
 
-        this.readTrustAnchorsStatement = cfg
+    private static Statement readTrustAnchorsStatement(final StatementConfiguration cfg) {
+        return cfg
                 .getRequiredStatement("readTrustAnchors")
                 .validateParameters(
                         "tenant_id"
                 );
-
     }
 
     /**
@@ -92,6 +121,11 @@ public abstract class AbstractTenantStore extends AbstractStore {
      * <p>
      * If more than one entry is being found, the result will be failed with an
      * {@link IllegalStateException} exception.
+     * <p>
+     * When using the JDBC client, the tenant and its trust anchors are read within a transaction.
+     * The reactive client executes both queries in a pipelined fashion without a transaction instead.
+     * Under the default isolation level (read committed) each statement of a transaction sees its own
+     * snapshot of the data anyway.
      *
      * @param id The key to the tenant entry.
      * @param spanContext The span to contribute to.
@@ -107,6 +141,11 @@ public abstract class AbstractTenantStore extends AbstractStore {
             map.put("tenant_id", id);
         });
 
+        if (this.pool != null) {
+            return readTenantBy(this::query, expanded, span.context())
+                    .onComplete(x -> span.finish());
+        }
+
         return SQL.runTransactionally(
                 this.client,
                 this.tracer,
@@ -125,14 +164,26 @@ public abstract class AbstractTenantStore extends AbstractStore {
      * @return A future, tracking the outcome of the operation.
      */
     protected Future<Optional<TenantReadResult>> readTenantBy(final SQLOperations operations, final ExpandedStatement expanded, final SpanContext spanContext) {
+        return readTenantBy(statement -> statement.query(operations), expanded, spanContext);
+    }
+
+    /**
+     * Read a tenant, using the provided statement.
+     *
+     * @param queries The function to use for executing queries.
+     * @param expanded The statement to use.
+     * @param spanContext The span to contribute to.
+     * @return A future, tracking the outcome of the operation.
+     */
+    protected Future<Optional<TenantReadResult>> readTenantBy(
+            final Function<ExpandedStatement, Future<ResultSet>> queries,
+            final ExpandedStatement expanded,
+            final SpanContext spanContext) {
 
         final Span span = TracingHelper.buildChildSpan(this.tracer, spanContext, "read tenant by", getClass().getSimpleName())
                 .start();
 
-        return expanded
-
-                .trace(this.tracer, span.context())
-                .query(operations)
+        return queries.apply(expanded.trace(this.tracer, span.context()))
 
                 .<Optional<TenantReadResult>>flatMap(r -> {
                     final var entries = r.getRows(true);
@@ -161,7 +212,7 @@ public abstract class AbstractTenantStore extends AbstractStore {
                 .flatMap(result -> {
 
                     if (result.isPresent()) {
-                        return fillTrustAnchors(operations, result.get(), span.context())
+                        return fillTrustAnchors(queries, result.get(), span.context())
                                 .map(Optional::ofNullable);
                     } else {
                         return Future.succeededFuture(result);
@@ -211,6 +262,23 @@ public abstract class AbstractTenantStore extends AbstractStore {
      * @return A future, tracking the outcome of the operation.
      */
     protected Future<ResultSet> readTenantTrustAnchors(final SQLOperations operations, final String id, final SpanContext spanContext) {
+        return readTenantTrustAnchors(statement -> statement.query(operations), id, spanContext);
+    }
+
+    /**
+     * Read all trust anchors for a tenant.
+     * <p>
+     * The result set will contain zero or more rows.
+     *
+     * @param queries The function to use for executing queries.
+     * @param id The ID of the tenant to read the trust anchors for.
+     * @param spanContext The span to contribute to.
+     * @return A future, tracking the outcome of the operation.
+     */
+    protected Future<ResultSet> readTenantTrustAnchors(
+            final Function<ExpandedStatement, Future<ResultSet>> queries,
+            final String id,
+            final SpanContext spanContext) {
 
         final Span span = TracingHelper.buildChildSpan(this.tracer, spanContext, "populate trust anchors", getClass().getSimpleName())
                 .withTag(TracingHelper.TAG_TENANT_ID, id)
@@ -222,9 +290,7 @@ public abstract class AbstractTenantStore extends AbstractStore {
 
         log.debug("readTenantTrustAnchors - statement: {}", expanded);
 
-        return expanded
-                .trace(this.tracer, span.context())
-                .query(operations)
+        return queries.apply(expanded.trace(this.tracer, span.context()))
                 .onComplete(x -> span.finish());
 
     }
@@ -242,8 +308,24 @@ public abstract class AbstractTenantStore extends AbstractStore {
             final TenantReadResult tenant,
             final SpanContext spanContext
     ) {
+        return fillTrustAnchors(statement -> statement.query(operations), tenant, spanContext);
+    }
+
+    /**
+     * Fill the trust anchors for an already loaded tenant.
+     *
+     * @param queries The function to use for executing queries.
+     * @param tenant The tenant read result to populate.
+     * @param spanContext The span to contribute to.
+     * @return The future, tracking the outcome of the operation.
+     */
+    protected Future<TenantReadResult> fillTrustAnchors(
+            final Function<ExpandedStatement, Future<ResultSet>> queries,
+            final TenantReadResult tenant,
+            final SpanContext spanContext
+    ) {
 
-        return readTenantTrustAnchors(operations, tenant.getId(), spanContext)
+        return readTenantTrustAnchors(queries, tenant.getId(), spanContext)
                 .map(result -> {
                     tenant
                             .getTenant()
@@ -28,6 +28,7 @@ import io.opentracing.Tracer;
 import io.vertx.core.Future;
 import io.vertx.core.json.JsonObject;
 import io.vertx.ext.jdbc.JDBCClient;
+import io.vertx.sqlclient.Pool;
 
 
 /**
@@ -46,8 +47,23 @@ public class AdapterStore extends AbstractTenantStore {
      */
     public AdapterStore(final JDBCClient client, final Tracer tracer, final StatementConfiguration cfg) {
         super(client, tracer, cfg);
+        this.readByTrustAnchorStatement = readByTrustAnchorStatement(cfg);
+    }
+
+    /**
+     * Create a new instance using a reactive SQL client.
+     *
+     * @param pool The reactive client to use for accessing the DB.
+     * @param tracer The tracer to use.
+     * @param cfg The statement configuration to use.
+     */
+    public AdapterStore(final Pool pool, final Tracer tracer, final StatementConfiguration cfg) {
+        super(pool, tracer, cfg);
+        this.readByTrustAnchorStatement = readByTrustAnchorStatement(cfg);
+    }
 
-        this.readByTrustAnchorStatement = cfg
+    private static Statement readByTrustAnchorStatement(final StatementConfiguration cfg) {
+        return cfg
                 .getRequiredStatement("readByTrustAnchor")
                 .validateParameters("subject_dn");
     }
@@ -99,7 +115,7 @@ public class AdapterStore extends AbstractTenantStore {
             map.put("subject_dn", subjectDn);
         });
 
-        return readTenantBy(this.client, expanded, spanContext);
+        return readTenantBy(this::query, expanded, spanContext);
 
     }
 
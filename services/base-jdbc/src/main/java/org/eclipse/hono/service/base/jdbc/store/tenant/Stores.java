@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2020 Contributors to the Eclipse Foundation
+ * Copyright (c) 2020, 2022 Contributors to the Eclipse Foundation
  *
  * See the NOTICE file(s) distributed with this work for additional
  * information regarding copyright ownership.
@@ -31,6 +31,9 @@ public final class Stores {
 
     /**
      * Create a new adapter store.
+     * <p>
+     * The store uses the reactive PostgreSQL client if configured to do so
+     * and the JDBC client otherwise.
      *
      * @param vertx The vert.x instance to use.
      * @param tracer The tracer to use.
@@ -43,16 +46,18 @@ public final class Stores {
             final Tracer tracer,
             final JdbcProperties properties) throws IOException {
 
-        final var client = JdbcProperties.dataSource(vertx, properties);
         final var jdbcUrl = properties.getUrl();
+        final var cfg = AdapterStore.defaultStatementConfiguration(
+                jdbcUrl,
+                Optional.ofNullable(properties.getTableName()),
+                Optional.ofNullable(properties.getTableName()).map(name -> name + "_trust_anchors"));
 
-        return new AdapterStore(
-                client, tracer,
-                AdapterStore.defaultStatementConfiguration(
-                        jdbcUrl,
-                        Optional.ofNullable(properties.getTableName()),
-                        Optional.ofNullable(properties.getTableName()).map(name -> name + "_trust_anchors")
-                ));
+        if (properties.isUseReactiveClient()) {
+            return new AdapterStore(JdbcProperties.reactiveDataSource(vertx, properties), tracer, cfg);
+        }
+
+        final var client = JdbcProperties.dataSource(vertx, properties, cfg.size());
+        return new AdapterStore(client, tracer, cfg);
 
     }
 
@@ -70,16 +75,14 @@ public final class Stores {
             final Tracer tracer,
             final JdbcProperties properties) throws IOException {
 
-        final var client = JdbcProperties.dataSource(vertx, properties);
         final var jdbcUrl = properties.getUrl();
+        final var cfg = ManagementStore.defaultStatementConfiguration(
+                jdbcUrl,
+                Optional.ofNullable(properties.getTableName()),
+                Optional.ofNullable(properties.getTableName()).map(name -> name + "_trust_anchors"));
+        final var client = JdbcProperties.dataSource(vertx, properties, cfg.size());
 
-        return new ManagementStore(
-                client, tracer,
-                ManagementStore.defaultStatementConfiguration(
-                        jdbcUrl,
-                        Optional.ofNullable(properties.getTableName()),
-                        Optional.ofNullable(properties.getTableName()).map(name -> name + "_trust_anchors")
-                ));
+        return new ManagementStore(client, tracer, cfg);
 
     }
 
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2020 Contributors to the Eclipse Foundation
+ * Copyright (c) 2020, 2022 Contributors to the Eclipse Foundation
  *
  * See the NOTICE file(s) distributed with this work for additional
  * information regarding copyright ownership.
@@ -82,6 +82,36 @@ public class QueryTest {
         assertArrayEquals(new Object[] {1, "baz"}, expanded.getParameters());
     }
 
+    /**
+     * Test that a value provided by the map builder is bound to all positions of a named parameter,
+     * and that a value can be replaced.
+     */
+    @Test
+    public void testDoubleParamsFromBuilder() {
+        final ExpandedStatement expanded = Statement.statement("select * from table where foo=:foo and bar=:bar and foo2=:foo")
+                .expand(params -> {
+                    params.put("foo", 0);
+                    params.put("bar", null);
+                    assertEquals(0, params.put("foo", 1));
+                    assertEquals(1, params.get("foo"));
+                });
+        assertEquals("select * from table where foo=? and bar=? and foo2=?", expanded.getSql());
+        assertArrayEquals(new Object[] {1, null, 1}, expanded.getParameters());
+    }
+
+    /**
+     * Test that a value which is not serializable is rejected.
+     */
+    @Test
+    public void testNonSerializableParam() {
+        assertThrows(RuntimeException.class, () -> {
+            Statement.statement("select * from table where foo=:foo")
+                    .expand(params -> {
+                        params.put("foo", new Object());
+                    });
+        });
+    }
+
     /**
      * Test that a missing parameter throws an {@link IllegalArgumentException}.
      */
@@ -130,5 +160,22 @@ public class QueryTest {
         assertArrayEquals(new Object[] {"tenant", "device", "version", "{}"}, expanded.getParameters());
     }
 
+    /**
+     * Test that named parameters are replaced with numbered parameters for use with the reactive client.
+     */
+    @Test
+    public void testNumberedParams() {
+        final ExpandedStatement expanded =
+                Statement.statement("INSERT INTO %s (tenant_id, device_id, data) VALUES (:tenant_id, :device_id, :data::jsonb) ON CONFLICT DO UPDATE SET data=:data::jsonb", "table")
+                        .expand(map -> {
+                            map.put("tenant_id", "tenant");
+                            map.put("device_id", "device");
+                            map.put("data", "{}");
+                        });
+
+        assertEquals("INSERT INTO table (tenant_id, device_id, data) VALUES ($1, $2, $3::jsonb) ON CONFLICT DO UPDATE SET data=$4::jsonb", expanded.getNumberedSql());
+        assertArrayEquals(new Object[] {"tenant", "device", "{}", "{}"}, expanded.getParameters());
+    }
+
 
 }
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2021 Contributors to the Eclipse Foundation
+ * Copyright (c) 2021, 2022 Contributors to the Eclipse Foundation
  *
  * See the NOTICE file(s) distributed with this work for additional
  * information regarding copyright ownership.
@@ -13,10 +13,12 @@
 
 package org.eclipse.hono.commandrouter.impl.kafka;
 
+import java.util.ArrayDeque;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Deque;
 import java.util.HashMap;
-import java.util.LinkedList;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
@@ -40,9 +42,9 @@ import io.vertx.core.buffer.Buffer;
 import io.vertx.kafka.client.consumer.KafkaConsumerRecord;
 
 /**
- * Queue with the commands currently being processed, maintaining FIFO semantics.
+ * Queue with the commands currently being processed, maintaining FIFO semantics per device.
  * That means the last step of command processing, sending the command on the internal command topic, is
- * invoked with respect to the order in which commands were originally received.
+ * invoked with respect to the order in which the commands of a device were originally received.
  */
 public class KafkaCommandProcessingQueue {
 
@@ -167,14 +169,19 @@ public class KafkaCommandProcessingQueue {
     /**
      * Keeps track of commands that are currently being processed and ensures that
      * the "SendCommandAction" provided via {@link #applySendCommandAction(KafkaBasedCommandContext, Supplier)}
-     * is invoked on command objects in the same order that the commands got added
+     * is invoked on the command objects of a device in the same order that the commands got added
      * to the queue.
+     * <p>
+     * The commands are kept in separate queues per device, i.e. per record key. This means that
+     * a command that is still being processed only holds back subsequent commands of the same device
+     * but not the commands of other devices that have been received from the same partition.
      */
     class TopicPartitionCommandQueue {
 
         private static final String KEY_COMMAND_SEND_ACTION_SUPPLIER_AND_RESULT_PROMISE = "commandSendActionSupplierAndResultPromise";
 
-        private final Deque<KafkaBasedCommandContext> queue = new LinkedList<>();
+        private final Map<String, Deque<KafkaBasedCommandContext>> deviceQueues = new HashMap<>();
+        private int size;
 
         /**
          * Adds the given command to the queue.
@@ -184,7 +191,9 @@ public class KafkaCommandProcessingQueue {
          */
         public void add(final KafkaBasedCommandContext commandContext) {
             Objects.requireNonNull(commandContext);
-            queue.add(commandContext);
+            deviceQueues.computeIfAbsent(getDeviceQueueKey(commandContext), k -> new ArrayDeque<>())
+                    .add(commandContext);
+            size++;
         }
 
         /**
@@ -200,8 +209,15 @@ public class KafkaCommandProcessingQueue {
          */
         public boolean remove(final KafkaBasedCommandContext commandContext) {
             Objects.requireNonNull(commandContext);
-            if (queue.remove(commandContext)) {
-                sendNextCommandInQueueIfPossible();
+            final String deviceQueueKey = getDeviceQueueKey(commandContext);
+            final Deque<KafkaBasedCommandContext> deviceQueue = deviceQueues.get(deviceQueueKey);
+            if (deviceQueue != null && deviceQueue.remove(commandContext)) {
+                size--;
+                if (deviceQueue.isEmpty()) {
+                    deviceQueues.remove(deviceQueueKey);
+                } else {
+                    sendNextCommandInQueueIfPossible(deviceQueueKey);
+                }
                 return true;
             }
             return false;
@@ -212,7 +228,7 @@ public class KafkaCommandProcessingQueue {
          * @return {@code true} if this queue is empty.
          */
         public boolean isEmpty() {
-            return queue.isEmpty();
+            return size == 0;
         }
 
         /**
@@ -220,15 +236,17 @@ public class KafkaCommandProcessingQueue {
          * @return The queue size.
          */
         public int getSize() {
-            return queue.size();
+            return size;
         }
 
         /**
          * Releases any contained commands waiting to be sent and clears the queue.
          */
         public void markAsUnusedAndClear() {
-            final LinkedList<KafkaBasedCommandContext> queueCopy = new LinkedList<>(queue);
-            queue.clear();
+            final List<KafkaBasedCommandContext> queueCopy = new ArrayList<>(size);
+            deviceQueues.values().forEach(queueCopy::addAll);
+            deviceQueues.clear();
+            size = 0;
             queueCopy.forEach(commandContext -> {
                 final var actionAppliedPair = getSendActionSupplierAndResultPromise(commandContext);
                 if (actionAppliedPair != null) {
@@ -244,7 +262,8 @@ public class KafkaCommandProcessingQueue {
 
         /**
          * Either invokes the given sendAction directly if it is next-in-line or makes sure the action is
-         * invoked at a later point in time according to the order in which commands were originally received.
+         * invoked at a later point in time according to the order in which the device's commands were
+         * originally received.
          *
          * @param commandContext The context of the command to apply the given sendAction for.
          * @param sendActionSupplier The Supplier for the action to send the given command to the internal Command and
@@ -259,10 +278,16 @@ public class KafkaCommandProcessingQueue {
             Objects.requireNonNull(sendActionSupplier);
 
             final Promise<Void> resultPromise = Promise.promise();
-            if (commandContext.equals(queue.peek())) {
-                // the usual case - first command added to the queue is the first command to send to the protocol adapter
-                sendGivenCommandAndNextInQueueIfPossible(queue.remove(), sendActionSupplier, resultPromise, true);
-            } else if (!queue.contains(commandContext)) {
+            final String deviceQueueKey = getDeviceQueueKey(commandContext);
+            final Deque<KafkaBasedCommandContext> deviceQueue = deviceQueues.get(deviceQueueKey);
+            if (deviceQueue != null && commandContext.equals(deviceQueue.peek())) {
+                // the usual case - first command of the device added to the queue is the first command to send to the protocol adapter
+                sendGivenCommandAndNextInQueueIfPossible(
+                        pollDeviceQueue(deviceQueueKey, deviceQueue),
+                        sendActionSupplier,
+                        resultPromise,
+                        true);
+            } else if (deviceQueue == null || !deviceQueue.contains(commandContext)) {
                 // might happen if the invoking the sendAction takes place after the partition got unassigned and then reassigned again
                 // or if processing the command has timed out and it was removed from the queue
                 final ServerErrorException error;
@@ -279,12 +304,12 @@ public class KafkaCommandProcessingQueue {
             } else {
                 // given command is not next-in-line;
                 // that means determining its target adapter instance has finished sooner (maybe because of fewer data-grid requests)
-                // compared to a command that was received earlier
-                LOG.debug("sending of command with offset {} gets delayed; waiting for processing of offset {} [queue size: {}; delayed {}]",
-                        getRecordOffset(commandContext), getRecordOffset(queue.peek()), queue.size(), commandContext.getCommand());
+                // compared to a command for the same device that was received earlier
+                LOG.debug("sending of command with offset {} gets delayed; waiting for processing of offset {} [device queue size: {}; delayed {}]",
+                        getRecordOffset(commandContext), getRecordOffset(deviceQueue.peek()), deviceQueue.size(), commandContext.getCommand());
                 commandContext.getTracingSpan()
-                        .log(String.format("waiting for an earlier command with offset %d to be processed first [queue size: %d]",
-                                getRecordOffset(queue.peek()), queue.size()));
+                        .log(String.format("waiting for an earlier command with offset %d to be processed first [device queue size: %d]",
+                                getRecordOffset(deviceQueue.peek()), deviceQueue.size()));
                 commandContext.getTracingSpan().setTag("processing_delayed", true);
                 commandContext.put(KEY_COMMAND_SEND_ACTION_SUPPLIER_AND_RESULT_PROMISE, Pair
                         .of(sendActionSupplier, resultPromise));
@@ -302,22 +327,48 @@ public class KafkaCommandProcessingQueue {
             final Future<Void> sendActionFuture = sendActionSupplier.get();
             sendActionFuture.onComplete(sendActionCompletedPromise);
 
-            if (!queue.isEmpty()) {
+            final String deviceQueueKey = getDeviceQueueKey(commandContext);
+            if (deviceQueues.containsKey(deviceQueueKey)) {
                 if (sendActionFuture.isComplete() && completedPromiseJustCreated) {
                     // send action directly finished the result future (without any vert.x decoupling) and the completedPromise can't have any handlers yet;
                     // trigger next-command handling asynchronously, so that a sendActionFuture handler can first be set and run, before handling next commands
-                    vertxContext.runOnContext(v -> sendNextCommandInQueueIfPossible());
+                    vertxContext.runOnContext(v -> sendNextCommandInQueueIfPossible(deviceQueueKey));
                 } else {
-                    sendNextCommandInQueueIfPossible();
+                    sendNextCommandInQueueIfPossible(deviceQueueKey);
                 }
             }
         }
 
-        private void sendNextCommandInQueueIfPossible() {
-            Optional.ofNullable(queue.peek())
+        private void sendNextCommandInQueueIfPossible(final String deviceQueueKey) {
+            final Deque<KafkaBasedCommandContext> deviceQueue = deviceQueues.get(deviceQueueKey);
+            if (deviceQueue == null) {
+                return;
+            }
+            Optional.ofNullable(deviceQueue.peek())
                     // sendActionSupplierAndResultPromise not null means command is ready to be sent
                     .map(this::getSendActionSupplierAndResultPromise)
-                    .ifPresent(pair -> sendGivenCommandAndNextInQueueIfPossible(queue.remove(), pair.one(), pair.two(), false));
+                    .ifPresent(pair -> sendGivenCommandAndNextInQueueIfPossible(
+                            pollDeviceQueue(deviceQueueKey, deviceQueue),
+                            pair.one(),
+                            pair.two(),
+                            false));
+        }
+
+        private KafkaBasedCommandContext pollDeviceQueue(
+                final String deviceQueueKey,
+                final Deque<KafkaBasedCommandContext> deviceQueue) {
+            final KafkaBasedCommandContext commandContext = deviceQueue.poll();
+            size--;
+            if (deviceQueue.isEmpty()) {
+                deviceQueues.remove(deviceQueueKey);
+            }
+            return commandContext;
+        }
+
+        private String getDeviceQueueKey(final KafkaBasedCommandContext context) {
+            // command records are keyed by device ID
+            return Optional.ofNullable(context.getCommand().getRecord().key())
+                    .orElseGet(() -> context.getCommand().getDeviceId());
         }
 
         private Pair<Supplier<Future<Void>>, Promise<Void>> getSendActionSupplierAndResultPromise(
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2021 Contributors to the Eclipse Foundation
+ * Copyright (c) 2021, 2022 Contributors to the Eclipse Foundation
  *
  * See the NOTICE file(s) distributed with this work for additional
  * information regarding copyright ownership.
@@ -19,7 +19,6 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
-import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
@@ -261,41 +260,23 @@ public class KafkaBasedMappingAndDelegatingCommandHandlerTest {
      * Verifies the behaviour of the
      * {@link KafkaBasedMappingAndDelegatingCommandHandler#mapAndDelegateIncomingCommandMessage(KafkaConsumerRecord)}
      * method in a scenario where the mapping operation for one command completes earlier than for a previously received
-     * command. The order in which commands are then delegated to the target adapter instance has to be the same
-     * as the order in which commands were received.
+     * command of the same device. The order in which the device's commands are then delegated to the target adapter
+     * instance has to be the same as the order in which the commands were received.
      *
      * @param ctx The vert.x test context
      */
     @Test
     public void testIncomingCommandOrderIsPreservedWhenDelegating(final VertxTestContext ctx) {
-        final String deviceId1 = "device1";
-        final String deviceId2 = "device2";
-        final String deviceId3 = "device3";
-        final String deviceId4 = "device4";
 
-        // GIVEN valid command records
-        final KafkaConsumerRecord<String, Buffer> commandRecord1 = getCommandRecord(tenantId, deviceId1, "subject1", 0, 1);
-        final KafkaConsumerRecord<String, Buffer> commandRecord2 = getCommandRecord(tenantId, deviceId2, "subject2", 0, 2);
-        final KafkaConsumerRecord<String, Buffer> commandRecord3 = getCommandRecord(tenantId, deviceId3, "subject3", 0, 3);
-        final KafkaConsumerRecord<String, Buffer> commandRecord4 = getCommandRecord(tenantId, deviceId4, "subject4", 0, 4);
+        // GIVEN valid command records for the same device
+        final KafkaConsumerRecord<String, Buffer> commandRecord1 = getCommandRecord(tenantId, deviceId, "subject1", 0, 1);
+        final KafkaConsumerRecord<String, Buffer> commandRecord2 = getCommandRecord(tenantId, deviceId, "subject2", 0, 2);
+        final KafkaConsumerRecord<String, Buffer> commandRecord3 = getCommandRecord(tenantId, deviceId, "subject3", 0, 3);
+        final KafkaConsumerRecord<String, Buffer> commandRecord4 = getCommandRecord(tenantId, deviceId, "subject4", 0, 4);
 
         // WHEN getting the target adapter instances for the commands results in different delays for each command
         // so that the invocations are completed with the order: commandRecord3, commandRecord2, commandRecord1, commandRecord4
-        final Promise<JsonObject> resultForCommand1 = Promise.promise();
-        when(commandTargetMapper.getTargetGatewayAndAdapterInstance(eq(tenantId), eq(deviceId1), any()))
-                .thenReturn(resultForCommand1.future());
-        final Promise<JsonObject> resultForCommand2 = Promise.promise();
-        when(commandTargetMapper.getTargetGatewayAndAdapterInstance(eq(tenantId), eq(deviceId2), any()))
-                .thenReturn(resultForCommand2.future());
-        final Promise<JsonObject> resultForCommand3 = Promise.promise();
-        when(commandTargetMapper.getTargetGatewayAndAdapterInstance(eq(tenantId), eq(deviceId3), any()))
-                .thenReturn(resultForCommand3.future());
-        doAnswer(invocation -> {
-            resultForCommand3.complete(createTargetAdapterInstanceJson(deviceId3, adapterInstanceId));
-            resultForCommand2.complete(createTargetAdapterInstanceJson(deviceId2, adapterInstanceId));
-            resultForCommand1.complete(createTargetAdapterInstanceJson(deviceId1, adapterInstanceId));
-            return Future.succeededFuture(createTargetAdapterInstanceJson(deviceId4, adapterInstanceId));
-        }).when(commandTargetMapper).getTargetGatewayAndAdapterInstance(eq(tenantId), eq(deviceId4), any());
+        givenTargetAdapterInstanceResultsCompletedInReverseOrder(null);
 
         // WHEN mapping and delegating the commands
         final Future<Void> cmd1Future = cmdHandler.mapAndDelegateIncomingCommandMessage(commandRecord1);
@@ -312,10 +293,10 @@ public class KafkaBasedMappingAndDelegatingCommandHandlerTest {
                                 commandContextCaptor.capture(),
                                 anyString());
                         final List<CommandContext> capturedCommandContexts = commandContextCaptor.getAllValues();
-                        assertThat(capturedCommandContexts.get(0).getCommand().getDeviceId()).isEqualTo(deviceId1);
-                        assertThat(capturedCommandContexts.get(1).getCommand().getDeviceId()).isEqualTo(deviceId2);
-                        assertThat(capturedCommandContexts.get(2).getCommand().getDeviceId()).isEqualTo(deviceId3);
-                        assertThat(capturedCommandContexts.get(3).getCommand().getDeviceId()).isEqualTo(deviceId4);
+                        assertThat(capturedCommandContexts.get(0).getCommand().getName()).isEqualTo("subject1");
+                        assertThat(capturedCommandContexts.get(1).getCommand().getName()).isEqualTo("subject2");
+                        assertThat(capturedCommandContexts.get(2).getCommand().getName()).isEqualTo("subject3");
+                        assertThat(capturedCommandContexts.get(3).getCommand().getName()).isEqualTo("subject4");
                     });
                     ctx.completeNow();
                 }));
@@ -325,42 +306,24 @@ public class KafkaBasedMappingAndDelegatingCommandHandlerTest {
      * Verifies the behaviour of the
      * {@link KafkaBasedMappingAndDelegatingCommandHandler#mapAndDelegateIncomingCommandMessage(KafkaConsumerRecord)}
      * method in a scenario where the rather long-running processing of a command delays subsequent, already mapped
-     * commands from getting delegated to the target adapter instance. After the processing of the first command finally
-     * resulted in an error, the subsequent commands shall get delegated in the correct order.
+     * commands of the same device from getting delegated to the target adapter instance. After the processing of the
+     * first command finally resulted in an error, the subsequent commands shall get delegated in the correct order.
      *
      * @param ctx The vert.x test context
      */
     @Test
     public void testCommandDelegationOrderWithMappingFailedForFirstEntry(final VertxTestContext ctx) {
-        final String deviceId1 = "device1";
-        final String deviceId2 = "device2";
-        final String deviceId3 = "device3";
-        final String deviceId4 = "device4";
 
-        // GIVEN valid command records
-        final KafkaConsumerRecord<String, Buffer> commandRecord1 = getCommandRecord(tenantId, deviceId1, "subject1", 0, 1);
-        final KafkaConsumerRecord<String, Buffer> commandRecord2 = getCommandRecord(tenantId, deviceId2, "subject2", 0, 2);
-        final KafkaConsumerRecord<String, Buffer> commandRecord3 = getCommandRecord(tenantId, deviceId3, "subject3", 0, 3);
-        final KafkaConsumerRecord<String, Buffer> commandRecord4 = getCommandRecord(tenantId, deviceId4, "subject4", 0, 4);
+        // GIVEN valid command records for the same device
+        final KafkaConsumerRecord<String, Buffer> commandRecord1 = getCommandRecord(tenantId, deviceId, "subject1", 0, 1);
+        final KafkaConsumerRecord<String, Buffer> commandRecord2 = getCommandRecord(tenantId, deviceId, "subject2", 0, 2);
+        final KafkaConsumerRecord<String, Buffer> commandRecord3 = getCommandRecord(tenantId, deviceId, "subject3", 0, 3);
+        final KafkaConsumerRecord<String, Buffer> commandRecord4 = getCommandRecord(tenantId, deviceId, "subject4", 0, 4);
 
         // WHEN getting the target adapter instances for the commands results in different delays for each command
         // so that the invocations are completed with the order: commandRecord3, commandRecord2, commandRecord1 (failed), commandRecord4
         // with command 1 getting failed
-        final Promise<JsonObject> resultForCommand1 = Promise.promise();
-        when(commandTargetMapper.getTargetGatewayAndAdapterInstance(eq(tenantId), eq(deviceId1), any()))
-                .thenReturn(resultForCommand1.future());
-        final Promise<JsonObject> resultForCommand2 = Promise.promise();
-        when(commandTargetMapper.getTargetGatewayAndAdapterInstance(eq(tenantId), eq(deviceId2), any()))
-                .thenReturn(resultForCommand2.future());
-        final Promise<JsonObject> resultForCommand3 = Promise.promise();
-        when(commandTargetMapper.getTargetGatewayAndAdapterInstance(eq(tenantId), eq(deviceId3), any()))
-                .thenReturn(resultForCommand3.future());
-        doAnswer(invocation -> {
-            resultForCommand3.complete(createTargetAdapterInstanceJson(deviceId3, adapterInstanceId));
-            resultForCommand2.complete(createTargetAdapterInstanceJson(deviceId2, adapterInstanceId));
-            resultForCommand1.fail("mapping of command 1 failed for some reason");
-            return Future.succeededFuture(createTargetAdapterInstanceJson(deviceId4, adapterInstanceId));
-        }).when(commandTargetMapper).getTargetGatewayAndAdapterInstance(eq(tenantId), eq(deviceId4), any());
+        givenTargetAdapterInstanceResultsCompletedInReverseOrder("mapping of command 1 failed for some reason");
 
         // WHEN mapping and delegating the commands
         final Future<Void> cmd1Future = cmdHandler.mapAndDelegateIncomingCommandMessage(commandRecord1);
@@ -378,14 +341,41 @@ public class KafkaBasedMappingAndDelegatingCommandHandlerTest {
                                 commandContextCaptor.capture(),
                                 anyString());
                         final List<CommandContext> capturedCommandContexts = commandContextCaptor.getAllValues();
-                        assertThat(capturedCommandContexts.get(0).getCommand().getDeviceId()).isEqualTo(deviceId2);
-                        assertThat(capturedCommandContexts.get(1).getCommand().getDeviceId()).isEqualTo(deviceId3);
-                        assertThat(capturedCommandContexts.get(2).getCommand().getDeviceId()).isEqualTo(deviceId4);
+                        assertThat(capturedCommandContexts.get(0).getCommand().getName()).isEqualTo("subject2");
+                        assertThat(capturedCommandContexts.get(1).getCommand().getName()).isEqualTo("subject3");
+                        assertThat(capturedCommandContexts.get(2).getCommand().getName()).isEqualTo("subject4");
                     });
                     ctx.completeNow();
                 }));
     }
 
+    /**
+     * Makes the command target mapper return results for the first three invocations that only get completed
+     * (in reverse order) during the fourth invocation.
+     *
+     * @param firstResultFailure The error message to fail the result of the first invocation with or {@code null}
+     *                           if the result should be completed successfully.
+     */
+    private void givenTargetAdapterInstanceResultsCompletedInReverseOrder(final String firstResultFailure) {
+        final List<Promise<JsonObject>> results = new ArrayList<>();
+        when(commandTargetMapper.getTargetGatewayAndAdapterInstance(eq(tenantId), eq(deviceId), any()))
+                .thenAnswer(invocation -> {
+                    if (results.size() < 3) {
+                        final Promise<JsonObject> result = Promise.promise();
+                        results.add(result);
+                        return result.future();
+                    }
+                    results.get(2).complete(createTargetAdapterInstanceJson(deviceId, adapterInstanceId));
+                    results.get(1).complete(createTargetAdapterInstanceJson(deviceId, adapterInstanceId));
+                    if (firstResultFailure == null) {
+                        results.get(0).complete(createTargetAdapterInstanceJson(deviceId, adapterInstanceId));
+                    } else {
+                        results.get(0).fail(firstResultFailure);
+                    }
+                    return Future.succeededFuture(createTargetAdapterInstanceJson(deviceId, adapterInstanceId));
+                });
+    }
+
     /**
      * Verifies the behaviour of the 
      * {@link KafkaBasedMappingAndDelegatingCommandHandler#mapAndDelegateIncomingCommandMessage(KafkaConsumerRecord)}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2021 Contributors to the Eclipse Foundation
+ * Copyright (c) 2021, 2022 Contributors to the Eclipse Foundation
  *
  * See the NOTICE file(s) distributed with this work for additional
  * information regarding copyright ownership.
@@ -12,6 +12,7 @@
  *******************************************************************************/
 package org.eclipse.hono.commandrouter.impl.kafka;
 
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
@@ -32,6 +33,7 @@ import org.eclipse.hono.client.command.kafka.KafkaBasedCommand;
 import org.eclipse.hono.client.command.kafka.KafkaBasedCommandContext;
 import org.eclipse.hono.client.kafka.HonoTopic;
 import org.eclipse.hono.client.kafka.KafkaRecordHelper;
+import org.eclipse.hono.test.VertxMockSupport;
 import org.eclipse.hono.util.Constants;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -40,6 +42,7 @@ import io.opentracing.Span;
 import io.vertx.core.CompositeFuture;
 import io.vertx.core.Context;
 import io.vertx.core.Future;
+import io.vertx.core.Handler;
 import io.vertx.core.Vertx;
 import io.vertx.core.buffer.Buffer;
 import io.vertx.junit5.Timeout;
@@ -100,6 +103,55 @@ public class KafkaCommandProcessingQueueTest {
         });
     }
 
+    /**
+     * Verifies that the sendAction of a command is invoked without waiting for the processing of an earlier
+     * command of another device that has been received via the same partition.
+     */
+    @Test
+    void testSendActionIsNotDelayedByCommandsOfOtherDevices() {
+        final Context vertxContext = mock(Context.class);
+        doAnswer(invocation -> {
+            final Handler<Void> handler = invocation.getArgument(0);
+            handler.handle(null);
+            return null;
+        }).when(vertxContext).runOnContext(VertxMockSupport.anyHandler());
+        final KafkaCommandProcessingQueue kafkaCommandProcessingQueue = new KafkaCommandProcessingQueue(vertxContext);
+        // GIVEN commands for two devices, received via partition 0
+        final KafkaBasedCommandContext firstCommandOfDeviceA = getTestCommandContext(0, "deviceA");
+        final KafkaBasedCommandContext firstCommandOfDeviceB = getTestCommandContext(1, "deviceB");
+        final KafkaBasedCommandContext secondCommandOfDeviceA = getTestCommandContext(2, "deviceA");
+        List.of(firstCommandOfDeviceA, firstCommandOfDeviceB, secondCommandOfDeviceA)
+                .forEach(kafkaCommandProcessingQueue::add);
+
+        // WHEN applying the sendAction for the later commands first
+        final List<KafkaBasedCommandContext> sendActionInvoked = new LinkedList<>();
+        final Future<Void> resultA2 = kafkaCommandProcessingQueue.applySendCommandAction(secondCommandOfDeviceA, () -> {
+            sendActionInvoked.add(secondCommandOfDeviceA);
+            return Future.succeededFuture();
+        });
+        final Future<Void> resultB1 = kafkaCommandProcessingQueue.applySendCommandAction(firstCommandOfDeviceB, () -> {
+            sendActionInvoked.add(firstCommandOfDeviceB);
+            return Future.succeededFuture();
+        });
+
+        // THEN the command of device B gets sent right away
+        assertThat(resultB1.succeeded()).isTrue();
+        // but the second command of device A waits for the first one
+        assertThat(resultA2.isComplete()).isFalse();
+        assertThat(sendActionInvoked).containsExactly(firstCommandOfDeviceB);
+
+        // and WHEN applying the sendAction for the first command of device A
+        final Future<Void> resultA1 = kafkaCommandProcessingQueue.applySendCommandAction(firstCommandOfDeviceA, () -> {
+            sendActionInvoked.add(firstCommandOfDeviceA);
+            return Future.succeededFuture();
+        });
+
+        // THEN both commands of device A get sent in the original order
+        assertThat(resultA1.succeeded()).isTrue();
+        assertThat(resultA2.succeeded()).isTrue();
+        assertThat(sendActionInvoked).containsExactly(firstCommandOfDeviceB, firstCommandOfDeviceA, secondCommandOfDeviceA).inOrder();
+    }
+
     /**
      * Verifies that command entries in the queue get discarded, with the result of the sendAction getting failed, when
      * the topic partition assignment of the entries gets revoked.
@@ -137,9 +189,12 @@ public class KafkaCommandProcessingQueueTest {
         assertThat(result0.cause()).isInstanceOf(CommandToBeReprocessedException.class);
     }
 
-    @SuppressWarnings("unchecked")
     private KafkaBasedCommandContext getTestCommandContext(final int offset) {
-        final String deviceId = "deviceId";
+        return getTestCommandContext(offset, "deviceId");
+    }
+
+    @SuppressWarnings("unchecked")
+    private KafkaBasedCommandContext getTestCommandContext(final int offset, final String deviceId) {
         final List<KafkaHeader> headers = new ArrayList<>(List.of(
                 KafkaRecordHelper.createDeviceIdHeader(deviceId),
                 KafkaRecordHelper.createSubjectHeader("subject_" + offset),
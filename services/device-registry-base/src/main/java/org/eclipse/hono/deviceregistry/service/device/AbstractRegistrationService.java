@@ -15,6 +15,10 @@ package org.eclipse.hono.deviceregistry.service.device;
 
 import java.net.HttpURLConnection;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
@@ -25,11 +29,13 @@ import org.eclipse.hono.deviceregistry.service.tenant.NoopTenantInformationServi
 import org.eclipse.hono.deviceregistry.service.tenant.TenantInformationService;
 import org.eclipse.hono.service.management.device.Device;
 import org.eclipse.hono.service.management.device.DeviceStatus;
+import org.eclipse.hono.service.management.tenant.Tenant;
 import org.eclipse.hono.service.registration.RegistrationService;
 import org.eclipse.hono.tracing.TracingHelper;
 import org.eclipse.hono.util.CacheDirective;
 import org.eclipse.hono.util.Constants;
 import org.eclipse.hono.util.Lifecycle;
+import org.eclipse.hono.util.Pair;
 import org.eclipse.hono.util.RegistrationConstants;
 import org.eclipse.hono.util.RegistrationResult;
 import org.eclipse.hono.util.RegistryManagementConstants;
@@ -147,6 +153,51 @@ public abstract class AbstractRegistrationService implements RegistrationService
      */
     protected abstract Future<RegistrationResult> getRegistrationInformation(DeviceKey deviceKey, Span span);
 
+    /**
+     * Gets the information registered for multiple devices of a tenant.
+     * <p>
+     * This default implementation invokes {@link #getRegistrationInformation(DeviceKey, Span)} for each of the
+     * devices. Subclasses should override this method in order to retrieve the information of all devices
+     * using a single query.
+     *
+     * @param tenantId The tenant that the devices belong to.
+     * @param deviceIds The identifiers of the devices to get registration information for.
+     * @param span The active OpenTracing span for this operation. It is not to be closed in this method! An
+     *            implementation should log (error) events on this span and it may set tags and use this span as the
+     *            parent for any spans created in this method.
+     * @return A future indicating the outcome of the operation. The future will succeed with a map containing
+     *         the result for each of the devices that is registered for the tenant. The results are the same
+     *         as the results of {@link #getRegistrationInformation(DeviceKey, Span)} with a status of
+     *         <em>200 OK</em>. Devices that are not registered for the tenant are not contained in the map.
+     * @throws NullPointerException if any of the parameters are {@code null}.
+     */
+    @SuppressWarnings("rawtypes")
+    protected Future<Map<String, RegistrationResult>> getRegistrationInformation(
+            final String tenantId,
+            final Set<String> deviceIds,
+            final Span span) {
+
+        Objects.requireNonNull(tenantId);
+        Objects.requireNonNull(deviceIds);
+        Objects.requireNonNull(span);
+
+        final List<String> ids = List.copyOf(deviceIds);
+        final List<Future> results = ids.stream()
+                .map(deviceId -> getRegistrationInformation(DeviceKey.from(tenantId, deviceId), span))
+                .collect(Collectors.toList());
+        return CompositeFuture.all(results)
+                .map(ok -> {
+                    final Map<String, RegistrationResult> registrations = new HashMap<>(ids.size());
+                    for (int i = 0; i < ids.size(); i++) {
+                        final RegistrationResult result = ok.resultAt(i);
+                        if (!result.isNotFound()) {
+                            registrations.put(ids.get(i), result);
+                        }
+                    }
+                    return registrations;
+                });
+    }
+
     /**
      * Takes the 'viaGroups' list of a device and resolves all group ids with the ids of the devices that are
      * a member of those groups.
@@ -220,25 +271,32 @@ public abstract class AbstractRegistrationService implements RegistrationService
                         return Future.succeededFuture(RegistrationResult.from(tenantKeyResult.getStatus()));
                     } else {
                         return getRegistrationInformation(DeviceKey.from(tenantKeyResult.getPayload(), deviceId), span)
-                                .compose(result -> {
-                                    if (result.isNotFound()) {
-                                        LOG.debug("no such device");
-                                        TracingHelper.logError(span, "no such device");
-                                        return Future.succeededFuture(RegistrationResult.from(result.getStatus()));
-                                    } else if (isDeviceEnabled(result)) {
-                                        final JsonObject deviceData = result.getPayload()
-                                                .getJsonObject(RegistrationConstants.FIELD_DATA);
-                                        return createSuccessfulRegistrationResult(tenantId, deviceId, deviceData, span);
-                                    } else {
-                                        LOG.debug("device not enabled");
-                                        TracingHelper.logError(span, "device not enabled");
-                                        return Future.succeededFuture(RegistrationResult.from(HttpURLConnection.HTTP_NOT_FOUND));
-                                    }
-                                });
+                                .compose(result -> assertRegistration(tenantId, deviceId, result, span));
                     }
                 });
     }
 
+    private Future<RegistrationResult> assertRegistration(
+            final String tenantId,
+            final String deviceId,
+            final RegistrationResult deviceResult,
+            final Span span) {
+
+        if (deviceResult.isNotFound()) {
+            LOG.debug("no such device");
+            TracingHelper.logError(span, "no such device");
+            return Future.succeededFuture(RegistrationResult.from(deviceResult.getStatus()));
+        } else if (isDeviceEnabled(deviceResult)) {
+            final JsonObject deviceData = deviceResult.getPayload()
+                    .getJsonObject(RegistrationConstants.FIELD_DATA);
+            return createSuccessfulRegistrationResult(tenantId, deviceId, deviceData, span);
+        } else {
+            LOG.debug("device not enabled");
+            TracingHelper.logError(span, "device not enabled");
+            return Future.succeededFuture(RegistrationResult.from(HttpURLConnection.HTTP_NOT_FOUND));
+        }
+    }
+
     @Override
     public final Future<RegistrationResult> assertRegistration(final String tenantId, final String deviceId, final String gatewayId) {
         return assertRegistration(tenantId, deviceId, gatewayId, NoopSpan.INSTANCE);
@@ -267,90 +325,169 @@ public abstract class AbstractRegistrationService implements RegistrationService
 
                     return CompositeFuture
                             .all(deviceInfoTracker, gatewayInfoTracker)
-                            .compose(ok -> {
-
-                                final RegistrationResult deviceResult = deviceInfoTracker.result();
-                                final RegistrationResult gatewayResult = gatewayInfoTracker.result();
-
-                                if (deviceResult.isNotFound() && !gatewayResult.isNotFound()
-                                        && isDeviceEnabled(gatewayResult)
-                                        && hasAuthorityForAutoRegistration(gatewayResult)
-                                        && supportsEdgeDeviceAutoProvisioning()) {
-
-                                    final Device device = new Device()
-                                            .setEnabled(true)
-                                            .setVia(Collections.singletonList(gatewayId))
-                                            .setStatus(new DeviceStatus().setAutoProvisioned(true));
-
-                                    final JsonArray memberOf = gatewayResult.getPayload()
-                                            .getJsonObject(RegistrationConstants.FIELD_DATA)
-                                            .getJsonArray(RegistryManagementConstants.FIELD_MEMBER_OF);
-                                    Optional.ofNullable(memberOf).ifPresent(array -> device.setViaGroups(array.stream()
-                                        .filter(String.class::isInstance)
-                                        .map(String.class::cast)
-                                        .collect(Collectors.toList())));
-
-                                    LOG.debug("auto-provisioning device {} for gateway {}", deviceId, gatewayId);
-                                    return edgeDeviceAutoProvisioner.performAutoProvisioning(tenantId, tenant, deviceId, 
-                                            gatewayId, device, span.context())
-                                            .compose(newDevice -> {
-                                                final JsonObject deviceData = JsonObject.mapFrom(newDevice);
-                                                return createSuccessfulRegistrationResult(tenantId, deviceId,
-                                                        deviceData, span);
-                                            })
-                                            .recover(this::convertToRegistrationResult);
-                                } else if (!isDeviceEnabled(deviceResult)) {
-                                    if (deviceResult.isNotFound()) {
-                                        LOG.debug("no such device");
-                                        TracingHelper.logError(span, "no such device");
-                                    } else {
-                                        LOG.debug("device not enabled");
-                                        TracingHelper.logError(span, "device not enabled");
-                                    }
-                                    return Future.succeededFuture(RegistrationResult.from(HttpURLConnection.HTTP_NOT_FOUND));
-                                } else if (!isDeviceEnabled(gatewayResult)) {
-                                    if (gatewayResult.isNotFound()) {
-                                        LOG.debug("no such gateway");
-                                        TracingHelper.logError(span, "no such gateway");
-                                    } else {
-                                        LOG.debug("gateway not enabled");
-                                        TracingHelper.logError(span, "gateway not enabled");
-                                    }
-                                    return Future.succeededFuture(RegistrationResult.from(HttpURLConnection.HTTP_FORBIDDEN));
-                                } else {
-
-                                    final JsonObject deviceData = deviceResult.getPayload()
-                                            .getJsonObject(RegistrationConstants.FIELD_DATA, new JsonObject());
-                                    final JsonObject gatewayData = gatewayResult.getPayload()
-                                            .getJsonObject(RegistrationConstants.FIELD_DATA, new JsonObject());
-
-                                    if (LOG.isDebugEnabled()) {
-                                        LOG.debug("Device data: {}", deviceData.encodePrettily());
-                                        LOG.debug("Gateway data: {}", gatewayData.encodePrettily());
-                                    }
-
-                                    if (isGatewayAuthorized(gatewayId, gatewayData, deviceId, deviceData)) {
-                                        if (supportsEdgeDeviceAutoProvisioning()) {
-                                            final Device device = deviceData.mapTo(Device.class);
-                                            return edgeDeviceAutoProvisioner
-                                                    .sendDelayedAutoProvisioningNotificationIfNeeded(tenantId, tenant,
-                                                            deviceId, gatewayId, device, span)
-                                                    .compose(v -> createSuccessfulRegistrationResult(tenantId, deviceId,
-                                                            deviceData, span));
-                                        } else {
-                                            return createSuccessfulRegistrationResult(tenantId, deviceId, deviceData, span);
-                                        }
-                                    } else {
-                                        LOG.debug("gateway not authorized");
-                                        TracingHelper.logError(span, "gateway not authorized");
-                                        return Future.succeededFuture(RegistrationResult.from(HttpURLConnection.HTTP_FORBIDDEN));
-                                    }
-                                }
-                            });
+                            .compose(ok -> assertRegistration(
+                                    tenantId,
+                                    tenant,
+                                    deviceId,
+                                    gatewayId,
+                                    deviceInfoTracker.result(),
+                                    gatewayInfoTracker.result(),
+                                    span));
                 })
                 .recover(this::convertToRegistrationResult);
     }
 
+    private Future<RegistrationResult> assertRegistration(
+            final String tenantId,
+            final Tenant tenant,
+            final String deviceId,
+            final String gatewayId,
+            final RegistrationResult deviceResult,
+            final RegistrationResult gatewayResult,
+            final Span span) {
+
+        if (deviceResult.isNotFound() && !gatewayResult.isNotFound()
+                && isDeviceEnabled(gatewayResult)
+                && hasAuthorityForAutoRegistration(gatewayResult)
+                && supportsEdgeDeviceAutoProvisioning()) {
+
+            final Device device = new Device()
+                    .setEnabled(true)
+                    .setVia(Collections.singletonList(gatewayId))
+                    .setStatus(new DeviceStatus().setAutoProvisioned(true));
+
+            final JsonArray memberOf = gatewayResult.getPayload()
+                    .getJsonObject(RegistrationConstants.FIELD_DATA)
+                    .getJsonArray(RegistryManagementConstants.FIELD_MEMBER_OF);
+            Optional.ofNullable(memberOf).ifPresent(array -> device.setViaGroups(array.stream()
+                .filter(String.class::isInstance)
+                .map(String.class::cast)
+                .collect(Collectors.toList())));
+
+            LOG.debug("auto-provisioning device {} for gateway {}", deviceId, gatewayId);
+            return edgeDeviceAutoProvisioner.performAutoProvisioning(tenantId, tenant, deviceId, 
+                    gatewayId, device, span.context())
+                    .compose(newDevice -> {
+                        final JsonObject deviceData = JsonObject.mapFrom(newDevice);
+                        return createSuccessfulRegistrationResult(tenantId, deviceId,
+                                deviceData, span);
+                    })
+                    .recover(this::convertToRegistrationResult);
+        } else if (!isDeviceEnabled(deviceResult)) {
+            if (deviceResult.isNotFound()) {
+                LOG.debug("no such device");
+                TracingHelper.logError(span, "no such device");
+            } else {
+                LOG.debug("device not enabled");
+                TracingHelper.logError(span, "device not enabled");
+            }
+            return Future.succeededFuture(RegistrationResult.from(HttpURLConnection.HTTP_NOT_FOUND));
+        } else if (!isDeviceEnabled(gatewayResult)) {
+            if (gatewayResult.isNotFound()) {
+                LOG.debug("no such gateway");
+                TracingHelper.logError(span, "no such gateway");
+            } else {
+                LOG.debug("gateway not enabled");
+                TracingHelper.logError(span, "gateway not enabled");
+            }
+            return Future.succeededFuture(RegistrationResult.from(HttpURLConnection.HTTP_FORBIDDEN));
+        } else {
+
+            final JsonObject deviceData = deviceResult.getPayload()
+                    .getJsonObject(RegistrationConstants.FIELD_DATA, new JsonObject());
+            final JsonObject gatewayData = gatewayResult.getPayload()
+                    .getJsonObject(RegistrationConstants.FIELD_DATA, new JsonObject());
+
+            if (LOG.isDebugEnabled()) {
+                LOG.debug("Device data: {}", deviceData.encodePrettily());
+                LOG.debug("Gateway data: {}", gatewayData.encodePrettily());
+            }
+
+            if (isGatewayAuthorized(gatewayId, gatewayData, deviceId, deviceData)) {
+                if (supportsEdgeDeviceAutoProvisioning()) {
+                    final Device device = deviceData.mapTo(Device.class);
+                    return edgeDeviceAutoProvisioner
+                            .sendDelayedAutoProvisioningNotificationIfNeeded(tenantId, tenant,
+                                    deviceId, gatewayId, device, span)
+                            .compose(v -> createSuccessfulRegistrationResult(tenantId, deviceId,
+                                    deviceData, span));
+                } else {
+                    return createSuccessfulRegistrationResult(tenantId, deviceId, deviceData, span);
+                }
+            } else {
+                LOG.debug("gateway not authorized");
+                TracingHelper.logError(span, "gateway not authorized");
+                return Future.succeededFuture(RegistrationResult.from(HttpURLConnection.HTTP_FORBIDDEN));
+            }
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * This implementation retrieves the registration information of all devices and gateways
+     * using a single invocation of {@link #getRegistrationInformation(String, Set, Span)} and
+     * then asserts each device's registration status in the same way as
+     * {@link #assertRegistration(String, String, Span)} and
+     * {@link #assertRegistration(String, String, String, Span)} do.
+     */
+    @SuppressWarnings("rawtypes")
+    @Override
+    public Future<List<RegistrationResult>> assertRegistrations(
+            final String tenantId,
+            final List<Pair<String, String>> devices,
+            final Span span) {
+
+        Objects.requireNonNull(tenantId);
+        Objects.requireNonNull(devices);
+        Objects.requireNonNull(span);
+
+        if (devices.isEmpty()) {
+            return Future.succeededFuture(List.of());
+        }
+
+        final Set<String> deviceIds = new HashSet<>();
+        devices.forEach(device -> {
+            deviceIds.add(Objects.requireNonNull(device.one()));
+            Optional.ofNullable(device.two()).ifPresent(deviceIds::add);
+        });
+
+        return this.tenantInformationService.getTenant(tenantId, span)
+                .compose(tenant -> getRegistrationInformation(tenantId, deviceIds, span)
+                        .compose(registrations -> {
+                            // the outcome of a single assertion must not affect the other assertions
+                            final List<Future> results = devices.stream()
+                                    .map(device -> Future.succeededFuture(device)
+                                            .compose(d -> {
+                                                final RegistrationResult deviceResult = getRegistrationResult(registrations, d.one());
+                                                if (d.two() == null) {
+                                                    return assertRegistration(tenantId, d.one(), deviceResult, span);
+                                                }
+                                                return assertRegistration(
+                                                        tenantId,
+                                                        tenant,
+                                                        d.one(),
+                                                        d.two(),
+                                                        deviceResult,
+                                                        getRegistrationResult(registrations, d.two()),
+                                                        span);
+                                            })
+                                            .recover(this::convertToRegistrationResult))
+                                    .collect(Collectors.toList());
+                            return CompositeFuture.all(results);
+                        }))
+                .<List<RegistrationResult>>map(CompositeFuture::list)
+                .recover(error -> convertToRegistrationResult(error)
+                        .map(result -> Collections.nCopies(devices.size(), result)));
+    }
+
+    private static RegistrationResult getRegistrationResult(
+            final Map<String, RegistrationResult> registrations,
+            final String deviceId) {
+        return Optional.ofNullable(registrations.get(deviceId))
+                .orElseGet(() -> RegistrationResult.from(HttpURLConnection.HTTP_NOT_FOUND));
+    }
+
     private boolean supportsEdgeDeviceAutoProvisioning() {
         return edgeDeviceAutoProvisioner != null;
     }
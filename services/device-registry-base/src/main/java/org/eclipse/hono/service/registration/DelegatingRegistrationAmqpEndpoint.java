@@ -13,6 +13,8 @@
 package org.eclipse.hono.service.registration;
 
 import java.net.HttpURLConnection;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Objects;
 
 import org.apache.qpid.proton.message.Message;
@@ -23,6 +25,8 @@ import org.eclipse.hono.service.amqp.AbstractDelegatingRequestResponseEndpoint;
 import org.eclipse.hono.service.amqp.AbstractRequestResponseEndpoint;
 import org.eclipse.hono.service.amqp.GenericRequestMessageFilter;
 import org.eclipse.hono.tracing.TracingHelper;
+import org.eclipse.hono.util.CacheDirective;
+import org.eclipse.hono.util.Pair;
 import org.eclipse.hono.util.RegistrationConstants;
 import org.eclipse.hono.util.RegistrationResult;
 import org.eclipse.hono.util.ResourceIdentifier;
@@ -31,6 +35,10 @@ import io.opentracing.Span;
 import io.opentracing.SpanContext;
 import io.vertx.core.Future;
 import io.vertx.core.Vertx;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.json.DecodeException;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
 
 /**
  * An {@code AmqpEndpoint} for managing device registration information.
@@ -44,6 +52,7 @@ import io.vertx.core.Vertx;
 public class DelegatingRegistrationAmqpEndpoint<S extends RegistrationService> extends AbstractDelegatingRequestResponseEndpoint<S, ServiceConfigProperties> {
 
     private static final String SPAN_NAME_ASSERT_DEVICE_REGISTRATION = "assert Device Registration";
+    private static final String SPAN_NAME_ASSERT_DEVICE_REGISTRATIONS = "assert Device Registrations";
 
     /**
      * Creates a new registration endpoint for a service instance.
@@ -76,6 +85,8 @@ public class DelegatingRegistrationAmqpEndpoint<S extends RegistrationService> e
         switch (operation) {
             case RegistrationConstants.ACTION_ASSERT:
                 return processAssertRequest(requestMessage, targetAddress, spanContext);
+            case RegistrationConstants.ACTION_ASSERT_BATCH:
+                return processAssertBatchRequest(requestMessage, targetAddress, spanContext);
             default:
                 return processCustomRegistrationMessage(requestMessage, spanContext);
         }
@@ -122,6 +133,93 @@ public class DelegatingRegistrationAmqpEndpoint<S extends RegistrationService> e
         return finishSpanOnFutureCompletion(span, resultFuture);
     }
 
+    private Future<Message> processAssertBatchRequest(final Message request, final ResourceIdentifier targetAddress,
+            final SpanContext spanContext) {
+
+        final String tenantId = targetAddress.getTenantId();
+        final List<Pair<String, String>> devices = getDevices(request);
+
+        final Span span = TracingHelper.buildServerChildSpan(tracer,
+                spanContext,
+                SPAN_NAME_ASSERT_DEVICE_REGISTRATIONS,
+                getClass().getSimpleName()
+        ).start();
+
+        TracingHelper.TAG_TENANT_ID.set(span, tenantId);
+
+        final Future<Message> resultFuture;
+        if (tenantId == null || devices == null) {
+            TracingHelper.logError(span, "missing tenant and/or malformed list of devices");
+            resultFuture = Future.failedFuture(new ClientErrorException(HttpURLConnection.HTTP_BAD_REQUEST));
+        } else if (devices.size() > RegistrationConstants.MAX_DEVICES_PER_BATCH) {
+            TracingHelper.logError(span, "request contains too many devices");
+            resultFuture = Future.failedFuture(new ClientErrorException(
+                    HttpURLConnection.HTTP_ENTITY_TOO_LARGE,
+                    String.format("request must not contain more than %d devices",
+                            RegistrationConstants.MAX_DEVICES_PER_BATCH)));
+        } else {
+            span.setTag("devices", devices.size());
+            logger.debug("asserting registration of {} devices [tenant: {}]", devices.size(), tenantId);
+            resultFuture = getService().assertRegistrations(tenantId, devices, span)
+                    .map(results -> {
+                        final JsonArray entries = new JsonArray();
+                        for (final RegistrationResult result : results) {
+                            final JsonObject entry = new JsonObject()
+                                    .put(RegistrationConstants.FIELD_STATUS, result.getStatus());
+                            if (result.getPayload() != null) {
+                                entry.put(RegistrationConstants.FIELD_PAYLOAD, result.getPayload());
+                            }
+                            if (result.getCacheDirective() != null) {
+                                entry.put(RegistrationConstants.FIELD_CACHE_CONTROL, result.getCacheDirective().toString());
+                            }
+                            entries.add(entry);
+                        }
+                        return AbstractRequestResponseEndpoint.getAmqpReply(
+                                RegistrationConstants.REGISTRATION_ENDPOINT,
+                                tenantId,
+                                request,
+                                RegistrationResult.from(
+                                        HttpURLConnection.HTTP_OK,
+                                        new JsonObject().put(RegistrationConstants.FIELD_RESULTS, entries),
+                                        CacheDirective.noCacheDirective()));
+                    });
+        }
+        return finishSpanOnFutureCompletion(span, resultFuture);
+    }
+
+    /**
+     * Gets the devices to assert from the body of a request message.
+     *
+     * @param request The request message.
+     * @return The pairs of device and (optional) gateway identifiers or {@code null} if the
+     *         body does not contain a JSON array of valid entries.
+     */
+    private static List<Pair<String, String>> getDevices(final Message request) {
+
+        final Buffer payload = AmqpUtils.getPayload(request);
+        if (payload == null) {
+            return null;
+        }
+        try {
+            final JsonArray entries = new JsonArray(payload);
+            final List<Pair<String, String>> devices = new ArrayList<>(entries.size());
+            for (final Object entry : entries) {
+                if (!(entry instanceof JsonObject)) {
+                    return null;
+                }
+                final Object deviceId = ((JsonObject) entry).getValue(RegistrationConstants.FIELD_PAYLOAD_DEVICE_ID);
+                final Object gatewayId = ((JsonObject) entry).getValue(RegistrationConstants.FIELD_GATEWAY_ID);
+                if (!(deviceId instanceof String) || (gatewayId != null && !(gatewayId instanceof String))) {
+                    return null;
+                }
+                devices.add(Pair.of((String) deviceId, (String) gatewayId));
+            }
+            return devices;
+        } catch (final DecodeException e) {
+            return null;
+        }
+    }
+
     /**
      * Processes a request for a non-standard operation.
      * <p>
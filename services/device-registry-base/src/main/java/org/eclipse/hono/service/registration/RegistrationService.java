@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2016, 2020 Contributors to the Eclipse Foundation
+ * Copyright (c) 2016, 2022 Contributors to the Eclipse Foundation
  *
  * See the NOTICE file(s) distributed with this work for additional
  * information regarding copyright ownership.
@@ -13,9 +13,15 @@
 
 package org.eclipse.hono.service.registration;
 
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+import org.eclipse.hono.util.Pair;
 import org.eclipse.hono.util.RegistrationResult;
 
 import io.opentracing.Span;
+import io.vertx.core.CompositeFuture;
 import io.vertx.core.Future;
 
 /**
@@ -154,4 +160,47 @@ public interface RegistrationService {
         return assertRegistration(tenantId, deviceId, gatewayId);
     }
 
+    /**
+     * Asserts the registration status of multiple devices of a tenant.
+     * <p>
+     * This is intended for protocol gateways that act on behalf of a large number of devices.
+     * Each pair of the given list contains the identifier of the device to assert and
+     * the (optional) identifier of the gateway that wants to act on behalf of the device.
+     * <p>
+     * This default implementation invokes {@link #assertRegistration(String, String, Span)} or
+     * {@link #assertRegistration(String, String, String, Span)} for each of the pairs.
+     * Implementations should override this method in order to assert the devices' registration
+     * status using fewer round trips to the underlying data store.
+     *
+     * @param tenantId The tenant the devices belong to.
+     * @param devices The pairs of device and (optional) gateway identifiers to get the assertions for.
+     * @param span The active OpenTracing span for this operation. It is not to be closed in this method!
+     *            An implementation should log (error) events on this span and it may set tags and use this span as the
+     *            parent for any spans created in this method.
+     * @return A future indicating the outcome of the operation.
+     *         The future will succeed with the results of the assertions, in the same order as the given
+     *         pairs. The <em>status</em> of each result will be as described for
+     *         {@link #assertRegistration(String, String, String, Span)}.
+     * @throws NullPointerException if any of the parameters is {@code null}.
+     * @see <a href="https://www.eclipse.org/hono/docs/api/device-registration/#assert-device-registrations">
+     *      Device Registration API - Assert Device Registrations</a>
+     */
+    @SuppressWarnings("rawtypes")
+    default Future<List<RegistrationResult>> assertRegistrations(
+            final String tenantId,
+            final List<Pair<String, String>> devices,
+            final Span span) {
+
+        Objects.requireNonNull(tenantId);
+        Objects.requireNonNull(devices);
+        Objects.requireNonNull(span);
+
+        final List<Future> results = devices.stream()
+                .map(device -> device.two() == null
+                        ? assertRegistration(tenantId, device.one(), span)
+                        : assertRegistration(tenantId, device.one(), device.two(), span))
+                .collect(Collectors.toList());
+        return CompositeFuture.all(results).map(CompositeFuture::list);
+    }
+
 }
@@ -1,5 +1,5 @@
 /**
- * Copyright (c) 2020, 2021 Contributors to the Eclipse Foundation
+ * Copyright (c) 2020, 2022 Contributors to the Eclipse Foundation
  *
  * See the NOTICE file(s) distributed with this work for additional
  * information regarding copyright ownership.
@@ -17,6 +17,7 @@ package org.eclipse.hono.deviceregistry.service.device;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.spy;
@@ -31,6 +32,8 @@ import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 import org.eclipse.hono.client.util.StatusCodeMapper;
 import org.eclipse.hono.deviceregistry.service.tenant.TenantInformationService;
@@ -41,6 +44,7 @@ import org.eclipse.hono.service.management.device.Device;
 import org.eclipse.hono.service.management.tenant.Tenant;
 import org.eclipse.hono.test.TracingMockSupport;
 import org.eclipse.hono.util.Constants;
+import org.eclipse.hono.util.Pair;
 import org.eclipse.hono.util.RegistrationConstants;
 import org.eclipse.hono.util.RegistrationResult;
 import org.eclipse.hono.util.RegistryManagementConstants;
@@ -380,4 +384,78 @@ public class AbstractRegistrationServiceTest {
                 ctx.completeNow();
             }));
     }
+
+    /**
+     * Verifies that the service asserts the registration status of multiple devices using a single
+     * lookup of the devices' and gateways' registration information.
+     *
+     * @param ctx The vert.x test context.
+     */
+    @SuppressWarnings("unchecked")
+    @Test
+    public void testAssertRegistrationsUsesSingleLookup(final VertxTestContext ctx) {
+
+        doReturn(Future.succeededFuture(Map.of(
+                    DEVICE_ID, newRegistrationResult(),
+                    GATEWAY_ID, RegistrationResult.from(HttpURLConnection.HTTP_OK, PAYLOAD_ENABLED),
+                    "disabled", RegistrationResult.from(HttpURLConnection.HTTP_OK, PAYLOAD_DISABLED))))
+            .when(service).getRegistrationInformation(anyString(), any(Set.class), any(Span.class));
+        when(edgeDeviceAutoProvisioner.sendDelayedAutoProvisioningNotificationIfNeeded(anyString(), any(Tenant.class),
+                anyString(), anyString(), any(Device.class), any(Span.class)))
+            .thenReturn(Future.succeededFuture());
+
+        service.assertRegistrations(
+                Constants.DEFAULT_TENANT,
+                List.of(
+                        Pair.of(DEVICE_ID, GATEWAY_ID),
+                        Pair.of(DEVICE_ID, null),
+                        Pair.of("disabled", null),
+                        Pair.of("unknown", GATEWAY_ID),
+                        Pair.of(DEVICE_ID, "unknown")),
+                span)
+            .onComplete(ctx.succeeding(results -> {
+                ctx.verify(() -> {
+                    assertThat(results.stream().map(RegistrationResult::getStatus).collect(Collectors.toList()))
+                            .containsExactly(
+                                    HttpURLConnection.HTTP_OK,
+                                    HttpURLConnection.HTTP_OK,
+                                    HttpURLConnection.HTTP_NOT_FOUND,
+                                    HttpURLConnection.HTTP_NOT_FOUND,
+                                    HttpURLConnection.HTTP_FORBIDDEN)
+                            .inOrder();
+                    assertThat(results.get(0).getPayload().getString(RegistrationConstants.FIELD_PAYLOAD_DEVICE_ID))
+                            .isEqualTo(DEVICE_ID);
+                    final ArgumentCaptor<Set<String>> deviceIds = ArgumentCaptor.forClass(Set.class);
+                    verify(service).getRegistrationInformation(eq(Constants.DEFAULT_TENANT), deviceIds.capture(), any(Span.class));
+                    assertThat(deviceIds.getValue()).containsExactly(DEVICE_ID, GATEWAY_ID, "disabled", "unknown");
+                    verify(service, never()).getRegistrationInformation(any(DeviceKey.class), any(Span.class));
+                });
+                ctx.completeNow();
+            }));
+    }
+
+    /**
+     * Verifies that the service returns a 404 status code for all devices of a request for asserting the
+     * registration of multiple devices that belong to a non-existing tenant.
+     *
+     * @param ctx The vert.x test context.
+     */
+    @Test
+    public void testAssertRegistrationsFailsForNonExistingTenant(final VertxTestContext ctx) {
+
+        when(tenantInformationService.getTenant(anyString(), any(Span.class)))
+            .thenReturn(Future.failedFuture(StatusCodeMapper.from(HttpURLConnection.HTTP_NOT_FOUND, "no such tenant")));
+
+        service.assertRegistrations(
+                Constants.DEFAULT_TENANT,
+                List.of(Pair.of(DEVICE_ID, null), Pair.of(DEVICE_ID, GATEWAY_ID)),
+                span)
+            .onComplete(ctx.succeeding(results -> {
+                ctx.verify(() -> {
+                    assertThat(results).hasSize(2);
+                    results.forEach(result -> assertThat(result.getStatus()).isEqualTo(HttpURLConnection.HTTP_NOT_FOUND));
+                });
+                ctx.completeNow();
+            }));
+    }
 }
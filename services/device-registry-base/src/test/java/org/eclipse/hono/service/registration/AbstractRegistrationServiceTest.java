@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2016, 2021 Contributors to the Eclipse Foundation
+ * Copyright (c) 2016, 2022 Contributors to the Eclipse Foundation
  *
  * See the NOTICE file(s) distributed with this work for additional
  * information regarding copyright ownership.
@@ -30,6 +30,7 @@ import org.eclipse.hono.service.management.OperationResult;
 import org.eclipse.hono.service.management.device.Device;
 import org.eclipse.hono.service.management.device.DeviceManagementService;
 import org.eclipse.hono.util.Constants;
+import org.eclipse.hono.util.Pair;
 import org.eclipse.hono.util.RegistrationConstants;
 import org.eclipse.hono.util.RegistrationResult;
 import org.eclipse.hono.util.RegistryManagementConstants;
@@ -326,6 +327,50 @@ public interface AbstractRegistrationServiceTest {
             }));
     }
 
+    /**
+     * Verifies that the RegistrationService asserts the registration status of multiple devices
+     * in a single request and returns the results in the order of the request.
+     *
+     * @param ctx The vert.x test context.
+     */
+    @Test
+    default void testAssertRegistrationsReturnsResultsInRequestOrder(final VertxTestContext ctx) {
+
+        final String gatewayId = randomDeviceId();
+        final Device gateway = new Device();
+
+        final String deviceId = randomDeviceId();
+        final Device device = new Device().setVia(List.of(gatewayId));
+
+        final String disabledDeviceId = randomDeviceId();
+        final Device disabledDevice = new Device().setEnabled(Boolean.FALSE);
+
+        final List<Pair<String, String>> devices = List.of(
+                Pair.of(deviceId, null),
+                Pair.of(deviceId, gatewayId),
+                Pair.of(disabledDeviceId, null),
+                Pair.of("non-existing-device", null),
+                Pair.of(deviceId, "non-existing-gateway"));
+
+        createDevices(Map.of(deviceId, device, gatewayId, gateway, disabledDeviceId, disabledDevice))
+            .compose(ok -> getRegistrationService().assertRegistrations(TENANT, devices, NoopSpan.INSTANCE))
+            .onComplete(ctx.succeeding(results -> {
+                ctx.verify(() -> {
+                    assertThat(results).hasSize(devices.size());
+                    assertThat(results.get(0).isOk()).isTrue();
+                    assertThat(results.get(0).getPayload().getString(RegistrationConstants.FIELD_PAYLOAD_DEVICE_ID))
+                            .isEqualTo(deviceId);
+                    assertThat(results.get(1).isOk()).isTrue();
+                    assertThat(results.get(1).getPayload().getJsonArray(RegistrationConstants.FIELD_VIA))
+                            .containsExactly(gatewayId);
+                    assertThat(results.get(2).getStatus()).isEqualTo(HttpURLConnection.HTTP_NOT_FOUND);
+                    assertThat(results.get(3).getStatus()).isEqualTo(HttpURLConnection.HTTP_NOT_FOUND);
+                    assertThat(results.get(4).getStatus()).isEqualTo(HttpURLConnection.HTTP_FORBIDDEN);
+                });
+                ctx.completeNow();
+            }));
+    }
+
     //
     // Tests verifying behavior specified by DeviceManagementService
     //
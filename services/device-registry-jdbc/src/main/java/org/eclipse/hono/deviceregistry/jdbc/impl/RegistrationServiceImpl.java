@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2020 Contributors to the Eclipse Foundation
+ * Copyright (c) 2020, 2022 Contributors to the Eclipse Foundation
  *
  * See the NOTICE file(s) distributed with this work for additional
  * information regarding copyright ownership.
@@ -14,12 +14,15 @@
 package org.eclipse.hono.deviceregistry.jdbc.impl;
 
 import java.net.HttpURLConnection;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
 
 import org.eclipse.hono.deviceregistry.jdbc.config.SchemaCreator;
 import org.eclipse.hono.deviceregistry.service.device.AbstractRegistrationService;
 import org.eclipse.hono.deviceregistry.service.device.DeviceKey;
+import org.eclipse.hono.service.base.jdbc.store.device.DeviceReadResult;
 import org.eclipse.hono.service.base.jdbc.store.device.TableAdapterStore;
 import org.eclipse.hono.util.RegistrationConstants;
 import org.eclipse.hono.util.RegistrationResult;
@@ -58,18 +61,36 @@ public class RegistrationServiceImpl extends AbstractRegistrationService {
         return this.store
                 .readDevice(deviceKey, span.context())
                 .map(r -> r
-                        .map(result -> {
-                            final var data = JsonObject.mapFrom(result.getDevice());
-                            final var payload = new JsonObject()
-                                    .put(RegistrationConstants.FIELD_PAYLOAD_DEVICE_ID, deviceKey.getDeviceId())
-                                    .put(RegistrationConstants.FIELD_DATA, data);
-                            return RegistrationResult.from(HttpURLConnection.HTTP_OK, payload, null);
-                        })
+                        .map(result -> toRegistrationResult(deviceKey.getDeviceId(), result))
                         .orElseGet(() -> RegistrationResult.from(HttpURLConnection.HTTP_NOT_FOUND))
                 );
 
     }
 
+    @Override
+    protected Future<Map<String, RegistrationResult>> getRegistrationInformation(
+            final String tenantId,
+            final Set<String> deviceIds,
+            final Span span) {
+
+        return this.store
+                .readDevices(tenantId, deviceIds, span.context())
+                .map(r -> {
+                    final Map<String, RegistrationResult> result = new HashMap<>(r.size());
+                    r.forEach((deviceId, device) -> result.put(deviceId, toRegistrationResult(deviceId, device)));
+                    return result;
+                });
+
+    }
+
+    private static RegistrationResult toRegistrationResult(final String deviceId, final DeviceReadResult result) {
+        final var data = JsonObject.mapFrom(result.getDevice());
+        final var payload = new JsonObject()
+                .put(RegistrationConstants.FIELD_PAYLOAD_DEVICE_ID, deviceId)
+                .put(RegistrationConstants.FIELD_DATA, data);
+        return RegistrationResult.from(HttpURLConnection.HTTP_OK, payload, null);
+    }
+
     @Override
     protected Future<Set<String>> processResolveGroupMembers(final String tenantId, final Set<String> viaGroups, final Span span) {
 
@@ -81,6 +81,8 @@ abstract class AbstractJdbcRegistryTest {
     private static final Map<DatabaseType, JdbcDatabaseContainer<?>> DATABASE_CONTAINER_CACHE = new ConcurrentHashMap<>();
     private static final String POSTGRESQL_IMAGE_NAME = System.getProperty(AbstractJdbcRegistryTest.class.getSimpleName()
             + ".postgresqlImageName", "postgres:12-alpine");
+    private static final boolean USE_REACTIVE_CLIENT = Boolean.getBoolean(AbstractJdbcRegistryTest.class.getSimpleName()
+            + ".useReactiveClient");
 
     private static final AtomicLong UNIQUE_ID_GENERATOR = new AtomicLong(System.currentTimeMillis());
 
@@ -167,6 +169,8 @@ abstract class AbstractJdbcRegistryTest {
                 break;
             case POSTGRESQL:
                 createNewPerTestSchemaForPostgres(jdbc);
+                // only used by the adapter facing stores
+                jdbc.setUseReactiveClient(USE_REACTIVE_CLIENT);
                 break;
             default:
                 throw new UnsupportedOperationException(DATABASE_TYPE.name() + " is not supported.");
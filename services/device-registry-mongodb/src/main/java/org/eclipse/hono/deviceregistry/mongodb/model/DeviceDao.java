@@ -1,5 +1,5 @@
 /**
- * Copyright (c) 2021 Contributors to the Eclipse Foundation
+ * Copyright (c) 2021, 2022 Contributors to the Eclipse Foundation
  *
  * See the NOTICE file(s) distributed with this work for additional
  * information regarding copyright ownership.
@@ -16,6 +16,7 @@ package org.eclipse.hono.deviceregistry.mongodb.model;
 
 
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 
@@ -64,6 +65,22 @@ public interface DeviceDao {
      */
     Future<DeviceDto> getById(String tenantId, String deviceId, SpanContext tracingContext);
 
+    /**
+     * Gets multiple devices by their identifiers using a single query.
+     *
+     * @param tenantId The tenant that the devices belong to.
+     * @param deviceIds The identifiers of the devices to retrieve.
+     * @param tracingContext The context to track the processing of the request in
+     *                       or {@code null} if no such context exists.
+     * @return A future indicating the outcome of the operation.
+     *         <p>
+     *         The future will be succeeded with the devices that exist, keyed by their identifier.
+     *         Identifiers of non-existing devices are not contained in the map.
+     *         Otherwise the future will be failed with a {@link org.eclipse.hono.client.ServiceInvocationException}.
+     * @throws NullPointerException if tenant or device identifiers are {@code null}.
+     */
+    Future<Map<String, DeviceDto>> getByIds(String tenantId, Set<String> deviceIds, SpanContext tracingContext);
+
     /**
      * Resolves a given set of device groups to the (device) identifiers of the groups's members.
      *
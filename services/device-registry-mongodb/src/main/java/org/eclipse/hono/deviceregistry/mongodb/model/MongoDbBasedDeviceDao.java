@@ -1,5 +1,5 @@
 /**
- * Copyright (c) 2021 Contributors to the Eclipse Foundation
+ * Copyright (c) 2021, 2022 Contributors to the Eclipse Foundation
  *
  * See the NOTICE file(s) distributed with this work for additional
  * information regarding copyright ownership.
@@ -16,11 +16,13 @@ package org.eclipse.hono.deviceregistry.mongodb.model;
 
 import java.net.HttpURLConnection;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 import org.eclipse.hono.client.ClientErrorException;
@@ -219,6 +221,46 @@ public final class MongoDbBasedDeviceDao extends MongoDbBasedDao implements Devi
                 .recover(this::mapError);
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Future<Map<String, DeviceDto>> getByIds(
+            final String tenantId,
+            final Set<String> deviceIds,
+            final SpanContext tracingContext) {
+
+        Objects.requireNonNull(tenantId);
+        Objects.requireNonNull(deviceIds);
+
+        if (deviceIds.isEmpty()) {
+            return Future.succeededFuture(Map.of());
+        }
+
+        final Span span = tracer.buildSpan("get Devices by IDs")
+                .addReference(References.CHILD_OF, tracingContext)
+                .withTag(TracingHelper.TAG_TENANT_ID, tenantId)
+                .start();
+        span.log("retrieving " + deviceIds.size() + " devices");
+
+        final JsonObject findDevicesQuery = MongoDbDocumentBuilder.builder()
+                .withTenantId(tenantId)
+                .document()
+                .put(RegistryManagementConstants.FIELD_PAYLOAD_DEVICE_ID,
+                        new JsonObject().put("$in", new JsonArray(List.copyOf(deviceIds))));
+
+        return mongoClient.find(collectionName, findDevicesQuery)
+                .map(documents -> {
+                    span.log("successfully retrieved " + documents.size() + " devices");
+                    return documents.stream()
+                            .map(json -> json.mapTo(DeviceDto.class))
+                            .collect(Collectors.toMap(DeviceDto::getDeviceId, Function.identity()));
+                })
+                .onFailure(t -> TracingHelper.logError(span, "error retrieving devices", t))
+                .recover(this::mapError)
+                .onComplete(r -> span.finish());
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2020, 2021 Contributors to the Eclipse Foundation
+ * Copyright (c) 2020, 2022 Contributors to the Eclipse Foundation
  *
  * See the NOTICE file(s) distributed with this work for additional
  * information regarding copyright ownership.
@@ -13,6 +13,8 @@
 package org.eclipse.hono.deviceregistry.mongodb.service;
 
 import java.net.HttpURLConnection;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
 
@@ -65,6 +67,31 @@ public final class MongoDbBasedRegistrationService extends AbstractRegistrationS
                 .otherwise(t -> RegistrationResult.from(ServiceInvocationException.extractStatusCode(t)));
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected Future<Map<String, RegistrationResult>> getRegistrationInformation(
+            final String tenantId,
+            final Set<String> deviceIds,
+            final Span span) {
+
+        Objects.requireNonNull(tenantId);
+        Objects.requireNonNull(deviceIds);
+        Objects.requireNonNull(span);
+
+        return dao.getByIds(tenantId, deviceIds, span.context())
+                .map(dtos -> {
+                    final Map<String, RegistrationResult> result = new HashMap<>(dtos.size());
+                    dtos.forEach((deviceId, dto) -> result.put(deviceId, RegistrationResult.from(
+                            HttpURLConnection.HTTP_OK,
+                            new JsonObject()
+                                    .put(RegistrationConstants.FIELD_PAYLOAD_DEVICE_ID, deviceId)
+                                    .put(RegistrationConstants.FIELD_DATA, JsonObject.mapFrom(dto.getData())))));
+                    return result;
+                });
+    }
+
     @Override
     protected Future<Set<String>> processResolveGroupMembers(
             final String tenantId,